@@ -0,0 +1,328 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.camel.catalog.CamelCatalog;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The functions of the Camel simple language for a given Camel version.
+ * <p/>
+ * The functions are validated the same way as Camel does, which is by the exact name of the function, or by a known
+ * prefix such as <tt>header.</tt> followed by the name of the header.
+ * <p/>
+ * The table only knows the functions up to a given Camel version, so unknown functions are accepted for the newer
+ * Camel versions, as they may have functions which the table does not know of.
+ */
+public final class SimpleFunctionTable {
+
+    /**
+     * The first Camel version which may have functions this table does not know of, which must be updated when the
+     * functions of newer Camel versions are added
+     */
+    static final String FIRST_UNKNOWN_VERSION = "2.23.0";
+
+    private static final Map<String, SimpleFunctionTable> TABLES = new ConcurrentHashMap<>();
+
+    /**
+     * All the functions in the order Camel tries to match them, with the Camel version they were added
+     */
+    private static final List<SimpleFunction> FUNCTIONS = Arrays.asList(
+        exact("body", null),
+        exact("in.body", null),
+        exact("out.body", null),
+        exact("bodyOneLine", "2.21.0"),
+        exact("id", null),
+        exact("exchangeId", null),
+        exact("exchange", null),
+        exact("exception", null),
+        exact("exception.message", null),
+        exact("exception.stacktrace", null),
+        exact("threadName", null),
+        exact("hostname", null),
+        exact("camelId", null),
+        exact("camelContext.name", null),
+        exact("routeId", null),
+        exact("null", null),
+        exact("messageHistory", "2.17.0"),
+        exact("messageHistory(false)", "2.17.0"),
+        call("bodyAs(", null, "${bodyAs(type)}"),
+        call("mandatoryBodyAs(", null, "${mandatoryBodyAs(type)}"),
+        body("body"),
+        body("in.body"),
+        ognl("exception", null, "${exception.OGNL}"),
+        call("headerAs(", null, "${headerAs(key, type)}"),
+        header("in.headers", "${in.header.name[key]}"),
+        header("in.header", "${in.header.name[key]}"),
+        header("headers", "${header.name[key]}"),
+        header("header", "${header.name[key]}"),
+        header("out.headers", "${out.header.name[key]}"),
+        header("out.header", "${out.header.name[key]}"),
+        ognl("exchangeProperty", "2.15.0", "${exchangeProperty.OGNL}"),
+        ognl("property", null, "${property.OGNL}"),
+        prefix("sys.", null),
+        prefix("sysenv.", null),
+        prefix("env.", null),
+        prefix("env:", null),
+        ognl("exchange", null, "${exchange.OGNL}"),
+        ognl("camelContext", null, "${camelContext.OGNL}"),
+        file(),
+        prefix("date:", null),
+        prefix("date-with-timezone:", null),
+        prefix("bean:", null),
+        prefix("properties:", null),
+        prefix("properties-location:", null),
+        prefix("ref:", null),
+        type(),
+        call("random(", "2.16.0", "${random(min,max)} or ${random(max)}"),
+        call("skip(", "2.19.0", "${skip(number)}"),
+        call("collate(", "2.17.0", "${collate(group)}")
+    );
+
+    /**
+     * The functions of the file language
+     */
+    private static final List<String> FILE_FUNCTIONS = Arrays.asList("name", "name.noext", "name.noext.single", "name.ext", "name.ext.single",
+        "onlyname", "onlyname.noext", "onlyname.noext.single", "ext", "parent", "path", "absolute", "absolute.path", "length", "size", "modified");
+
+    private final List<SimpleFunction> functions;
+    private final boolean acceptUnknown;
+
+    private SimpleFunctionTable(List<SimpleFunction> functions, boolean acceptUnknown) {
+        this.functions = functions;
+        this.acceptUnknown = acceptUnknown;
+    }
+
+    /**
+     * Gets the functions of the given Camel version
+     *
+     * @param version the Camel version, or <tt>null</tt> for all the known functions
+     */
+    @NotNull
+    public static SimpleFunctionTable forVersion(@Nullable String version) {
+        String key = version != null ? version : "";
+        return TABLES.computeIfAbsent(key, k -> {
+            List<SimpleFunction> answer = new ArrayList<>();
+            for (SimpleFunction function : FUNCTIONS) {
+                if (function.since == null || version == null || compareVersion(version, function.since) >= 0) {
+                    answer.add(function);
+                }
+            }
+            boolean acceptUnknown = version != null && compareVersion(version, FIRST_UNKNOWN_VERSION) >= 0;
+            return new SimpleFunctionTable(Collections.unmodifiableList(answer), acceptUnknown);
+        });
+    }
+
+    /**
+     * Gets the functions of the Camel version of the catalog
+     *
+     * @param catalog the catalog in use
+     */
+    @NotNull
+    public static SimpleFunctionTable forCatalog(@NotNull CamelCatalog catalog) {
+        String version = catalog.getLoadedVersion();
+        if (version == null) {
+            version = catalog.getCatalogVersion();
+        }
+        return forVersion(version);
+    }
+
+    /**
+     * Validates the function
+     *
+     * @param function the text of the function such as <tt>header.foo</tt> from <tt>${header.foo}</tt>
+     * @return the error, or <tt>null</tt> if the function is valid, or unknown to this table of a newer Camel version
+     */
+    @Nullable
+    public String validate(@NotNull String function) {
+        for (SimpleFunction candidate : functions) {
+            Boolean valid = candidate.matches(function);
+            if (valid == null) {
+                continue;
+            }
+            if (valid) {
+                return null;
+            }
+            return "Valid syntax: " + candidate.syntax + " was: " + function;
+        }
+        return acceptUnknown ? null : "Unknown function: " + function;
+    }
+
+    /**
+     * The names of the functions which can be used as-is, such as for code completion
+     */
+    @NotNull
+    public List<String> getFunctionNames() {
+        List<String> answer = new ArrayList<>();
+        for (SimpleFunction function : functions) {
+            if (function.kind == Kind.EXACT) {
+                answer.add(function.name);
+            } else if (function.kind == Kind.HEADER || function.kind == Kind.OGNL || function.kind == Kind.BODY || function.kind == Kind.PREFIX) {
+                String name = function.name.endsWith(".") || function.name.endsWith(":") ? function.name : function.name + ".";
+                if (!answer.contains(name)) {
+                    answer.add(name);
+                }
+            } else if (function.kind == Kind.CALL) {
+                answer.add(function.name + ")");
+            } else if (function.kind == Kind.FILE) {
+                for (String name : FILE_FUNCTIONS) {
+                    answer.add("file:" + name);
+                }
+            }
+        }
+        return answer;
+    }
+
+    static int compareVersion(String version, String other) {
+        String[] a = version.split("[.-]");
+        String[] b = other.split("[.-]");
+        for (int i = 0; i < Math.min(3, Math.max(a.length, b.length)); i++) {
+            int x = i < a.length ? parseInt(a[i]) : 0;
+            int y = i < b.length ? parseInt(b[i]) : 0;
+            if (x != y) {
+                return Integer.compare(x, y);
+            }
+        }
+        return 0;
+    }
+
+    private static int parseInt(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Camel validates OGNL by having the brackets in pairs
+     */
+    private static boolean isValidOgnl(String expression) {
+        if (expression.isEmpty() || (expression.indexOf('.') < 0 && expression.indexOf('[') < 0 && expression.indexOf(']') < 0)) {
+            return true;
+        }
+        int begin = 0;
+        int end = 0;
+        for (int i = 0; i < expression.length(); i++) {
+            char ch = expression.charAt(i);
+            if (ch == '[') {
+                begin++;
+            } else if (ch == ']') {
+                end++;
+            }
+        }
+        return begin == end;
+    }
+
+    private static SimpleFunction exact(String name, String since) {
+        return new SimpleFunction(Kind.EXACT, name, since, null);
+    }
+
+    private static SimpleFunction prefix(String name, String since) {
+        return new SimpleFunction(Kind.PREFIX, name, since, null);
+    }
+
+    private static SimpleFunction ognl(String name, String since, String syntax) {
+        return new SimpleFunction(Kind.OGNL, name, since, syntax);
+    }
+
+    private static SimpleFunction body(String name) {
+        return new SimpleFunction(Kind.BODY, name, null, "${body.OGNL}");
+    }
+
+    private static SimpleFunction header(String name, String syntax) {
+        return new SimpleFunction(Kind.HEADER, name, null, syntax);
+    }
+
+    private static SimpleFunction call(String name, String since, String syntax) {
+        return new SimpleFunction(Kind.CALL, name, since, syntax);
+    }
+
+    private static SimpleFunction file() {
+        return new SimpleFunction(Kind.FILE, "file:", null, null);
+    }
+
+    private static SimpleFunction type() {
+        return new SimpleFunction(Kind.TYPE, "type:", null, "${type:package.Class.FIELD}");
+    }
+
+    private enum Kind {
+        EXACT, PREFIX, OGNL, BODY, HEADER, CALL, FILE, TYPE
+    }
+
+    private static final class SimpleFunction {
+
+        private final Kind kind;
+        private final String name;
+        private final String since;
+        private final String syntax;
+
+        SimpleFunction(Kind kind, String name, String since, String syntax) {
+            this.kind = kind;
+            this.name = name;
+            this.since = since;
+            this.syntax = syntax;
+        }
+
+        /**
+         * Whether the function matches
+         *
+         * @return <tt>null</tt> if the function is not this function, or whether its valid syntax of this function
+         */
+        Boolean matches(String function) {
+            if (kind == Kind.EXACT) {
+                return name.equals(function) ? Boolean.TRUE : null;
+            }
+            if (!function.startsWith(name)) {
+                return null;
+            }
+            String remainder = function.substring(name.length());
+            switch (kind) {
+            case OGNL:
+                return isValidOgnl(remainder);
+            case BODY:
+                // the body must be followed by an OGNL expression
+                boolean ognlStart = remainder.startsWith(".") || remainder.startsWith("?") || remainder.startsWith("[");
+                return ognlStart && isValidOgnl(remainder);
+            case HEADER:
+                if (remainder.startsWith(".") || remainder.startsWith("?")) {
+                    remainder = remainder.substring(1);
+                }
+                if (remainder.startsWith("[") && remainder.endsWith("]")) {
+                    remainder = remainder.substring(1, remainder.length() - 1);
+                }
+                return isValidOgnl(remainder);
+            case CALL:
+                return remainder.indexOf(')') >= 0;
+            case FILE:
+                // not a file function then its an unknown function
+                return FILE_FUNCTIONS.contains(remainder) ? Boolean.TRUE : null;
+            case TYPE:
+                return remainder.lastIndexOf('.') > 0;
+            default:
+                return Boolean.TRUE;
+            }
+        }
+    }
+}
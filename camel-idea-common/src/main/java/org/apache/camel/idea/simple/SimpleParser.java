@@ -0,0 +1,314 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.camel.catalog.CamelCatalog;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Parser for the Camel simple language which validates simple expressions and predicates without loading camel-core.
+ * <p/>
+ * The parser follows the same grammar as the parser in Camel, and reports the same error messages at the same index,
+ * so the errors can be highlighted precisely in the editor. The functions are validated using the {@link SimpleFunctionTable}
+ * of the Camel version in use.
+ */
+public final class SimpleParser {
+
+    /**
+     * The binary operators which only supports literal text or functions on the right hand side
+     */
+    private static final Set<String> LITERAL_OPERATORS = new HashSet<>(Arrays.asList(
+        "regex", "not regex", "is", "not is", "in", "not in", "range", "not range"));
+
+    private final SimpleFunctionTable functions;
+
+    private SimpleParser(SimpleFunctionTable functions) {
+        this.functions = functions;
+    }
+
+    /**
+     * Gets the parser for the given Camel version
+     *
+     * @param version the Camel version, or <tt>null</tt> to accept all known functions
+     */
+    @NotNull
+    public static SimpleParser forVersion(@Nullable String version) {
+        return new SimpleParser(SimpleFunctionTable.forVersion(version));
+    }
+
+    /**
+     * Gets the parser for the Camel version of the catalog
+     *
+     * @param catalog the catalog in use
+     */
+    @NotNull
+    public static SimpleParser forCatalog(@NotNull CamelCatalog catalog) {
+        return new SimpleParser(SimpleFunctionTable.forCatalog(catalog));
+    }
+
+    /**
+     * Validates the simple expression
+     *
+     * @param expression the expression
+     * @return the error, or <tt>null</tt> if the expression is valid
+     */
+    @Nullable
+    public SimpleSyntaxError validateExpression(@NotNull String expression) {
+        return new Parse(expression).parseExpression();
+    }
+
+    /**
+     * Validates the simple predicate
+     *
+     * @param predicate the predicate
+     * @return the error, or <tt>null</tt> if the predicate is valid
+     */
+    @Nullable
+    public SimpleSyntaxError validatePredicate(@NotNull String predicate) {
+        return new Parse(predicate).parsePredicate();
+    }
+
+    /**
+     * Thrown to stop parsing at the first syntax error
+     */
+    private static final class SyntaxException extends RuntimeException {
+
+        private final SimpleSyntaxError error;
+
+        SyntaxException(String message, int index) {
+            super(message, null, false, false);
+            this.error = new SimpleSyntaxError(message, index);
+        }
+    }
+
+    /**
+     * A function found when parsing, which is validated after the structure of the expression is valid
+     */
+    private static final class Function {
+
+        private final String text;
+        private final int index;
+        private final boolean nested;
+
+        Function(String text, int index, boolean nested) {
+            this.text = text;
+            this.index = index;
+            this.nested = nested;
+        }
+    }
+
+    /**
+     * The state of parsing a single expression or predicate
+     */
+    private final class Parse {
+
+        private final String expression;
+        private final List<Function> found = new ArrayList<>();
+        private final List<SimpleSyntaxError> deferred = new ArrayList<>();
+        private SimpleToken token;
+        private int previousIndex;
+        private int position;
+        private boolean hasLeft;
+
+        Parse(String expression) {
+            this.expression = expression;
+        }
+
+        SimpleSyntaxError parseExpression() {
+            try {
+                nextToken(SimpleTokenizer.EXPRESSION);
+                while (token.getType() != SimpleTokenType.EOL) {
+                    if (token.getType() == SimpleTokenType.FUNCTION_START) {
+                        functionText();
+                    }
+                    // anything else is literal text
+                    nextToken(SimpleTokenizer.EXPRESSION);
+                }
+            } catch (SyntaxException e) {
+                return e.error;
+            }
+            return validateFunctions();
+        }
+
+        SimpleSyntaxError parsePredicate() {
+            try {
+                nextToken(SimpleTokenizer.ALL);
+                while (token.getType() != SimpleTokenType.EOL) {
+                    switch (token.getType()) {
+                    case WHITESPACE:
+                        break;
+                    case SINGLE_QUOTE:
+                    case DOUBLE_QUOTE:
+                        quotedText();
+                        hasLeft = true;
+                        break;
+                    case FUNCTION_START:
+                        functionText();
+                        hasLeft = true;
+                        break;
+                    case UNARY_OPERATOR:
+                    case BOOLEAN_VALUE:
+                        hasLeft = true;
+                        break;
+                    case BINARY_OPERATOR:
+                        binaryOperator();
+                        continue;
+                    case LOGICAL_OPERATOR:
+                        logicalOperator();
+                        continue;
+                    default:
+                        throw new SyntaxException("Unexpected token " + token.getText(), token.getIndex());
+                    }
+                    nextToken(SimpleTokenizer.ALL);
+                }
+            } catch (SyntaxException e) {
+                return e.error;
+            }
+            if (!deferred.isEmpty()) {
+                return deferred.get(0);
+            }
+            return validateFunctions();
+        }
+
+        private SimpleSyntaxError validateFunctions() {
+            for (Function function : found) {
+                // nested functions are evaluated at runtime so only the innermost functions can be validated
+                if (!function.nested) {
+                    String error = functions.validate(function.text);
+                    if (error != null) {
+                        return new SimpleSyntaxError(error, function.index);
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void nextToken(Set<SimpleTokenType> accept) {
+            previousIndex = token != null ? token.getIndex() : 0;
+            token = SimpleTokenizer.nextToken(expression, position, accept);
+            position = token.getIndex() + token.getLength();
+        }
+
+        private void expect(SimpleTokenType expected) {
+            if (token.getType() != expected) {
+                throw new SyntaxException("expected symbol " + expected + " but was " + token.getType(), previousIndex);
+            }
+        }
+
+        /**
+         * Parses the function where the current token is the function start, and ends with the function end as current token
+         */
+        private void functionText() {
+            int start = token.getIndex();
+            boolean nested = false;
+            StringBuilder sb = new StringBuilder();
+            nextToken(SimpleTokenizer.EXPRESSION);
+            while (token.getType() != SimpleTokenType.FUNCTION_END && token.getType() != SimpleTokenType.EOL) {
+                if (token.getType() == SimpleTokenType.FUNCTION_START) {
+                    nested = true;
+                    functionText();
+                } else {
+                    sb.append(token.getText());
+                }
+                nextToken(SimpleTokenizer.EXPRESSION);
+            }
+            expect(SimpleTokenType.FUNCTION_END);
+            found.add(new Function(sb.toString(), start, nested));
+        }
+
+        /**
+         * Parses the quoted text where the current token is the quote, and ends with the closing quote as current token
+         */
+        private void quotedText() {
+            SimpleTokenType quote = token.getType();
+            Set<SimpleTokenType> accept = EnumSet.of(quote, SimpleTokenType.EOL, SimpleTokenType.FUNCTION_START, SimpleTokenType.FUNCTION_END);
+            nextToken(accept);
+            while (token.getType() != quote && token.getType() != SimpleTokenType.EOL) {
+                if (token.getType() == SimpleTokenType.FUNCTION_START) {
+                    functionText();
+                }
+                nextToken(accept);
+            }
+            expect(quote);
+        }
+
+        private void binaryOperator() {
+            SimpleToken operator = token;
+            if (!hasLeft) {
+                deferred.add(new SimpleSyntaxError("Binary operator " + operator.getText() + " has no left hand side token", operator.getIndex()));
+            }
+
+            nextToken(SimpleTokenizer.ALL);
+            expectAndAcceptMore(SimpleTokenType.WHITESPACE);
+
+            SimpleTokenType type = token.getType();
+            boolean literalOnly = LITERAL_OPERATORS.contains(operator.getText());
+            if (type == SimpleTokenType.SINGLE_QUOTE || type == SimpleTokenType.DOUBLE_QUOTE) {
+                quotedText();
+            } else if (type == SimpleTokenType.FUNCTION_START) {
+                functionText();
+            } else if (!literalOnly && (type == SimpleTokenType.NUMERIC_VALUE || type == SimpleTokenType.BOOLEAN_VALUE || type == SimpleTokenType.NULL_VALUE)) {
+                // a single token value
+            } else if (!literalOnly && type == SimpleTokenType.MINUS_VALUE) {
+                nextToken(SimpleTokenizer.ALL);
+                if (token.getType() != SimpleTokenType.NUMERIC_VALUE) {
+                    throw new SyntaxException("Binary operator " + operator.getText() + " does not support token " + token.getText(), token.getIndex());
+                }
+            } else {
+                throw new SyntaxException("Binary operator " + operator.getText() + " does not support token " + token.getText(), token.getIndex());
+            }
+            hasLeft = true;
+
+            nextToken(SimpleTokenizer.ALL);
+            if (token.getType() != SimpleTokenType.EOL) {
+                expect(SimpleTokenType.WHITESPACE);
+            }
+        }
+
+        private void logicalOperator() {
+            SimpleToken operator = token;
+            if (!hasLeft) {
+                deferred.add(new SimpleSyntaxError("Logical operator " + operator.getText() + " has no left hand side token", operator.getIndex()));
+            }
+
+            nextToken(SimpleTokenizer.ALL);
+            expectAndAcceptMore(SimpleTokenType.WHITESPACE);
+
+            // the right hand side is the start of the next predicate which is parsed as usual
+            SimpleTokenType type = token.getType();
+            if (type != SimpleTokenType.SINGLE_QUOTE && type != SimpleTokenType.DOUBLE_QUOTE && type != SimpleTokenType.FUNCTION_START
+                && type != SimpleTokenType.BOOLEAN_VALUE) {
+                throw new SyntaxException("Logical operator " + operator.getText() + " does not support token " + token.getText(), token.getIndex());
+            }
+            hasLeft = false;
+        }
+
+        private void expectAndAcceptMore(SimpleTokenType expected) {
+            expect(expected);
+            while (token.getType() == expected) {
+                nextToken(SimpleTokenizer.ALL);
+            }
+        }
+    }
+}
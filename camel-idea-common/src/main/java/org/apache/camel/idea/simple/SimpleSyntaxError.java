@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+/**
+ * A syntax error in a Camel simple expression or predicate.
+ */
+public final class SimpleSyntaxError {
+
+    private final String message;
+    private final int index;
+
+    SimpleSyntaxError(String message, int index) {
+        this.message = message;
+        this.index = index;
+    }
+
+    /**
+     * The error message, which is the same message as Camel reports
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * The index in the expression where the error is
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return message + " at index " + index;
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+/**
+ * A token in the Camel simple language
+ */
+public final class SimpleToken {
+
+    private final SimpleTokenType type;
+    private final String text;
+    private final int index;
+    private final int length;
+
+    SimpleToken(SimpleTokenType type, String text, int index, int length) {
+        this.type = type;
+        this.text = text;
+        this.index = index;
+        this.length = length;
+    }
+
+    public SimpleTokenType getType() {
+        return type;
+    }
+
+    /**
+     * The text of the token, such as <tt>${</tt> or <tt>==</tt>
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * The index of the token in the expression
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * The number of characters of the token in the expression, which can differ from the text such as for escaped chars
+     */
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+/**
+ * The type of the tokens in the Camel simple language, which are named the same as in Camel so the error messages
+ * are the same as when the simple language is parsed by Camel.
+ */
+public enum SimpleTokenType {
+
+    WHITESPACE("whiteSpace"),
+    CHARACTER("character"),
+    BOOLEAN_VALUE("booleanValue"),
+    NUMERIC_VALUE("numericValue"),
+    NULL_VALUE("nullValue"),
+    SINGLE_QUOTE("singleQuote"),
+    DOUBLE_QUOTE("doubleQuote"),
+    MINUS_VALUE("minusValue"),
+    ESCAPE("escape"),
+    FUNCTION_START("functionStart"),
+    FUNCTION_END("functionEnd"),
+    BINARY_OPERATOR("binaryOperator"),
+    UNARY_OPERATOR("unaryOperator"),
+    LOGICAL_OPERATOR("logicalOperator"),
+    EOL("eol");
+
+    private final String symbol;
+
+    SimpleTokenType(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * The symbol as named by Camel, such as <tt>functionEnd</tt>
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    @Override
+    public String toString() {
+        return symbol;
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Tokenizer for the Camel simple language, which splits the text into the same tokens as Camel does.
+ * <p/>
+ * The tokenizer is used on demand by the {@link SimpleParser} as the kind of tokens to accept depends on where in
+ * the expression the parser is, such as inside quoted text where only quotes and functions are tokens.
+ */
+public final class SimpleTokenizer {
+
+    /**
+     * All kinds of tokens, as used by predicates
+     */
+    public static final Set<SimpleTokenType> ALL = EnumSet.allOf(SimpleTokenType.class);
+
+    /**
+     * The kinds of tokens used by expressions, where all text outside functions is literal text
+     */
+    public static final Set<SimpleTokenType> EXPRESSION = EnumSet.of(SimpleTokenType.FUNCTION_START, SimpleTokenType.FUNCTION_END,
+        SimpleTokenType.UNARY_OPERATOR, SimpleTokenType.ESCAPE);
+
+    /**
+     * The known tokens in the order they are matched, which is the same order as Camel
+     */
+    private static final Object[][] KNOWN_TOKENS = {
+        {SimpleTokenType.WHITESPACE, " "},
+        {SimpleTokenType.WHITESPACE, "\t"},
+        {SimpleTokenType.WHITESPACE, "\n"},
+        {SimpleTokenType.WHITESPACE, "\r"},
+        {SimpleTokenType.SINGLE_QUOTE, "'"},
+        {SimpleTokenType.DOUBLE_QUOTE, "\""},
+        {SimpleTokenType.BOOLEAN_VALUE, "true"},
+        {SimpleTokenType.BOOLEAN_VALUE, "false"},
+        {SimpleTokenType.NULL_VALUE, "null"},
+        {SimpleTokenType.FUNCTION_START, "${"},
+        {SimpleTokenType.FUNCTION_START, "$simple{"},
+        {SimpleTokenType.FUNCTION_END, "}"},
+        {SimpleTokenType.UNARY_OPERATOR, "++"},
+        {SimpleTokenType.UNARY_OPERATOR, "--"},
+        {SimpleTokenType.BINARY_OPERATOR, "=="},
+        {SimpleTokenType.BINARY_OPERATOR, "=~"},
+        {SimpleTokenType.BINARY_OPERATOR, ">="},
+        {SimpleTokenType.BINARY_OPERATOR, "<="},
+        {SimpleTokenType.BINARY_OPERATOR, ">"},
+        {SimpleTokenType.BINARY_OPERATOR, "<"},
+        {SimpleTokenType.BINARY_OPERATOR, "!=~"},
+        {SimpleTokenType.BINARY_OPERATOR, "!="},
+        {SimpleTokenType.BINARY_OPERATOR, "not is"},
+        {SimpleTokenType.BINARY_OPERATOR, "is"},
+        {SimpleTokenType.BINARY_OPERATOR, "not contains"},
+        {SimpleTokenType.BINARY_OPERATOR, "contains"},
+        {SimpleTokenType.BINARY_OPERATOR, "~~"},
+        {SimpleTokenType.BINARY_OPERATOR, "not regex"},
+        {SimpleTokenType.BINARY_OPERATOR, "regex"},
+        {SimpleTokenType.BINARY_OPERATOR, "not in"},
+        {SimpleTokenType.BINARY_OPERATOR, "in"},
+        {SimpleTokenType.BINARY_OPERATOR, "range"},
+        {SimpleTokenType.BINARY_OPERATOR, "not range"},
+        {SimpleTokenType.BINARY_OPERATOR, "starts with"},
+        {SimpleTokenType.BINARY_OPERATOR, "ends with"},
+        {SimpleTokenType.LOGICAL_OPERATOR, "&&"},
+        {SimpleTokenType.LOGICAL_OPERATOR, "||"},
+        {SimpleTokenType.LOGICAL_OPERATOR, "and"},
+        {SimpleTokenType.LOGICAL_OPERATOR, "or"},
+        {SimpleTokenType.MINUS_VALUE, "-"}
+    };
+
+    private SimpleTokenizer() {
+    }
+
+    /**
+     * Gets the next token
+     *
+     * @param expression the expression
+     * @param index      the index in the expression to get the token from
+     * @param accept     the kind of tokens to accept, any other text is returned as {@link SimpleTokenType#CHARACTER} tokens
+     * @return the token, which is {@link SimpleTokenType#EOL} when there is no more tokens
+     */
+    public static SimpleToken nextToken(String expression, int index, Set<SimpleTokenType> accept) {
+        int length = expression.length();
+        if (index >= length) {
+            return new SimpleToken(SimpleTokenType.EOL, "", length, 0);
+        }
+
+        if (accept.contains(SimpleTokenType.NUMERIC_VALUE)) {
+            // digits with decimal separators in between
+            int end = index;
+            while (end < length) {
+                char ch = expression.charAt(end);
+                if (Character.isDigit(ch) || (end > index && (ch == '.' || ch == ','))) {
+                    end++;
+                } else {
+                    break;
+                }
+            }
+            if (end > index) {
+                return new SimpleToken(SimpleTokenType.NUMERIC_VALUE, expression.substring(index, end), index, end - index);
+            }
+        }
+
+        if (accept.contains(SimpleTokenType.ESCAPE) && expression.charAt(index) == '\\') {
+            // the escaped char is just a char
+            int end = Math.min(index + 2, length);
+            return new SimpleToken(SimpleTokenType.CHARACTER, expression.substring(index, end), index, end - index);
+        }
+
+        for (Object[] known : KNOWN_TOKENS) {
+            SimpleTokenType type = (SimpleTokenType) known[0];
+            String value = (String) known[1];
+            if (accept.contains(type) && acceptToken(type, value, expression, index)) {
+                return new SimpleToken(type, value, index, value.length());
+            }
+        }
+
+        return new SimpleToken(SimpleTokenType.CHARACTER, String.valueOf(expression.charAt(index)), index, 1);
+    }
+
+    private static boolean acceptToken(SimpleTokenType type, String value, String expression, int index) {
+        if (!expression.startsWith(value, index)) {
+            return false;
+        }
+        if (type == SimpleTokenType.UNARY_OPERATOR) {
+            // unary operators are only applied on functions, and must be followed by whitespace
+            int after = index + value.length();
+            boolean functionEnd = index > 0 && expression.charAt(index - 1) == '}';
+            boolean whitespace = after >= expression.length() || expression.charAt(after) == ' ';
+            return functionEnd && whitespace;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,287 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.util.Arrays;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Normalizes Camel endpoint uris as written in the source code into the uri the Camel catalog can parse.
+ * <p/>
+ * The normalization is done in a single scan of the text, which:
+ * <ul>
+ *     <li>joins strings split over several lines, or concatenated with <tt>+</tt> in Java</li>
+ *     <li>decodes the <tt>&amp;amp;</tt> and <tt>&amp;quot;</tt> entities as used in XML</li>
+ *     <li>wraps the string format placeholders <tt>%s</tt>, <tt>%d</tt> and <tt>%b</tt> as <tt>{{%s}}</tt> as used by <tt>fromF</tt> and <tt>toF</tt></li>
+ *     <li>strips an ending incomplete parameter (ending <tt>&amp;</tt> or <tt>?</tt>)</li>
+ * </ul>
+ * The result keeps a map from each offset in the normalized uri back to the offset in the original text, so problems found
+ * in the normalized uri can be highlighted at the exact position in the source code.
+ */
+public final class CamelUriNormalizer {
+
+    private static final String AMP = "&amp;";
+    private static final String QUOT = "&quot;";
+
+    private final String original;
+    private final String text;
+    private final int[] offsets;
+
+    private CamelUriNormalizer(String original, String text, int[] offsets) {
+        this.original = original;
+        this.text = text;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Normalizes the uri.
+     *
+     * @param uri          the uri as written in the source code (without the surrounding quotes)
+     * @param stringFormat whether the uri is used with string format such as <tt>fromF</tt> and <tt>toF</tt>
+     * @return the normalized uri
+     */
+    @NotNull
+    public static CamelUriNormalizer normalize(@NotNull String uri, boolean stringFormat) {
+        int begin = 0;
+        int end = uri.length();
+        if (end >= 2 && uri.charAt(0) == '"' && uri.charAt(end - 1) == '"') {
+            // unwrap quoted text
+            begin = 1;
+            end--;
+        }
+
+        char[] chars = new char[end - begin + 8];
+        int[] offsets = new int[chars.length + 1];
+        int len = 0;
+        boolean changed = begin > 0;
+
+        int i = begin;
+        while (i < end) {
+            char ch = uri.charAt(i);
+            int skip;
+            if (ch == '&' && uri.startsWith(AMP, i)) {
+                chars[len] = '&';
+                offsets[len++] = i;
+                i += AMP.length();
+                changed = true;
+            } else if (ch == '&' && uri.startsWith(QUOT, i)) {
+                chars[len] = '"';
+                offsets[len++] = i;
+                i += QUOT.length();
+                changed = true;
+            } else if (ch == '"' && (skip = skipConcatenation(uri, i, end)) > i) {
+                i = skip;
+                changed = true;
+            } else if (ch == '\n' && i + 1 < end && Character.isWhitespace(uri.charAt(i + 1))) {
+                i = skipWhitespace(uri, i + 1, end);
+                changed = true;
+            } else if (stringFormat && ch == '%' && i + 1 < end && isStringFormatPlaceholder(uri.charAt(i + 1))) {
+                if (len + 6 >= chars.length) {
+                    chars = Arrays.copyOf(chars, chars.length * 2 + 6);
+                    offsets = Arrays.copyOf(offsets, chars.length + 1);
+                }
+                char type = uri.charAt(i + 1);
+                chars[len] = '{';
+                offsets[len++] = i;
+                chars[len] = '{';
+                offsets[len++] = i;
+                chars[len] = '%';
+                offsets[len++] = i;
+                chars[len] = type;
+                offsets[len++] = i + 1;
+                chars[len] = '}';
+                offsets[len++] = i + 1;
+                chars[len] = '}';
+                offsets[len++] = i + 1;
+                i += 2;
+                changed = true;
+            } else {
+                if (len >= chars.length) {
+                    chars = Arrays.copyOf(chars, chars.length * 2);
+                    offsets = Arrays.copyOf(offsets, chars.length + 1);
+                }
+                chars[len] = ch;
+                offsets[len++] = i;
+                i++;
+            }
+        }
+
+        // the end offset maps to the end of the original text
+        offsets[len] = end;
+
+        // strip up ending incomplete parameter
+        if (len > 0 && (chars[len - 1] == '&' || chars[len - 1] == '?')) {
+            len--;
+            changed = true;
+        }
+
+        if (!changed) {
+            // fast path where the uri is already normalized
+            return new CamelUriNormalizer(uri, uri, null);
+        }
+        return new CamelUriNormalizer(uri, new String(chars, 0, len), offsets);
+    }
+
+    /**
+     * Decodes the <tt>&amp;amp;</tt> entities as <tt>&amp;</tt> which the Camel catalog expects when it parses the uri.
+     *
+     * @param text the text
+     * @return the decoded text, which is the same instance if there was nothing to decode
+     */
+    public static String decodeAmpersands(String text) {
+        if (text == null || text.indexOf('&') < 0) {
+            return text;
+        }
+        int idx = text.indexOf(AMP);
+        if (idx < 0) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        int from = 0;
+        while (idx >= 0) {
+            sb.append(text, from, idx + 1);
+            from = idx + AMP.length();
+            idx = text.indexOf(AMP, from);
+        }
+        sb.append(text, from, text.length());
+        return sb.toString();
+    }
+
+    private static boolean isStringFormatPlaceholder(char ch) {
+        return ch == 's' || ch == 'd' || ch == 'b';
+    }
+
+    /**
+     * Skips a Java string concatenation such as <tt>" + "</tt> or <tt>" +\n "</tt>
+     *
+     * @return the index after the concatenation, or the same index if not a concatenation
+     */
+    private static int skipConcatenation(String text, int index, int end) {
+        int i = skipWhitespace(text, index + 1, end);
+        if (i >= end || text.charAt(i) != '+') {
+            return index;
+        }
+        int j = skipWhitespace(text, i + 1, end);
+        if (j < end && text.charAt(j) == '"') {
+            return j + 1;
+        }
+        // a concatenation that continues on the next line
+        if (text.substring(i + 1, j).indexOf('\n') >= 0) {
+            while (j < end && text.charAt(j) == '"') {
+                j++;
+            }
+            return j;
+        }
+        return index;
+    }
+
+    private static int skipWhitespace(String text, int index, int end) {
+        while (index < end && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * The original text
+     */
+    public String getOriginal() {
+        return original;
+    }
+
+    /**
+     * The normalized uri
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Maps the offset in the normalized uri back to the offset in the original text.
+     */
+    public int getOriginalOffset(int offset) {
+        if (offsets == null || offset < 0) {
+            return offset;
+        }
+        return offsets[Math.min(offset, text.length())];
+    }
+
+    /**
+     * Maps the end offset (exclusive) in the normalized uri back to the end offset in the original text,
+     * which is after the last character including any entity it was decoded from.
+     */
+    public int getOriginalEndOffset(int end) {
+        if (end <= 0) {
+            return getOriginalOffset(end);
+        }
+        int last = getOriginalOffset(end - 1);
+        if (original.startsWith(AMP, last)) {
+            return last + AMP.length();
+        } else if (original.startsWith(QUOT, last)) {
+            return last + QUOT.length();
+        }
+        return last + 1;
+    }
+
+    /**
+     * Finds the option in the query of the uri.
+     *
+     * @param name the option name
+     * @return the offset of the option name in the original text, or <tt>-1</tt> if not found
+     */
+    public int indexOfOption(@NotNull String name) {
+        int idx = findOption(name);
+        return idx < 0 ? -1 : getOriginalOffset(idx);
+    }
+
+    /**
+     * Finds the value of the option in the query of the uri.
+     *
+     * @param name the option name
+     * @return the offset of the value in the original text, or <tt>-1</tt> if not found or the option has no value
+     */
+    public int indexOfOptionValue(@NotNull String name) {
+        int idx = findOption(name);
+        if (idx < 0) {
+            return -1;
+        }
+        int eq = idx + name.length();
+        if (eq >= text.length() || text.charAt(eq) != '=') {
+            return -1;
+        }
+        return getOriginalOffset(eq + 1);
+    }
+
+    /**
+     * Finds the offset of the option in the normalized uri
+     */
+    private int findOption(String name) {
+        int start = text.indexOf('?');
+        while (start >= 0) {
+            int keyStart = start + 1;
+            int keyEnd = keyStart;
+            while (keyEnd < text.length() && text.charAt(keyEnd) != '=' && text.charAt(keyEnd) != '&') {
+                keyEnd++;
+            }
+            if (keyEnd - keyStart == name.length() && text.startsWith(name, keyStart)) {
+                return keyStart;
+            }
+            start = text.indexOf('&', keyEnd);
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SimpleParserTest {
+
+    private final SimpleParser parser = SimpleParser.forVersion("2.22.0");
+
+    @Test
+    public void validExpression() {
+        assertNull(parser.validateExpression("Response from Camel CDI on route ${routeId} using thread: ${threadName}"));
+        assertNull(parser.validateExpression("${header.CamelRedeliveryCount}"));
+        assertNull(parser.validateExpression("${in.header.foo[0]} and ${bodyAs(String)} at ${date:now:yyyy-MM-dd}"));
+        assertNull(parser.validateExpression("${file:name.noext} is ${header.${body}}"));
+        assertNull(parser.validateExpression("a } is just text"));
+    }
+
+    @Test
+    public void unknownFunction() {
+        assertError("Unknown function: xxxx", 0, parser.validateExpression("${xxxx}"));
+        assertError("Unknown function: foo", 6, parser.validateExpression("Hello ${foo}"));
+        assertError("Unknown function: xrouteId", 3, parser.validateExpression("on ${xrouteId} using ${threadName}"));
+        assertError("Unknown function: daxcdte:now:yyyy-MM-dd HH:mm:ss", 11, parser.validateExpression("Message at ${daxcdte:now:yyyy-MM-dd HH:mm:ss}"));
+        assertError("Unknown function: file:foo", 0, parser.validateExpression("${file:foo}"));
+    }
+
+    @Test
+    public void invalidFunctionSyntax() {
+        assertError("Valid syntax: ${bodyAs(type)} was: bodyAs(String", 0, parser.validateExpression("${bodyAs(String}"));
+        assertError("Valid syntax: ${header.name[key]} was: header.foo[bar", 0, parser.validateExpression("${header.foo[bar}"));
+        assertError("Valid syntax: ${type:package.Class.FIELD} was: type:Foo", 0, parser.validateExpression("${type:Foo}"));
+    }
+
+    @Test
+    public void missingFunctionEnd() {
+        String text = "using thread: ${threadNam";
+        assertError("expected symbol functionEnd but was eol", text.length() - 1, parser.validateExpression(text));
+    }
+
+    @Test
+    public void validPredicate() {
+        assertNull(parser.validatePredicate("${body.length} != 12"));
+        assertNull(parser.validatePredicate("${header.foo} == 'bar' && ${body} contains ${header.bar}"));
+        assertNull(parser.validatePredicate("${header.count} > -1 || ${body} regex '[a-z]+'"));
+        assertNull(parser.validatePredicate("${header.foo}"));
+    }
+
+    @Test
+    public void invalidPredicate() {
+        assertError("Unexpected token =", 15, parser.validatePredicate("${body.length} =!= 12"));
+        assertError("Binary operator > does not support token t", 17, parser.validatePredicate("${body.length} > thousand"));
+        assertError("Binary operator regex does not support token 12", 14, parser.validatePredicate("${body} regex 12"));
+        assertError("expected symbol singleQuote but was eol", 14, parser.validatePredicate("${body} == 'bar"));
+        assertError("Unknown function: yyyy", 17, parser.validatePredicate("${body} contains ${yyyy}"));
+    }
+
+    @Test
+    public void noLeftHandSide() {
+        assertError("Binary operator == has no left hand side token", 0, parser.validatePredicate("== 'bar'"));
+        assertError("Logical operator && has no left hand side token", 0, parser.validatePredicate("&& ${body}"));
+    }
+
+    @Test
+    public void functionsOfVersion() {
+        assertNull(parser.validateExpression("${bodyOneLine}"));
+        assertError("Valid syntax: ${body.OGNL} was: bodyOneLine", 0, SimpleParser.forVersion("2.20.0").validateExpression("${bodyOneLine}"));
+        assertNull(SimpleParser.forVersion(null).validateExpression("${bodyOneLine}"));
+    }
+
+    @Test
+    public void unknownFunctionOfNewerVersion() {
+        SimpleParser newer = SimpleParser.forVersion(SimpleFunctionTable.FIRST_UNKNOWN_VERSION);
+        assertNull(newer.validateExpression("${someNewFunction}"));
+        assertNull(SimpleParser.forVersion("3.0.0-SNAPSHOT").validatePredicate("${body} contains ${someNewFunction}"));
+        // the known functions are still validated
+        assertError("Valid syntax: ${bodyAs(type)} was: bodyAs(String", 0, newer.validateExpression("${bodyAs(String}"));
+        assertError("Unknown function: xxxx", 0, SimpleParser.forVersion("2.22.2").validateExpression("${xxxx}"));
+    }
+
+    private static void assertError(String message, int index, SimpleSyntaxError error) {
+        assertEquals(message, error != null ? error.getMessage() : null);
+        assertEquals(index, error.getIndex());
+    }
+}
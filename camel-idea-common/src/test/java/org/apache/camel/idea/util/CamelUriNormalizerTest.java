@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class CamelUriNormalizerTest {
+
+    @Test
+    public void alreadyNormalized() {
+        String uri = "timer:trigger?delay=1000&period=2000";
+        CamelUriNormalizer normalized = CamelUriNormalizer.normalize(uri, false);
+        assertSame(uri, normalized.getText());
+        assertEquals(6, normalized.getOriginalOffset(6));
+    }
+
+    @Test
+    public void decodeEntities() {
+        CamelUriNormalizer normalized = CamelUriNormalizer.normalize("timer:trigger?delay=1000&amp;period=&quot;2000&quot;", false);
+        assertEquals("timer:trigger?delay=1000&period=\"2000\"", normalized.getText());
+        // period is after the &amp; entity
+        assertEquals(29, normalized.indexOfOption("period"));
+        assertEquals(36, normalized.indexOfOptionValue("period"));
+    }
+
+    @Test
+    public void decodeAmpersands() {
+        String uri = "timer:trigger?delay=1000&period=2000";
+        assertSame(uri, CamelUriNormalizer.decodeAmpersands(uri));
+        assertEquals("a&b&c", CamelUriNormalizer.decodeAmpersands("a&amp;b&amp;c"));
+        assertEquals(null, CamelUriNormalizer.decodeAmpersands(null));
+    }
+
+    @Test
+    public void stringFormat() {
+        CamelUriNormalizer normalized = CamelUriNormalizer.normalize("file:%s?delay=%d", true);
+        assertEquals("file:{{%s}}?delay={{%d}}", normalized.getText());
+        assertEquals(14, normalized.indexOfOptionValue("delay"));
+
+        // not string format
+        assertEquals("file:%s?delay=%d", CamelUriNormalizer.normalize("file:%s?delay=%d", false).getText());
+    }
+
+    @Test
+    public void stripIncompleteParameter() {
+        assertEquals("timer:trigger", CamelUriNormalizer.normalize("timer:trigger?", false).getText());
+        assertEquals("timer:trigger?delay=1000", CamelUriNormalizer.normalize("timer:trigger?delay=1000&", false).getText());
+        assertEquals("timer:trigger?delay=1000", CamelUriNormalizer.normalize("timer:trigger?delay=1000&amp;", false).getText());
+    }
+
+    @Test
+    public void joinConcatenation() {
+        String uri = "timer:trigger?delay=1000\" +\n      \"&pexriod=2000";
+        CamelUriNormalizer normalized = CamelUriNormalizer.normalize(uri, false);
+        assertEquals("timer:trigger?delay=1000&pexriod=2000", normalized.getText());
+        assertEquals(uri.indexOf("pexriod"), normalized.indexOfOption("pexriod"));
+
+        assertEquals("timer:trigger?delay=1000&period=10", CamelUriNormalizer.normalize("timer:trigger?delay=1000\" + \"&period=10", false).getText());
+    }
+
+    @Test
+    public void joinLines() {
+        String uri = "timer:trigger?delay=1000\n        &amp;foo=bar";
+        CamelUriNormalizer normalized = CamelUriNormalizer.normalize(uri, false);
+        assertEquals("timer:trigger?delay=1000&foo=bar", normalized.getText());
+        assertEquals(uri.indexOf("foo"), normalized.indexOfOption("foo"));
+        assertEquals(uri.indexOf("bar"), normalized.indexOfOptionValue("foo"));
+    }
+
+    @Test
+    public void unquote() {
+        assertEquals("seda:foo", CamelUriNormalizer.normalize("\"seda:foo\"", false).getText());
+    }
+
+    @Test
+    public void indexOfOption() {
+        CamelUriNormalizer normalized = CamelUriNormalizer.normalize("timer:foo?delay=foo&foo=bar", false);
+        // the option name must match the whole key and not the path or a value
+        assertEquals(20, normalized.indexOfOption("foo"));
+        assertEquals(24, normalized.indexOfOptionValue("foo"));
+        assertEquals(16, normalized.indexOfOptionValue("delay"));
+        assertEquals(-1, normalized.indexOfOption("period"));
+        assertEquals(-1, normalized.indexOfOption("del"));
+    }
+
+    @Test
+    public void indexOfOptionWithoutValue() {
+        CamelUriNormalizer normalized = CamelUriNormalizer.normalize("timer:foo?delay=&fixedRate", false);
+        assertEquals(16, normalized.indexOfOptionValue("delay"));
+        assertEquals(17, normalized.indexOfOption("fixedRate"));
+        assertEquals(-1, normalized.indexOfOptionValue("fixedRate"));
+    }
+}
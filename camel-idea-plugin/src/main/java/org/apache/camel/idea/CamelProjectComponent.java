@@ -82,6 +82,7 @@ public class CamelProjectComponent implements ProjectComponent {
                     // rebuild list of libraries because the dependencies may have changed
                     getCamelIdeaService(project).setCamelPresent(false);
                     getCamelIdeaService(project).clearLibraries();
+                    getCamelCatalogService(project).clearRuntimeProvider();
 
                     for (Module module : ModuleManager.getInstance(project).getModules()) {
                         getCamelIdeaService(project).scanForCamelProject(project, module);
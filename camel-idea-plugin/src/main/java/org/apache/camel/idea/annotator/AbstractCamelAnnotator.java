@@ -16,47 +16,191 @@
  */
 package org.apache.camel.idea.annotator;
 
-import com.intellij.lang.annotation.AnnotationHolder;
-import com.intellij.lang.annotation.Annotator;
+import java.util.Arrays;
+import com.intellij.lang.ASTNode;
 import com.intellij.lang.properties.psi.impl.PropertyValueImpl;
 import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiLiteralExpression;
 import com.intellij.psi.PsiPolyadicExpression;
 import com.intellij.psi.TokenType;
+import com.intellij.psi.impl.source.tree.CompositeElement;
 import com.intellij.psi.impl.source.tree.JavaDocElementType;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.xml.XmlAttributeValue;
 import com.intellij.psi.xml.XmlElement;
 import com.intellij.psi.xml.XmlElementType;
+import org.apache.camel.idea.service.CamelCatalogService;
+import org.apache.camel.idea.service.CamelPreferenceService;
 import org.apache.camel.idea.service.CamelService;
+import org.apache.camel.idea.util.CamelHighlightingContext;
+import org.apache.camel.idea.util.CamelPerformanceCounter;
+import org.apache.camel.idea.util.CamelValidationCircuitBreaker;
 import org.apache.camel.idea.util.IdeaUtils;
-import org.apache.camel.idea.util.StringUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Validate if the URI contains a know Camel component and call the validateEndpoint method
+ * <p/>
+ * The validations are run by {@link CamelExternalAnnotator} for the whole file, and by {@link CamelBatchValidator}.
+ * The outcome of the validation is cached per element, and is used again until the element (or its surrounding
+ * method call or tag) is changed, or the Camel catalog, libraries or preferences are changed.
  */
-abstract class AbstractCamelAnnotator implements Annotator {
+abstract class AbstractCamelAnnotator {
+
+    /**
+     * The outcome for an element which had no text to validate
+     */
+    private static final CamelValidationOutcome NO_OUTCOME = new CamelValidationOutcome();
+
+    private final Key<CachedValue<CamelValidationOutcome>> outcomeKey = Key.create(getClass().getName() + ".outcome");
+    private final Key<long[]> deferredKey = Key.create(getClass().getName() + ".deferred");
 
     /**
      * Whether or not the annotator is enabled.
      * <p/>
      * The user can turn this on or off in the plugin preference.
+     *
+     * @param context the snapshot of the preferences for the current highlighting pass
+     */
+    abstract boolean isEnabled(@NotNull CamelHighlightingContext context);
+
+    /**
+     * The name of the validator, such as <tt>endpoint</tt> or <tt>jsonpath</tt>, used for tracking its latency.
+     */
+    abstract String getValidatorName();
+
+    /**
+     * Gets the circuit breaker which pauses this validator when its too slow in the project
+     */
+    @NotNull
+    CamelValidationCircuitBreaker getCircuitBreaker(@NotNull Project project) {
+        return ServiceManager.getService(project, CamelService.class).getValidationCircuitBreaker(getValidatorName());
+    }
+
+    /**
+     * Gets the cached outcome of validating the element if its still up to date.
+     *
+     * @return the outcome, or <tt>null</tt> if there is no up to date outcome
+     */
+    @Nullable
+    CamelValidationOutcome getUpToDateOutcome(@NotNull PsiElement element) {
+        CachedValue<CamelValidationOutcome> cached = element.getUserData(outcomeKey);
+        if (cached != null && cached.hasUpToDateValue()) {
+            CamelPerformanceCounter.VALIDATIONS_REUSED.increment();
+            return cached.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Caches the outcome of a validation run by {@link CamelExternalAnnotator} or {@link CamelBatchValidator}.
+     *
+     * @param element the element which was validated
+     * @param outcome the outcome, or <tt>null</tt> if there was nothing to validate
+     * @param stamps  the stamps of the dependencies when the validation was prepared, the outcome is not cached
+     *                if any of the dependencies has changed since
+     */
+    void cacheOutcome(@NotNull PsiElement element, @Nullable CamelValidationOutcome outcome, @NotNull long[] stamps) {
+        if (Arrays.equals(stamps, getDependencyStamps(element))) {
+            CachedValue<CamelValidationOutcome> cached = createCachedOutcome(element, outcome != null ? outcome : NO_OUTCOME);
+            // compute the value right away so the current stamps of the dependencies are recorded
+            cached.getValue();
+            element.putUserData(outcomeKey, cached);
+        }
+    }
+
+    /**
+     * Marks the validation of the element as deferred to the background, so it is not validated again by the following
+     * highlighting passes while the deferred validation is still running.
+     *
+     * @param element the element which is validated in the background
+     * @param stamps  the stamps of the dependencies when the validation was prepared
+     */
+    void markDeferred(@NotNull PsiElement element, @NotNull long[] stamps) {
+        element.putUserData(deferredKey, stamps);
+    }
+
+    /**
+     * Removes the deferred mark of the element when the deferred validation has completed or was cancelled, unless the
+     * element has been marked again by a newer deferred validation.
+     *
+     * @param element the element which was validated in the background
+     * @param stamps  the stamps the element was marked with
+     */
+    void clearDeferred(@NotNull PsiElement element, @NotNull long[] stamps) {
+        if (element.getUserData(deferredKey) == stamps) {
+            element.putUserData(deferredKey, null);
+        }
+    }
+
+    /**
+     * Whether the element is being validated in the background, and the validation is still for the current stamps
+     * of the dependencies.
+     */
+    boolean isDeferred(@NotNull PsiElement element, @NotNull long[] stamps) {
+        return Arrays.equals(stamps, element.getUserData(deferredKey));
+    }
+
+    /**
+     * Creates the cached value of the outcome, which is up to date until the dependencies have changed.
      */
-    abstract boolean isEnabled();
-
-    @Override
-    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
-        if (ServiceManager.getService(element.getProject(), CamelService.class).isCamelPresent() && isEnabled()) {
-            boolean accept = accept(element);
-            if (accept) {
-                String text = getIdeaUtils().extractTextFromElement(element, true, false, false);
-                if (!StringUtils.isEmpty(text)) {
-                    validateText(element, holder, text);
-                }
-            }
+    private CachedValue<CamelValidationOutcome> createCachedOutcome(@NotNull PsiElement element, @NotNull CamelValidationOutcome outcome) {
+        return CachedValuesManager.getManager(element.getProject()).createCachedValue(
+            () -> CachedValueProvider.Result.create(outcome, (Object[]) getDependencies(element)), false);
+    }
+
+    /**
+     * Gets the current stamps of the dependencies of the cached outcome of the element.
+     */
+    @NotNull
+    long[] getDependencyStamps(@NotNull PsiElement element) {
+        ModificationTracker[] dependencies = getDependencies(element);
+        long[] answer = new long[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            answer[i] = dependencies[i].getModificationCount();
         }
+        return answer;
+    }
+
+    /**
+     * The dependencies of the cached outcome: the surrounding context of the element, the catalog, the Camel libraries
+     * and the preferences which affects the severity of the outcome.
+     */
+    private static ModificationTracker[] getDependencies(@NotNull PsiElement element) {
+        CamelPreferenceService preferenceService = ServiceManager.getService(CamelPreferenceService.class);
+        ModificationTracker preferences = () -> preferenceService.isHighlightCustomOptions() ? 1 : 0;
+        return new ModificationTracker[] {
+            getContextTracker(element),
+            ServiceManager.getService(element.getProject(), CamelCatalogService.class),
+            ServiceManager.getService(element.getProject(), CamelService.class),
+            preferences
+        };
+    }
+
+    /**
+     * Tracks the modifications of the context of the element, which is the grand parent of the element, such as the
+     * method call in Java, the tag in XML or the property in a properties file. A change inside the context, such as
+     * changing a <tt>from</tt> to a <tt>to</tt> in Java, can change the outcome of the validation.
+     */
+    private static ModificationTracker getContextTracker(@NotNull PsiElement element) {
+        PsiElement context = element.getParent() != null && element.getParent().getParent() != null ? element.getParent().getParent() : element;
+        ASTNode node = context.getNode();
+        if (node instanceof CompositeElement) {
+            CompositeElement composite = (CompositeElement) node;
+            return composite::getModificationCount;
+        }
+        // leaf elements are replaced when changed
+        return ModificationTracker.NEVER_CHANGED;
     }
 
     /**
@@ -72,11 +216,9 @@ abstract class AbstractCamelAnnotator implements Annotator {
 
         if (element instanceof PsiPolyadicExpression) {
             return true;
-        } else {
-            final PsiPolyadicExpression parentOfType = PsiTreeUtil.getParentOfType(element, PsiPolyadicExpression.class);
-            if (((element instanceof PsiLiteralExpression) || (element instanceof PropertyValueImpl)) && (parentOfType == null)) {
-                return true;
-            }
+        } else if ((element instanceof PsiLiteralExpression) || (element instanceof PropertyValueImpl)) {
+            // only look up the tree for literals, as this is called for every element in the file
+            return PsiTreeUtil.getParentOfType(element, PsiPolyadicExpression.class) == null;
         }
 
         // skip whitespace noise
@@ -102,13 +244,70 @@ abstract class AbstractCamelAnnotator implements Annotator {
     }
 
     /**
-     * Validate the text and create error messaged from the validation result.
+     * Gets the range of the expression inside the element, relative to the start of the element
+     */
+    TextRange getExpressionRange(@NotNull PsiElement element) {
+        TextRange range = TextRange.from(0, element.getTextLength());
+        if (element instanceof XmlAttributeValue) {
+            // we can use the xml range as-is
+            range = ((XmlAttributeValue) element).getValueTextRange().shiftRight(-element.getTextRange().getStartOffset());
+        } else if (getIdeaUtils().isJavaLanguage(element)) {
+            // all the programming languages need to have the offset adjusted by 1
+            range = TextRange.create(range.getStartOffset() + 1, range.getEndOffset());
+        }
+        return range;
+    }
+
+    /**
+     * Adjust the text range of the expression to highlight the word at the index where the validation failed
+     *
+     * @param range the range of the expression as returned from {@link #getExpressionRange(PsiElement)}
+     * @param text  the expression
+     * @param index the index where the validation failed
+     * @return a new text range
+     */
+    static TextRange getAdjustedTextRange(TextRange range, String text, int index) {
+        //we need to calculate the correct start and end position to be sure we highlight the correct word
+        int startIdx = index;
+        //test if the simple expression is closed correctly
+        int endIdx = text.indexOf("}", startIdx);
+        if (endIdx == -1) {
+            //the expression is not closed, test for first " " to see if can stop text range here
+            endIdx = text.indexOf(" ", startIdx) - 1;
+        }
+        //calc the end index for highlighted word
+        endIdx = endIdx < 0 ? (range.getEndOffset() - 1) : (range.getStartOffset() + endIdx) + 1;
+
+        if (endIdx <= startIdx) {
+            endIdx = range.getEndOffset();
+        }
+        return TextRange.create(range.getStartOffset() + index, endIdx);
+    }
+
+    /**
+     * Prepares the validation of the text, by collecting everything needed from the PSI element.
+     * <p/>
+     * This is called in a read action, where as the returned validation may run in any thread without access to the PSI.
      *
      * @param element - Element to parse
-     * @param holder - Container for the different error messages and it's test range
      * @param text - String to validate such as an Camel endpoint uri, or a Simple expression
+     * @return the validation to run, or <tt>null</tt> if there is nothing to validate
      */
-    abstract void validateText(@NotNull PsiElement element, @NotNull AnnotationHolder holder, @NotNull String text);
+    @Nullable
+    abstract Validation prepare(@NotNull PsiElement element, @NotNull String text);
+
+    /**
+     * A validation prepared from a PSI element, which must not access the PSI.
+     */
+    interface Validation {
+
+        /**
+         * Validate the text and create error messaged from the validation result.
+         *
+         * @param outcome - Container for the different error messages and it's text range relative to the element
+         */
+        void validate(@NotNull CamelValidationOutcome outcome);
+    }
 
     private IdeaUtils getIdeaUtils() {
         return ServiceManager.getService(IdeaUtils.class);
@@ -0,0 +1,194 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.annotator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import org.apache.camel.idea.util.CamelFileKind;
+import org.apache.camel.idea.util.IdeaUtils;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Validates all the Camel endpoints, simple and jsonpath expressions of a file, regardless of the real time validation
+ * preferences, for analysing many files in a batch.
+ * <p/>
+ * The literals are validated the same way as {@link CamelExternalAnnotator} does, and the outcomes are cached on the
+ * elements, so the batch and the editor highlighting reuse each others validations. Only the collecting of the literals
+ * needs a read action, so the validations of several files can run in parallel.
+ */
+public final class CamelBatchValidator {
+
+    private final List<AbstractCamelAnnotator> all = Arrays.asList(new CamelEndpointAnnotator(), new CamelSimpleAnnotator(), new CamelJSonPathAnnotator());
+    private final List<AbstractCamelAnnotator> endpointOnly = all.subList(0, 1);
+
+    /**
+     * Validates the file, which must not be called in a read action.
+     *
+     * @param file the file
+     * @return the outcome of the file
+     */
+    @NotNull
+    public Result validate(@NotNull PsiFile file) {
+        CamelExternalAnnotator.Batch batch = ReadAction.compute(() -> {
+            if (!file.isValid() || !CamelFileKind.of(file).isCamel()) {
+                return null;
+            }
+            // simple and jsonpath is only supported in java and xml files
+            IdeaUtils ideaUtils = ServiceManager.getService(IdeaUtils.class);
+            boolean javaOrXml = ideaUtils.isJavaLanguage(file) || ideaUtils.isXmlLanguage(file);
+            return CamelExternalAnnotator.collect(file, javaOrXml ? all : endpointOnly, false);
+        });
+        if (batch == null || batch.isEmpty()) {
+            return new Result(file.getVirtualFile(), 0, 0, Collections.emptyList());
+        }
+
+        List<CamelExternalAnnotator.Item> pending = batch.getPending();
+        for (CamelExternalAnnotator.Item item : pending) {
+            ProgressManager.checkCanceled();
+            item.validateNow();
+        }
+
+        return ReadAction.compute(() -> {
+            Document document = PsiDocumentManager.getInstance(file.getProject()).getDocument(file);
+            List<Problem> problems = new ArrayList<>();
+            Set<PsiElement> literals = new HashSet<>();
+            for (CamelExternalAnnotator.Item item : batch.getItems()) {
+                PsiElement element = item.getElement();
+                literals.add(element);
+                if (!element.isValid()) {
+                    continue;
+                }
+                item.cacheOutcome();
+                CamelValidationOutcome outcome = item.getOutcome();
+                if (outcome == null) {
+                    continue;
+                }
+                int offset = element.getTextRange().getStartOffset();
+                for (CamelValidationOutcome.Problem problem : outcome.getProblems()) {
+                    TextRange range = problem.getRange().shiftRight(offset);
+                    int line = document != null ? document.getLineNumber(range.getStartOffset()) : -1;
+                    int column = document != null ? range.getStartOffset() - document.getLineStartOffset(line) : -1;
+                    problems.add(new Problem(problem.getSeverity(), range, line, column, problem.getMessage()));
+                }
+            }
+            return new Result(file.getVirtualFile(), literals.size(), pending.size(), problems);
+        });
+    }
+
+    /**
+     * The outcome of validating a file
+     */
+    public static final class Result {
+
+        private final VirtualFile file;
+        private final int literals;
+        private final int validated;
+        private final List<Problem> problems;
+
+        Result(VirtualFile file, int literals, int validated, List<Problem> problems) {
+            this.file = file;
+            this.literals = literals;
+            this.validated = validated;
+            this.problems = problems;
+        }
+
+        public VirtualFile getFile() {
+            return file;
+        }
+
+        /**
+         * The number of Camel literals in the file
+         */
+        public int getLiterals() {
+            return literals;
+        }
+
+        /**
+         * The number of validations which was run, and not reused from the cache
+         */
+        public int getValidated() {
+            return validated;
+        }
+
+        public List<Problem> getProblems() {
+            return problems;
+        }
+    }
+
+    /**
+     * A problem found in the file
+     */
+    public static final class Problem {
+
+        private final HighlightSeverity severity;
+        private final TextRange range;
+        private final int line;
+        private final int column;
+        private final String message;
+
+        Problem(HighlightSeverity severity, TextRange range, int line, int column, String message) {
+            this.severity = severity;
+            this.range = range;
+            this.line = line;
+            this.column = column;
+            this.message = message;
+        }
+
+        public HighlightSeverity getSeverity() {
+            return severity;
+        }
+
+        /**
+         * The range in the file
+         */
+        public TextRange getRange() {
+            return range;
+        }
+
+        /**
+         * The zero based line, or <tt>-1</tt> if unknown
+         */
+        public int getLine() {
+            return line;
+        }
+
+        /**
+         * The zero based column, or <tt>-1</tt> if unknown
+         */
+        public int getColumn() {
+            return column;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -17,20 +17,19 @@
 package org.apache.camel.idea.annotator;
 
 import java.util.List;
-import static java.util.stream.Collectors.toList;
 
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
-import com.intellij.lang.jvm.JvmModifier;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiMethod;
-import org.apache.camel.idea.service.CamelPreferenceService;
-import org.apache.camel.idea.service.CamelService;
+import com.intellij.psi.PsiLiteral;
+import com.intellij.psi.PsiLiteralExpression;
+import org.apache.camel.idea.util.CamelHighlightingContext;
 import org.apache.camel.idea.util.CamelIdeaUtils;
-import org.apache.camel.idea.util.IdeaUtils;
+import org.apache.camel.idea.util.CamelPerformanceCounter;
+import org.apache.camel.idea.util.JavaBeanMethodTable;
 import org.apache.camel.idea.util.JavaMethodUtils;
 import org.apache.camel.idea.util.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -46,13 +45,15 @@ public class CamelBeanMethodAnnotator implements Annotator {
     private static final Logger LOG = Logger.getInstance(CamelBeanMethodAnnotator.class);
 
     boolean isEnabled(@NotNull PsiElement element) {
-        final boolean valid = ServiceManager.getService(element.getProject(), CamelService.class).isCamelPresent()
-            && ServiceManager.getService(CamelPreferenceService.class).isRealTimeBeanMethodValidationCheckBox()
-            // skip whitespace noise
-            && !getIdeaUtils().isWhiteSpace(element)
-            // skip java doc noise
-            && !getIdeaUtils().isJavaDoc(element);
-        return valid;
+        // the bean method is a string literal, so reject all other elements before any service lookup
+        if (!(element instanceof PsiLiteral) && !(element.getParent() instanceof PsiLiteralExpression)) {
+            CamelPerformanceCounter.REJECTED_ELEMENTS.increment();
+            return false;
+        }
+        CamelHighlightingContext context = CamelHighlightingContext.get(element);
+        return context.isCamelPresent()
+            && context.isRealTimeBeanMethodValidation()
+            && context.mightContainCamel(element);
     }
 
     @Override
@@ -75,33 +76,24 @@ public class CamelBeanMethodAnnotator implements Annotator {
         final String methodNameWithParameters = StringUtils.stripDoubleQuotes(element.getText());
         final String methodName = StringUtils.stripDoubleQuotes(getJavaMethodUtils().getMethodNameWithOutParameters(element));
 
-        final List<PsiMethod> matchMethods = getJavaMethodUtils().getBeanMethods(getJavaMethodUtils().getMethods(psiClass))
-            .stream()
-            .peek(method -> {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug(String.format("element %s = %s method in bean %s", methodName, StringUtils.stripDoubleQuotes(method.getName()), psiClass.getQualifiedName()));
-                }
-            })
-            .filter(method -> StringUtils.stripDoubleQuotes(method.getName()).equals(methodName))
-            .collect(toList());
+        // the methods are looked up by name in the table which is cached per class
+        final JavaBeanMethodTable table = getJavaMethodUtils().getBeanMethodTable(psiClass);
+        final List<JavaBeanMethodTable.BeanMethod> matchMethods = table.getMethods(methodName);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("element %s matches %d methods in bean %s", methodName, matchMethods.size(), psiClass.getQualifiedName()));
+        }
 
         if (matchMethods.isEmpty()) {
-            errorMessage = matchMethods.isEmpty() ? String.format(METHOD_CAN_NOT_RESOLVED, methodNameWithParameters, psiClass.getQualifiedName()) : null;
+            errorMessage = String.format(METHOD_CAN_NOT_RESOLVED, methodNameWithParameters, psiClass.getQualifiedName());
         } else {
-            final long privateMethods = matchMethods.stream()
-                .filter(method -> getJavaMethodUtils().isMatchOneOfModifierType(method, JvmModifier.PRIVATE))
-                .count();
-
-            final boolean isAnnotatedWithHandler = matchMethods.stream().anyMatch(psiMethod -> getCamelIdeaUtils().isAnnotatedWithHandler(psiMethod));
-
-            final boolean allPrivates = privateMethods == matchMethods.size() ? true : false;
+            final boolean allPrivates = table.isPrivate(methodName);
 
             if (methodNameWithParameters.indexOf("(", methodName.length()) > 0 && methodNameWithParameters.endsWith(")") && !allPrivates) {
                 //TODO implement logic for matching on parameters.
                 return;
             }
 
-            if ((matchMethods.size() - privateMethods) > 1 && (!isAnnotatedWithHandler)) {
+            if (table.isAmbiguous(methodName)) {
                 errorMessage = String.format(METHOD_HAS_AMBIGUOUS_ACCESS, methodNameWithParameters, psiClass.getQualifiedName());
             } else {
                 errorMessage = allPrivates ? String.format(METHOD_HAS_PRIVATE_ACCESS, methodNameWithParameters, psiClass.getQualifiedName()) : null;
@@ -122,8 +114,4 @@ public class CamelBeanMethodAnnotator implements Annotator {
     private JavaMethodUtils getJavaMethodUtils() {
         return ServiceManager.getService(JavaMethodUtils.class);
     }
-
-    private IdeaUtils getIdeaUtils() {
-        return ServiceManager.getService(IdeaUtils.class);
-    }
 }
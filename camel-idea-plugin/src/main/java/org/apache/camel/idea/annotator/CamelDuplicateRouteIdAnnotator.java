@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.annotator;
+
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.Annotator;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiExpressionList;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.intellij.psi.xml.XmlAttribute;
+import com.intellij.psi.xml.XmlAttributeValue;
+import org.apache.camel.idea.index.CamelRouteIdIndex;
+import org.apache.camel.idea.util.CamelHighlightingContext;
+import org.apache.camel.idea.util.CamelPerformanceCounter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Annotate the id of a Camel route with a warning if another route in the project has the same id, such as
+ * <tt>routeId("billing")</tt> in Java or <tt>&lt;route id="billing"&gt;</tt> in XML, as Camel fails to start
+ * routes with duplicate ids in the same context.
+ * <p/>
+ * The ids are looked up in the {@link CamelRouteIdIndex}, so the other files of the project are not parsed. Only the
+ * routes of the module of the element and the modules it depends on are looked at, as the modules of a project are often
+ * separate applications, and the routes of the tests are only looked at for routes in the tests.
+ */
+public class CamelDuplicateRouteIdAnnotator implements Annotator {
+
+    private static final String DUPLICATE_ROUTE_ID = "Duplicate route id '%s'";
+
+    @Override
+    public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+        String routeId = getRouteId(element);
+        if (routeId == null || routeId.isEmpty()) {
+            CamelPerformanceCounter.REJECTED_ELEMENTS.increment();
+            return;
+        }
+        Project project = element.getProject();
+        CamelHighlightingContext context = CamelHighlightingContext.get(element);
+        if (!context.isCamelPresent() || !context.mightContainCamel(element) || DumbService.isDumb(project)) {
+            return;
+        }
+        if (CamelRouteIdIndex.isDuplicate(project, routeId, getScope(element))) {
+            holder.createWarningAnnotation(element, String.format(DUPLICATE_ROUTE_ID, routeId));
+        }
+    }
+
+    /**
+     * Gets the scope of the routes which can be in the same Camel context as the element, which is the module of the
+     * element with its dependencies, without the test sources unless the element is in the test sources
+     */
+    @NotNull
+    private static GlobalSearchScope getScope(@NotNull PsiElement element) {
+        Project project = element.getProject();
+        Module module = ModuleUtilCore.findModuleForPsiElement(element);
+        GlobalSearchScope scope = module != null ? GlobalSearchScope.moduleWithDependenciesScope(module) : GlobalSearchScope.projectScope(project);
+        VirtualFile file = element.getContainingFile().getVirtualFile();
+        if (file == null || !ProjectFileIndex.getInstance(project).isInTestSourceContent(file)) {
+            scope = scope.intersectWith(GlobalSearchScope.notScope(GlobalSearchScopesCore.projectTestScope(project)));
+        }
+        return scope;
+    }
+
+    /**
+     * Gets the route id, if the element is the string literal of <tt>routeId</tt> in Java, or the value of the
+     * <tt>id</tt> attribute of a <tt>route</tt> tag in XML, the same as the ids are indexed
+     */
+    @Nullable
+    private static String getRouteId(@NotNull PsiElement element) {
+        if (element instanceof PsiLiteralExpression) {
+            PsiElement parent = element.getParent();
+            if (parent instanceof PsiExpressionList && parent.getParent() instanceof PsiMethodCallExpression
+                && ((PsiExpressionList) parent).getExpressions().length == 1
+                && CamelRouteIdIndex.ROUTE_ID.equals(((PsiMethodCallExpression) parent.getParent()).getMethodExpression().getReferenceName())) {
+                Object value = ((PsiLiteralExpression) element).getValue();
+                return value instanceof String ? (String) value : null;
+            }
+        } else if (element instanceof XmlAttributeValue && element.getParent() instanceof XmlAttribute) {
+            XmlAttribute attribute = (XmlAttribute) element.getParent();
+            if ("id".equals(attribute.getLocalName()) && "route".equals(attribute.getParent().getLocalName())) {
+                return attribute.getValue();
+            }
+        }
+        return null;
+    }
+
+}
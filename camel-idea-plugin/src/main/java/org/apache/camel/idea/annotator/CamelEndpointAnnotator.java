@@ -16,24 +16,28 @@
  */
 package org.apache.camel.idea.annotator;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.xml.XmlToken;
-import org.apache.camel.catalog.CamelCatalog;
 import org.apache.camel.catalog.EndpointValidationResult;
 import org.apache.camel.idea.service.CamelCatalogService;
-import org.apache.camel.idea.service.CamelPreferenceService;
 import org.apache.camel.idea.service.QueryUtils;
+import org.apache.camel.idea.util.CamelEndpointUri;
+import org.apache.camel.idea.util.CamelHighlightingContext;
 import org.apache.camel.idea.util.CamelIdeaUtils;
+import org.apache.camel.idea.util.CamelUriNormalizer;
 import org.apache.camel.idea.util.IdeaUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import static org.apache.camel.idea.util.StringUtils.isEmpty;
 
 /**
@@ -44,127 +48,156 @@ public class CamelEndpointAnnotator extends AbstractCamelAnnotator {
     private static final Logger LOG = Logger.getInstance(CamelEndpointAnnotator.class);
 
     @Override
-    boolean isEnabled() {
-        return ServiceManager.getService(CamelPreferenceService.class).isRealTimeEndpointValidation();
+    boolean isEnabled(@NotNull CamelHighlightingContext context) {
+        return context.isRealTimeEndpointValidation();
+    }
+
+    @Override
+    String getValidatorName() {
+        return "endpoint";
     }
 
     /**
      * Validate endpoint options list aka properties. eg "timer:trigger?delay=1000&bridgeErrorHandler=true"
      * if the URI is not valid a error annotation is created and highlight the invalid value.
      */
-    void validateText(@NotNull PsiElement element, @NotNull AnnotationHolder holder, @NotNull String uri) {
-        if (QueryUtils.isQueryContainingCamelComponent(element.getProject(), uri)) {
-            CamelCatalog catalogService = ServiceManager.getService(element.getProject(), CamelCatalogService.class).get();
-
-            IElementType type = element.getNode().getElementType();
-            LOG.trace("Element " + element + " of type: " + type + " to validate endpoint uri: " + uri);
-
-            // skip special values such as configuring ActiveMQ brokerURL
-            if (getCamelIdeaUtils().skipEndpointValidation(element)) {
-                LOG.debug("Skipping element " + element + " for validation with text: " + uri);
-                return;
-            }
+    @Nullable
+    Validation prepare(@NotNull PsiElement element, @NotNull String uri) {
+        if (!QueryUtils.isQueryContainingCamelComponent(element.getProject(), uri)) {
+            return null;
+        }
+        CamelCatalogService catalogService = ServiceManager.getService(element.getProject(), CamelCatalogService.class);
 
-            // camel catalog expects &amp; as & when it parses so replace all &amp; as &
-            String camelQuery = getIdeaUtils().getInnerText(uri);
-            camelQuery = camelQuery.replaceAll("&amp;", "&");
+        IElementType type = element.getNode().getElementType();
+        LOG.trace("Element " + element + " of type: " + type + " to validate endpoint uri: " + uri);
 
-            // strip up ending incomplete parameter
-            if (camelQuery.endsWith("&") || camelQuery.endsWith("?")) {
-                camelQuery = camelQuery.substring(0, camelQuery.length() - 1);
-            }
+        // skip special values such as configuring ActiveMQ brokerURL
+        if (getCamelIdeaUtils().skipEndpointValidation(element)) {
+            LOG.debug("Skipping element " + element + " for validation with text: " + uri);
+            return null;
+        }
 
-            boolean stringFormat = getCamelIdeaUtils().isFromStringFormatEndpoint(element);
-            if (stringFormat) {
-                // if the node is fromF or toF, then replace all %X with {{%X}} as we cannot parse that value
-                camelQuery = camelQuery.replaceAll("%s", "\\{\\{\\%s\\}\\}");
-                camelQuery = camelQuery.replaceAll("%d", "\\{\\{\\%d\\}\\}");
-                camelQuery = camelQuery.replaceAll("%b", "\\{\\{\\%b\\}\\}");
-            }
+        // parse the normalized uri (&amp; as &, joined lines, %X as {{%X}} for fromF/toF, no ending incomplete parameter)
+        // which keeps track of the offsets so the errors can be highlighted at the exact position
+        boolean stringFormat = getCamelIdeaUtils().isFromStringFormatEndpoint(element);
+        CamelEndpointUri parsed = CamelEndpointUri.of(element, uri, stringFormat);
+        CamelUriNormalizer normalized = parsed.getNormalizer();
 
-            boolean consumerOnly = getCamelIdeaUtils().isConsumerEndpoint(element);
-            boolean producerOnly = getCamelIdeaUtils().isProducerEndpoint(element);
+        boolean consumerOnly = getCamelIdeaUtils().isConsumerEndpoint(element);
+        boolean producerOnly = getCamelIdeaUtils().isProducerEndpoint(element);
+        boolean quoted = getIdeaUtils().isJavaLanguage(element) || getIdeaUtils().isXmlLanguage(element);
+        boolean xmlToken = element instanceof XmlToken;
+        boolean highlightCustomOptions = CamelHighlightingContext.get(element).isHighlightCustomOptions();
 
+        return outcome -> {
             try {
-                CamelPreferenceService preference = getCamelPreferenceService();
-
-                EndpointValidationResult result = catalogService.validateEndpointProperties(camelQuery, false, consumerOnly, producerOnly);
-
-                extractMapValue(result, result.getInvalidBoolean(), uri, element, holder, new BooleanErrorMsg());
-                extractMapValue(result, result.getInvalidEnum(), uri, element, holder, new EnumErrorMsg());
-                extractMapValue(result, result.getInvalidInteger(), uri, element, holder, new IntegerErrorMsg());
-                extractMapValue(result, result.getInvalidNumber(), uri, element, holder, new NumberErrorMsg());
-                extractMapValue(result, result.getInvalidReference(), uri, element, holder, new ReferenceErrorMsg());
-                extractSetValue(result, result.getUnknown(), uri, element, holder, new UnknownErrorMsg(), false);
-                extractSetValue(result, result.getLenient(), uri, element, holder, new LenientOptionMsg(preference.isHighlightCustomOptions()), true);
-                extractSetValue(result, result.getNotConsumerOnly(), uri, element, holder, new NotConsumerOnlyErrorMsg(), false);
-                extractSetValue(result, result.getNotProducerOnly(), uri, element, holder, new NotProducerOnlyErrorMsg(), false);
+                // the validations run in parallel, and each thread has its own catalog
+                EndpointValidationResult result = catalogService.get().validateEndpointProperties(normalized.getText(), false, consumerOnly, producerOnly);
+
+                extractMapValue(result, result.getInvalidBoolean(), parsed, quoted, xmlToken, outcome, new BooleanErrorMsg());
+                extractMapValue(result, result.getInvalidEnum(), parsed, quoted, xmlToken, outcome, new EnumErrorMsg());
+                extractMapValue(result, result.getInvalidInteger(), parsed, quoted, xmlToken, outcome, new IntegerErrorMsg());
+                extractMapValue(result, result.getInvalidNumber(), parsed, quoted, xmlToken, outcome, new NumberErrorMsg());
+                extractMapValue(result, result.getInvalidReference(), parsed, quoted, xmlToken, outcome, new ReferenceErrorMsg());
+                extractSetValue(result, result.getUnknown(), parsed, quoted, outcome, new UnknownErrorMsg(), false);
+                extractSetValue(result, result.getLenient(), parsed, quoted, outcome, new LenientOptionMsg(highlightCustomOptions), true);
+                extractSetValue(result, result.getNotConsumerOnly(), parsed, quoted, outcome, new NotConsumerOnlyErrorMsg(), false);
+                extractSetValue(result, result.getNotProducerOnly(), parsed, quoted, outcome, new NotProducerOnlyErrorMsg(), false);
+            } catch (ProcessCanceledException e) {
+                throw e;
             } catch (Throwable e) {
                 LOG.warn("Error validating Camel endpoint: " + uri, e);
             }
-        }
+        };
     }
 
-    private void extractSetValue(EndpointValidationResult result, Set<String> validationSet, String fromElement, PsiElement element,
-                                 AnnotationHolder holder, CamelAnnotatorEndpointMessage msg, boolean lenient) {
+    private void extractSetValue(EndpointValidationResult result, Set<String> validationSet, CamelEndpointUri uri, boolean quoted,
+                                 CamelValidationOutcome outcome, CamelAnnotatorEndpointMessage msg, boolean lenient) {
         if (validationSet != null && (lenient || !result.isSuccess())) {
 
             for (String entry : validationSet) {
                 String propertyValue = entry;
 
-                int startIdxQueryParameters = fromElement.indexOf("?" + propertyValue);
-                startIdxQueryParameters = (startIdxQueryParameters == -1) ? fromElement.indexOf("&" + propertyValue) : fromElement.indexOf("?");
-
-                int propertyIdx = fromElement.indexOf(propertyValue, startIdxQueryParameters);
-                int propertyLength = propertyValue.length();
-
-                propertyIdx = getIdeaUtils().isJavaLanguage(element) || getIdeaUtils().isXmlLanguage(element)  ? propertyIdx + 1  : propertyIdx;
-
-                TextRange range = new TextRange(element.getTextRange().getStartOffset() + propertyIdx,
-                    element.getTextRange().getStartOffset() + propertyIdx + propertyLength);
+                // highlight every occurrence of the option
+                List<TextRange> ranges = new ArrayList<>();
+                for (CamelEndpointUri.Option option : uri.getOptions(propertyValue)) {
+                    ranges.add(option.getName().getTextRange());
+                }
+                if (ranges.isEmpty()) {
+                    int propertyIdx = indexOf(uri.getNormalizer(), propertyValue);
+                    ranges.add(TextRange.from(propertyIdx, propertyValue.length()));
+                }
 
-                if (msg.isInfoLevel()) {
-                    holder.createInfoAnnotation(range, summaryMessage(result, propertyValue, msg));
-                } else if (msg.isWarnLevel()) {
-                    holder.createWarningAnnotation(range, summaryMessage(result, propertyValue, msg));
-                } else {
-                    holder.createErrorAnnotation(range, summaryMessage(result, propertyValue, msg));
+                for (TextRange range : ranges) {
+                    range = quoted ? range.shiftRight(1) : range;
+                    if (msg.isInfoLevel()) {
+                        outcome.info(range, summaryMessage(result, propertyValue, msg));
+                    } else if (msg.isWarnLevel()) {
+                        outcome.warning(range, summaryMessage(result, propertyValue, msg));
+                    } else {
+                        outcome.error(range, summaryMessage(result, propertyValue, msg));
+                    }
                 }
             }
         }
     }
 
     private void extractMapValue(EndpointValidationResult result, Map<String, String> validationMap,
-                                 String fromElement, @NotNull PsiElement element, @NotNull AnnotationHolder holder, CamelAnnotatorEndpointMessage msg) {
+                                 CamelEndpointUri uri, boolean quoted, boolean xmlToken, @NotNull CamelValidationOutcome outcome, CamelAnnotatorEndpointMessage msg) {
         if ((!result.isSuccess()) && validationMap != null) {
 
             for (Map.Entry<String, String> entry : validationMap.entrySet()) {
                 String propertyValue = entry.getValue();
                 String propertyKey = entry.getKey();
-                int startIdxQueryParameters = fromElement.indexOf("?");
-
-                int propertyIdx = fromElement.indexOf(propertyKey, startIdxQueryParameters);
-                int startIdx = propertyIdx;
-
-                int equalsSign = fromElement.indexOf("=", propertyIdx);
 
-                if (equalsSign > 0) {
-                    startIdx = equalsSign + 1;
+                List<TextRange> ranges = new ArrayList<>();
+                if (propertyValue.isEmpty()) {
+                    // highlight the key as there is no value
+                    for (CamelEndpointUri.Option option : uri.getOptions(propertyKey)) {
+                        if (option.getValue() == null || option.getValue().getText().isEmpty()) {
+                            ranges.add(option.getName().getTextRange());
+                        }
+                    }
+                    if (ranges.isEmpty()) {
+                        ranges.add(TextRange.from(indexOf(uri.getNormalizer(), propertyKey), propertyKey.length()));
+                    }
+                } else {
+                    for (CamelEndpointUri.Option option : uri.getOptions(propertyKey)) {
+                        if (option.getValue() != null && option.getValue().getText().equals(propertyValue)) {
+                            ranges.add(option.getValue().getTextRange());
+                        }
+                    }
+                    if (ranges.isEmpty()) {
+                        // the option may be a path parameter
+                        for (CamelEndpointUri.Part part : uri.getPathParameters()) {
+                            if (part.getText().equals(propertyValue)) {
+                                ranges.add(part.getTextRange());
+                                break;
+                            }
+                        }
+                    }
+                    if (ranges.isEmpty()) {
+                        ranges.add(TextRange.from(indexOf(uri.getNormalizer(), propertyValue), propertyValue.length()));
+                    }
                 }
 
-                int propertyLength = propertyValue.isEmpty() ? propertyKey.length() : propertyValue.length();
-                propertyLength = element instanceof XmlToken ? propertyLength - 1 : propertyLength;
-
-                startIdx = propertyValue.isEmpty() ? propertyIdx + 1 : fromElement.indexOf(propertyValue, startIdx) + 1;
-                startIdx = getIdeaUtils().isJavaLanguage(element) || getIdeaUtils().isXmlLanguage(element) ? startIdx  : startIdx - 1;
-
-                TextRange range = new TextRange(element.getTextRange().getStartOffset() + startIdx,
-                    element.getTextRange().getStartOffset() + startIdx + propertyLength);
-                holder.createErrorAnnotation(range, summaryMessage(result, entry, msg));
+                for (TextRange range : ranges) {
+                    int startIdx = quoted ? range.getStartOffset() + 1 : range.getStartOffset();
+                    int propertyLength = xmlToken ? range.getLength() - 1 : range.getLength();
+                    outcome.error(new TextRange(startIdx, startIdx + propertyLength), summaryMessage(result, entry, msg));
+                }
             }
         }
     }
 
+    /**
+     * Returns the offset in the original text of the first occurrence of the text in the query, or the uri if there is no query
+     */
+    private static int indexOf(CamelUriNormalizer uri, String text) {
+        int idx = uri.getText().indexOf(text, Math.max(0, uri.getText().indexOf('?')));
+        return Math.max(0, uri.getOriginalOffset(idx));
+    }
+
     private static class BooleanErrorMsg implements CamelAnnotatorEndpointMessage<Map.Entry<String, String>> {
         @Override
         public String getErrorMessage(EndpointValidationResult result, Map.Entry<String, String> entry) {
@@ -312,10 +345,6 @@ public class CamelEndpointAnnotator extends AbstractCamelAnnotator {
         return msg.getErrorMessage(result, entry);
     }
 
-    private static CamelPreferenceService getCamelPreferenceService() {
-        return ServiceManager.getService(CamelPreferenceService.class);
-    }
-
     private static IdeaUtils getIdeaUtils() {
         return ServiceManager.getService(IdeaUtils.class);
     }
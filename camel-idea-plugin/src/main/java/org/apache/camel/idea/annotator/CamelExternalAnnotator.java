@@ -0,0 +1,484 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.annotator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.ExternalAnnotator;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import org.apache.camel.idea.service.CamelService;
+import org.apache.camel.idea.util.CamelHighlightingContext;
+import org.apache.camel.idea.util.CamelPerformanceCounter;
+import org.apache.camel.idea.util.CamelValidationCircuitBreaker;
+import org.apache.camel.idea.util.IdeaUtils;
+import org.apache.camel.idea.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Validates all the Camel endpoints, simple and jsonpath expressions in a file in one batch.
+ * <p/>
+ * The literals are collected in one walk of the file, where the validations are prepared from the PSI. The validations
+ * are then run outside the read action in parallel, and the annotations are created in one step at the end, so large
+ * route files do not hold up the regular highlighting while the Camel validation runs. The Camel catalog is not thread
+ * safe, so each thread validates with its own catalog from {@link org.apache.camel.idea.service.CamelCatalogService#get}.
+ * <p/>
+ * The outcome of each validation is cached on the element the same way as the {@link AbstractCamelAnnotator} does,
+ * so unchanged literals are not validated again.
+ * <p/>
+ * The validations of a file have a time budget, as the catalog and the languages from the project classpath cannot be
+ * cancelled. The validations run in the threads of the highlighting pass, and those which have not started when the
+ * budget is used up are deferred to one background job per file, and the file is highlighted again when the job is done,
+ * instead of blocking the highlighting of the file. The highlighting pass and the background job can be cancelled
+ * between the validations, and the background job is cancelled when another job is started for the same file.
+ */
+public class CamelExternalAnnotator extends ExternalAnnotator<CamelExternalAnnotator.Batch, CamelExternalAnnotator.Batch> {
+
+    private static final Logger LOG = Logger.getInstance(CamelExternalAnnotator.class);
+
+    /**
+     * How long the validations of a file can take before the remaining validations are deferred to the background
+     */
+    static final long VALIDATION_BUDGET_MILLIS = 300;
+
+    private static final Key<DeferredValidation> DEFERRED_VALIDATION = Key.create("CamelDeferredValidation");
+
+    private final CamelEndpointAnnotator endpointAnnotator = new CamelEndpointAnnotator();
+    private final CamelSimpleAnnotator simpleAnnotator = new CamelSimpleAnnotator();
+    private final CamelJSonPathAnnotator jsonPathAnnotator = new CamelJSonPathAnnotator();
+
+    @Nullable
+    @Override
+    public Batch collectInformation(@NotNull PsiFile file) {
+        return collectInformation(file, null, false);
+    }
+
+    @Nullable
+    @Override
+    public Batch collectInformation(@NotNull PsiFile file, @Nullable Editor editor, boolean hasErrors) {
+        // validate even if the file has errors, as the errors may be elsewhere than in the routes
+        CamelHighlightingContext context = CamelHighlightingContext.get(file);
+        if (!context.isCamelPresent() || !context.mightContainCamel(file)) {
+            return null;
+        }
+
+        List<AbstractCamelAnnotator> annotators = new ArrayList<>(3);
+        if (endpointAnnotator.isEnabled(context)) {
+            annotators.add(endpointAnnotator);
+        }
+        // simple and jsonpath is only supported in java and xml files
+        boolean javaOrXml = getIdeaUtils().isJavaLanguage(file) || getIdeaUtils().isXmlLanguage(file);
+        if (javaOrXml && simpleAnnotator.isEnabled(context)) {
+            annotators.add(simpleAnnotator);
+        }
+        if (javaOrXml && jsonPathAnnotator.isEnabled(context)) {
+            annotators.add(jsonPathAnnotator);
+        }
+        if (annotators.isEmpty()) {
+            return null;
+        }
+
+        Batch batch = collect(file, annotators, true);
+        return batch.isEmpty() ? null : batch;
+    }
+
+    /**
+     * Collects the literals of the file and prepares their validations, in a read action.
+     *
+     * @param file       the file
+     * @param annotators the annotators to validate the literals with, which all accept the same kind of elements
+     * @param realTime   whether this is for the real time validation, where validations running in the background or
+     *                   paused by the circuit breaker are skipped
+     * @return the batch with the literals
+     */
+    @NotNull
+    static Batch collect(@NotNull PsiFile file, @NotNull List<AbstractCamelAnnotator> annotators, boolean realTime) {
+        Batch batch = new Batch(file);
+        AbstractCamelAnnotator acceptor = annotators.get(0);
+        file.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if (acceptor.accept(element)) {
+                    ProgressManager.checkCanceled();
+                    for (AbstractCamelAnnotator annotator : annotators) {
+                        batch.add(prepare(annotator, element, realTime));
+                    }
+                } else {
+                    CamelPerformanceCounter.REJECTED_ELEMENTS.increment();
+                }
+                super.visitElement(element);
+            }
+        });
+        return batch;
+    }
+
+    private static Item prepare(AbstractCamelAnnotator annotator, PsiElement element, boolean realTime) {
+        CamelValidationOutcome cached = annotator.getUpToDateOutcome(element);
+        if (cached != null) {
+            return new Item(annotator, element, null, null, cached);
+        }
+        long[] stamps = annotator.getDependencyStamps(element);
+        if (realTime && annotator.isDeferred(element, stamps)) {
+            // still being validated in the background, and the file is highlighted again when its done
+            return new Item(annotator, element, null, null, null);
+        }
+        String text = ServiceManager.getService(IdeaUtils.class).extractTextFromElement(element, true, false, false);
+        AbstractCamelAnnotator.Validation validation = StringUtils.isEmpty(text) ? null : annotator.prepare(element, text);
+        if (realTime && validation != null && !annotator.getCircuitBreaker(element.getProject()).allowRequest()) {
+            // the validator is paused as its too slow in this project, and the element is still validated by the inspections
+            return new Item(annotator, element, null, null, null);
+        }
+        return new Item(annotator, element, stamps, validation, null);
+    }
+
+    @Nullable
+    @Override
+    public Batch doAnnotate(Batch batch) {
+        List<Item> pending = batch.getPending();
+        if (!pending.isEmpty()) {
+            // the tests expect all the annotations in the first highlighting pass
+            long budget = ApplicationManager.getApplication().isUnitTestMode() ? TimeUnit.DAYS.toMillis(1) : VALIDATION_BUDGET_MILLIS;
+            List<Item> deferred = validate(pending, budget);
+            if (!deferred.isEmpty()) {
+                LOG.debug("Validation of Camel literals exceeded " + budget + " millis, deferring " + deferred.size() + " to background");
+                DeferredValidation.create(batch.getFile(), deferred).schedule();
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Validates the literals in parallel, as the validations do not need the PSI, within the time budget.
+     *
+     * @param pending      the items to validate
+     * @param budgetMillis the time budget of the validations
+     * @return the items which was not validated as the time budget was used up
+     */
+    @NotNull
+    static List<Item> validate(@NotNull List<Item> pending, long budgetMillis) {
+        long start = System.currentTimeMillis();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        Queue<Item> deferred = new ConcurrentLinkedQueue<>();
+        JobLauncher.getInstance().invokeConcurrentlyUnderProgress(pending, ProgressManager.getInstance().getProgressIndicator(), false, false, item -> {
+            if (!item.validate(deadline)) {
+                deferred.add(item);
+            }
+            return true;
+        });
+        LOG.debug("Validated " + (pending.size() - deferred.size()) + " Camel literals in " + (System.currentTimeMillis() - start) + " millis");
+        return new ArrayList<>(deferred);
+    }
+
+    @Override
+    public void apply(@NotNull PsiFile file, Batch batch, @NotNull AnnotationHolder holder) {
+        for (Item item : batch.getItems()) {
+            if (!item.element.isValid()) {
+                continue;
+            }
+            item.cacheOutcome();
+            if (item.outcome != null) {
+                item.outcome.applyTo(item.element, holder);
+            }
+        }
+    }
+
+    private IdeaUtils getIdeaUtils() {
+        return ServiceManager.getService(IdeaUtils.class);
+    }
+
+    /**
+     * The Camel literals of a file to be validated
+     */
+    static final class Batch {
+
+        private final PsiFile file;
+        private final List<Item> items = new ArrayList<>();
+
+        Batch(PsiFile file) {
+            this.file = file;
+        }
+
+        PsiFile getFile() {
+            return file;
+        }
+
+        void add(Item item) {
+            items.add(item);
+        }
+
+        boolean isEmpty() {
+            return items.isEmpty();
+        }
+
+        List<Item> getItems() {
+            return Collections.unmodifiableList(items);
+        }
+
+        /**
+         * The items which has no up to date outcome and must be validated
+         */
+        List<Item> getPending() {
+            List<Item> answer = new ArrayList<>();
+            for (Item item : items) {
+                if (item.outcome == null && item.validation != null) {
+                    answer.add(item);
+                }
+            }
+            return answer;
+        }
+    }
+
+    /**
+     * A literal of the file to be validated by a given annotator
+     */
+    static final class Item {
+
+        private final AbstractCamelAnnotator annotator;
+        private final PsiElement element;
+        private final Project project;
+        private final long[] stamps;
+        private final AbstractCamelAnnotator.Validation validation;
+        private CamelValidationOutcome outcome;
+        private volatile boolean deferred;
+
+        Item(AbstractCamelAnnotator annotator, PsiElement element, long[] stamps, AbstractCamelAnnotator.Validation validation, CamelValidationOutcome outcome) {
+            this.annotator = annotator;
+            this.element = element;
+            this.project = element.getProject();
+            this.stamps = stamps;
+            this.validation = validation;
+            this.outcome = outcome;
+        }
+
+        PsiElement getElement() {
+            return element;
+        }
+
+        @Nullable
+        CamelValidationOutcome getOutcome() {
+            return outcome;
+        }
+
+        /**
+         * Validates the literal in the current thread, without a time budget. A failing validation is logged and the
+         * literal is left without problems, so the other literals of the batch are still validated.
+         */
+        void validateNow() {
+            CamelPerformanceCounter.VALIDATIONS.increment();
+            outcome = runSafely(false);
+        }
+
+        /**
+         * Caches the outcome on the element, when it was validated by this batch, in a read action. The outcome of a
+         * validation deferred to the background is cached by the background job.
+         */
+        void cacheOutcome() {
+            if (stamps != null && !deferred) {
+                annotator.cacheOutcome(element, outcome, stamps);
+            }
+        }
+
+        /**
+         * Validates the literal in the current thread, unless the time budget of the file is used up
+         *
+         * @param deadline the {@link System#nanoTime()} when the time budget of the file is used up
+         * @return <tt>false</tt> if the time budget was used up, and the literal must be validated in the background
+         */
+        boolean validate(long deadline) {
+            ProgressManager.checkCanceled();
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            CamelPerformanceCounter.VALIDATIONS.increment();
+            outcome = runSafely(true);
+            return true;
+        }
+
+        /**
+         * Validates the literal in the background job, unless the element has changed since the validation was
+         * prepared, and caches the outcome on the element.
+         *
+         * @return <tt>true</tt> if the literal was validated
+         */
+        boolean validateDeferred() {
+            boolean upToDate = ReadAction.compute(() -> element.isValid() && Arrays.equals(stamps, annotator.getDependencyStamps(element)));
+            if (!upToDate) {
+                return false;
+            }
+            CamelPerformanceCounter.VALIDATIONS.increment();
+            CamelValidationOutcome answer = runSafely(true);
+            ReadAction.run(() -> {
+                if (element.isValid()) {
+                    annotator.cacheOutcome(element, answer, stamps);
+                }
+            });
+            return true;
+        }
+
+        private void markDeferred() {
+            deferred = true;
+            annotator.markDeferred(element, stamps);
+        }
+
+        private void clearDeferred() {
+            annotator.clearDeferred(element, stamps);
+        }
+
+        /**
+         * Runs the validation, where a failing validation is logged and gives an outcome without problems
+         *
+         * @param record whether to record how long the validation took in the circuit breaker
+         */
+        private CamelValidationOutcome runSafely(boolean record) {
+            try {
+                return record ? runAndRecord() : run();
+            } catch (ProcessCanceledException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                LOG.warn("Error validating Camel literal", e);
+                return new CamelValidationOutcome();
+            }
+        }
+
+        private CamelValidationOutcome run() {
+            CamelValidationOutcome answer = new CamelValidationOutcome();
+            validation.validate(answer);
+            return answer;
+        }
+
+        /**
+         * Runs the validation and records how long it took in the circuit breaker, which is only for the real time
+         * validation, as the breaker pauses the real time validation and not the batch validation
+         */
+        private CamelValidationOutcome runAndRecord() {
+            long start = System.currentTimeMillis();
+            try {
+                return run();
+            } finally {
+                CamelValidationCircuitBreaker breaker = annotator.getCircuitBreaker(project);
+                if (breaker.record(System.currentTimeMillis() - start)) {
+                    LOG.info("Pausing real time validation as its slow: " + breaker);
+                    ServiceManager.getService(project, CamelService.class).showSlowValidationNotification(project, breaker.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * The validations of a file which was deferred to the background, as the time budget of the highlighting pass was
+     * used up. The validations are run one at a time, and the validations of elements which has changed since are
+     * dropped. The job is cancelled when another job is started for the same file, as the file has been changed and
+     * highlighted again.
+     */
+    static final class DeferredValidation {
+
+        private final PsiFile file;
+        private final List<Item> items;
+        private final ProgressIndicator indicator = new EmptyProgressIndicator();
+
+        private DeferredValidation(PsiFile file, List<Item> items) {
+            this.file = file;
+            this.items = items;
+        }
+
+        /**
+         * Creates the job for the file, which cancels any previous job of the file, and marks the items as deferred so
+         * the following highlighting passes do not validate them again while the job is running.
+         */
+        @NotNull
+        static DeferredValidation create(@NotNull PsiFile file, @NotNull List<Item> items) {
+            DeferredValidation job = new DeferredValidation(file, items);
+            DeferredValidation previous = file.getUserData(DEFERRED_VALIDATION);
+            if (previous != null) {
+                previous.cancel();
+            }
+            file.putUserData(DEFERRED_VALIDATION, job);
+            for (Item item : items) {
+                CamelPerformanceCounter.DEFERRED_VALIDATIONS.increment();
+                item.markDeferred();
+            }
+            return job;
+        }
+
+        void schedule() {
+            ApplicationManager.getApplication().executeOnPooledThread(() -> {
+                run();
+                if (!indicator.isCanceled()) {
+                    // highlight the file again with the outcomes, and any dropped literals which must be validated again
+                    Project project = file.getProject();
+                    ApplicationManager.getApplication().invokeLater(() -> {
+                        if (file.isValid()) {
+                            DaemonCodeAnalyzer.getInstance(project).restart(file);
+                        }
+                    }, project.getDisposed());
+                }
+            });
+        }
+
+        /**
+         * Runs the validations in the current thread until done or cancelled.
+         *
+         * @return the number of literals which was validated
+         */
+        int run() {
+            int[] validated = new int[1];
+            try {
+                ProgressManager.getInstance().runProcess(() -> {
+                    for (Item item : items) {
+                        indicator.checkCanceled();
+                        if (item.validateDeferred()) {
+                            validated[0]++;
+                        }
+                    }
+                }, indicator);
+            } catch (ProcessCanceledException e) {
+                LOG.debug("Deferred validation of Camel literals was cancelled after " + validated[0] + " of " + items.size());
+            } finally {
+                items.forEach(Item::clearDeferred);
+                if (file.getUserData(DEFERRED_VALIDATION) == this) {
+                    file.putUserData(DEFERRED_VALIDATION, null);
+                }
+            }
+            return validated[0];
+        }
+
+        void cancel() {
+            indicator.cancel();
+        }
+    }
+}
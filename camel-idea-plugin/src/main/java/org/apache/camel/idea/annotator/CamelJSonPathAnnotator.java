@@ -16,20 +16,19 @@
  */
 package org.apache.camel.idea.annotator;
 
-import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.xml.XmlAttributeValue;
-import org.apache.camel.catalog.CamelCatalog;
 import org.apache.camel.catalog.LanguageValidationResult;
-import org.apache.camel.idea.service.CamelCatalogService;
-import org.apache.camel.idea.service.CamelPreferenceService;
 import org.apache.camel.idea.service.CamelService;
+import org.apache.camel.idea.util.CamelHighlightingContext;
 import org.apache.camel.idea.util.CamelIdeaUtils;
-import org.apache.camel.idea.util.IdeaUtils;
+import org.apache.camel.idea.util.CamelLanguageValidationCache;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Validate JSonPath expression and annotated the specific jsonpath expression to highlight the error in the editor
@@ -39,94 +38,66 @@ public class CamelJSonPathAnnotator extends AbstractCamelAnnotator {
     private static final Logger LOG = Logger.getInstance(CamelEndpointAnnotator.class);
 
     @Override
-    boolean isEnabled() {
-        return ServiceManager.getService(CamelPreferenceService.class).isRealTimeJSonPathValidation();
+    boolean isEnabled(@NotNull CamelHighlightingContext context) {
+        return context.isRealTimeJSonPathValidation();
+    }
+
+    @Override
+    String getValidatorName() {
+        return "jsonpath";
     }
 
     /**
      * Validate jsonpath expression. eg jsonpath("$.store.book[?(@.price < 10)]")
      * if the expression is not valid a error annotation is created and highlight the invalid value.
      */
-    void validateText(@NotNull PsiElement element, @NotNull AnnotationHolder holder, @NotNull String text) {
+    @Nullable
+    Validation prepare(@NotNull PsiElement element, @NotNull String text) {
 
         // only validate if the element is jsonpath element
-        if (getCamelIdeaUtils().isCamelExpression(element, "jsonpath")) {
-            CamelCatalog catalogService = ServiceManager.getService(element.getProject(), CamelCatalogService.class).get();
-            CamelService camelService = ServiceManager.getService(element.getProject(), CamelService.class);
+        if (!getCamelIdeaUtils().isCamelExpression(element, "jsonpath")) {
+            return null;
+        }
+        // must have camel-json library, which is only checked once per highlighting pass
+        if (!CamelHighlightingContext.get(element).isJSonPathAvailable()) {
+            return null;
+        }
 
-            // must have camel-json library
-            boolean jsonLib = camelService.containsLibrary("camel-jsonpath", false);
-            if (!jsonLib) {
-                camelService.showMissingJSonPathJarNotification(element.getProject());
-                return;
-            }
+        // need to use the classloader that can load classes from the project
+        Project project = element.getProject();
+        ClassLoader loader = ServiceManager.getService(project, CamelService.class).getProjectClassloader();
+        if (loader == null) {
+            return null;
+        }
+        boolean predicate = getCamelIdeaUtils().isCamelExpressionUsedAsPredicate(element, "jsonpath");
+        TextRange elementRange = TextRange.from(0, element.getTextLength());
+        TextRange expressionRange = getExpressionRange(element);
 
+        return outcome -> {
             try {
-                // need to use the classloader that can load classes from the project
-                ClassLoader loader = camelService.getProjectClassloader();
-                if (loader != null) {
-                    LanguageValidationResult result;
-                    boolean predicate = getCamelIdeaUtils().isCamelExpressionUsedAsPredicate(element, "jsonpath");
-                    if (predicate) {
-                        LOG.debug("Inspecting jsonpath predicate: " + text);
-                        result = catalogService.validateLanguagePredicate(loader, "jsonpath", text);
-                    } else {
-                        LOG.debug("Inspecting jsonpath expression: " + text);
-                        result = catalogService.validateLanguageExpression(loader, "jsonpath", text);
+                // the same expression is only validated once until the classpath or catalog is changed
+                LOG.debug("Inspecting jsonpath " + (predicate ? "predicate" : "expression") + ": " + text);
+                LanguageValidationResult result = CamelLanguageValidationCache.validate(project, loader, "jsonpath", text, predicate);
+                if (!result.isSuccess()) {
+                    String error = result.getShortError();
+                    if (error == null) {
+                        error = result.getError();
                     }
-                    if (!result.isSuccess()) {
-                        String error = result.getShortError();
-                        if (error == null) {
-                            error = result.getError();
-                        }
-                        TextRange range = element.getTextRange();
-                        if (result.getIndex() > 0) {
-                            range = getAdjustedTextRange(element, range, text, result);
+                    TextRange range = elementRange;
+                    if (result.getIndex() > 0) {
+                        range = getAdjustedTextRange(expressionRange, text, result.getIndex());
 
-                        }
-                        holder.createErrorAnnotation(range, error);
                     }
+                    outcome.error(range, error);
                 }
+            } catch (ProcessCanceledException e) {
+                throw e;
             } catch (Throwable e) {
                 LOG.warn("Error inspecting Camel jsonpath: " + text, e);
             }
-        }
+        };
     }
 
-    /**
-     * Adjust the text range according to the type of ${@link PsiElement}
-     * @return a new text range
-     */
-    private TextRange getAdjustedTextRange(@NotNull PsiElement element, TextRange range, String text, LanguageValidationResult result) {
-        if (element instanceof XmlAttributeValue) {
-            // we can use the xml range as-is
-            range = ((XmlAttributeValue) element).getValueTextRange();
-        } else if (getIdeaUtils().isJavaLanguage(element)) {
-            // all the programming languages need to have the offset adjusted by 1
-            range = TextRange.create(range.getStartOffset() + 1, range.getEndOffset());
-        }
-        //we need to calculate the correct start and end position to be sure we highlight the correct word
-        int startIdx = result.getIndex();
-        //test if the simple expression is closed correctly
-        int endIdx = text.indexOf("}", startIdx);
-        if (endIdx == -1) {
-            //the expression is not closed, test for first " " to see if can stop text range here
-            endIdx = text.indexOf(" ", startIdx) - 1;
-        }
-        //calc the end index for highlighted word
-        endIdx = endIdx < 0 ? (range.getEndOffset() - 1) : (range.getStartOffset() + endIdx) + 1;
-
-        if (endIdx <= startIdx) {
-            endIdx = range.getEndOffset();
-        }
-        range = TextRange.create(range.getStartOffset() + result.getIndex(), endIdx);
-        return range;
-    }
-
-    private IdeaUtils getIdeaUtils() {
-        return ServiceManager.getService(IdeaUtils.class);
-    }
-    
     private CamelIdeaUtils getCamelIdeaUtils() {
         return ServiceManager.getService(CamelIdeaUtils.class);
     }
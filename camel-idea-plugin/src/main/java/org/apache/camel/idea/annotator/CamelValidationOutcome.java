@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.annotator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The outcome of validating a single element, which can be cached and later turned into annotations.
+ * <p/>
+ * The problems are recorded with text ranges relative to the start of the element, so the outcome
+ * stays valid when text before the element is edited, and can be computed without access to the element.
+ */
+final class CamelValidationOutcome {
+
+    private List<Problem> problems = Collections.emptyList();
+
+    /**
+     * Adds an error
+     *
+     * @param range   the range relative to the start of the element
+     * @param message the message
+     */
+    void error(@NotNull TextRange range, String message) {
+        add(HighlightSeverity.ERROR, range, message);
+    }
+
+    void warning(@NotNull TextRange range, String message) {
+        add(HighlightSeverity.WARNING, range, message);
+    }
+
+    void info(@NotNull TextRange range, String message) {
+        add(HighlightSeverity.INFORMATION, range, message);
+    }
+
+    private void add(HighlightSeverity severity, TextRange range, String message) {
+        if (problems.isEmpty()) {
+            problems = new ArrayList<>(2);
+        }
+        problems.add(new Problem(severity, range, message));
+    }
+
+    boolean isEmpty() {
+        return problems.isEmpty();
+    }
+
+    @NotNull
+    List<Problem> getProblems() {
+        return problems;
+    }
+
+    /**
+     * Creates the annotations for the recorded problems
+     *
+     * @param element the element which was validated
+     * @param holder  the holder to create the annotations
+     */
+    void applyTo(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
+        int offset = element.getTextRange().getStartOffset();
+        for (Problem problem : problems) {
+            TextRange range = problem.getRange().shiftRight(offset);
+            if (problem.getSeverity() == HighlightSeverity.ERROR) {
+                holder.createErrorAnnotation(range, problem.getMessage());
+            } else if (problem.getSeverity() == HighlightSeverity.WARNING) {
+                holder.createWarningAnnotation(range, problem.getMessage());
+            } else {
+                holder.createInfoAnnotation(range, problem.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A problem found by the validation
+     */
+    static final class Problem {
+
+        private final HighlightSeverity severity;
+        private final TextRange range;
+        private final String message;
+
+        Problem(HighlightSeverity severity, TextRange range, String message) {
+            this.severity = severity;
+            this.range = range;
+            this.message = message;
+        }
+
+        HighlightSeverity getSeverity() {
+            return severity;
+        }
+
+        /**
+         * The range relative to the start of the element
+         */
+        TextRange getRange() {
+            return range;
+        }
+
+        String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.completion.contributor;
+
+import com.intellij.codeInsight.completion.CompletionContributor;
+import com.intellij.codeInsight.completion.CompletionParameters;
+import com.intellij.codeInsight.completion.CompletionProvider;
+import com.intellij.codeInsight.completion.CompletionResultSet;
+import com.intellij.codeInsight.completion.CompletionType;
+import com.intellij.codeInsight.lookup.LookupElementBuilder;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.util.ProcessingContext;
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.idea.service.CamelCatalogService;
+import org.apache.camel.idea.service.CamelPreferenceService;
+import org.apache.camel.idea.simple.SimpleElementTypes;
+import org.apache.camel.idea.simple.SimpleFunctionTable;
+import org.jetbrains.annotations.NotNull;
+import static com.intellij.patterns.PlatformPatterns.psiElement;
+
+/**
+ * Code completion of the functions in the injected Camel simple language, eg <tt>${he</tt> completes to <tt>${header.</tt>
+ */
+public class CamelSimpleFunctionContributor extends CompletionContributor {
+
+    public CamelSimpleFunctionContributor() {
+        extend(CompletionType.BASIC,
+                psiElement(SimpleElementTypes.FUNCTION_NAME),
+                new FunctionCompletion()
+        );
+    }
+
+    private static class FunctionCompletion extends CompletionProvider<CompletionParameters> {
+
+        @Override
+        protected void addCompletions(@NotNull CompletionParameters parameters,
+                                      ProcessingContext context,
+                                      @NotNull CompletionResultSet resultSet) {
+            PsiElement element = parameters.getPosition();
+            int end = parameters.getOffset() - element.getTextRange().getStartOffset();
+            if (end < 0 || end > element.getTextLength()) {
+                return;
+            }
+            // the function names contains dots and colons so use all the text of the function as prefix
+            String prefix = element.getText().substring(0, end);
+
+            Project project = parameters.getOriginalFile().getProject();
+            CamelCatalog catalog = ServiceManager.getService(project, CamelCatalogService.class).get();
+            CompletionResultSet result = resultSet.withPrefixMatcher(prefix);
+            for (String name : SimpleFunctionTable.forCatalog(catalog).getFunctionNames()) {
+                result.addElement(LookupElementBuilder.create(name)
+                    .withIcon(getCamelPreferenceService().getCamelIcon())
+                    .withTypeText("simple", true));
+            }
+        }
+
+        private static CamelPreferenceService getCamelPreferenceService() {
+            return ServiceManager.getService(CamelPreferenceService.class);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import com.intellij.codeInsight.completion.PrioritizedLookupElement;
+import com.intellij.codeInsight.completion.impl.CamelHumpMatcher;
 import com.intellij.codeInsight.lookup.AutoCompletionPolicy;
 import com.intellij.codeInsight.lookup.Lookup;
 import com.intellij.codeInsight.lookup.LookupElement;
@@ -33,7 +34,9 @@ import com.intellij.psi.PsiElement;
 import org.apache.camel.idea.model.ComponentModel;
 import org.apache.camel.idea.model.EndpointOptionModel;
 import org.apache.camel.idea.service.CamelPreferenceService;
+import org.apache.camel.idea.util.CamelCompletionCache;
 import org.apache.camel.idea.util.CamelIdeaUtils;
+import org.apache.camel.idea.util.CamelUriNormalizer;
 import org.apache.camel.idea.util.IdeaUtils;
 import org.jetbrains.annotations.NotNull;
 
@@ -60,80 +63,76 @@ public final class CamelSmartCompletionEndpointOptions {
         String queryAtPosition = query[2];
 
         if (xmlMode) {
-            queryAtPosition = queryAtPosition.replace("&amp;", "&");
+            queryAtPosition = CamelUriNormalizer.decodeAmpersands(queryAtPosition);
         }
 
-        List<EndpointOptionModel> options = component.getEndpointOptions();
-        // sort the options A..Z which is easier to users to understand
-        options.sort((o1, o2) -> o1.getName().compareToIgnoreCase(o2.getName()));
-        queryAtPosition = removeUnknownOption(queryAtPosition, existing, element);
+        // the options for the consumer or producer sorted A..Z, which is cached as the component is the same while typing
+        List<EndpointOptionModel> options = CamelCompletionCache.getInstance(element.getProject()).getEndpointOptions(component, consumerOnly, producerOnly);
+        String unknownOption = getUnknownOption(existing, element);
+        if (!unknownOption.isEmpty()) {
+            queryAtPosition = queryAtPosition.replace(unknownOption, "");
+        }
+        // only the options matching the option being typed are shown, so only those are created
+        CamelHumpMatcher matcher = new CamelHumpMatcher(unknownOption);
 
         for (EndpointOptionModel option : options) {
 
-            if ("parameter".equals(option.getKind())) {
-                String name = option.getName();
-
-                // if we are consumer only, then any option that has producer in the label should be skipped (as its only for producer)
-                if (consumerOnly && option.getLabel().contains("producer")) {
-                    continue;
-                }
-                // if we are producer only, then any option that has consume in the label should be skipped (as its only for consumer)
-                if (producerOnly && option.getLabel().contains("consumer")) {
-                    continue;
-                }
-
-                // only add if not already used (or if the option is multi valued then it can have many)
-                String old = existing != null ? existing.get(name) : "";
-                if ("true".equals(option.getMultiValue()) || existing == null || old == null || old.isEmpty()) {
-
-                    // no tail for prefix, otherwise use = to setup for value
-                    String key = option.getPrefix().isEmpty() ? name : option.getPrefix();
+            String name = option.getName();
+            if (!matcher.prefixMatches(name)) {
+                continue;
+            }
 
-                    // the lookup should prepare for the new option
-                    String lookup;
-                    if (!concatQuery.contains("?")) {
-                        // none existing options so we need to start with a ? mark
-                        lookup = queryAtPosition + "?" + key;
+            // only add if not already used (or if the option is multi valued then it can have many)
+            String old = existing != null ? existing.get(name) : "";
+            if ("true".equals(option.getMultiValue()) || existing == null || old == null || old.isEmpty()) {
+
+                // no tail for prefix, otherwise use = to setup for value
+                String key = option.getPrefix().isEmpty() ? name : option.getPrefix();
+
+                // the lookup should prepare for the new option
+                String lookup;
+                if (!concatQuery.contains("?")) {
+                    // none existing options so we need to start with a ? mark
+                    lookup = queryAtPosition + "?" + key;
+                } else {
+                    if (!queryAtPosition.endsWith("&") && !queryAtPosition.endsWith("?")) {
+                        lookup = queryAtPosition + "&" + key;
                     } else {
-                        if (!queryAtPosition.endsWith("&") && !queryAtPosition.endsWith("?")) {
-                            lookup = queryAtPosition + "&" + key;
-                        } else {
-                            // there is already either an ending ? or &
-                            lookup = queryAtPosition + key;
-                        }
-                    }
-                    if (xmlMode) {
-                        lookup = lookup.replace("&", "&amp;");
-                    }
-                    LookupElementBuilder builder = LookupElementBuilder.create(lookup);
-                    builder = addInsertHandler(editor, builder, suffix);
-                    // only show the option in the UI
-                    builder = builder.withPresentableText(name);
-                    // we don't want to highlight the advanced options which should be more seldom in use
-                    boolean advanced = option.getGroup().contains("advanced");
-                    builder = builder.withBoldness(!advanced);
-                    if (!option.getJavaType().isEmpty()) {
-                        builder = builder.withTypeText(option.getJavaType(), true);
+                        // there is already either an ending ? or &
+                        lookup = queryAtPosition + key;
                     }
-                    if ("true".equals(option.getDeprecated())) {
-                        // mark as deprecated
-                        builder = builder.withStrikeoutness(true);
-                    }
-                    // add icons for various options
-                    if ("true".equals(option.getRequired())) {
-                        builder = builder.withIcon(AllIcons.Toolwindows.ToolWindowFavorites);
-                    } else if ("true".equals(option.getSecret())) {
-                        builder = builder.withIcon(AllIcons.Nodes.SecurityRole);
-                    } else if ("true".equals(option.getMultiValue())) {
-                        builder = builder.withIcon(AllIcons.Nodes.ExpandNode);
-                    } else if (!option.getEnums().isEmpty()) {
-                        builder = builder.withIcon(AllIcons.Nodes.Enum);
-                    } else if ("object".equals(option.getType())) {
-                        builder = builder.withIcon(AllIcons.Nodes.Class);
-                    }
-
-                    answer.add(builder.withAutoCompletionPolicy(AutoCompletionPolicy.GIVE_CHANCE_TO_OVERWRITE));
                 }
+                if (xmlMode) {
+                    lookup = lookup.replace("&", "&amp;");
+                }
+                LookupElementBuilder builder = LookupElementBuilder.create(lookup);
+                builder = addInsertHandler(editor, builder, suffix);
+                // only show the option in the UI
+                builder = builder.withPresentableText(name);
+                // we don't want to highlight the advanced options which should be more seldom in use
+                boolean advanced = option.getGroup().contains("advanced");
+                builder = builder.withBoldness(!advanced);
+                if (!option.getJavaType().isEmpty()) {
+                    builder = builder.withTypeText(option.getJavaType(), true);
+                }
+                if ("true".equals(option.getDeprecated())) {
+                    // mark as deprecated
+                    builder = builder.withStrikeoutness(true);
+                }
+                // add icons for various options
+                if ("true".equals(option.getRequired())) {
+                    builder = builder.withIcon(AllIcons.Toolwindows.ToolWindowFavorites);
+                } else if ("true".equals(option.getSecret())) {
+                    builder = builder.withIcon(AllIcons.Nodes.SecurityRole);
+                } else if ("true".equals(option.getMultiValue())) {
+                    builder = builder.withIcon(AllIcons.Nodes.ExpandNode);
+                } else if (!option.getEnums().isEmpty()) {
+                    builder = builder.withIcon(AllIcons.Nodes.Enum);
+                } else if ("object".equals(option.getType())) {
+                    builder = builder.withIcon(AllIcons.Nodes.Class);
+                }
+
+                answer.add(builder.withAutoCompletionPolicy(AutoCompletionPolicy.GIVE_CHANCE_TO_OVERWRITE));
             }
         }
 
@@ -220,10 +219,12 @@ public final class CamelSmartCompletionEndpointOptions {
     }
 
     /**
-     * Remove unknown option at the cursor location from the query string
+     * Gets the unknown option at the cursor location, which is being typed
      * from("timer:trigger?repeatCount=10&del<caret>")
+     *
+     * @return the option being typed such as <tt>del</tt>, or empty if the cursor is not at an unknown option
      */
-    private static String removeUnknownOption(String val, Map<String, String> existing, PsiElement element) {
+    private static String getUnknownOption(Map<String, String> existing, PsiElement element) {
 
         String[] strToRemove = getIdeaUtils().getQueryParameterAtCursorPosition(element);
         //to compare the string against known options we need to strip it from equal sign
@@ -235,10 +236,10 @@ public final class CamelSmartCompletionEndpointOptions {
             //check if the option is known option
             final String optionToRemove = existing.get(searchStr);
             if (optionToRemove == null || optionToRemove.isEmpty()) {
-                val = val.replace(searchStr, "");
+                return searchStr;
             }
         }
-        return val;
+        return "";
     }
 
     /**
@@ -26,11 +26,10 @@ import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.util.ProcessingContext;
-import org.apache.camel.catalog.CamelCatalog;
 import org.apache.camel.idea.model.ComponentModel;
 import org.apache.camel.idea.model.EndpointOptionModel;
-import org.apache.camel.idea.model.ModelHelper;
-import org.apache.camel.idea.service.CamelCatalogService;
+import org.apache.camel.idea.util.CamelCompletionCache;
+import org.apache.camel.idea.util.CamelUriNormalizer;
 import org.apache.camel.idea.util.IdeaUtils;
 import org.apache.camel.idea.util.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -69,10 +68,13 @@ public class CamelEndpointSmartCompletionExtension implements CamelCompletionExt
 
         // it is a known Camel component
         Project project = parameters.getOriginalFile().getManager().getProject();
-        CamelCatalog camelCatalog = ServiceManager.getService(project, CamelCatalogService.class).get();
+        // the component model and the options of the uri are cached, as only the text at the caret changes while typing
+        CamelCompletionCache cache = CamelCompletionCache.getInstance(project);
 
-        String json = camelCatalog.componentJSonSchema(componentName);
-        ComponentModel componentModel = ModelHelper.generateComponentModel(json, true);
+        ComponentModel componentModel = cache.getComponentModel(componentName);
+        if (componentModel == null) {
+            return;
+        }
         final PsiElement element = parameters.getPosition();
 
         // grab all existing parameters
@@ -81,7 +83,7 @@ public class CamelEndpointSmartCompletionExtension implements CamelCompletionExt
         String queryAtPosition =  query[2];
         String prefixValue =  query[2];
         // camel catalog expects &amp; as & when it parses so replace all &amp; as &
-        concatQuery = concatQuery.replaceAll("&amp;", "&");
+        concatQuery = CamelUriNormalizer.decodeAmpersands(concatQuery);
 
         boolean editQueryParameters = concatQuery.contains("?");
 
@@ -98,7 +100,7 @@ public class CamelEndpointSmartCompletionExtension implements CamelCompletionExt
 
         Map<String, String> existing = null;
         try {
-            existing = camelCatalog.endpointProperties(concatQuery);
+            existing = cache.getEndpointProperties(concatQuery);
         } catch (Exception e) {
             LOG.warn("Error parsing Camel endpoint properties with url: " + queryAtPosition, e);
         }
@@ -158,7 +160,7 @@ public class CamelEndpointSmartCompletionExtension implements CamelCompletionExt
         // is this a possible Camel endpoint uri which we know
         String componentName = StringUtils.asComponentName(query[0]);
         Project project = parameters.getOriginalFile().getProject();
-        if (!query[0].endsWith("{{") && componentName != null && ServiceManager.getService(project, CamelCatalogService.class).get().findComponentNames().contains(componentName)) {
+        if (!query[0].endsWith("{{") && CamelCompletionCache.getInstance(project).isComponent(componentName)) {
             return true;
         }
         return false;
@@ -16,7 +16,6 @@
  */
 package org.apache.camel.idea.completion.extension;
 
-import java.util.Collection;
 import java.util.List;
 import static java.util.stream.Collectors.toList;
 
@@ -33,7 +32,7 @@ import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiMethod;
 import com.intellij.util.ProcessingContext;
-import org.apache.camel.idea.util.CamelIdeaUtils;
+import org.apache.camel.idea.util.JavaBeanMethodTable;
 import org.apache.camel.idea.util.JavaMethodUtils;
 import org.jetbrains.annotations.NotNull;
 
@@ -57,11 +56,9 @@ public class CamelJavaBeanReferenceSmartCompletion extends CompletionProvider<Co
         final PsiClass psiClass = (PsiClass) processingContext.get(BEAN_CLASS_KEY);
 
 
-        Collection<PsiMethod> methods = getJavaMethodUtils().getMethods(psiClass);
-
-        List<LookupElement> answer = getJavaMethodUtils().getBeanAccessibleMethods(methods)
+        List<LookupElement> answer = getJavaMethodUtils().getBeanMethodTable(psiClass).getAccessibleMethods()
             .stream()
-            .map(method -> buildLookupElement(method, getJavaMethodUtils().getPresentableMethodWithParameters(method)))
+            .map(this::buildLookupElement)
             .collect(toList());
 
         // are there any results then add them
@@ -74,12 +71,13 @@ public class CamelJavaBeanReferenceSmartCompletion extends CompletionProvider<Co
     }
 
     @NotNull
-    private LookupElement buildLookupElement(PsiMethod method, String presentableMethod) {
+    private LookupElement buildLookupElement(JavaBeanMethodTable.BeanMethod beanMethod) {
+        PsiMethod method = beanMethod.getMethod();
         LookupElementBuilder builder = LookupElementBuilder.create(method);
-        builder = builder.withPresentableText(presentableMethod);
+        builder = builder.withPresentableText(beanMethod.getPresentableText());
         builder = builder.withTypeText(method.getContainingClass().getName(), true);
         builder = builder.withIcon(AllIcons.Nodes.Method);
-        if (getCamelIdeaUtils().isAnnotatedWithHandler(method)) {
+        if (beanMethod.isHandler()) {
             //@Handle methods are marked with
             builder = builder.withBoldness(true);
         }
@@ -90,10 +88,6 @@ public class CamelJavaBeanReferenceSmartCompletion extends CompletionProvider<Co
         return  builder.withAutoCompletionPolicy(AutoCompletionPolicy.GIVE_CHANCE_TO_OVERWRITE);
     }
 
-    private CamelIdeaUtils getCamelIdeaUtils() {
-        return ServiceManager.getService(CamelIdeaUtils.class);
-    }
-
     private JavaMethodUtils getJavaMethodUtils() {
         return ServiceManager.getService(JavaMethodUtils.class);
     }
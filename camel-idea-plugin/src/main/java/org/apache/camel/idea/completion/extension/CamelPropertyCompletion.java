@@ -17,6 +17,8 @@
 package org.apache.camel.idea.completion.extension;
 
 import com.intellij.codeInsight.completion.CompletionResultSet;
+import com.intellij.codeInsight.completion.PlainPrefixMatcher;
+import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.openapi.vfs.VirtualFile;
 import org.apache.camel.idea.service.CamelPreferenceService;
 import static com.intellij.openapi.components.ServiceManager.getService;
@@ -36,6 +38,19 @@ public interface CamelPropertyCompletion {
      */
     void buildResultSet(CompletionResultSet resultSet, VirtualFile virtualFile);
 
+    /**
+     * Add a single property from the file to the completion result set, unless the property is on the ignore list
+     */
+    default void buildResultSet(CompletionResultSet resultSet, VirtualFile virtualFile, String key, String value) {
+        if (!isIgnored(key)) {
+            LookupElementBuilder builder = LookupElementBuilder.create(key + "}}")
+                .appendTailText(value, true)
+                .withTypeText("[" + virtualFile.getPresentableName() + "]", true)
+                .withPresentableText(key + " = ");
+            resultSet.withPrefixMatcher(new PlainPrefixMatcher("")).addElement(builder);
+        }
+    }
+
     /**
      * Test if the property is on the ignore list
      */
@@ -20,12 +20,19 @@ import java.util.ArrayList;
 import java.util.List;
 import com.intellij.codeInsight.completion.CompletionParameters;
 import com.intellij.codeInsight.completion.CompletionResultSet;
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.DelegatingGlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.ProcessingContext;
+import com.intellij.util.indexing.FileBasedIndex;
+import org.apache.camel.idea.index.CamelPropertyPlaceholderIndex;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.jps.model.java.JavaModuleSourceRootTypes;
 
@@ -36,6 +43,9 @@ import org.jetbrains.jps.model.java.JavaModuleSourceRootTypes;
  * For example editing <tt>jms:queue?{{_CURSOR_HERE_</tt>. Which presents the user
  * with a list of possible properties. However it works for any Camel property placeholder
  * used in your source code.
+ * <p/>
+ * The properties are found in the {@link CamelPropertyPlaceholderIndex}, so the completion does not need to load all the
+ * property files of the project.
  */
 public class CamelPropertyPlaceholderSmartCompletionExtension implements CamelCompletionExtension {
 
@@ -49,7 +59,44 @@ public class CamelPropertyPlaceholderSmartCompletionExtension implements CamelCo
     @Override
     public void addCompletions(@NotNull CompletionParameters parameters, @NotNull ProcessingContext context, @NotNull CompletionResultSet resultSet, @NotNull String[] query) {
         Project project = parameters.getOriginalFile().getManager().getProject();
+        if (DumbService.isDumb(project)) {
+            // the index cannot be used while indexing
+            addCompletionsFromSourceRoots(project, resultSet);
+        } else {
+            addCompletionsFromIndex(project, resultSet);
+        }
+    }
+
+    /**
+     * Adds the properties from the index, which are filtered by the files excluded in the preferences. Only the property
+     * files in the source and resource roots are used, the same as when the roots are searched while indexing, and only
+     * the keys matching the prefix are looked up.
+     */
+    private void addCompletionsFromIndex(Project project, CompletionResultSet resultSet) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        ProjectFileIndex projectFileIndex = ProjectRootManager.getInstance(project).getFileIndex();
+        GlobalSearchScope scope = new DelegatingGlobalSearchScope(GlobalSearchScope.projectScope(project)) {
+            @Override
+            public boolean contains(@NotNull VirtualFile file) {
+                return super.contains(file) && projectFileIndex.isInSourceContent(file);
+            }
+        };
+        PrefixMatcher matcher = resultSet.getPrefixMatcher();
+        for (String key : index.getAllKeys(CamelPropertyPlaceholderIndex.NAME, project)) {
+            ProgressManager.checkCanceled();
+            if (!matcher.prefixMatches(key) || propertyCompletionProviders.stream().allMatch(p -> p.isIgnored(key))) {
+                continue;
+            }
+            index.processValues(CamelPropertyPlaceholderIndex.NAME, key, null, (virtualFile, value) -> {
+                propertyCompletionProviders.stream()
+                    .filter(p -> p.isValidExtension(virtualFile.getCanonicalPath()))
+                    .forEach(p -> p.buildResultSet(resultSet, virtualFile, key, value));
+                return true;
+            }, scope);
+        }
+    }
 
+    private void addCompletionsFromSourceRoots(Project project, CompletionResultSet resultSet) {
         List<VirtualFile> resourceRoots = ProjectRootManager.getInstance(project).getModuleSourceRoots(JavaModuleSourceRootTypes.PRODUCTION);
         resourceRoots.addAll(ProjectRootManager.getInstance(project).getModuleSourceRoots(JavaModuleSourceRootTypes.TESTS));
         ProjectFileIndex projectFileIndex = ProjectRootManager.getInstance(project).getFileIndex();
@@ -17,16 +17,14 @@
 package org.apache.camel.idea.completion.extension;
 
 import java.io.IOException;
-import java.util.Properties;
 import com.intellij.codeInsight.completion.CompletionResultSet;
-import com.intellij.codeInsight.completion.PlainPrefixMatcher;
-import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.vfs.VirtualFile;
+import org.apache.camel.idea.index.CamelPropertyPlaceholderIndex;
 import org.apache.camel.idea.service.CamelPreferenceService;
+import org.apache.camel.idea.util.CamelPropertyFileCache;
 import org.apache.commons.io.FilenameUtils;
-import org.jetbrains.annotations.NotNull;
 
 /**
  * To support smart completion where properties are loaded from <tt>.properties</tt> files.
@@ -39,18 +37,6 @@ public class PropertiesPropertyPlaceholdersSmartCompletion implements CamelPrope
 
     private static final Logger LOG = Logger.getInstance(PropertiesPropertyPlaceholdersSmartCompletion.class);
 
-    @NotNull
-    private Properties getProperties(VirtualFile virtualFile) {
-        Properties properties = new Properties();
-        try {
-            properties.load(virtualFile.getInputStream());
-        } catch (IOException e) {
-            LOG.warn("Error loading properties file: " + virtualFile, e);
-        }
-
-        return properties;
-    }
-
     @Override
     public boolean isValidExtension(String filename) {
         final CamelPreferenceService preferenceService = ServiceManager.getService(CamelPreferenceService.class);
@@ -64,15 +50,11 @@ public class PropertiesPropertyPlaceholdersSmartCompletion implements CamelPrope
 
     @Override
     public void buildResultSet(CompletionResultSet resultSet, VirtualFile virtualFile) {
-        getProperties(virtualFile).forEach((key, value) -> {
-            String keyStr = (String) key;
-            if (!isIgnored(keyStr)) {
-                LookupElementBuilder builder = LookupElementBuilder.create(keyStr + "}}")
-                        .appendTailText(String.valueOf(value), true)
-                        .withTypeText("[" + virtualFile.getPresentableName() + "]", true)
-                        .withPresentableText(keyStr + " = ");
-                resultSet.withPrefixMatcher(new PlainPrefixMatcher("")).addElement(builder);
-            }
-        });
+        try {
+            CamelPropertyFileCache.getProperties(virtualFile, CamelPropertyPlaceholderIndex::loadProperties)
+                .forEach((key, value) -> buildResultSet(resultSet, virtualFile, key, value));
+        } catch (IOException e) {
+            LOG.warn("Error loading properties file: " + virtualFile, e);
+        }
     }
 }
@@ -54,6 +54,7 @@ import org.apache.camel.idea.model.ModelHelper;
 import org.apache.camel.idea.service.CamelCatalogService;
 import org.apache.camel.idea.service.CamelService;
 import org.apache.camel.idea.util.CamelIdeaUtils;
+import org.apache.camel.idea.util.CamelUriNormalizer;
 import org.apache.camel.idea.util.IdeaUtils;
 import org.apache.camel.idea.util.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -99,8 +100,10 @@ public class CamelDocumentationProvider extends DocumentationProviderEx implemen
                         // okay only allow this popup to work when its from a RouteBuilder class
                         PsiClass clazz = PsiTreeUtil.getParentOfType(originalElement, PsiClass.class);
                         if (clazz != null) {
+                            // check the name first, as it does not need to resolve the class
                             PsiClassType[] types = clazz.getExtendsListTypes();
-                            boolean found = Arrays.stream(types).anyMatch(p -> p.getClassName().equals("RouteBuilder"));
+                            boolean found = Arrays.stream(types).anyMatch(p -> p.getClassName().equals("RouteBuilder"))
+                                || getCamelIdeaUtils().isExtendingRouteBuild(clazz);
                             if (found) {
                                 String componentName = StringUtils.asComponentName(val);
                                 if (componentName != null) {
@@ -183,7 +186,7 @@ public class CamelDocumentationProvider extends DocumentationProviderEx implemen
         }
 
         // unescape xml &
-        lookup = lookup.replaceAll("&amp;", "&");
+        lookup = CamelUriNormalizer.decodeAmpersands(lookup);
 
         // get last option from lookup line
         int pos = Math.max(lookup.lastIndexOf("&"), lookup.lastIndexOf("?"));
@@ -408,7 +411,7 @@ public class CamelDocumentationProvider extends DocumentationProviderEx implemen
 
         // camel catalog expects &amp; as & when it parses so replace all &amp; as &
         String camelQuery = val;
-        camelQuery = camelQuery.replaceAll("&amp;", "&");
+        camelQuery = CamelUriNormalizer.decodeAmpersands(camelQuery);
 
         // strip up ending incomplete parameter
         if (camelQuery.endsWith("&") || camelQuery.endsWith("?")) {
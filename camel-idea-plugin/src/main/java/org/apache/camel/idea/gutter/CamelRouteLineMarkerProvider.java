@@ -25,15 +25,22 @@ import javax.swing.*;
 import com.intellij.codeInsight.daemon.RelatedItemLineMarkerInfo;
 import com.intellij.codeInsight.daemon.RelatedItemLineMarkerProvider;
 import com.intellij.codeInsight.navigation.NavigationGutterIconBuilder;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.markup.GutterIconRenderer;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.NotNullLazyValue;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiIdentifier;
 import com.intellij.psi.PsiJavaToken;
 import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiManager;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.psi.PsiPolyadicExpression;
@@ -46,10 +53,12 @@ import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.xml.XmlElementType;
 import com.intellij.psi.xml.XmlTag;
 import com.intellij.psi.xml.XmlToken;
-import org.apache.camel.idea.service.CamelPreferenceService;
-import org.apache.camel.idea.service.CamelService;
+import org.apache.camel.idea.index.CamelEndpointIndex;
+import org.apache.camel.idea.index.CamelRouteGraph;
+import org.apache.camel.idea.util.CamelFileKind;
+import org.apache.camel.idea.util.CamelHighlightingContext;
 import org.apache.camel.idea.util.CamelIdeaUtils;
-import org.apache.camel.idea.util.IdeaUtils;
+import org.apache.camel.idea.util.CamelPerformanceCounter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -62,31 +71,32 @@ public class CamelRouteLineMarkerProvider extends RelatedItemLineMarkerProvider
     private static final Logger LOG = Logger.getInstance(CamelRouteLineMarkerProvider.class);
 
     private static final String[] JAVA_ROUTE_CALL = new String[]{"to", "toF", "toD", "enrich", "wireTap"};
+    // the XML tags are a subset of the Java methods, so the Java methods are used to filter the calls in the route graph
     private static final String[] XML_ROUTE_CALL = new String[]{"to", "toD", "enrich", "wireTap"};
 
-    private IdeaUtils getIdeaUtils() {
-        return ServiceManager.getService(IdeaUtils.class);
-    }
-
     @Override
     protected void collectNavigationMarkers(@NotNull PsiElement element,
                                             Collection<? super RelatedItemLineMarkerInfo> result) {
         //TODO: remove this when IdeaUtils.isFromJavaMethodCall will be fixed
-        if (isJavaTokenLiteralExpression(element)
-            || isXmlTokenLiteralExpression(element)
-            || isCamelRouteStartIdentifierExpression(element)) {
-            boolean showIcon = getCamelPreferenceService().isShowCamelIconInGutter();
-            boolean camelPresent = ServiceManager.getService(element.getProject(), CamelService.class).isCamelPresent();
-
-            if (!showIcon || !camelPresent) {
+        // reject by the type of the element first, and only resolve identifiers when the file might contain Camel routes
+        boolean identifier = element instanceof PsiIdentifier;
+        if (identifier
+            || isJavaTokenLiteralExpression(element)
+            || isXmlTokenLiteralExpression(element)) {
+            CamelHighlightingContext context = CamelHighlightingContext.get(element);
+            if (!context.isShowCamelIconInGutter() || !context.isCamelPresent()) {
                 return;
             }
 
-            boolean validCamelFile = isCamelFile(element);
+            boolean validCamelFile = context.mightContainCamel(element) && isCamelFile(element);
             if (!validCamelFile) {
                 return;
             }
 
+            if (identifier && !isCamelRouteStartIdentifierExpression(element)) {
+                return;
+            }
+
             //skip the PsiLiteralExpression that are not the first operand of PsiPolyadicExpression to avoid having multiple gutter icons
             // on the same PsiPolyadicExpression
             if (element instanceof PsiLiteralExpression) {
@@ -97,7 +107,7 @@ public class CamelRouteLineMarkerProvider extends RelatedItemLineMarkerProvider
                 }
             }
 
-            Icon icon = getCamelPreferenceService().getCamelIcon();
+            Icon icon = context.getCamelIcon();
 
             if (getCamelIdeaUtils().isCamelRouteStartExpression(element)) {
 
@@ -106,7 +116,7 @@ public class CamelRouteLineMarkerProvider extends RelatedItemLineMarkerProvider
                     @NotNull
                     @Override
                     protected Collection<PsiElement> compute() {
-                        List<PsiElement> routeDestinationForPsiElement = findRouteDestinationForPsiElement(element);
+                        List<PsiElement> routeDestinationForPsiElement = findRouteDestinationWithProgress(element);
                         // Add identifier references as navigation target
                         resolvedIdentifier(element)
                             .map(PsiElement::getNavigationElement)
@@ -124,11 +134,15 @@ public class CamelRouteLineMarkerProvider extends RelatedItemLineMarkerProvider
                         .setCellRenderer(new GutterPsiElementListCellRenderer());
                 result.add(builder.createLineMarkerInfo(element));
             }
+        } else {
+            CamelPerformanceCounter.REJECTED_ELEMENTS.increment();
         }
     }
 
     private boolean isCamelFile(@NotNull PsiElement element) {
-        return getIdeaUtils().isFromFileType(element, CamelIdeaUtils.CAMEL_FILE_EXTENSIONS);
+        // only java and xml files can have routes
+        PsiFile file = element.getContainingFile();
+        return file != null && CamelFileKind.of(file).isRoute();
     }
 
     private boolean isXmlTokenLiteralExpression(@NotNull PsiElement element) {
@@ -151,10 +165,6 @@ public class CamelRouteLineMarkerProvider extends RelatedItemLineMarkerProvider
             .isPresent();
     }
 
-    private CamelPreferenceService getCamelPreferenceService() {
-        return ServiceManager.getService(CamelPreferenceService.class);
-    }
-
     /**
      * Return the resolved reference to a {@link PsiVariable} or {@link PsiMethod}
      * for the given element if it is a {@link PsiIdentifier}.
@@ -224,11 +234,28 @@ public class CamelRouteLineMarkerProvider extends RelatedItemLineMarkerProvider
         return null;
     }
 
+    /**
+     * Searches the route destinations with a progress the user can cancel, when navigating from the gutter icon, as
+     * the search can go through many files in large projects.
+     */
+    private List<PsiElement> findRouteDestinationWithProgress(PsiElement startElement) {
+        if (!ApplicationManager.getApplication().isDispatchThread()) {
+            return findRouteDestinationForPsiElement(startElement);
+        }
+        List<PsiElement> answer = new ArrayList<>();
+        ProgressManager.getInstance().runProcessWithProgressSynchronously(
+            () -> answer.addAll(ReadAction.compute(() -> findRouteDestinationForPsiElement(startElement))),
+            "Finding Camel Routes", true, startElement.getProject());
+        return answer;
+    }
+
     /**
      * Searches in the project all the route destinations for the given {@link PsiElement}.
      * Example for Java routes: for 'from("file:inbox")' returns all elements that matches 'to("file:inbox")'
      * <p>
-     * Since Intellij API supports only searches with one keyword the search is made using just the Camel component name and then further refined.
+     * The endpoint uris are looked up in the {@link CamelRouteGraph}. When the route starts from a variable or method,
+     * or while IDEA is indexing, the search is made using just the Camel component name and then further refined, since
+     * Intellij API supports only searches with one keyword.
      * </p>
      *
      * @param startElement the {@link PsiElement} that contains the definition for a route start
@@ -244,11 +271,27 @@ public class CamelRouteLineMarkerProvider extends RelatedItemLineMarkerProvider
             return psiElements;
         }
 
-        PsiSearchHelper helper = PsiSearchHelper.SERVICE.getInstance(startElement.getProject());
+        // the route graph knows the uris, but not the variables or methods a route may start from, and it cannot be
+        // updated while indexing
+        Project project = startElement.getProject();
+        if (CamelEndpointIndex.getScheme(route) != null && !DumbService.isDumb(project)) {
+            PsiManager psiManager = PsiManager.getInstance(project);
+            for (CamelRouteGraph.Call call : ServiceManager.getService(project, CamelRouteGraph.class).getCallsTo(route)) {
+                PsiElement element = Arrays.asList(JAVA_ROUTE_CALL).contains(call.getEndpoint().getDsl()) ? call.getElement(psiManager) : null;
+                if (element != null) {
+                    psiElements.add(element);
+                }
+            }
+            return psiElements;
+        }
+
+        PsiSearchHelper helper = PsiSearchHelper.SERVICE.getInstance(project);
         //get the component name and search only using that
         String componentName = route.split(":")[0];
 
         helper.processElementsWithWord((psiElement, offsetInElement) -> {
+            // the search goes through all the files with the component name, so stop when the user cancels
+            ProgressManager.checkCanceled();
             LOG.debug("processElementsWithWord: " + psiElement + " with offset: " + offsetInElement);
             if (psiElement instanceof XmlToken) {
                 PsiElement xmlElement = findXMLElement(route, (XmlToken) psiElement);
@@ -0,0 +1,377 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.index;
+
+import java.beans.Introspector;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiArrayInitializerMemberValue;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiExpressionList;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiIdentifier;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.xml.XmlAttribute;
+import com.intellij.psi.xml.XmlAttributeValue;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A persistent index of the beans which can be looked up by name from the Camel registry, so bean references such as
+ * <tt>bean("orderService", "process")</tt> or <tt>to("bean:orderService")</tt> can be resolved without searching the project.
+ * <p/>
+ * The beans are found from
+ * <ul>
+ *     <li>Spring and Blueprint XML <tt>&lt;bean id="orderService" class="..."&gt;</tt></li>
+ *     <li>classes annotated with <tt>@Component</tt>, <tt>@Service</tt>, <tt>@Repository</tt> or <tt>@Named</tt></li>
+ *     <li>methods annotated with <tt>@Bean</tt> or <tt>@Named</tt></li>
+ *     <li><tt>bindToRegistry("orderService", new OrderService())</tt> calls</li>
+ * </ul>
+ * The values are the offsets of the bean definitions in the file, which is the name of the class or method, the string
+ * literal of the <tt>bindToRegistry</tt> call or the <tt>id</tt> attribute value after the quote in XML.
+ */
+public class CamelBeanIndex extends FileBasedIndexExtension<String, List<Integer>> {
+
+    public static final ID<String, List<Integer>> NAME = ID.create("org.apache.camel.idea.beans");
+
+    private static final int VERSION = 1;
+
+    private static final String BIND_TO_REGISTRY = "bindToRegistry";
+    private static final String[] CLASS_ANNOTATIONS = {"Component", "Service", "Repository", "Named"};
+    private static final String[] METHOD_ANNOTATIONS = {"Bean", "Named"};
+    private static final String[] BEAN_SCHEMES = {"bean:", "ref:"};
+
+    @NotNull
+    @Override
+    public ID<String, List<Integer>> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<Integer>, FileContent> getIndexer() {
+        return CamelBeanIndex::index;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<Integer>> getValueExternalizer() {
+        return new CamelRouteIdIndex.OffsetsExternalizer();
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        // the same files as the endpoints
+        return new CamelEndpointIndex().getInputFilter();
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Gets the bean name from a <tt>bean</tt> or <tt>ref</tt> endpoint uri, such as <tt>orderService</tt> from
+     * <tt>bean:orderService?method=process</tt>
+     *
+     * @param uri the endpoint uri
+     * @return the bean name, or <tt>null</tt> if its not a bean endpoint
+     */
+    @Nullable
+    public static String getBeanName(@NotNull String uri) {
+        for (String scheme : BEAN_SCHEMES) {
+            if (uri.startsWith(scheme)) {
+                String name = StringUtil.trimStart(uri.substring(scheme.length()), "//");
+                name = StringUtil.substringBefore(name + "?", "?");
+                return name.isEmpty() ? null : name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the definitions of the bean in the scope.
+     * <p/>
+     * The index cannot be used while IDEA is indexing, which the caller must check with {@link DumbService#isDumb(Project)}.
+     *
+     * @param project the project
+     * @param name    the bean name
+     * @param scope   the scope to search in
+     * @return the definitions, which is the {@link PsiClass}, the {@link PsiMethod}, the name literal of the
+     * <tt>bindToRegistry</tt> call or the {@link XmlAttributeValue} of the bean id
+     */
+    @NotNull
+    public static List<PsiElement> findBeanElements(@NotNull Project project, @NotNull String name, @NotNull GlobalSearchScope scope) {
+        PsiManager psiManager = PsiManager.getInstance(project);
+        List<PsiElement> answer = new ArrayList<>();
+        FileBasedIndex.getInstance().processValues(NAME, name, null, (file, offsets) -> {
+            ProgressManager.checkCanceled();
+            PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile != null) {
+                for (int offset : offsets) {
+                    PsiElement element = PsiTreeUtil.getParentOfType(psiFile.findElementAt(offset), false,
+                        PsiClass.class, PsiMethod.class, PsiLiteralExpression.class, XmlAttributeValue.class);
+                    if (element != null) {
+                        answer.add(element);
+                    }
+                }
+            }
+            return true;
+        }, scope);
+        return answer;
+    }
+
+    /**
+     * Finds the class of the bean in the scope, which is the first definition of the bean which class can be resolved.
+     *
+     * @param project the project
+     * @param name    the bean name
+     * @param scope   the scope to search in
+     * @return the class, or <tt>null</tt> if the bean is not found or its class cannot be resolved
+     */
+    @Nullable
+    public static PsiClass findBeanClass(@NotNull Project project, @NotNull String name, @NotNull GlobalSearchScope scope) {
+        for (PsiElement element : findBeanElements(project, name, scope)) {
+            PsiClass answer = getBeanClass(element);
+            if (answer != null) {
+                return answer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the names of all the beans in the scope
+     *
+     * @param project the project
+     * @param scope   the scope to search in
+     * @return the bean names sorted by name
+     */
+    @NotNull
+    public static Set<String> getBeanNames(@NotNull Project project, @NotNull GlobalSearchScope scope) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        Set<String> answer = new TreeSet<>();
+        for (String name : index.getAllKeys(NAME, project)) {
+            ProgressManager.checkCanceled();
+            // the keys can be stale or from other projects, so only keep the names which are defined in the scope
+            if (!index.getContainingFiles(NAME, name, scope).isEmpty()) {
+                answer.add(name);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Gets the class of the bean from its definition as found by {@link #findBeanElements(Project, String, GlobalSearchScope)}
+     */
+    @Nullable
+    private static PsiClass getBeanClass(@NotNull PsiElement element) {
+        if (element instanceof PsiClass) {
+            return (PsiClass) element;
+        } else if (element instanceof PsiMethod) {
+            return resolveClass(((PsiMethod) element).getReturnType());
+        } else if (element instanceof PsiLiteralExpression && element.getParent() instanceof PsiExpressionList) {
+            PsiExpression[] arguments = ((PsiExpressionList) element.getParent()).getExpressions();
+            return arguments.length > 1 ? resolveClass(arguments[1].getType()) : null;
+        } else if (element instanceof XmlAttributeValue) {
+            XmlTag tag = PsiTreeUtil.getParentOfType(element, XmlTag.class);
+            String className = tag != null ? tag.getAttributeValue("class") : null;
+            if (StringUtil.isNotEmpty(className)) {
+                Project project = element.getProject();
+                return JavaPsiFacade.getInstance(project).findClass(className.trim(), GlobalSearchScope.allScope(project));
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static PsiClass resolveClass(@Nullable PsiType type) {
+        return type instanceof PsiClassType ? ((PsiClassType) type).resolve() : null;
+    }
+
+    private static Map<String, List<Integer>> index(@NotNull FileContent content) {
+        Map<String, List<Integer>> answer = new HashMap<>();
+        // most files have no beans, so check the text before building the tree
+        CharSequence text = content.getContentAsText();
+        PsiFile file = content.getPsiFile();
+        if (file instanceof PsiJavaFile && (StringUtil.contains(text, "@") || StringUtil.contains(text, BIND_TO_REGISTRY))) {
+            file.accept(new PsiRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    super.visitElement(element);
+                    if (element instanceof PsiClass) {
+                        indexJavaClass((PsiClass) element, answer);
+                    } else if (element instanceof PsiMethod) {
+                        indexJavaMethod((PsiMethod) element, answer);
+                    } else if (element instanceof PsiMethodCallExpression) {
+                        indexJavaBindToRegistry((PsiMethodCallExpression) element, answer);
+                    }
+                }
+            });
+        } else if (file instanceof XmlFile && StringUtil.contains(text, "bean")) {
+            file.accept(new PsiRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    super.visitElement(element);
+                    if (element instanceof XmlTag && "bean".equals(((XmlTag) element).getLocalName())) {
+                        indexXmlBean((XmlTag) element, answer);
+                    }
+                }
+            });
+        }
+        return answer;
+    }
+
+    private static void indexJavaClass(@NotNull PsiClass psiClass, @NotNull Map<String, List<Integer>> answer) {
+        PsiIdentifier identifier = psiClass.getNameIdentifier();
+        PsiAnnotation annotation = findAnnotation(psiClass, CLASS_ANNOTATIONS);
+        if (identifier != null && annotation != null) {
+            // the default name is the class name starting with lower case, as in Spring and CDI
+            String name = getAnnotationName(annotation);
+            add(name != null ? name : Introspector.decapitalize(identifier.getText()), identifier, answer);
+        }
+    }
+
+    private static void indexJavaMethod(@NotNull PsiMethod method, @NotNull Map<String, List<Integer>> answer) {
+        PsiIdentifier identifier = method.getNameIdentifier();
+        PsiAnnotation annotation = findAnnotation(method, METHOD_ANNOTATIONS);
+        if (identifier != null && annotation != null) {
+            String name = getAnnotationName(annotation);
+            add(name != null ? name : identifier.getText(), identifier, answer);
+        }
+    }
+
+    private static void indexJavaBindToRegistry(@NotNull PsiMethodCallExpression call, @NotNull Map<String, List<Integer>> answer) {
+        if (!BIND_TO_REGISTRY.equals(call.getMethodExpression().getReferenceName())) {
+            return;
+        }
+        PsiExpression[] arguments = call.getArgumentList().getExpressions();
+        if (arguments.length == 2 && arguments[0] instanceof PsiLiteralExpression) {
+            Object value = ((PsiLiteralExpression) arguments[0]).getValue();
+            if (value instanceof String) {
+                add((String) value, arguments[0], answer);
+            }
+        }
+    }
+
+    private static void indexXmlBean(@NotNull XmlTag tag, @NotNull Map<String, List<Integer>> answer) {
+        // the bean tag of the Camel routes refers to a bean, and its id is the id of the processor
+        if (tag.getNamespace().contains("camel.apache.org")) {
+            return;
+        }
+        XmlAttribute id = tag.getAttribute("id");
+        XmlAttributeValue value = id != null ? id.getValueElement() : null;
+        if (value != null && !StringUtil.isEmpty(id.getValue())) {
+            answer.computeIfAbsent(id.getValue(), k -> new ArrayList<>(1)).add(value.getValueTextRange().getStartOffset());
+        }
+    }
+
+    /**
+     * Finds the annotation by its short name, as the annotations cannot be resolved while indexing
+     */
+    @Nullable
+    private static PsiAnnotation findAnnotation(@NotNull PsiModifierListOwner owner, @NotNull String[] names) {
+        if (owner.getModifierList() == null) {
+            return null;
+        }
+        for (PsiAnnotation annotation : owner.getModifierList().getAnnotations()) {
+            PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+            String name = reference != null ? reference.getReferenceName() : null;
+            for (String candidate : names) {
+                if (candidate.equals(name)) {
+                    return annotation;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the bean name of the annotation from its <tt>value</tt> or <tt>name</tt> attribute, where the first name is
+     * used if the attribute is an array of names as in <tt>@Bean</tt>
+     */
+    @Nullable
+    private static String getAnnotationName(@NotNull PsiAnnotation annotation) {
+        for (String attribute : new String[] {"value", "name"}) {
+            PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(attribute);
+            if (value instanceof PsiArrayInitializerMemberValue) {
+                PsiAnnotationMemberValue[] initializers = ((PsiArrayInitializerMemberValue) value).getInitializers();
+                value = initializers.length > 0 ? initializers[0] : null;
+            }
+            if (value instanceof PsiLiteralExpression) {
+                Object name = ((PsiLiteralExpression) value).getValue();
+                if (name instanceof String && !((String) name).isEmpty()) {
+                    return (String) name;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void add(@NotNull String name, @NotNull PsiElement element, @NotNull Map<String, List<Integer>> answer) {
+        if (!name.isEmpty()) {
+            answer.computeIfAbsent(name, k -> new ArrayList<>(1)).add(element.getTextRange().getStartOffset());
+        }
+    }
+
+}
@@ -0,0 +1,465 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiExpressionList;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiPolyadicExpression;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.xml.XmlAttribute;
+import com.intellij.psi.xml.XmlAttributeValue;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import static org.apache.camel.idea.util.CamelIdeaUtils.CAMEL_FILE_EXTENSIONS;
+
+/**
+ * A persistent index of the Camel endpoint uris in the Java and XML files of the project, which is kept up to date by
+ * IDEA as the files are changed, so finding where an endpoint is used does not need to search and parse the files.
+ * <p/>
+ * The endpoints are indexed by their normalized uri, such as <tt>file:inbox?delete=true</tt>, and by their scheme, such
+ * as <tt>file</tt>, with the offset in the file, whether the endpoint is consumed or produced to, the name of the DSL
+ * method or XML tag, such as <tt>to</tt>, and the route the endpoint is in. All the endpoints of a file are the values
+ * of its scheme keys, which are read with {@link FileBasedIndex#getFileData}.
+ * <p/>
+ * The index is only based on the text of each file, so the uris are indexed without knowing the Camel catalog. In Java
+ * only the string literals given to the DSL methods taking an uri, such as <tt>from</tt> or <tt>to</tt>, are indexed,
+ * so uris which are only known when resolving constants or variables are not indexed.
+ */
+public class CamelEndpointIndex extends FileBasedIndexExtension<String, List<CamelEndpointIndex.Endpoint>> {
+
+    public static final ID<String, List<Endpoint>> NAME = ID.create("org.apache.camel.idea.endpoints");
+
+    private static final int VERSION = 3;
+
+    private static final List<String> CONSUMER_ENDPOINT = Arrays.asList("from", "fromF", "interceptFrom", "pollEnrich");
+    private static final List<String> PRODUCER_ENDPOINT = Arrays.asList("to", "toF", "toD", "enrich", "interceptSendToEndpoint", "wireTap", "deadLetterChannel");
+    private static final String ENDPOINT = "endpoint";
+    private static final List<String> ROUTE_START = Arrays.asList("from", "fromF");
+    private static final String REST = "rest";
+
+    /**
+     * Whether the endpoint is used to consume from or produce to
+     */
+    public enum Role {
+        CONSUMER, PRODUCER, OTHER;
+
+        static Role of(@NotNull String dsl) {
+            if (CONSUMER_ENDPOINT.contains(dsl)) {
+                return CONSUMER;
+            } else if (PRODUCER_ENDPOINT.contains(dsl)) {
+                return PRODUCER;
+            }
+            return OTHER;
+        }
+    }
+
+    /**
+     * An endpoint uri in a file
+     */
+    public static final class Endpoint {
+
+        private final String uri;
+        private final int offset;
+        private final Role role;
+        private final String dsl;
+        private final String route;
+        private final int routeOffset;
+
+        Endpoint(@NotNull String uri, int offset, @NotNull Role role, @NotNull String dsl, @NotNull String route, int routeOffset) {
+            this.uri = uri;
+            this.offset = offset;
+            this.role = role;
+            this.dsl = dsl;
+            this.route = route;
+            this.routeOffset = routeOffset;
+        }
+
+        /**
+         * The normalized uri
+         */
+        public String getUri() {
+            return uri;
+        }
+
+        /**
+         * The offset in the file of the string literal in Java, or of the attribute value after the quote in XML
+         */
+        public int getOffset() {
+            return offset;
+        }
+
+        public Role getRole() {
+            return role;
+        }
+
+        /**
+         * The name of the DSL method or XML tag, such as <tt>to</tt>, or empty if the uri is not in a DSL method or tag
+         */
+        public String getDsl() {
+            return dsl;
+        }
+
+        /**
+         * The uri the route starts from, such as <tt>direct:billing</tt>, or <tt>rest:</tt> and the path for a rest route,
+         * or empty if the start of the route is not a string literal or the endpoint is not in a route
+         */
+        public String getRoute() {
+            return route;
+        }
+
+        /**
+         * The offset in the file of the start of the route, or <tt>-1</tt> if the endpoint is not in a route, such as in
+         * <tt>onException</tt>
+         */
+        public int getRouteOffset() {
+            return routeOffset;
+        }
+
+        /**
+         * Whether this is the endpoint the route starts from
+         */
+        public boolean isRouteStart() {
+            return offset == routeOffset;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Endpoint)) {
+                return false;
+            }
+            Endpoint that = (Endpoint) o;
+            return offset == that.offset && routeOffset == that.routeOffset && role == that.role && uri.equals(that.uri)
+                && dsl.equals(that.dsl) && route.equals(that.route);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uri, offset, role, dsl, route, routeOffset);
+        }
+
+        @Override
+        public String toString() {
+            return role + " " + dsl + "(" + uri + ") at " + offset;
+        }
+    }
+
+    @NotNull
+    @Override
+    public ID<String, List<Endpoint>> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<Endpoint>, FileContent> getIndexer() {
+        return CamelEndpointIndex::index;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<Endpoint>> getValueExternalizer() {
+        return new EndpointsExternalizer();
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        // the same files as where the routes are searched for
+        return file -> file.isInLocalFileSystem() && Arrays.asList(CAMEL_FILE_EXTENSIONS).contains(file.getExtension())
+            && !"pom.xml".equals(file.getName());
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Normalizes the uri the same way when indexing and searching, by removing the line breaks and indentation of uris
+     * which span several lines in XML.
+     *
+     * @param uri the uri
+     * @return the normalized uri
+     */
+    @NotNull
+    public static String normalize(@NotNull String uri) {
+        if (uri.indexOf('\n') < 0 && uri.indexOf('\r') < 0) {
+            return uri.trim();
+        }
+        StringBuilder sb = new StringBuilder(uri.length());
+        for (String line : StringUtil.splitByLines(uri)) {
+            sb.append(line.trim());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Gets the scheme of the uri, such as <tt>file</tt> for <tt>file:inbox</tt>
+     *
+     * @return the scheme, or <tt>null</tt> if the text does not look like an endpoint uri
+     */
+    @Nullable
+    public static String getScheme(@NotNull String uri) {
+        int pos = uri.indexOf(':');
+        if (pos <= 0 || !Character.isLetter(uri.charAt(0))) {
+            return null;
+        }
+        for (int i = 1; i < pos; i++) {
+            char ch = uri.charAt(i);
+            if (!Character.isLetterOrDigit(ch) && ch != '-' && ch != '+' && ch != '.') {
+                return null;
+            }
+        }
+        return uri.substring(0, pos);
+    }
+
+    /**
+     * Finds the elements of the endpoints with the given uri, or scheme, in the scope.
+     * <p/>
+     * The index cannot be used while IDEA is indexing, which the caller must check with {@link DumbService#isDumb(Project)}.
+     *
+     * @param project the project
+     * @param key     the uri or scheme
+     * @param scope   the scope to search in
+     * @param filter  filter of the endpoints to include
+     * @return the elements at the start of the endpoint uris, such as the string literal token in Java
+     */
+    @NotNull
+    public static List<PsiElement> findEndpointElements(@NotNull Project project, @NotNull String key, @NotNull GlobalSearchScope scope,
+                                                        @NotNull Predicate<Endpoint> filter) {
+        String uri = normalize(key);
+        PsiManager psiManager = PsiManager.getInstance(project);
+        List<PsiElement> answer = new ArrayList<>();
+        FileBasedIndex.getInstance().processValues(NAME, uri, null, (file, endpoints) -> {
+            ProgressManager.checkCanceled();
+            PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile != null) {
+                for (Endpoint endpoint : endpoints) {
+                    PsiElement element = filter.test(endpoint) ? psiFile.findElementAt(endpoint.getOffset()) : null;
+                    if (element != null) {
+                        answer.add(element);
+                    }
+                }
+            }
+            return true;
+        }, scope);
+        return answer;
+    }
+
+    private static Map<String, List<Endpoint>> index(@NotNull FileContent content) {
+        PsiFile file = content.getPsiFile();
+        Map<String, List<Endpoint>> answer = new HashMap<>();
+        if (file instanceof PsiJavaFile) {
+            file.accept(new PsiRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    if (element instanceof PsiLiteralExpression) {
+                        indexJavaLiteral((PsiLiteralExpression) element, answer);
+                    } else {
+                        super.visitElement(element);
+                    }
+                }
+            });
+        } else if (file instanceof XmlFile && StringUtil.contains(content.getContentAsText(), "uri")) {
+            file.accept(new PsiRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    if (element instanceof XmlAttribute) {
+                        indexXmlAttribute((XmlAttribute) element, answer);
+                    } else {
+                        super.visitElement(element);
+                    }
+                }
+            });
+        }
+        return answer;
+    }
+
+    private static void indexJavaLiteral(@NotNull PsiLiteralExpression literal, @NotNull Map<String, List<Endpoint>> answer) {
+        // the first part of a concatenated uri, such as "file:" + dir, is not the uri
+        if (!(literal.getValue() instanceof String) || literal.getParent() instanceof PsiPolyadicExpression) {
+            return;
+        }
+        // only the uris given to the DSL methods, as any other string with a colon, such as "Error: ", is not an uri
+        PsiElement parent = literal.getParent();
+        if (!(parent instanceof PsiExpressionList) || !(parent.getParent() instanceof PsiMethodCallExpression)) {
+            return;
+        }
+        PsiMethodCallExpression call = (PsiMethodCallExpression) parent.getParent();
+        String dsl = getMethodName(call);
+        if (!isEndpointMethod(dsl)) {
+            return;
+        }
+        String route = "";
+        int routeOffset = -1;
+        // the route is the start of the chain of method calls, such as from("direct:billing").to("log:foo")
+        PsiMethodCallExpression start = call;
+        while (start.getMethodExpression().getQualifierExpression() instanceof PsiMethodCallExpression) {
+            start = (PsiMethodCallExpression) start.getMethodExpression().getQualifierExpression();
+        }
+        String startName = getMethodName(start);
+        if (ROUTE_START.contains(startName) || REST.equals(startName)) {
+            PsiExpression[] arguments = start.getArgumentList().getExpressions();
+            Object value = arguments.length > 0 && arguments[0] instanceof PsiLiteralExpression ? ((PsiLiteralExpression) arguments[0]).getValue() : null;
+            if (value instanceof String) {
+                route = REST.equals(startName) ? REST + ":" + value : normalize((String) value);
+                routeOffset = arguments[0].getTextRange().getStartOffset();
+            } else {
+                route = REST.equals(startName) ? REST + ":" : "";
+                routeOffset = start.getTextRange().getStartOffset();
+            }
+        }
+        add((String) literal.getValue(), literal.getTextRange().getStartOffset(), dsl, route, routeOffset, answer);
+    }
+
+    private static boolean isEndpointMethod(@NotNull String name) {
+        return CONSUMER_ENDPOINT.contains(name) || PRODUCER_ENDPOINT.contains(name) || ENDPOINT.equals(name);
+    }
+
+    @NotNull
+    private static String getMethodName(@NotNull PsiMethodCallExpression call) {
+        String name = call.getMethodExpression().getReferenceName();
+        return name != null ? name : "";
+    }
+
+    private static void indexXmlAttribute(@NotNull XmlAttribute attribute, @NotNull Map<String, List<Endpoint>> answer) {
+        XmlAttributeValue value = attribute.getValueElement();
+        if (!"uri".equals(attribute.getLocalName()) || value == null || attribute.getValue() == null) {
+            return;
+        }
+        String route = "";
+        int routeOffset = -1;
+        XmlTag tag = attribute.getParent();
+        while (tag != null && !"route".equals(tag.getLocalName()) && !REST.equals(tag.getLocalName())) {
+            tag = tag.getParentTag();
+        }
+        if (tag != null && REST.equals(tag.getLocalName())) {
+            String path = tag.getAttributeValue("path");
+            route = REST + ":" + (path != null ? path : "");
+            routeOffset = tag.getTextRange().getStartOffset();
+        } else if (tag != null) {
+            // the route starts from its first from tag
+            XmlTag from = tag.findFirstSubTag("from");
+            XmlAttribute uri = from != null ? from.getAttribute("uri") : null;
+            XmlAttributeValue uriValue = uri != null ? uri.getValueElement() : null;
+            if (uriValue != null && uri.getValue() != null) {
+                route = normalize(uri.getValue());
+                routeOffset = uriValue.getValueTextRange().getStartOffset();
+            } else {
+                routeOffset = tag.getTextRange().getStartOffset();
+            }
+        }
+        add(attribute.getValue(), value.getValueTextRange().getStartOffset(), attribute.getParent().getLocalName(), route, routeOffset, answer);
+    }
+
+    private static void add(@NotNull String text, int offset, @NotNull String dsl, @NotNull String route, int routeOffset,
+                            @NotNull Map<String, List<Endpoint>> answer) {
+        String uri = normalize(text);
+        String scheme = getScheme(uri);
+        if (scheme == null) {
+            return;
+        }
+        Endpoint endpoint = new Endpoint(uri, offset, Role.of(dsl), dsl, route, routeOffset);
+        answer.computeIfAbsent(uri, k -> new ArrayList<>(1)).add(endpoint);
+        answer.computeIfAbsent(scheme, k -> new ArrayList<>()).add(endpoint);
+    }
+
+    private static final class EndpointsExternalizer implements DataExternalizer<List<Endpoint>> {
+
+        @Override
+        public void save(@NotNull DataOutput out, List<Endpoint> value) throws IOException {
+            DataInputOutputUtil.writeINT(out, value.size());
+            for (Endpoint endpoint : value) {
+                IOUtil.writeUTF(out, endpoint.uri);
+                DataInputOutputUtil.writeINT(out, endpoint.offset);
+                out.writeByte(endpoint.role.ordinal());
+                IOUtil.writeUTF(out, endpoint.dsl);
+                IOUtil.writeUTF(out, endpoint.route);
+                // the route offset is -1 when not in a route
+                DataInputOutputUtil.writeINT(out, endpoint.routeOffset + 1);
+            }
+        }
+
+        @Override
+        public List<Endpoint> read(@NotNull DataInput in) throws IOException {
+            int size = DataInputOutputUtil.readINT(in);
+            if (size == 0) {
+                return Collections.emptyList();
+            }
+            List<Endpoint> answer = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String uri = IOUtil.readUTF(in);
+                int offset = DataInputOutputUtil.readINT(in);
+                Role role = Role.values()[in.readByte()];
+                String dsl = IOUtil.readUTF(in);
+                String route = IOUtil.readUTF(in);
+                int routeOffset = DataInputOutputUtil.readINT(in) - 1;
+                answer.add(new Endpoint(uri, offset, role, dsl, route, routeOffset));
+            }
+            return answer;
+        }
+    }
+
+}
@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.index;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.yaml.snakeyaml.Loader;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+/**
+ * A persistent index of the keys and values in the <tt>.properties</tt> and <tt>.yaml</tt> files of the project, which
+ * are the property placeholders that can be used in Camel, such as <tt>{{mysql.service.host}}</tt>.
+ * <p/>
+ * The yaml files are flattened to the keys used by Spring Boot, such as <tt>mysql.service.host</tt>. The files
+ * excluded, and the keys ignored, in the Camel preferences are not filtered by the index, as the preferences can change
+ * without the files changing, but must be filtered when the index is used.
+ */
+public class CamelPropertyPlaceholderIndex extends FileBasedIndexExtension<String, String> {
+
+    public static final ID<String, String> NAME = ID.create("org.apache.camel.idea.propertyPlaceholders");
+
+    private static final Logger LOG = Logger.getInstance(CamelPropertyPlaceholderIndex.class);
+
+    private static final int VERSION = 2;
+
+    /**
+     * The largest yaml file which is indexed, as the whole file is parsed into memory
+     */
+    private static final int MAX_YAML_SIZE = 1024 * 1024;
+
+    /**
+     * The most keys indexed from a yaml file, as the aliases of yaml can expand a small file to a huge tree
+     */
+    private static final int MAX_YAML_KEYS = 10000;
+
+    private static final List<String> YAML_EXTENSIONS = Arrays.asList("yaml", "yml");
+
+    @NotNull
+    @Override
+    public ID<String, String> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, String, FileContent> getIndexer() {
+        return content -> {
+            if (YAML_EXTENSIONS.contains(content.getFile().getExtension())) {
+                return loadYaml(content.getContent());
+            }
+            return loadProperties(content.getContent());
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<String> getValueExternalizer() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> file.isInLocalFileSystem() && ("properties".equals(file.getExtension()) || YAML_EXTENSIONS.contains(file.getExtension()));
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Loads the properties the same way as Camel, using {@link Properties}
+     *
+     * @param content the content of the <tt>.properties</tt> file
+     * @return the keys and values
+     */
+    @NotNull
+    public static Map<String, String> loadProperties(@NotNull byte[] content) {
+        Map<String, String> answer = new LinkedHashMap<>();
+        Properties properties = new Properties();
+        try {
+            properties.load(new ByteArrayInputStream(content));
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.debug("Error loading properties file", e);
+        }
+        properties.forEach((key, value) -> answer.put(String.valueOf(key), String.valueOf(value)));
+        return answer;
+    }
+
+    /**
+     * Loads the yaml file and flattens it to keys such as <tt>mysql.service.host</tt>, and <tt>servers[0]</tt> for lists
+     * <p/>
+     * The file is parsed with the {@link SafeConstructor}, which only creates plain maps, lists and values, so the tags
+     * in the file cannot create other objects. Files larger than {@link #MAX_YAML_SIZE}, and the keys after the first
+     * {@link #MAX_YAML_KEYS}, are not loaded, so a huge or deeply nested file cannot stall the indexing.
+     *
+     * @param content the content of the <tt>.yaml</tt> file
+     * @return the keys and values
+     */
+    @NotNull
+    public static Map<String, String> loadYaml(@NotNull byte[] content) {
+        Map<String, String> answer = new LinkedHashMap<>();
+        if (content.length > MAX_YAML_SIZE) {
+            LOG.debug("Skipping yaml file of " + content.length + " bytes");
+            return answer;
+        }
+        try {
+            // Parse the YAML file and return the output as a series of Maps and Lists
+            Object yaml = new Yaml(new Loader(new SafeConstructor())).load(new ByteArrayInputStream(content));
+            if (yaml instanceof Map) {
+                flattenMap(answer, null, (Map<?, ?>) yaml);
+            }
+        } catch (Exception | StackOverflowError e) {
+            LOG.debug("Error loading yaml file", e);
+        }
+        return answer;
+    }
+
+    private static void flattenMap(Map<String, String> answer, String prefix, Map<?, ?> map) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (answer.size() >= MAX_YAML_KEYS) {
+                return;
+            }
+            String key = prefix != null ? prefix + "." + entry.getKey() : String.valueOf(entry.getKey());
+            flattenValue(answer, key, entry.getValue());
+        }
+    }
+
+    private static void flattenValue(Map<String, String> answer, String key, Object value) {
+        if (value instanceof List) {
+            flattenList(answer, key, (List<?>) value);
+        } else if (value instanceof Map) {
+            flattenMap(answer, key, (Map<?, ?>) value);
+        } else {
+            answer.put(key, String.valueOf(value));
+        }
+    }
+
+    private static void flattenList(Map<String, String> answer, String key, List<?> list) {
+        int count = 0;
+        for (Object element : list) {
+            if (answer.size() >= MAX_YAML_KEYS) {
+                return;
+            }
+            if (element instanceof String) {
+                answer.put(String.format("%s[%s]", key, count++), (String) element);
+            } else if (element instanceof List) {
+                flattenList(answer, key, (List<?>) element);
+            } else if (element instanceof Map) {
+                // the keys of the maps in a list are added without an index
+                flattenMap(answer, key, (Map<?, ?>) element);
+            }
+        }
+    }
+
+}
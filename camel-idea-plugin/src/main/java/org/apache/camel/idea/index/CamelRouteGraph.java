@@ -0,0 +1,531 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import com.intellij.ProjectTopics;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.messages.MessageBusConnection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import static org.apache.camel.idea.util.CamelIdeaUtils.CAMEL_FILE_EXTENSIONS;
+
+/**
+ * A graph of the Camel routes in the project and the endpoints they call, which is built from the
+ * {@link CamelEndpointIndex}, so questions like which routes send to <tt>direct:billing</tt>, or what does this route
+ * call, can be answered without searching the files.
+ * <p/>
+ * The routes are the nodes of the graph, and the calls to endpoints, such as <tt>to</tt>, <tt>enrich</tt> or
+ * <tt>pollEnrich</tt>, are the edges from a route to the routes consuming from the same uri. The graph is updated on
+ * demand. The files changed since the last update are collected from the PSI and file system events, and only these
+ * files are read from the index again, so the cost of an update does not grow with the size of the project. The
+ * neighbours of a route or uri are kept in maps, so they are found without going through the whole graph.
+ * <p/>
+ * The graph must be used in a read action, and is not updated while IDEA is indexing.
+ */
+public class CamelRouteGraph {
+
+    private static final Set<String> CALLS = new HashSet<>(Arrays.asList("to", "toF", "toD", "enrich", "pollEnrich", "wireTap"));
+
+    private final Project project;
+    private Map<VirtualFile, FileRoutes> files = new HashMap<>();
+    private Map<String, List<Route>> routesByUri = new HashMap<>();
+    private Map<String, List<Call>> callsByUri = new HashMap<>();
+    private final Set<VirtualFile> changed = ConcurrentHashMap.newKeySet();
+    private volatile boolean complete;
+
+    public CamelRouteGraph(Project project) {
+        this.project = project;
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+            @Override
+            public void childAdded(@NotNull PsiTreeChangeEvent event) {
+                changed(event.getFile());
+            }
+
+            @Override
+            public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+                changed(event.getFile());
+            }
+
+            @Override
+            public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+                changed(event.getFile());
+            }
+
+            @Override
+            public void childMoved(@NotNull PsiTreeChangeEvent event) {
+                changed(event.getFile());
+            }
+
+            @Override
+            public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+                changed(event.getFile());
+            }
+        }, project);
+        MessageBusConnection connection = project.getMessageBus().connect(project);
+        connection.subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void before(@NotNull List<? extends VFileEvent> events) {
+                for (VFileEvent event : events) {
+                    // the files in a deleted or moved directory are not in the events
+                    if ((event instanceof VFileDeleteEvent || event instanceof VFileMoveEvent) && event.getFile() != null && event.getFile().isDirectory()) {
+                        changedUnder(event.getFile());
+                    }
+                }
+            }
+
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+                for (VFileEvent event : events) {
+                    VirtualFile file = event instanceof VFileCopyEvent ? ((VFileCopyEvent) event).findCreatedFile() : event.getFile();
+                    if (file == null) {
+                        continue;
+                    }
+                    if (!file.isDirectory()) {
+                        if (event instanceof VFilePropertyChangeEvent) {
+                            // a renamed file may no longer have one of the extensions
+                            changed.add(file);
+                        } else {
+                            changed(file);
+                        }
+                    } else if ((event instanceof VFileCopyEvent || event instanceof VFileMoveEvent) && fileIndex.isInContent(file)) {
+                        // the files of a directory copied or moved into the project are not in the events
+                        complete = false;
+                    }
+                }
+            }
+        });
+        connection.subscribe(ProjectTopics.PROJECT_ROOTS, new ModuleRootListener() {
+            @Override
+            public void rootsChanged(ModuleRootEvent event) {
+                // files may have been added to or removed from the project
+                complete = false;
+            }
+        });
+    }
+
+    /**
+     * A route, which starts from an endpoint, or is a rest route
+     */
+    public static final class Route {
+
+        private final VirtualFile file;
+        private final int offset;
+        private final String uri;
+        private final List<Call> calls = new ArrayList<>();
+
+        Route(@NotNull VirtualFile file, int offset, @NotNull String uri) {
+            this.file = file;
+            this.offset = offset;
+            this.uri = uri;
+        }
+
+        public VirtualFile getFile() {
+            return file;
+        }
+
+        /**
+         * The offset in the file of the uri the route starts from
+         */
+        public int getOffset() {
+            return offset;
+        }
+
+        /**
+         * The uri the route starts from, such as <tt>direct:billing</tt>, or empty if it is not known from the index
+         */
+        public String getUri() {
+            return uri;
+        }
+
+        /**
+         * The calls from this route to other endpoints, in the order in the file
+         */
+        public List<Call> getCalls() {
+            return Collections.unmodifiableList(calls);
+        }
+
+        @Nullable
+        public PsiElement getElement(@NotNull PsiManager psiManager) {
+            return findElementAt(psiManager, file, offset);
+        }
+
+        @Override
+        public String toString() {
+            return "Route[" + uri + "] in " + file.getName() + " at " + offset;
+        }
+    }
+
+    /**
+     * A call to an endpoint, such as <tt>to("direct:billing")</tt>
+     */
+    public static final class Call {
+
+        private final VirtualFile file;
+        private final Route route;
+        private final CamelEndpointIndex.Endpoint endpoint;
+
+        Call(@NotNull VirtualFile file, @Nullable Route route, @NotNull CamelEndpointIndex.Endpoint endpoint) {
+            this.file = file;
+            this.route = route;
+            this.endpoint = endpoint;
+        }
+
+        public VirtualFile getFile() {
+            return file;
+        }
+
+        /**
+         * The route making the call, or <tt>null</tt> if the call is not in a route, such as in <tt>onException</tt>
+         */
+        @Nullable
+        public Route getRoute() {
+            return route;
+        }
+
+        public CamelEndpointIndex.Endpoint getEndpoint() {
+            return endpoint;
+        }
+
+        public String getUri() {
+            return endpoint.getUri();
+        }
+
+        @Nullable
+        public PsiElement getElement(@NotNull PsiManager psiManager) {
+            return findElementAt(psiManager, file, endpoint.getOffset());
+        }
+
+        @Override
+        public String toString() {
+            return endpoint.getDsl() + "(" + endpoint.getUri() + ") in " + file.getName() + " at " + endpoint.getOffset();
+        }
+    }
+
+    /**
+     * The routes and calls of a file, which are replaced as a whole when the file is changed
+     */
+    private static final class FileRoutes {
+
+        private final List<Route> routes;
+        private final List<Call> calls;
+
+        FileRoutes(List<Route> routes, List<Call> calls) {
+            this.routes = routes;
+            this.calls = calls;
+        }
+
+        boolean isEmpty() {
+            return routes.isEmpty() && calls.isEmpty();
+        }
+    }
+
+    /**
+     * Gets all the routes in the project
+     */
+    @NotNull
+    public List<Route> getRoutes() {
+        update();
+        synchronized (this) {
+            List<Route> answer = new ArrayList<>();
+            for (FileRoutes routes : files.values()) {
+                answer.addAll(routes.routes);
+            }
+            return answer;
+        }
+    }
+
+    /**
+     * Gets the routes which consume from the uri, such as the route with <tt>from("direct:billing")</tt>
+     *
+     * @param uri the uri
+     * @return the routes, or an empty list if no routes consume from the uri
+     */
+    @NotNull
+    public List<Route> getRoutesFrom(@NotNull String uri) {
+        update();
+        synchronized (this) {
+            return copy(routesByUri.get(CamelEndpointIndex.normalize(uri)));
+        }
+    }
+
+    /**
+     * Gets the calls to the uri, such as <tt>to("direct:billing")</tt>, including calls which are not in a route.
+     *
+     * @param uri the uri
+     * @return the calls, or an empty list if nothing calls the uri
+     */
+    @NotNull
+    public List<Call> getCallsTo(@NotNull String uri) {
+        update();
+        synchronized (this) {
+            return copy(callsByUri.get(CamelEndpointIndex.normalize(uri)));
+        }
+    }
+
+    /**
+     * Gets the routes which call the uri the route starts from, which are the routes feeding the route
+     *
+     * @param route the route
+     * @return the calling routes
+     */
+    @NotNull
+    public List<Route> getCallers(@NotNull Route route) {
+        Map<Route, Boolean> answer = new LinkedHashMap<>();
+        for (Call call : getCallsTo(route.getUri())) {
+            if (call.getRoute() != null) {
+                answer.put(call.getRoute(), Boolean.TRUE);
+            }
+        }
+        return new ArrayList<>(answer.keySet());
+    }
+
+    /**
+     * Gets the routes which the route calls, which are the routes consuming from the uris called by the route
+     *
+     * @param route the route
+     * @return the called routes
+     */
+    @NotNull
+    public List<Route> getCallees(@NotNull Route route) {
+        Map<Route, Boolean> answer = new LinkedHashMap<>();
+        for (Call call : route.getCalls()) {
+            for (Route callee : getRoutesFrom(call.getUri())) {
+                answer.put(callee, Boolean.TRUE);
+            }
+        }
+        return new ArrayList<>(answer.keySet());
+    }
+
+    /**
+     * Finds the route starting at the offset in the file
+     *
+     * @return the route, or <tt>null</tt> if no route starts at the offset
+     */
+    @Nullable
+    public Route findRoute(@NotNull VirtualFile file, int offset) {
+        update();
+        FileRoutes routes;
+        synchronized (this) {
+            routes = files.get(file);
+        }
+        if (routes != null) {
+            for (Route route : routes.routes) {
+                if (route.getOffset() == offset) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the files which have changed since the last update from the index, and replaces their routes and calls, or
+     * reads all the files when the graph is built the first time or the project roots have changed.
+     * <p/>
+     * The index is read without holding the lock of the graph, and the graph is only changed when the files are read, so
+     * the graph stays consistent when the update is cancelled, and the remaining changes are read on the next update.
+     * The events which change the files are in write actions, so no files are changed while updating.
+     */
+    private void update() {
+        if ((complete && changed.isEmpty()) || DumbService.isDumb(project)) {
+            return;
+        }
+
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        if (!complete) {
+            // the new graph is built on the side, and replaces the old graph when all the files are read
+            Map<VirtualFile, FileRoutes> newFiles = new HashMap<>();
+            Map<String, List<Route>> newRoutesByUri = new HashMap<>();
+            Map<String, List<Call>> newCallsByUri = new HashMap<>();
+            for (VirtualFile file : findFiles(index)) {
+                ProgressManager.checkCanceled();
+                FileRoutes routes = read(index, file);
+                if (!routes.isEmpty()) {
+                    link(routes, newRoutesByUri, newCallsByUri);
+                    newFiles.put(file, routes);
+                }
+            }
+            synchronized (this) {
+                files = newFiles;
+                routesByUri = newRoutesByUri;
+                callsByUri = newCallsByUri;
+                // the changes until now are part of reading all the files
+                changed.clear();
+                complete = true;
+            }
+            return;
+        }
+
+        // each file is updated as a whole, where the files no longer in the project have no routes
+        Map<VirtualFile, FileRoutes> updated = new HashMap<>();
+        for (VirtualFile file : new ArrayList<>(changed)) {
+            ProgressManager.checkCanceled();
+            boolean inProject = file.isValid() && GlobalSearchScope.projectScope(project).contains(file);
+            updated.put(file, inProject ? read(index, file) : null);
+        }
+        synchronized (this) {
+            for (Map.Entry<VirtualFile, FileRoutes> entry : updated.entrySet()) {
+                changed.remove(entry.getKey());
+                FileRoutes old = files.remove(entry.getKey());
+                if (old != null) {
+                    unlink(old);
+                }
+                FileRoutes routes = entry.getValue();
+                if (routes != null && !routes.isEmpty()) {
+                    link(routes, routesByUri, callsByUri);
+                    files.put(entry.getKey(), routes);
+                }
+            }
+        }
+    }
+
+    private synchronized void changedUnder(@NotNull VirtualFile directory) {
+        for (VirtualFile file : files.keySet()) {
+            if (VfsUtilCore.isAncestor(directory, file, false)) {
+                changed.add(file);
+            }
+        }
+    }
+
+    private void changed(@Nullable PsiFile file) {
+        VirtualFile virtualFile = file != null ? file.getViewProvider().getVirtualFile() : null;
+        changed(virtualFile);
+    }
+
+    private void changed(@Nullable VirtualFile file) {
+        if (file != null && Arrays.asList(CAMEL_FILE_EXTENSIONS).contains(file.getExtension())) {
+            changed.add(file);
+        }
+    }
+
+    /**
+     * Finds the files with endpoints, which are the files with a scheme key, as the uri keys always have a colon
+     */
+    private Set<VirtualFile> findFiles(FileBasedIndex index) {
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        Set<VirtualFile> answer = new HashSet<>();
+        for (String key : index.getAllKeys(CamelEndpointIndex.NAME, project)) {
+            ProgressManager.checkCanceled();
+            if (key.indexOf(':') < 0) {
+                answer.addAll(index.getContainingFiles(CamelEndpointIndex.NAME, key, scope));
+            }
+        }
+        return answer;
+    }
+
+    private FileRoutes read(FileBasedIndex index, VirtualFile file) {
+        Map<Integer, Route> routes = new LinkedHashMap<>();
+        List<Call> calls = new ArrayList<>();
+        // each endpoint is the value of both its uri and scheme key, so only the scheme keys are read
+        List<CamelEndpointIndex.Endpoint> all = new ArrayList<>();
+        for (Map.Entry<String, List<CamelEndpointIndex.Endpoint>> entry : index.getFileData(CamelEndpointIndex.NAME, file, project).entrySet()) {
+            if (entry.getKey().indexOf(':') < 0) {
+                all.addAll(entry.getValue());
+            }
+        }
+        // in the order in the file, as the endpoints of different schemes are in separate keys
+        all.sort(Comparator.comparingInt(CamelEndpointIndex.Endpoint::getOffset));
+        for (CamelEndpointIndex.Endpoint endpoint : all) {
+            Route route = null;
+            if (endpoint.getRouteOffset() >= 0) {
+                route = routes.computeIfAbsent(endpoint.getRouteOffset(), offset -> new Route(file, offset, endpoint.getRoute()));
+            }
+            if (!endpoint.isRouteStart() && CALLS.contains(endpoint.getDsl())) {
+                Call call = new Call(file, route, endpoint);
+                calls.add(call);
+                if (route != null) {
+                    route.calls.add(call);
+                }
+            }
+        }
+        return new FileRoutes(new ArrayList<>(routes.values()), calls);
+    }
+
+    private static void link(FileRoutes routes, Map<String, List<Route>> routesByUri, Map<String, List<Call>> callsByUri) {
+        for (Route route : routes.routes) {
+            if (!route.getUri().isEmpty()) {
+                routesByUri.computeIfAbsent(route.getUri(), k -> new ArrayList<>(1)).add(route);
+            }
+        }
+        for (Call call : routes.calls) {
+            callsByUri.computeIfAbsent(call.getUri(), k -> new ArrayList<>(1)).add(call);
+        }
+    }
+
+    private void unlink(FileRoutes routes) {
+        for (Route route : routes.routes) {
+            remove(routesByUri, route.getUri(), route);
+        }
+        for (Call call : routes.calls) {
+            remove(callsByUri, call.getUri(), call);
+        }
+    }
+
+    private static <T> void remove(Map<String, List<T>> map, String key, T value) {
+        List<T> list = map.get(key);
+        if (list != null) {
+            list.remove(value);
+            if (list.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    private static <T> List<T> copy(@Nullable List<T> list) {
+        return list != null ? new ArrayList<>(list) : new ArrayList<>();
+    }
+
+    @Nullable
+    private static PsiElement findElementAt(PsiManager psiManager, VirtualFile file, int offset) {
+        PsiFile psiFile = file.isValid() ? psiManager.findFile(file) : null;
+        return psiFile != null ? psiFile.findElementAt(offset) : null;
+    }
+
+}
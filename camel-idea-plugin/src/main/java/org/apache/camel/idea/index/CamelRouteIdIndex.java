@@ -0,0 +1,238 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethodCallExpression;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.xml.XmlAttribute;
+import com.intellij.psi.xml.XmlAttributeValue;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A persistent index of the ids of the Camel routes in the Java and XML files of the project, such as
+ * <tt>routeId("billing")</tt> in Java or <tt>&lt;route id="billing"&gt;</tt> in XML, so the routes can be found by their
+ * id, and duplicate ids detected, without parsing the files.
+ * <p/>
+ * The values are the offsets of the ids in the file, which is the string literal in Java and the attribute value after
+ * the quote in XML.
+ */
+public class CamelRouteIdIndex extends FileBasedIndexExtension<String, List<Integer>> {
+
+    public static final ID<String, List<Integer>> NAME = ID.create("org.apache.camel.idea.routeIds");
+
+    private static final int VERSION = 1;
+
+    /**
+     * The DSL method which sets the id of a route in Java
+     */
+    public static final String ROUTE_ID = "routeId";
+
+    @NotNull
+    @Override
+    public ID<String, List<Integer>> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<Integer>, FileContent> getIndexer() {
+        return CamelRouteIdIndex::index;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<Integer>> getValueExternalizer() {
+        return new OffsetsExternalizer();
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        // the same files as the endpoints
+        return new CamelEndpointIndex().getInputFilter();
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Finds the elements of the route ids in the scope.
+     * <p/>
+     * The index cannot be used while IDEA is indexing, which the caller must check with {@link DumbService#isDumb(Project)}.
+     *
+     * @param project the project
+     * @param routeId the route id
+     * @param scope   the scope to search in
+     * @return the elements of the route ids, such as the string literal token in Java
+     */
+    @NotNull
+    public static List<PsiElement> findRouteIdElements(@NotNull Project project, @NotNull String routeId, @NotNull GlobalSearchScope scope) {
+        PsiManager psiManager = PsiManager.getInstance(project);
+        List<PsiElement> answer = new ArrayList<>();
+        FileBasedIndex.getInstance().processValues(NAME, routeId, null, (file, offsets) -> {
+            ProgressManager.checkCanceled();
+            PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile != null) {
+                for (int offset : offsets) {
+                    PsiElement element = psiFile.findElementAt(offset);
+                    if (element != null) {
+                        answer.add(element);
+                    }
+                }
+            }
+            return true;
+        }, scope);
+        return answer;
+    }
+
+    /**
+     * Whether the route id is used by more than one route in the scope
+     *
+     * @param project the project
+     * @param routeId the route id
+     * @param scope   the scope to search in
+     * @return <tt>true</tt> if the id is a duplicate
+     */
+    public static boolean isDuplicate(@NotNull Project project, @NotNull String routeId, @NotNull GlobalSearchScope scope) {
+        int[] count = new int[1];
+        FileBasedIndex.getInstance().processValues(NAME, routeId, null, (file, offsets) -> {
+            count[0] += offsets.size();
+            // no need to look further when a duplicate is found
+            return count[0] < 2;
+        }, scope);
+        return count[0] > 1;
+    }
+
+    private static Map<String, List<Integer>> index(@NotNull FileContent content) {
+        Map<String, List<Integer>> answer = new HashMap<>();
+        // most files have no routes, so check the text before building the tree
+        if (!StringUtil.contains(content.getContentAsText(), "route")) {
+            return answer;
+        }
+        PsiFile file = content.getPsiFile();
+        if (file instanceof PsiJavaFile) {
+            file.accept(new PsiRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    super.visitElement(element);
+                    if (element instanceof PsiMethodCallExpression) {
+                        indexJavaRouteId((PsiMethodCallExpression) element, answer);
+                    }
+                }
+            });
+        } else if (file instanceof XmlFile) {
+            file.accept(new PsiRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    super.visitElement(element);
+                    if (element instanceof XmlTag && "route".equals(((XmlTag) element).getLocalName())) {
+                        indexXmlRouteId((XmlTag) element, answer);
+                    }
+                }
+            });
+        }
+        return answer;
+    }
+
+    private static void indexJavaRouteId(@NotNull PsiMethodCallExpression call, @NotNull Map<String, List<Integer>> answer) {
+        if (!ROUTE_ID.equals(call.getMethodExpression().getReferenceName())) {
+            return;
+        }
+        PsiExpression[] arguments = call.getArgumentList().getExpressions();
+        if (arguments.length == 1 && arguments[0] instanceof PsiLiteralExpression) {
+            Object value = ((PsiLiteralExpression) arguments[0]).getValue();
+            if (value instanceof String && !((String) value).isEmpty()) {
+                answer.computeIfAbsent((String) value, k -> new ArrayList<>(1)).add(arguments[0].getTextRange().getStartOffset());
+            }
+        }
+    }
+
+    private static void indexXmlRouteId(@NotNull XmlTag tag, @NotNull Map<String, List<Integer>> answer) {
+        XmlAttribute id = tag.getAttribute("id");
+        XmlAttributeValue value = id != null ? id.getValueElement() : null;
+        if (value != null && !StringUtil.isEmpty(id.getValue())) {
+            answer.computeIfAbsent(id.getValue(), k -> new ArrayList<>(1)).add(value.getValueTextRange().getStartOffset());
+        }
+    }
+
+    /**
+     * Stores a list of offsets in a file, which is shared with the other indexes which only need the offsets
+     */
+    static final class OffsetsExternalizer implements DataExternalizer<List<Integer>> {
+
+        @Override
+        public void save(@NotNull DataOutput out, List<Integer> value) throws IOException {
+            DataInputOutputUtil.writeINT(out, value.size());
+            for (int offset : value) {
+                DataInputOutputUtil.writeINT(out, offset);
+            }
+        }
+
+        @Override
+        public List<Integer> read(@NotNull DataInput in) throws IOException {
+            int size = DataInputOutputUtil.readINT(in);
+            List<Integer> answer = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                answer.add(DataInputOutputUtil.readINT(in));
+            }
+            return answer;
+        }
+    }
+
+}
@@ -23,19 +23,28 @@ import com.intellij.codeInspection.LocalInspectionTool;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.tree.IElementType;
 import org.apache.camel.catalog.CamelCatalog;
 import org.apache.camel.catalog.EndpointValidationResult;
 import org.apache.camel.catalog.LanguageValidationResult;
-import org.apache.camel.catalog.SimpleValidationResult;
 import org.apache.camel.idea.annotator.CamelAnnotatorEndpointMessage;
 import org.apache.camel.idea.service.CamelCatalogService;
 import org.apache.camel.idea.service.CamelService;
 import org.apache.camel.idea.service.QueryUtils;
+import org.apache.camel.idea.simple.SimpleParser;
+import org.apache.camel.idea.simple.SimpleSyntaxError;
+import org.apache.camel.idea.util.CamelFileKind;
 import org.apache.camel.idea.util.CamelIdeaUtils;
+import org.apache.camel.idea.util.CamelLanguageValidationCache;
+import org.apache.camel.idea.util.CamelLiteralOffsets;
+import org.apache.camel.idea.util.CamelPerformanceCounter;
+import org.apache.camel.idea.util.CamelUriNormalizer;
 import org.apache.camel.idea.util.IdeaUtils;
 import org.apache.camel.idea.util.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -78,21 +87,32 @@ public abstract class AbstractCamelInspection extends LocalInspectionTool {
     @NotNull
     @Override
     public PsiElementVisitor buildVisitor(final @NotNull ProblemsHolder holder, final boolean isOnTheFly) {
-        if (isInspectionEnabled(holder.getProject())) {
-            return new PsiElementVisitor() {
-                @Override
-                public void visitElement(PsiElement element) {
-                    if (accept(element)) {
-                        String text = getIdeaUtils().extractTextFromElement(element, false, false, true);
-                        if (!StringUtils.isEmpty(text)) {
-                            validateText(element, holder, text, isOnTheFly);
-                        }
-                    }
-                }
-            };
-        } else {
+        // skip files without Camel in one check instead of checking every element
+        PsiFile file = holder.getFile();
+        if (!isInspectionEnabled(holder.getProject()) || !CamelFileKind.of(file).isCamel()) {
+            return PsiElementVisitor.EMPTY_VISITOR;
+        }
+        // only the elements at the offsets which looks like an endpoint uri or expression needs their text extracted
+        CamelLiteralOffsets offsets = CamelLiteralOffsets.of(file);
+        if (offsets.isEmpty()) {
             return PsiElementVisitor.EMPTY_VISITOR;
         }
+        return new PsiElementVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if (element.getContainingFile() == file && !offsets.intersects(element.getTextRange())) {
+                    CamelPerformanceCounter.REJECTED_ELEMENTS.increment();
+                    return;
+                }
+                if (accept(element)) {
+                    ProgressManager.checkCanceled();
+                    String text = getIdeaUtils().extractTextFromElement(element, false, false, true);
+                    if (!StringUtils.isEmpty(text)) {
+                        validateText(element, holder, text, isOnTheFly);
+                    }
+                }
+            }
+        };
     }
 
     /**
@@ -117,40 +137,33 @@ public abstract class AbstractCamelInspection extends LocalInspectionTool {
 
     private void validateSimple(@NotNull PsiElement element, final @NotNull ProblemsHolder holder, @NotNull String text, boolean isOnTheFly) {
         CamelCatalog catalogService = ServiceManager.getService(element.getProject(), CamelCatalogService.class).get();
-        CamelService camelService = ServiceManager.getService(element.getProject(), CamelService.class);
 
         IElementType type = element.getNode().getElementType();
         LOG.trace("Element " + element + " of type: " + type + " to inspect simple: " + text);
 
         try {
-            // need to use the classloader that can load classes from the camel-core
-            ClassLoader loader = camelService.getCamelCoreClassloader();
-            if (loader != null) {
-                SimpleValidationResult result;
-                boolean predicate = getCamelIdeaUtils().isCamelExpressionUsedAsPredicate(element, "simple");
-                if (predicate) {
-                    LOG.debug("Inspecting simple predicate: " + text);
-                    result = catalogService.validateSimplePredicate(loader, text);
-                } else {
-                    LOG.debug("Inspecting simple expression: " + text);
-                    result = catalogService.validateSimpleExpression(loader, text);
-                }
-                if (!result.isSuccess()) {
-                    // favor the short error message
-                    String msg = result.getShortError();
-                    if (msg == null) {
-                        msg = result.getError();
-                    }
-                    holder.registerProblem(element, msg);
-                }
+            // the simple language is parsed by the plugin itself so camel-core does not need to be on the classpath
+            SimpleParser parser = SimpleParser.forCatalog(catalogService);
+            SimpleSyntaxError result;
+            boolean predicate = getCamelIdeaUtils().isCamelExpressionUsedAsPredicate(element, "simple");
+            if (predicate) {
+                LOG.debug("Inspecting simple predicate: " + text);
+                result = parser.validatePredicate(text);
+            } else {
+                LOG.debug("Inspecting simple expression: " + text);
+                result = parser.validateExpression(text);
+            }
+            if (result != null) {
+                holder.registerProblem(element, result.getMessage());
             }
+        } catch (ProcessCanceledException e) {
+            throw e;
         } catch (Throwable e) {
             LOG.warn("Error inspection Camel simple: " + text, e);
         }
     }
 
     private void validateJSonPath(@NotNull PsiElement element, final @NotNull ProblemsHolder holder, @NotNull String text, boolean isOnTheFly) {
-        CamelCatalog catalogService = ServiceManager.getService(element.getProject(), CamelCatalogService.class).get();
         CamelService camelService = ServiceManager.getService(element.getProject(), CamelService.class);
 
         IElementType type = element.getNode().getElementType();
@@ -166,15 +179,9 @@ public abstract class AbstractCamelInspection extends LocalInspectionTool {
             // need to use the classloader that can load classes from the project
             ClassLoader loader = camelService.getProjectClassloader();
             if (loader != null) {
-                LanguageValidationResult result;
                 boolean predicate = getCamelIdeaUtils().isCamelExpressionUsedAsPredicate(element, "jsonpath");
-                if (predicate) {
-                    LOG.debug("Inspecting jsonpath predicate: " + text);
-                    result = catalogService.validateLanguagePredicate(loader, "jsonpath", text);
-                } else {
-                    LOG.debug("Inspecting jsonpath expression: " + text);
-                    result = catalogService.validateLanguageExpression(loader, "jsonpath", text);
-                }
+                LOG.debug("Inspecting jsonpath " + (predicate ? "predicate" : "expression") + ": " + text);
+                LanguageValidationResult result = CamelLanguageValidationCache.validate(element.getProject(), loader, "jsonpath", text, predicate);
                 if (!result.isSuccess()) {
                     // favor the short error message
                     String msg = result.getShortError();
@@ -184,13 +191,15 @@ public abstract class AbstractCamelInspection extends LocalInspectionTool {
                     holder.registerProblem(element, msg);
                 }
             }
+        } catch (ProcessCanceledException e) {
+            throw e;
         } catch (Throwable e) {
             LOG.warn("Error inspection Camel jsonpath: " + text, e);
         }
     }
 
     private void validateEndpoint(@NotNull PsiElement element, final @NotNull ProblemsHolder holder, @NotNull String text, boolean isOnTheFly) {
-        CamelCatalog catalogService = ServiceManager.getService(element.getProject(), CamelCatalogService.class).get();
+        CamelCatalogService catalogService = ServiceManager.getService(element.getProject(), CamelCatalogService.class);
 
         IElementType type = element.getNode().getElementType();
         LOG.trace("Element " + element + " of type: " + type + " to inspect endpoint uri: " + text);
@@ -201,28 +210,15 @@ public abstract class AbstractCamelInspection extends LocalInspectionTool {
             return;
         }
 
-        // camel catalog expects &amp; as & when it parses so replace all &amp; as &
-        String camelQuery = text;
-        camelQuery = camelQuery.replaceAll("&amp;", "&");
-
-        // strip up ending incomplete parameter
-        if (camelQuery.endsWith("&") || camelQuery.endsWith("?")) {
-            camelQuery = camelQuery.substring(0, camelQuery.length() - 1);
-        }
-
+        // camel catalog expects &amp; as &, and if the node is fromF or toF then %X as {{%X}} as we cannot parse that value
         boolean stringFormat = getCamelIdeaUtils().isFromStringFormatEndpoint(element);
-        if (stringFormat) {
-            // if the node is fromF or toF, then replace all %X with {{%X}} as we cannot parse that value
-            camelQuery = camelQuery.replaceAll("%s", "\\{\\{\\%s\\}\\}");
-            camelQuery = camelQuery.replaceAll("%d", "\\{\\{\\%d\\}\\}");
-            camelQuery = camelQuery.replaceAll("%b", "\\{\\{\\%b\\}\\}");
-        }
+        String camelQuery = CamelUriNormalizer.normalize(text, stringFormat).getText();
 
         boolean consumerOnly = getCamelIdeaUtils().isConsumerEndpoint(element);
         boolean producerOnly = getCamelIdeaUtils().isProducerEndpoint(element);
 
         try {
-            EndpointValidationResult result = catalogService.validateEndpointProperties(camelQuery, false, consumerOnly, producerOnly);
+            EndpointValidationResult result = catalogService.get().validateEndpointProperties(camelQuery, false, consumerOnly, producerOnly);
 
             extractMapValue(result, result.getInvalidBoolean(), text, element, holder, isOnTheFly, new AbstractCamelInspection.BooleanErrorMsg());
             extractMapValue(result, result.getInvalidEnum(), text, element, holder, isOnTheFly, new AbstractCamelInspection.EnumErrorMsg());
@@ -232,6 +228,8 @@ public abstract class AbstractCamelInspection extends LocalInspectionTool {
             extractSetValue(result, result.getUnknown(), text, element, holder, isOnTheFly, new AbstractCamelInspection.UnknownErrorMsg());
             extractSetValue(result, result.getNotConsumerOnly(), text, element, holder, isOnTheFly, new AbstractCamelInspection.NotConsumerOnlyErrorMsg());
             extractSetValue(result, result.getNotProducerOnly(), text, element, holder, isOnTheFly, new AbstractCamelInspection.NotProducerOnlyErrorMsg());
+        } catch (ProcessCanceledException e) {
+            throw e;
         } catch (Throwable e) {
             LOG.warn("Error inspecting Camel endpoint: " + text, e);
         }
@@ -0,0 +1,197 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.inspection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.ide.errorTreeView.NewErrorTreeViewPanel;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowId;
+import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.impl.cache.CacheManager;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.UsageSearchContext;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import com.intellij.ui.content.MessageView;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.ui.MessageCategory;
+import org.apache.camel.idea.annotator.CamelBatchValidator;
+import org.apache.camel.idea.index.CamelEndpointIndex;
+import org.apache.camel.idea.service.CamelCatalogService;
+import org.apache.camel.idea.service.CamelService;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Action to validate all the Camel endpoints, simple and jsonpath expressions in the project in one batch.
+ * <p/>
+ * Instead of visiting every file like the regular code inspection, the {@link CamelEndpointIndex} is used to find the
+ * files with endpoints of the Camel components, and the word index to find the files which mention a Camel language.
+ * The property and yaml files, which are not in the endpoint index, are all validated as there are few of them. Only
+ * those files are validated, in parallel. The problems are shown in the messages tool window as each file is done,
+ * followed by a summary of the throughput.
+ */
+public class CamelBatchInspectionAction extends AnAction {
+
+    private static final Logger LOG = Logger.getInstance(CamelBatchInspectionAction.class);
+
+    /**
+     * Words which hints at Camel languages in files without any endpoints
+     */
+    private static final List<String> LANGUAGE_WORDS = Arrays.asList("simple", "jsonpath");
+
+    /**
+     * The file extensions which can have Camel endpoints or expressions
+     */
+    private static final List<String> EXTENSIONS = Arrays.asList("java", "xml", "properties", "yml", "yaml");
+
+    /**
+     * The file extensions which can have Camel endpoints, but are not in the endpoint index
+     */
+    private static final List<String> PROPERTY_EXTENSIONS = Arrays.asList("properties", "yml", "yaml");
+
+    @Override
+    public void update(AnActionEvent event) {
+        Project project = event.getProject();
+        boolean enabled = project != null && ServiceManager.getService(project, CamelService.class).isCamelPresent();
+        event.getPresentation().setEnabledAndVisible(enabled);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent event) {
+        Project project = event.getProject();
+        if (project == null) {
+            return;
+        }
+        NewErrorTreeViewPanel panel = new NewErrorTreeViewPanel(project, null);
+        Content content = ContentFactory.SERVICE.getInstance().createContent(panel, "Camel Validation", true);
+        content.setDisposer(panel);
+        MessageView messageView = MessageView.SERVICE.getInstance(project);
+        messageView.runWhenInitialized(() -> {
+            messageView.getContentManager().addContent(content);
+            messageView.getContentManager().setSelectedContent(content);
+            ToolWindow toolWindow = ToolWindowManager.getInstance(project).getToolWindow(ToolWindowId.MESSAGES_WINDOW);
+            if (toolWindow != null) {
+                toolWindow.activate(null);
+            }
+        });
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Validating Camel endpoints", true) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                validate(project, panel, indicator);
+            }
+        });
+    }
+
+    private static void validate(Project project, NewErrorTreeViewPanel panel, ProgressIndicator indicator) {
+        long start = System.currentTimeMillis();
+        indicator.setText("Finding Camel files");
+        List<PsiFile> files = ReadAction.compute(() -> findCandidateFiles(project));
+
+        indicator.setText("Validating Camel endpoints");
+        indicator.setIndeterminate(false);
+        CamelBatchValidator validator = new CamelBatchValidator();
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger literals = new AtomicInteger();
+        AtomicInteger problems = new AtomicInteger();
+        // the files are validated in parallel, and their problems are shown as soon as each file is done
+        JobLauncher.getInstance().invokeConcurrentlyUnderProgress(files, indicator, false, false, file -> {
+            CamelBatchValidator.Result result = validator.validate(file);
+            literals.addAndGet(result.getLiterals());
+            problems.addAndGet(result.getProblems().size());
+            indicator.setFraction((double) done.incrementAndGet() / files.size());
+            if (!result.getProblems().isEmpty()) {
+                ApplicationManager.getApplication().invokeLater(() -> addProblems(panel, result), project.getDisposed());
+            }
+            return true;
+        });
+
+        long millis = Math.max(1, System.currentTimeMillis() - start);
+        String summary = String.format("Validated %d Camel literals in %d files in %d millis (%.1f files/sec, %.1f literals/sec) and found %d problems",
+            literals.get(), files.size(), millis, files.size() * 1000.0 / millis, literals.get() * 1000.0 / millis, problems.get());
+        LOG.info(summary);
+        ApplicationManager.getApplication().invokeLater(
+            () -> panel.addMessage(MessageCategory.INFORMATION, new String[]{summary}, null, -1, -1, null), project.getDisposed());
+    }
+
+    /**
+     * Uses the endpoint index to find the files in the project with endpoints of the Camel components, and the word
+     * index to find the files which mention a Camel language
+     */
+    static List<PsiFile> findCandidateFiles(Project project) {
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        Set<VirtualFile> candidates = new LinkedHashSet<>();
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        CamelCatalogService catalogService = ServiceManager.getService(project, CamelCatalogService.class);
+        for (String scheme : catalogService.get().findComponentNames()) {
+            ProgressManager.checkCanceled();
+            candidates.addAll(index.getContainingFiles(CamelEndpointIndex.NAME, scheme, scope));
+        }
+        CacheManager cacheManager = CacheManager.SERVICE.getInstance(project);
+        for (String word : LANGUAGE_WORDS) {
+            ProgressManager.checkCanceled();
+            for (VirtualFile file : cacheManager.getVirtualFilesWithWord(word, UsageSearchContext.ANY, scope, true)) {
+                if (EXTENSIONS.contains(file.getExtension())) {
+                    candidates.add(file);
+                }
+            }
+        }
+        for (String extension : PROPERTY_EXTENSIONS) {
+            ProgressManager.checkCanceled();
+            candidates.addAll(FilenameIndex.getAllFilesByExt(project, extension, scope));
+        }
+
+        PsiManager psiManager = PsiManager.getInstance(project);
+        List<PsiFile> answer = new ArrayList<>(candidates.size());
+        for (VirtualFile file : candidates) {
+            PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile != null) {
+                answer.add(psiFile);
+            }
+        }
+        return answer;
+    }
+
+    private static void addProblems(NewErrorTreeViewPanel panel, CamelBatchValidator.Result result) {
+        for (CamelBatchValidator.Problem problem : result.getProblems()) {
+            int category = problem.getSeverity() == HighlightSeverity.ERROR ? MessageCategory.ERROR
+                : problem.getSeverity() == HighlightSeverity.WARNING ? MessageCategory.WARNING : MessageCategory.INFORMATION;
+            panel.addMessage(category, new String[]{problem.getMessage()}, result.getFile(), problem.getLine(), problem.getColumn(), null);
+        }
+    }
+}
@@ -17,7 +17,6 @@
 package org.apache.camel.idea.refereance;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import com.intellij.openapi.components.ServiceManager;
@@ -30,7 +29,7 @@ import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiPolyVariantReferenceBase;
 import com.intellij.psi.ResolveResult;
 import com.intellij.util.IncorrectOperationException;
-import org.apache.camel.idea.util.CamelIdeaUtils;
+import org.apache.camel.idea.util.JavaBeanMethodTable;
 import org.apache.camel.idea.util.JavaMethodUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -64,12 +63,13 @@ public class CamelBeanMethodReference extends PsiPolyVariantReferenceBase<PsiEle
     public ResolveResult[] multiResolve(boolean b) {
         List<ResolveResult> results = new ArrayList<>();
 
-        final PsiMethod[] methodsByName = getPsiClass().findMethodsByName(methodNameOnly, true);
-        for (PsiMethod psiMethod : getJavaMethodUtils().getBeanMethods(Arrays.asList(methodsByName))) {
-            if (getCamelIdeaUtils().isAnnotatedWithHandler(psiMethod)) {
-                return new ResolveResult[] {new PsiElementResolveResult(psiMethod)};
-            }
-            results.add(new PsiElementResolveResult(psiMethod));
+        final JavaBeanMethodTable table = getJavaMethodUtils().getBeanMethodTable(getPsiClass());
+        final JavaBeanMethodTable.BeanMethod handler = table.getHandler(methodNameOnly);
+        if (handler != null) {
+            return new ResolveResult[] {new PsiElementResolveResult(handler.getMethod())};
+        }
+        for (JavaBeanMethodTable.BeanMethod beanMethod : table.getMethods(methodNameOnly)) {
+            results.add(new PsiElementResolveResult(beanMethod.getMethod()));
         }
         return results.toArray(new ResolveResult[results.size()]);
     }
@@ -110,10 +110,6 @@ public class CamelBeanMethodReference extends PsiPolyVariantReferenceBase<PsiEle
         return psiClass;
     }
 
-    private CamelIdeaUtils getCamelIdeaUtils() {
-        return ServiceManager.getService(CamelIdeaUtils.class);
-    }
-
     private JavaMethodUtils getJavaMethodUtils() {
         return ServiceManager.getService(JavaMethodUtils.class);
     }
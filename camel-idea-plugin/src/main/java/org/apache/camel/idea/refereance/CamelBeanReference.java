@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.refereance;
+
+import java.util.List;
+
+import com.intellij.codeInsight.lookup.LookupElementBuilder;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementResolveResult;
+import com.intellij.psi.PsiPolyVariantReferenceBase;
+import com.intellij.psi.ResolveResult;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.apache.camel.idea.index.CamelBeanIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A reference between a bean name in the Camel DSL such as {@code bean("myBean","myMethod")} or {@code "bean:myBean"}
+ * and the definitions of the bean as found by {@link CamelBeanIndex}
+ */
+public class CamelBeanReference extends PsiPolyVariantReferenceBase<PsiElement> {
+
+    private final String beanName;
+
+    /**
+     * Reference between the Camel bean name and the bean definitions.
+     * @param element - The element with the bean name
+     * @param beanName - The name of the bean
+     * @param textRange - The range of the bean name in the element
+     */
+    CamelBeanReference(PsiElement element, String beanName, TextRange textRange) {
+        super(element, textRange);
+        this.beanName = beanName;
+    }
+
+    @NotNull
+    @Override
+    public ResolveResult[] multiResolve(boolean incompleteCode) {
+        Project project = getElement().getProject();
+        if (DumbService.isDumb(project)) {
+            return ResolveResult.EMPTY_ARRAY;
+        }
+        List<PsiElement> beans = CamelBeanIndex.findBeanElements(project, beanName, GlobalSearchScope.projectScope(project));
+        return PsiElementResolveResult.createResults(beans);
+    }
+
+    @Nullable
+    @Override
+    public PsiElement resolve() {
+        ResolveResult[] resolveResults = multiResolve(false);
+        return resolveResults.length == 1 ? resolveResults[0].getElement() : null;
+    }
+
+    @NotNull
+    @Override
+    public Object[] getVariants() {
+        Project project = getElement().getProject();
+        if (DumbService.isDumb(project)) {
+            return new Object[0];
+        }
+        return CamelBeanIndex.getBeanNames(project, GlobalSearchScope.projectScope(project)).stream()
+            .map(LookupElementBuilder::create)
+            .toArray();
+    }
+
+    @Override
+    public boolean isSoft() {
+        // a bean can also be bound to the registry at runtime, so an unknown name is not an error
+        return true;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+}
@@ -22,22 +22,24 @@ import com.intellij.patterns.PlatformPatterns;
 import com.intellij.patterns.PsiElementPattern;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiExpression;
 import com.intellij.psi.PsiExpressionList;
-import com.intellij.psi.PsiLiteral;
 import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.PsiReferenceContributor;
 import com.intellij.psi.PsiReferenceProvider;
 import com.intellij.psi.PsiReferenceRegistrar;
-import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.ProcessingContext;
+import org.apache.camel.idea.index.CamelBeanIndex;
 import org.apache.camel.idea.service.CamelService;
 import org.apache.camel.idea.util.CamelIdeaUtils;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Create a link between the Camel DSL {@Code bean(MyClass.class,"myMethod")} and the specific method
- * in it's destination bean.
+ * in it's destination bean, and between bean names such as {@code bean("myBean","myMethod")} or {@code "bean:myBean"}
+ * and the bean definition.
  */
 public class CamelBeanReferenceContributor extends PsiReferenceContributor {
     @Override
@@ -57,21 +59,53 @@ public class CamelBeanReferenceContributor extends PsiReferenceContributor {
     }
 
     private PsiReference[] createCamelBeanMethodReference(@NotNull PsiElement element) {
-
         final PsiElement beanClassElement = getCamelIdeaUtils().getBeanPsiElement(element);
         if (beanClassElement != null) {
             PsiClass psiClass = getCamelIdeaUtils().getBean(element);
-            if (psiClass != null) {
-                final PsiLiteral beanNameElement = PsiTreeUtil.findChildOfType(PsiTreeUtil.getParentOfType(beanClassElement, PsiExpressionList.class), PsiLiteral.class);
-                String methodName = beanNameElement.getText().replace("\"", "");
+            // the reference is on the method literal itself, and not the first literal of the expression list
+            // which is the bean name when the bean is referred to by its name
+            Object value = ((PsiLiteralExpression) element).getValue();
+            if (psiClass != null && value instanceof String) {
+                String methodName = (String) value;
                 if (!methodName.isEmpty()) {
                     return new PsiReference[] {new CamelBeanMethodReference(element, psiClass, methodName, new TextRange(1, methodName.length() + 1))};
                 }
             }
+            return PsiReference.EMPTY_ARRAY;
+        }
+        return createCamelBeanNameReference(element);
+    }
+
+    /**
+     * Create a reference from the bean name in {@code bean("myBean", "myMethod")} or {@code to("bean:myBean")} to the bean definition
+     */
+    private PsiReference[] createCamelBeanNameReference(@NotNull PsiElement element) {
+        Object value = ((PsiLiteralExpression) element).getValue();
+        if (!(value instanceof String)) {
+            return PsiReference.EMPTY_ARRAY;
+        }
+        String text = (String) value;
+        String beanName = CamelBeanIndex.getBeanName(text);
+        if (beanName != null) {
+            int start = text.indexOf(beanName, text.indexOf(':') + 1) + 1;
+            return new PsiReference[] {new CamelBeanReference(element, beanName, new TextRange(start, start + beanName.length()))};
+        }
+        if (!text.isEmpty() && isBeanNameArgument(element)) {
+            return new PsiReference[] {new CamelBeanReference(element, text, new TextRange(1, text.length() + 1))};
         }
         return PsiReference.EMPTY_ARRAY;
     }
 
+    private boolean isBeanNameArgument(@NotNull PsiElement element) {
+        PsiElement parent = element.getParent().getParent();
+        if (parent instanceof PsiMethodCallExpression) {
+            String name = ((PsiMethodCallExpression) parent).getMethodExpression().getReferenceName();
+            PsiExpression[] arguments = ((PsiMethodCallExpression) parent).getArgumentList().getExpressions();
+            return ("bean".equals(name) || "method".equals(name)) && arguments[0] == element;
+        }
+        return false;
+    }
+
     private CamelIdeaUtils getCamelIdeaUtils() {
         return ServiceManager.getService(CamelIdeaUtils.class);
     }
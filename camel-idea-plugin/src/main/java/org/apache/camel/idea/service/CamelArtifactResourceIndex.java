@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.io.FileUtil;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An index of the resources in a single grabbed artifact (the names of its entries), so the catalog resources can be
+ * read with a direct entry lookup instead of scanning all the resources of all the versions loaded into the classloader.
+ * <p/>
+ * The indexes are cached per jar file, as the same artifact version is often loaded more than once in the same session.
+ * The index does not keep the jar file open, as the indexes are never removed. A resource is read by opening the jar
+ * file, which is cheap as the classloader the artifact was grabbed into has the same jar file open.
+ */
+final class CamelArtifactResourceIndex {
+
+    private static final Logger LOG = Logger.getInstance(CamelArtifactResourceIndex.class);
+
+    private static final Map<String, CamelArtifactResourceIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final Set<String> entries;
+
+    private CamelArtifactResourceIndex(String path, Set<String> entries) {
+        this.path = path;
+        this.entries = entries;
+    }
+
+    /**
+     * Gets the index for the given artifact which has been grabbed into the classloader.
+     *
+     * @param classLoader the classloader the artifact was grabbed into
+     * @param artifactId  the artifact id
+     * @param version     the version
+     * @return the index, or <tt>null</tt> if the jar of the artifact could not be found
+     */
+    @Nullable
+    static CamelArtifactResourceIndex forArtifact(ClassLoader classLoader, String artifactId, String version) {
+        if (!(classLoader instanceof URLClassLoader)) {
+            return null;
+        }
+        String jarName = artifactId + "-" + version + ".jar";
+        for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+            if (url.getPath().endsWith("/" + jarName)) {
+                try {
+                    File file = new File(url.toURI());
+                    return INDEXES.computeIfAbsent(file.getAbsolutePath(), CamelArtifactResourceIndex::create);
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    LOG.debug("Cannot index " + url, e);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static CamelArtifactResourceIndex create(String path) {
+        try (JarFile jar = new JarFile(path)) {
+            Set<String> entries = new HashSet<>();
+            Enumeration<JarEntry> en = jar.entries();
+            while (en.hasMoreElements()) {
+                JarEntry entry = en.nextElement();
+                if (!entry.isDirectory()) {
+                    entries.add(entry.getName());
+                }
+            }
+            return new CamelArtifactResourceIndex(path, entries);
+        } catch (IOException e) {
+            LOG.warn("Cannot index the resources of " + path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Opens the resource with the given name.
+     *
+     * @return the stream, or <tt>null</tt> if there is no such resource in the artifact
+     */
+    @Nullable
+    InputStream getResourceAsStream(String name) {
+        String entryName = name.startsWith("/") ? name.substring(1) : name;
+        if (!entries.contains(entryName)) {
+            return null;
+        }
+        // the resource is read into memory, so the jar file is closed before returning
+        try (JarFile jar = new JarFile(path)) {
+            JarEntry entry = jar.getJarEntry(entryName);
+            if (entry == null) {
+                return null;
+            }
+            try (InputStream is = jar.getInputStream(entry)) {
+                return new ByteArrayInputStream(FileUtil.loadBytes(is));
+            }
+        } catch (IOException e) {
+            // ignore
+            return null;
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
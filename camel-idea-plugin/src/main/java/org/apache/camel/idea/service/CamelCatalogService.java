@@ -16,56 +16,288 @@
  */
 package org.apache.camel.idea.service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import org.apache.camel.catalog.CamelCatalog;
 import org.apache.camel.catalog.DefaultCamelCatalog;
-import org.apache.camel.catalog.DefaultVersionManager;
+import org.apache.camel.catalog.VersionManager;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Service which provides the instance to be used when accessing the {@link CamelCatalog}.
+ * <p/>
+ * The {@link DefaultCamelCatalog} caches the json schemas in a plain map and is not thread safe, so each thread gets
+ * its own catalog, as the validations run in parallel. The service keeps what the catalogs are made of, which is the
+ * loaded version, the runtime provider and the custom components, and the catalog of a thread is created again when
+ * any of these are changed.
+ * <p/>
+ * The service is also a {@link ModificationTracker} which changes whenever the catalog is changed,
+ * so it can be used as dependency for cached values computed from the catalog.
  */
-public class CamelCatalogService implements Disposable {
+public class CamelCatalogService implements Disposable, ModificationTracker {
 
-    private CamelCatalog instance;
+    private static final Logger LOG = Logger.getInstance(CamelCatalogService.class);
+
+    private static final int MAX_RETRIES = 5;
+    private static final long INITIAL_RETRY_DELAY_SECONDS = 30;
 
     /**
-     * Gets the {@link CamelCatalog} instance to use.
+     * How long to wait before trying again to load a runtime provider which could not be loaded
+     */
+    private static final long RUNTIME_PROVIDER_RETRY_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * The runtime provider overlays which has been loaded keyed by provider name and version
+     */
+    private static final Map<String, CamelRuntimeProviderOverlay> RUNTIME_PROVIDERS = new ConcurrentHashMap<>();
+
+    /**
+     * When the runtime providers which could not be loaded failed, keyed by provider name and version
+     */
+    private static final Map<String, Long> FAILED_RUNTIME_PROVIDERS = new ConcurrentHashMap<>();
+
+    /**
+     * The runtime providers being downloaded, so each is only downloaded once while all the projects wait for it
+     */
+    private static final Map<String, CompletableFuture<CamelRuntimeProviderOverlay>> LOADING_RUNTIME_PROVIDERS = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<ThreadCatalog> threadCatalogs = new ThreadLocal<>();
+    private final List<CustomComponent> customComponents = new CopyOnWriteArrayList<>();
+    private volatile VersionManager versionManager;
+    private volatile boolean instantiated;
+    private volatile String loadingVersion;
+    private volatile CamelRuntimeProviderOverlay runtimeProvider;
+    private volatile String requestedRuntimeProvider;
+    private final AtomicInteger generation = new AtomicInteger();
+    private final AtomicLong modificationCount = new AtomicLong();
+
+    /**
+     * Gets the {@link CamelCatalog} instance of the calling thread to use.
+     * <p/>
+     * The catalog must not be shared with other threads, and any change such as adding a custom component must be
+     * done through this service, so all the catalogs have the change.
      */
     public CamelCatalog get() {
-        if (instance == null) {
-            instance = new DefaultCamelCatalog(true);
+        long stamp = modificationCount.get();
+        ThreadCatalog answer = threadCatalogs.get();
+        if (answer == null || answer.stamp != stamp) {
+            answer = new ThreadCatalog(stamp, createCatalog());
+            threadCatalogs.set(answer);
         }
-        return instance;
+        return answer.catalog;
+    }
+
+    private CamelCatalog createCatalog() {
+        CamelCatalog catalog = new DefaultCamelCatalog(true);
+        VersionManager manager = versionManager;
+        if (manager != null) {
+            // the version is already loaded, so the version manager is only read from and can be shared
+            catalog.setVersionManager(manager);
+        }
+        applyRuntimeProvider(catalog);
+        for (CustomComponent component : customComponents) {
+            catalog.addComponent(component.scheme, component.javaType, component.json);
+        }
+        instantiated = true;
+        return catalog;
+    }
+
+    /**
+     * Adds a custom component to the catalogs of all the threads.
+     *
+     * @param scheme   the component scheme
+     * @param javaType the class name of the component
+     * @param json     the json schema of the component
+     */
+    void addComponent(@NotNull String scheme, @NotNull String javaType, @NotNull String json) {
+        customComponents.add(new CustomComponent(scheme, javaType, json));
+        modificationCount.incrementAndGet();
     }
 
     boolean isInstantiated() {
-        return instance != null;
+        return instantiated;
     }
 
     /**
      * Loads a specific Camel version into the Catalog to use.
+     * <p/>
+     * The version is downloaded in the background, as the download can take minutes and cannot be cancelled, and the
+     * bundled catalog is used until then. When the version is loaded the catalog is swapped and the callback is invoked
+     * with the loaded version. If the version could not be loaded then it is retried in the background, and the failure
+     * callback is invoked when giving up.
      *
-     * @param version the version to load
-     * @param repos   any third party maven repositories
+     * @param version  the version to load
+     * @param repos    any third party maven repositories
+     * @param callback optional callback invoked when the version was loaded in the background
+     * @param failure  optional callback invoked when the version could not be loaded after all the retries
      */
-    boolean loadVersion(@NotNull String version, @NotNull Map<String, String> repos) {
+    void loadVersion(@NotNull String version, @NotNull Map<String, String> repos, Consumer<String> callback, Consumer<String> failure) {
+        if (version.equals(loadingVersion)) {
+            // already being loaded in the background
+            return;
+        }
         // we should load a new version of the catalog, and therefor must discard the old version
         dispose();
+
+        // use the bundled catalog until the version is loaded
+        loadingVersion = version;
+        scheduleLoad(version, new LinkedHashMap<>(repos), callback, failure, generation.get(), 0);
+    }
+
+    private static VersionManager loadVersionManager(String version, Map<String, String> repos) {
         // use maven to be able to load the version dynamic
         CamelMavenVersionManager maven = new CamelMavenVersionManager();
 
         // add support for the maven repos
         repos.forEach(maven::addMavenRepository);
 
-        get().setVersionManager(maven);
-        boolean loaded = get().getVersionManager().loadVersion(version);
-        if (!loaded) {
-            // we could not load it, then fallback to default
-            get().setVersionManager(new DefaultVersionManager(get()));
+        return maven.loadVersion(version) ? maven : null;
+    }
+
+    private void scheduleLoad(String version, Map<String, String> repos, Consumer<String> callback, Consumer<String> failure,
+                              int expectedGeneration, int attempt) {
+        if (attempt > MAX_RETRIES) {
+            LOG.warn("Giving up loading camel-catalog version " + version + " after " + MAX_RETRIES + " retries");
+            if (generation.get() == expectedGeneration) {
+                loadingVersion = null;
+                if (failure != null) {
+                    failure.accept(version);
+                }
+            }
+            return;
+        }
+
+        // the first attempt is right away, and then exponential backoff between the retries
+        long delay = attempt == 0 ? 0 : INITIAL_RETRY_DELAY_SECONDS << (attempt - 1);
+        AppExecutorUtil.getAppScheduledExecutorService().schedule(() -> {
+            if (generation.get() != expectedGeneration) {
+                // the catalog has been changed or cleared in the meantime so this retry is stale
+                return;
+            }
+            VersionManager manager = loadVersionManager(version, repos);
+            if (manager != null) {
+                if (generation.compareAndSet(expectedGeneration, expectedGeneration + 1)) {
+                    loadingVersion = null;
+                    LOG.info("Loaded camel-catalog version " + version + " in the background after " + attempt + " retries");
+                    // the custom components are added again when the dependencies are scanned again by the callback
+                    customComponents.clear();
+                    versionManager = manager;
+                    modificationCount.incrementAndGet();
+                    if (callback != null) {
+                        callback.accept(version);
+                    }
+                }
+            } else {
+                scheduleLoad(version, repos, callback, failure, expectedGeneration, attempt + 1);
+            }
+        }, delay, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Layers the given runtime provider onto the catalog in use. The runtime provider is downloaded in the background
+     * the first time, and is then cached per runtime and version. A runtime provider which could not be downloaded is
+     * tried again after a while, as the network or the repositories may have been down.
+     *
+     * @param providerName the runtime provider name such as <tt>springboot</tt> or <tt>karaf</tt>
+     * @param version      the Camel version
+     * @param repos        any third party maven repositories
+     */
+    void loadRuntimeProvider(@NotNull String providerName, @NotNull String version, @NotNull Map<String, String> repos) {
+        CamelRuntimeProviderOverlay current = runtimeProvider;
+        if (current != null && current.getProviderName().equals(providerName) && current.getVersion().equals(version)) {
+            return;
+        }
+
+        String key = providerName + ":" + version;
+        requestedRuntimeProvider = key;
+        CamelRuntimeProviderOverlay cached = RUNTIME_PROVIDERS.get(key);
+        if (cached != null) {
+            setRuntimeProvider(cached);
+            return;
         }
-        return loaded;
+        Long failed = FAILED_RUNTIME_PROVIDERS.get(key);
+        if (failed != null && System.currentTimeMillis() - failed < RUNTIME_PROVIDER_RETRY_MILLIS) {
+            return;
+        }
+
+        // the download is slow, so it is started outside of the map and the other callers wait for the same download
+        CompletableFuture<CamelRuntimeProviderOverlay> loading = new CompletableFuture<>();
+        CompletableFuture<CamelRuntimeProviderOverlay> existing = LOADING_RUNTIME_PROVIDERS.putIfAbsent(key, loading);
+        if (existing == null) {
+            AppExecutorUtil.getAppExecutorService().submit(() -> {
+                CamelRuntimeProviderOverlay overlay = null;
+                try {
+                    overlay = CamelRuntimeProviderOverlay.load(providerName, version, repos);
+                } catch (RuntimeException e) {
+                    LOG.warn("Error loading Camel runtime provider " + providerName + " version " + version, e);
+                } finally {
+                    if (overlay != null) {
+                        RUNTIME_PROVIDERS.put(key, overlay);
+                        FAILED_RUNTIME_PROVIDERS.remove(key);
+                    } else {
+                        FAILED_RUNTIME_PROVIDERS.put(key, System.currentTimeMillis());
+                    }
+                    LOADING_RUNTIME_PROVIDERS.remove(key);
+                    loading.complete(overlay);
+                }
+            });
+        }
+        (existing != null ? existing : loading).thenAccept(overlay -> {
+            if (overlay == null) {
+                LOG.info("Cannot load Camel runtime provider " + providerName + " version " + version);
+            } else if (key.equals(requestedRuntimeProvider)) {
+                LOG.info("Using Camel runtime provider " + providerName + " version " + version);
+                setRuntimeProvider(overlay);
+            }
+        });
+    }
+
+    /**
+     * Removes any runtime provider so the catalog uses the default runtime.
+     */
+    public void clearRuntimeProvider() {
+        requestedRuntimeProvider = null;
+        if (runtimeProvider != null) {
+            runtimeProvider = null;
+            modificationCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the name of the runtime provider in use, or <tt>null</tt> if using the default runtime.
+     */
+    public String getRuntimeProviderName() {
+        CamelRuntimeProviderOverlay overlay = runtimeProvider;
+        return overlay != null ? overlay.getProviderName() : null;
+    }
+
+    private void setRuntimeProvider(CamelRuntimeProviderOverlay overlay) {
+        runtimeProvider = overlay;
+        modificationCount.incrementAndGet();
+    }
+
+    private void applyRuntimeProvider(CamelCatalog catalog) {
+        CamelRuntimeProviderOverlay overlay = runtimeProvider;
+        if (overlay != null) {
+            catalog.setRuntimeProvider(overlay);
+        }
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount.get();
     }
 
     public void clearLoadedVersion() {
@@ -75,6 +307,33 @@ public class CamelCatalogService implements Disposable {
 
     @Override
     public void dispose() {
-        instance = null;
+        generation.incrementAndGet();
+        loadingVersion = null;
+        versionManager = null;
+        customComponents.clear();
+        instantiated = false;
+        modificationCount.incrementAndGet();
+    }
+
+    private static final class ThreadCatalog {
+        private final long stamp;
+        private final CamelCatalog catalog;
+
+        private ThreadCatalog(long stamp, CamelCatalog catalog) {
+            this.stamp = stamp;
+            this.catalog = catalog;
+        }
+    }
+
+    private static final class CustomComponent {
+        private final String scheme;
+        private final String javaType;
+        private final String json;
+
+        private CustomComponent(String scheme, String javaType, String json) {
+            this.scheme = scheme;
+            this.javaType = javaType;
+            this.json = json;
+        }
     }
 }
@@ -18,10 +18,24 @@ package org.apache.camel.idea.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import groovy.grape.Grape;
 import groovy.lang.GroovyClassLoader;
 import org.apache.camel.catalog.VersionManager;
@@ -29,25 +43,48 @@ import org.apache.camel.catalog.VersionManager;
 /**
  * A copy of {@link org.apache.camel.catalog.maven.MavenVersionManager} as IDEA cannot use this class at runtime,
  * so we use a simpler copy here.
+ * <p/>
+ * The artifacts are downloaded by Grape, which cannot be cancelled, so the caller waits at most
+ * {@link #RESOLVE_TIMEOUT_MILLIS} for a download. A download which takes longer keeps running, and the next attempt to
+ * resolve the same artifact waits for it instead of starting another download.
  */
 class CamelMavenVersionManager implements VersionManager {
 
+    private static final Logger LOG = Logger.getInstance(CamelMavenVersionManager.class);
+
+    /**
+     * How long to wait for a single repository to answer when probing for an artifact
+     */
+    static final int REPOSITORY_TIMEOUT_MILLIS = 3000;
+
+    /**
+     * How long to wait for Grape to resolve and download an artifact before giving up this attempt
+     */
+    static final long RESOLVE_TIMEOUT_MILLIS = 60000;
+
+    // the downloads which are still running, by artifact
+    private static final Map<String, CompletableFuture<Void>> RESOLVING = new ConcurrentHashMap<>();
+
     private final ClassLoader classLoader = new GroovyClassLoader();
+    private final Map<String, String> repositories = new LinkedHashMap<>();
+    private final Set<String> registeredRepositories = new HashSet<>();
     private String version;
     private String runtimeProviderVersion;
     private String cacheDirectory;
+    private volatile CamelArtifactResourceIndex versionIndex;
+    private volatile CamelArtifactResourceIndex runtimeProviderIndex;
 
     /**
      * To add a 3rd party Maven repository.
+     * <p/>
+     * The repository is not registered with Grape until an artifact is resolved, and only if the repository
+     * could be reached within {@link #REPOSITORY_TIMEOUT_MILLIS}, so an unreachable repository does not stall the resolution.
      *
      * @param name the repository name
      * @param url  the repository url
      */
     void addMavenRepository(String name, String url) {
-        Map<String, Object> repo = new HashMap<>();
-        repo.put("name", name);
-        repo.put("root", url);
-        Grape.addResolver(repo);
+        repositories.put(name, url);
     }
 
     @Override
@@ -62,22 +99,15 @@ class CamelMavenVersionManager implements VersionManager {
                 System.setProperty("grape.root", cacheDirectory);
             }
 
-            Grape.setEnableAutoDownload(true);
-
-            Map<String, Object> param = new HashMap<>();
-            param.put("classLoader", classLoader);
-            param.put("group", "org.apache.camel");
-            param.put("module", "camel-catalog");
-            param.put("version", version);
-
-            Grape.grab(param);
-
-            this.version = version;
-            return true;
+            if (resolve("org.apache.camel", "camel-catalog", version)) {
+                this.version = version;
+                this.versionIndex = CamelArtifactResourceIndex.forArtifact(classLoader, "camel-catalog", version);
+                return true;
+            }
         } catch (Exception e) {
             // ignore
-            return false;
         }
+        return false;
     }
 
     @Override
@@ -88,20 +118,130 @@ class CamelMavenVersionManager implements VersionManager {
     @Override
     public boolean loadRuntimeProviderVersion(String groupId, String artifactId, String version) {
         try {
-            Grape.setEnableAutoDownload(true);
+            if (resolve(groupId, artifactId, version)) {
+                this.runtimeProviderVersion = version;
+                this.runtimeProviderIndex = CamelArtifactResourceIndex.forArtifact(classLoader, artifactId, version);
+                return true;
+            }
+        } catch (Exception e) {
+            // ignore
+        }
+        return false;
+    }
 
-            Map<String, Object> param = new HashMap<>();
-            param.put("classLoader", classLoader);
-            param.put("group", groupId);
-            param.put("module", artifactId);
-            param.put("version", version);
+    /**
+     * Resolves the artifact using Grape, but bounded by {@link #RESOLVE_TIMEOUT_MILLIS} so a slow or unreachable
+     * repository cannot block the caller for minutes.
+     */
+    private boolean resolve(String groupId, String artifactId, String version) {
+        String key = groupId + ":" + artifactId + ":" + version;
+        CompletableFuture<Void> running = RESOLVING.get(key);
+        if (running != null && !await(running, key)) {
+            // the download of an earlier attempt is still running, or failed
+            return false;
+        }
 
+        registerReachableRepositories(groupId, artifactId, version);
+
+        Map<String, Object> param = new HashMap<>();
+        param.put("classLoader", classLoader);
+        param.put("group", groupId);
+        param.put("module", artifactId);
+        param.put("version", version);
+
+        CompletableFuture<Void> grab = CompletableFuture.runAsync(() -> {
+            Grape.setEnableAutoDownload(true);
             Grape.grab(param);
+        }, AppExecutorUtil.getAppExecutorService());
+        RESOLVING.put(key, grab);
+        grab.whenComplete((r, e) -> RESOLVING.remove(key, grab));
+        return await(grab, key);
+    }
 
-            this.runtimeProviderVersion = version;
+    private static boolean await(CompletableFuture<Void> grab, String key) {
+        try {
+            grab.get(RESOLVE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
             return true;
-        } catch (Exception e) {
-            // ignore
+        } catch (TimeoutException e) {
+            LOG.info("Timeout resolving " + key + " after " + RESOLVE_TIMEOUT_MILLIS + " millis");
+        } catch (ExecutionException e) {
+            LOG.info("Cannot resolve " + key + " due " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Probes all the 3rd party repositories in parallel and registers the ones with the artifact as Grape resolvers.
+     */
+    private void registerReachableRepositories(String groupId, String artifactId, String version) {
+        List<String> names = new ArrayList<>();
+        List<CompletableFuture<Boolean>> probes = new ArrayList<>();
+        repositories.forEach((name, url) -> {
+            if (!registeredRepositories.contains(name)) {
+                String artifactUrl = asArtifactUrl(url, groupId, artifactId, version);
+                names.add(name);
+                probes.add(CompletableFuture.supplyAsync(() -> isReachable(artifactUrl), AppExecutorUtil.getAppExecutorService()));
+            }
+        });
+
+        for (int i = 0; i < probes.size(); i++) {
+            String name = names.get(i);
+            boolean reachable;
+            try {
+                // the probes have their own connect and read timeouts, this is only a safeguard
+                reachable = probes.get(i).get(REPOSITORY_TIMEOUT_MILLIS * 2, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                reachable = false;
+            }
+            if (reachable) {
+                Map<String, Object> repo = new HashMap<>();
+                repo.put("name", name);
+                repo.put("root", repositories.get(name));
+                Grape.addResolver(repo);
+                registeredRepositories.add(name);
+            } else {
+                LOG.info("Skipping Maven repository " + name + " as it cannot be reached or does not have " + groupId + ":" + artifactId + ":" + version);
+            }
+        }
+    }
+
+    static String asArtifactUrl(String repository, String groupId, String artifactId, String version) {
+        StringBuilder sb = new StringBuilder(repository);
+        if (!repository.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(groupId.replace('.', '/')).append('/').append(artifactId).append('/').append(version).append('/');
+        if (version.endsWith("SNAPSHOT")) {
+            // snapshots are stored with timestamps so check the metadata instead
+            sb.append("maven-metadata.xml");
+        } else {
+            sb.append(artifactId).append('-').append(version).append(".pom");
+        }
+        return sb.toString();
+    }
+
+    private static boolean isReachable(String url) {
+        try {
+            URLConnection con = new URL(url).openConnection();
+            con.setConnectTimeout(REPOSITORY_TIMEOUT_MILLIS);
+            con.setReadTimeout(REPOSITORY_TIMEOUT_MILLIS);
+            if (con instanceof HttpURLConnection) {
+                HttpURLConnection http = (HttpURLConnection) con;
+                http.setRequestMethod("HEAD");
+                try {
+                    // a repository which needs credentials is reachable, and Grape may have the credentials for it
+                    int code = http.getResponseCode();
+                    return code == HttpURLConnection.HTTP_OK || code == HttpURLConnection.HTTP_UNAUTHORIZED || code == HttpURLConnection.HTTP_FORBIDDEN;
+                } finally {
+                    http.disconnect();
+                }
+            }
+            // file or other kind of repository
+            con.getInputStream().close();
+            return true;
+        } catch (IOException e) {
             return false;
         }
     }
@@ -111,15 +251,24 @@ class CamelMavenVersionManager implements VersionManager {
         InputStream is = null;
 
         if (runtimeProviderVersion != null) {
-            is = doGetResourceAsStream(name, runtimeProviderVersion);
+            is = doGetResourceAsStream(name, runtimeProviderVersion, runtimeProviderIndex);
         }
         if (is == null && version != null) {
-            is = doGetResourceAsStream(name, version);
+            is = doGetResourceAsStream(name, version, versionIndex);
         }
 
         return is;
     }
 
+    private InputStream doGetResourceAsStream(String name, String version, CamelArtifactResourceIndex index) {
+        if (index != null) {
+            // direct lookup in the grabbed artifact
+            return index.getResourceAsStream(name);
+        }
+        // the jar could not be indexed so scan the classloader instead
+        return doGetResourceAsStream(name, version);
+    }
+
     private InputStream doGetResourceAsStream(String name, String version) {
         if (version == null) {
             return null;
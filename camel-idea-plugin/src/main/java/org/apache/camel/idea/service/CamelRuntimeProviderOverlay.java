@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import com.intellij.openapi.diagnostic.Logger;
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.RuntimeProvider;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.camel.catalog.CatalogHelper.loadLines;
+
+/**
+ * A {@link RuntimeProvider} which layers the components, data formats and languages available in a given runtime
+ * (such as Spring Boot or Karaf) on top of the catalog in use, without having to reload the catalog.
+ * <p/>
+ * The names are read once from the runtime provider artifact (eg <tt>camel-catalog-provider-springboot</tt>)
+ * and kept in memory, so the same overlay can be cached per runtime and version and reused by any catalog.
+ * The JSon schemas are still read from the standard catalog directories.
+ * <p/>
+ * The overlay is immutable, and does not keep the catalog it is set on, as it is shared by the catalogs of all threads.
+ */
+final class CamelRuntimeProviderOverlay implements RuntimeProvider {
+
+    static final String SPRING_BOOT = "springboot";
+    static final String KARAF = "karaf";
+
+    private static final Logger LOG = Logger.getInstance(CamelRuntimeProviderOverlay.class);
+
+    private static final String COMPONENT_DIR = "org/apache/camel/catalog/components";
+    private static final String DATAFORMAT_DIR = "org/apache/camel/catalog/dataformats";
+    private static final String LANGUAGE_DIR = "org/apache/camel/catalog/languages";
+
+    private final String providerName;
+    private final String version;
+    private final List<String> componentNames;
+    private final List<String> dataFormatNames;
+    private final List<String> languageNames;
+
+    CamelRuntimeProviderOverlay(String providerName, String version, List<String> componentNames, List<String> dataFormatNames, List<String> languageNames) {
+        this.providerName = providerName;
+        this.version = version;
+        this.componentNames = Collections.unmodifiableList(componentNames);
+        this.dataFormatNames = Collections.unmodifiableList(dataFormatNames);
+        this.languageNames = Collections.unmodifiableList(languageNames);
+    }
+
+    /**
+     * Downloads the runtime provider artifact and loads the names of the components, data formats and languages it supports.
+     *
+     * @param providerName the runtime provider name, either {@link #SPRING_BOOT} or {@link #KARAF}
+     * @param version      the Camel version
+     * @param repos        any third party maven repositories
+     * @return the overlay, or <tt>null</tt> if the runtime provider could not be loaded
+     */
+    @Nullable
+    static CamelRuntimeProviderOverlay load(@NotNull String providerName, @NotNull String version, @NotNull Map<String, String> repos) {
+        CamelMavenVersionManager maven = new CamelMavenVersionManager();
+        repos.forEach(maven::addMavenRepository);
+
+        if (!maven.loadRuntimeProviderVersion("org.apache.camel", "camel-catalog-provider-" + providerName, version)) {
+            return null;
+        }
+
+        List<String> components = loadNames(maven, providerName, "components");
+        List<String> dataFormats = loadNames(maven, providerName, "dataformats");
+        List<String> languages = loadNames(maven, providerName, "languages");
+        if (components == null || dataFormats == null || languages == null) {
+            LOG.info("Runtime provider " + providerName + " version " + version + " does not contain the expected catalog files");
+            return null;
+        }
+        return new CamelRuntimeProviderOverlay(providerName, version, components, dataFormats, languages);
+    }
+
+    private static List<String> loadNames(CamelMavenVersionManager maven, String providerName, String kind) {
+        try (InputStream is = maven.getResourceAsStream("org/apache/camel/catalog/" + providerName + "/" + kind + ".properties")) {
+            return is != null ? loadLines(is) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    String getVersion() {
+        return version;
+    }
+
+    /**
+     * The overlay is not bound to a catalog, as its shared by many catalogs
+     *
+     * @return <tt>null</tt>
+     */
+    @Override
+    public CamelCatalog getCamelCatalog() {
+        return null;
+    }
+
+    @Override
+    public void setCamelCatalog(CamelCatalog camelCatalog) {
+        // the overlay does not need the catalog, as the names are already loaded
+    }
+
+    @Override
+    public String getProviderName() {
+        return providerName;
+    }
+
+    @Override
+    public String getProviderGroupId() {
+        return "org.apache.camel";
+    }
+
+    @Override
+    public String getProviderArtifactId() {
+        return "camel-catalog-provider-" + providerName;
+    }
+
+    @Override
+    public String getComponentJSonSchemaDirectory() {
+        return COMPONENT_DIR;
+    }
+
+    @Override
+    public String getDataFormatJSonSchemaDirectory() {
+        return DATAFORMAT_DIR;
+    }
+
+    @Override
+    public String getLanguageJSonSchemaDirectory() {
+        return LANGUAGE_DIR;
+    }
+
+    @Override
+    public List<String> findComponentNames() {
+        return componentNames;
+    }
+
+    @Override
+    public List<String> findDataFormatNames() {
+        return dataFormatNames;
+    }
+
+    @Override
+    public List<String> findLanguageNames() {
+        return languageNames;
+    }
+}
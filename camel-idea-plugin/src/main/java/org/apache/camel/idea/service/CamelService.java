@@ -32,6 +32,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
 import java.util.stream.Collectors;
@@ -46,16 +48,21 @@ import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationGroup;
 import com.intellij.notification.NotificationType;
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.LibraryOrderEntry;
 import com.intellij.openapi.roots.ModuleRootManager;
 import com.intellij.openapi.roots.OrderEntry;
 import com.intellij.openapi.roots.libraries.Library;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.idea.util.CamelValidationCircuitBreaker;
 import org.apache.camel.idea.util.IdeaUtils;
 import org.jetbrains.annotations.NotNull;
 
@@ -65,8 +72,11 @@ import static org.apache.camel.idea.service.XmlUtils.loadDocument;
 
 /**
  * Service access for Camel libraries
+ * <p/>
+ * The service is also a {@link ModificationTracker} which changes whenever the Camel libraries are scanned or cleared,
+ * so it can be used as dependency for cached values computed from the project classpath.
  */
-public class CamelService implements Disposable {
+public class CamelService implements Disposable, ModificationTracker {
 
     private static final NotificationGroup CAMEL_NOTIFICATION_GROUP = NotificationGroup.balloonGroup("Apache Camel");
 
@@ -85,15 +95,25 @@ public class CamelService implements Disposable {
     private ClassLoader projectClassloader;
     private volatile boolean camelPresent;
     private Notification camelVersionNotification;
+    private String failedCamelCatalogVersion;
     private Notification camelMissingJSonSchemaNotification;
     private Notification camelMissingJSonPathJarNotification;
+    private final Map<String, CamelValidationCircuitBreaker> validationCircuitBreakers = new ConcurrentHashMap<>();
+    private final Map<String, Notification> slowValidationNotifications = new ConcurrentHashMap<>();
+    private final AtomicLong modificationCount = new AtomicLong();
 
     public IdeaUtils getIdeaUtils() {
         return ServiceManager.getService(IdeaUtils.class);
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
     @Override
     public void dispose() {
+        modificationCount.incrementAndGet();
         processedLibraries.clear();
         projectLibraries.clear();
 
@@ -109,6 +129,9 @@ public class CamelService implements Disposable {
             camelMissingJSonPathJarNotification.expire();
             camelMissingJSonPathJarNotification = null;
         }
+        slowValidationNotifications.values().forEach(Notification::expire);
+        slowValidationNotifications.clear();
+        validationCircuitBreakers.clear();
 
         camelCoreClassloader = null;
         camelCoreLibrary = null;
@@ -127,6 +150,9 @@ public class CamelService implements Disposable {
      * @param camelPresent - true if camel is present
      */
     public void setCamelPresent(boolean camelPresent) {
+        if (this.camelPresent != camelPresent) {
+            modificationCount.incrementAndGet();
+        }
         this.camelPresent = camelPresent;
     }
 
@@ -148,6 +174,7 @@ public class CamelService implements Disposable {
      * Clean the library cache
      */
     public void clearLibraries() {
+        modificationCount.incrementAndGet();
         processedLibraries.clear();
     }
 
@@ -207,6 +234,28 @@ public class CamelService implements Disposable {
         }
     }
 
+    /**
+     * Gets the circuit breaker which tracks the latency of the given real time validator in this project
+     *
+     * @param name the name of the validator, such as <tt>jsonpath</tt>
+     */
+    public CamelValidationCircuitBreaker getValidationCircuitBreaker(String name) {
+        return validationCircuitBreakers.computeIfAbsent(name, CamelValidationCircuitBreaker::new);
+    }
+
+    /**
+     * Notifies the user the first time a real time validator is turned off for a while because its slow
+     */
+    public void showSlowValidationNotification(Project project, String name) {
+        slowValidationNotifications.computeIfAbsent(name, key -> {
+            Icon icon = getCamelPreferenceService().getCamelIcon();
+            Notification notification = CAMEL_NOTIFICATION_GROUP.createNotification("Real time Camel " + name + " validation is slow in this project, "
+                + "and is paused for a while. The validation is still done by the Camel inspections.", NotificationType.INFORMATION).setIcon(icon);
+            notification.notify(project);
+            return notification;
+        });
+    }
+
     /**
      * Scan for Camel project present and setup {@link CamelCatalog} to use same version of Camel as the project does.
      * These two version needs to be aligned to offer the best tooling support on the given project.
@@ -262,20 +311,15 @@ public class CamelService implements Disposable {
                     // okay no special version was loaded so its the catalog version we are using
                     currentVersion = getCamelCatalogService(project).get().getCatalogVersion();
                 }
-                if (isThereDifferentVersionToBeLoaded(version, currentVersion)) {
-                    boolean notifyNewCamelCatalogVersionLoaded = false;
-
-                    boolean downloadAllowed = getCamelPreferenceService().isDownloadCatalog();
-                    if (downloadAllowed) {
-                        notifyNewCamelCatalogVersionLoaded = downloadNewCamelCatalogVersion(project, module, version, notifyNewCamelCatalogVersionLoaded);
-                    }
-
-                    if (notifyNewCamelCatalogVersionLoaded(notifyNewCamelCatalogVersionLoaded)) {
-                        expireOldCamelCatalogVersion();
-                    }
+                // the modules may use different versions, so use the same version for the whole project
+                // as there is only one catalog, otherwise each module would load its own version in turn
+                String projectVersion = findProjectCamelVersion(project);
+                if (isThereDifferentVersionToBeLoaded(projectVersion, currentVersion) && getCamelPreferenceService().isDownloadCatalog()) {
+                    // the version is downloaded in the background, and the notification is updated when its loaded
+                    downloadNewCamelCatalogVersion(project, module, projectVersion);
                 }
 
-                // only notify this once on startup (or if a new version was successfully loaded)
+                // only notify this once on startup (or when a new version is loaded in the background)
                 if (camelVersionNotification == null) {
                     currentVersion = getCamelCatalogService(project).get().getLoadedVersion();
                     if (currentVersion == null) {
@@ -286,6 +330,43 @@ public class CamelService implements Disposable {
                 }
             }
         }
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Finds the highest camel-core version used by the modules of the project.
+     *
+     * @return the version, or <tt>null</tt> if no module has a camel-core dependency with a version
+     */
+    private static String findProjectCamelVersion(@NotNull Project project) {
+        String answer = null;
+        for (Module module : ModuleManager.getInstance(project).getModules()) {
+            for (OrderEntry entry : ModuleRootManager.getInstance(module).getOrderEntries()) {
+                if (!(entry instanceof LibraryOrderEntry)) {
+                    continue;
+                }
+                LibraryOrderEntry libraryOrderEntry = (LibraryOrderEntry) entry;
+                if (!libraryOrderEntry.getScope().isForProductionCompile() && !libraryOrderEntry.getScope().isForProductionRuntime()) {
+                    continue;
+                }
+                String[] split = libraryOrderEntry.getPresentableName().toLowerCase().split(":");
+                int startIdx = 0;
+                if (split[0].equalsIgnoreCase("maven")
+                        || split[0].equalsIgnoreCase("gradle")
+                        || split[0].equalsIgnoreCase("sbt")) {
+                    startIdx = 1;
+                }
+                if (split.length <= startIdx + 2 || !"org.apache.camel".equals(split[startIdx].trim()) || !"camel-core".equals(split[startIdx + 1].trim())) {
+                    continue;
+                }
+                // adjust snapshot which must be in uppercase
+                String version = split[startIdx + 2].trim().replace("snapshot", "SNAPSHOT");
+                if (acceptedVersion(version) && (answer == null || StringUtil.compareVersionNumbers(version, answer) > 0)) {
+                    answer = version;
+                }
+            }
+        }
+        return answer;
     }
 
     private void showCamelCatalogVersionAtPluginStart(@NotNull Project project, String currentVersion) {
@@ -307,29 +388,51 @@ public class CamelService implements Disposable {
         camelVersionNotification = null;
     }
 
-    private boolean notifyNewCamelCatalogVersionLoaded(boolean notifyLoaded) {
-        return notifyLoaded && camelVersionNotification != null;
-    }
-
     /**
      * attempt to load new version of camel-catalog to match the version from the project
      * use catalog service to load version (which takes care of switching catalog as well)
      */
-    private boolean downloadNewCamelCatalogVersion(@NotNull Project project, @NotNull Module module, String version, boolean notifyLoaded) {
+    private void downloadNewCamelCatalogVersion(@NotNull Project project, @NotNull Module module, String version) {
         // find out the third party maven repositories
         Map<String, String> repos = scanThirdPartyMavenRepositories(module);
 
-        boolean loaded = getCamelCatalogService(project).loadVersion(version, repos);
-        if (!loaded) {
-            // always notify if download was not possible
-            camelVersionNotification = CAMEL_NOTIFICATION_GROUP.createNotification("Camel IDEA plugin cannot download camel-catalog with version " + version
-                    + ". Will fallback and use version " + getCamelCatalogService(project).get().getCatalogVersion(), NotificationType.WARNING);
-            camelVersionNotification.notify(project);
-        } else {
-            // new version loaded so notify
-            notifyLoaded = true;
-        }
-        return notifyLoaded;
+        getCamelCatalogService(project).loadVersion(version, repos, v -> onCamelCatalogVersionLoadedInBackground(project, v),
+            v -> onCamelCatalogVersionNotLoaded(project, v));
+    }
+
+    /**
+     * Called when the camel-catalog version could not be downloaded after all the retries, which is only notified once
+     * per version, as the version is tried again when the libraries are scanned again.
+     */
+    private void onCamelCatalogVersionNotLoaded(@NotNull Project project, String version) {
+        ApplicationManager.getApplication().invokeLater(() -> {
+            if (version.equals(failedCamelCatalogVersion)) {
+                return;
+            }
+            failedCamelCatalogVersion = version;
+            CAMEL_NOTIFICATION_GROUP.createNotification("Camel IDEA plugin cannot download camel-catalog with version " + version
+                    + ". Will fallback and use version " + getCamelCatalogService(project).get().getCatalogVersion(), NotificationType.WARNING)
+                .notify(project);
+        }, project.getDisposed());
+    }
+
+    /**
+     * Called when the camel-catalog version was downloaded in the background, and the catalog has been swapped.
+     * As the custom components were added to the old catalog, then the dependencies must be scanned again.
+     * Only the dependencies are scanned, and not the camel-core version, so this does not load another version.
+     */
+    private void onCamelCatalogVersionLoadedInBackground(@NotNull Project project, String version) {
+        ApplicationManager.getApplication().invokeLater(() -> {
+            if (camelVersionNotification != null) {
+                expireOldCamelCatalogVersion();
+            }
+            showCamelCatalogVersionAtPluginStart(project, version);
+
+            clearLibraries();
+            for (Module module : ModuleManager.getInstance(project).getModules()) {
+                scanForCamelDependencies(project, module);
+            }
+        }, project.getDisposed());
     }
 
     private boolean isThereDifferentVersionToBeLoaded(String version, String currentVersion) {
@@ -342,9 +445,10 @@ public class CamelService implements Disposable {
     public void scanForCamelDependencies(@NotNull Project project, @NotNull Module module) {
         boolean thirdParty = getCamelPreferenceService().isScanThirdPartyComponents();
 
-        CamelCatalog camelCatalog = getCamelCatalogService(project).get();
+        CamelCatalogService catalogService = getCamelCatalogService(project);
 
         List<String> missingJSonSchemas = new ArrayList<>();
+        String runtimeProvider = null;
 
         for (OrderEntry entry : ModuleRootManager.getInstance(module).getOrderEntries()) {
             if (entry instanceof LibraryOrderEntry) {
@@ -369,6 +473,10 @@ public class CamelService implements Disposable {
                     String groupId = split[startIdx++].trim();
                     String artifactId = split[startIdx].trim();
 
+                    if (runtimeProvider == null) {
+                        runtimeProvider = detectRuntimeProvider(groupId, artifactId);
+                    }
+
                     // is it a known library then continue
                     if (containsLibrary(artifactId, true)) {
                         continue;
@@ -377,12 +485,23 @@ public class CamelService implements Disposable {
                     if ("org.apache.camel".equals(groupId)) {
                         addLibrary(artifactId);
                     } else if (thirdParty) {
-                        addCustomCamelComponentsFromDependency(camelCatalog, library, artifactId, missingJSonSchemas);
+                        addCustomCamelComponentsFromDependency(catalogService, library, artifactId, missingJSonSchemas);
                     }
                 }
             }
         }
 
+        modificationCount.incrementAndGet();
+
+        if (runtimeProvider != null && getCamelPreferenceService().isDownloadCatalog()) {
+            CamelCatalog camelCatalog = catalogService.get();
+            String version = camelCatalog.getLoadedVersion();
+            if (version == null) {
+                version = camelCatalog.getCatalogVersion();
+            }
+            getCamelCatalogService(project).loadRuntimeProvider(runtimeProvider, version, scanThirdPartyMavenRepositories(module));
+        }
+
         if (!missingJSonSchemas.isEmpty()) {
             String components = missingJSonSchemas.stream().collect(Collectors.joining(","));
             String message = "The following Camel components with artifactId [" + components
@@ -395,6 +514,23 @@ public class CamelService implements Disposable {
         }
     }
 
+    /**
+     * Detects whether the dependency is a hint of the runtime Camel is running on, such as Spring Boot or Karaf. Only the
+     * Camel artifacts for the runtime are hints, as the artifacts of Karaf itself are also used outside Karaf, such as
+     * the Karaf shell or JAAS modules.
+     *
+     * @return the runtime provider name, or <tt>null</tt> if not a runtime specific dependency
+     */
+    static String detectRuntimeProvider(String groupId, String artifactId) {
+        if ("org.apache.camel".equals(groupId) && artifactId.startsWith("camel-spring-boot")) {
+            return CamelRuntimeProviderOverlay.SPRING_BOOT;
+        }
+        if ("org.apache.camel.karaf".equals(groupId)) {
+            return CamelRuntimeProviderOverlay.KARAF;
+        }
+        return null;
+    }
+
     /**
      * Scans for third party maven repositories in the root pom.xml file of the module.
      *
@@ -440,11 +576,11 @@ public class CamelService implements Disposable {
     /**
      * Adds any discovered third party Camel components from the dependency.
      *
-     * @param camelCatalog the Camel catalog to add the found custom components
-     * @param library      the dependency
-     * @param artifactId   the artifact id of the dependency
+     * @param catalogService the Camel catalog service to add the found custom components to
+     * @param library        the dependency
+     * @param artifactId     the artifact id of the dependency
      */
-    private void addCustomCamelComponentsFromDependency(CamelCatalog camelCatalog, Library library, String artifactId, List<String> missingJSonSchemas) {
+    private void addCustomCamelComponentsFromDependency(CamelCatalogService catalogService, Library library, String artifactId, List<String> missingJSonSchemas) {
         boolean legacyScan = getCamelPreferenceService().isScanThirdPartyLegacyComponents();
         boolean added = false;
 
@@ -457,7 +593,7 @@ public class CamelService implements Disposable {
                     if (components != null) {
                         String[] part = components.split("\\s");
                         for (String scheme : part) {
-                            if (!camelCatalog.findComponentNames().contains(scheme)) {
+                            if (!catalogService.get().findComponentNames().contains(scheme)) {
                                 // mark as added to avoid re-scanning the same component again
                                 added = true;
                                 // find the class name
@@ -466,7 +602,7 @@ public class CamelService implements Disposable {
                                     String json = loadComponentJSonSchema(classLoader, scheme);
                                     if (json != null) {
                                         // okay a new Camel component was added
-                                        camelCatalog.addComponent(scheme, javaType, json);
+                                        catalogService.addComponent(scheme, javaType, json);
                                     } else {
                                         // the component has no json schema, and hence its not supported by the plugin
                                         missingJSonSchemas.add(artifactId);
@@ -16,8 +16,8 @@
  */
 package org.apache.camel.idea.service;
 
-import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.project.Project;
+import org.apache.camel.idea.util.CamelCompletionCache;
 import org.apache.camel.idea.util.StringUtils;
 
 public final class QueryUtils {
@@ -32,7 +32,7 @@ public final class QueryUtils {
         // is this a possible Camel endpoint uri which we know
         if (query != null && !query.isEmpty()) {
             String componentName = StringUtils.asComponentName(query);
-            if (componentName != null && ServiceManager.getService(project, CamelCatalogService.class).get().findComponentNames().contains(componentName)) {
+            if (CamelCompletionCache.getInstance(project).isComponent(componentName)) {
                 return true;
             }
         }
@@ -19,6 +19,8 @@ package org.apache.camel.idea.service.extension.camel;
 import java.util.Arrays;
 
 import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
@@ -34,9 +36,11 @@ import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.psi.PsiReferenceExpression;
 import com.intellij.psi.PsiType;
 import com.intellij.psi.impl.source.PsiClassReferenceType;
+import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.util.PsiUtil;
 import org.apache.camel.idea.extension.CamelIdeaUtilsExtension;
+import org.apache.camel.idea.index.CamelBeanIndex;
 import org.apache.camel.idea.util.IdeaUtils;
 
 public class JavaCamelIdeaUtils extends CamelIdeaUtils implements CamelIdeaUtilsExtension {
@@ -186,7 +190,15 @@ public class JavaCamelIdeaUtils extends CamelIdeaUtils implements CamelIdeaUtils
     @Override
     public PsiClass getBeanClass(PsiElement element) {
         final PsiElement beanPsiElement = getBeanPsiElement(element);
-        if (beanPsiElement != null) {
+        if (beanPsiElement instanceof PsiLiteralExpression) {
+            // the bean is referred to by its name, which is looked up in the index of the beans
+            Object beanName = ((PsiLiteralExpression) beanPsiElement).getValue();
+            Project project = element.getProject();
+            if (!(beanName instanceof String) || DumbService.isDumb(project)) {
+                return null;
+            }
+            return CamelBeanIndex.findBeanClass(project, (String) beanName, GlobalSearchScope.projectScope(project));
+        } else if (beanPsiElement != null) {
             PsiClass psiClass = null;
             final PsiElement resolveElement = beanPsiElement.getReference().resolve();
             if (resolveElement instanceof PsiClass) {
@@ -210,7 +222,16 @@ public class JavaCamelIdeaUtils extends CamelIdeaUtils implements CamelIdeaUtils
             if (expressionList != null) {
                 final PsiIdentifier identifier = PsiTreeUtil.getChildOfType(expressionList.getPrevSibling(), PsiIdentifier.class);
                 if (identifier != null && identifier.getNextSibling() == null && ("method".equals(identifier.getText()) || "bean".equals(identifier.getText()))) {
-                    return PsiTreeUtil.findChildOfType(expressionList, PsiJavaCodeReferenceElement.class);
+                    final PsiJavaCodeReferenceElement beanClassElement = PsiTreeUtil.findChildOfType(expressionList, PsiJavaCodeReferenceElement.class);
+                    if (beanClassElement != null) {
+                        return beanClassElement;
+                    }
+                    // bean("myBean", "myMethod") where the method literal is after the literal with the bean name
+                    final PsiExpression[] arguments = expressionList.getExpressions();
+                    final PsiElement literal = element instanceof PsiLiteralExpression ? element : element.getParent();
+                    if (arguments.length > 1 && arguments[1] == literal && arguments[0] instanceof PsiLiteralExpression) {
+                        return arguments[0];
+                    }
                 }
             }
         }
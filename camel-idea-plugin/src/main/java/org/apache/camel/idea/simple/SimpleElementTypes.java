@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IFileElementType;
+
+/**
+ * The token and element types of the Camel simple language.
+ * <p/>
+ * The operators of predicates are lexed as literal text, as the lexer cannot tell whether the text is used as
+ * predicate or expression. The {@link SimpleParser} is used to validate the text according to how its used.
+ */
+public final class SimpleElementTypes {
+
+    public static final IFileElementType FILE = new IFileElementType("Simple:FILE", SimpleLanguage.INSTANCE);
+
+    /**
+     * Literal text outside functions
+     */
+    public static final IElementType TEXT = new SimpleElementType("TEXT");
+
+    /**
+     * The start of a function, ie <tt>${</tt> or <tt>$simple{</tt>
+     */
+    public static final IElementType FUNCTION_START = new SimpleElementType("FUNCTION_START");
+
+    /**
+     * The end of a function, ie <tt>}</tt>
+     */
+    public static final IElementType FUNCTION_END = new SimpleElementType("FUNCTION_END");
+
+    /**
+     * The text inside a function, such as <tt>header.foo</tt>
+     */
+    public static final IElementType FUNCTION_NAME = new SimpleElementType("FUNCTION_NAME");
+
+    /**
+     * A function with its start and end, which can contain nested functions
+     */
+    public static final IElementType FUNCTION = new SimpleElementType("FUNCTION");
+
+    private SimpleElementTypes() {
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+import java.util.Collection;
+import com.intellij.extapi.psi.PsiFileBase;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.psi.FileViewProvider;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The injected Camel simple expression or predicate
+ */
+public class SimpleFile extends PsiFileBase {
+
+    SimpleFile(@NotNull FileViewProvider viewProvider) {
+        super(viewProvider, SimpleLanguage.INSTANCE);
+    }
+
+    /**
+     * Gets all the functions including nested functions
+     */
+    @NotNull
+    public Collection<SimpleFunctionElement> getFunctions() {
+        return PsiTreeUtil.findChildrenOfType(this, SimpleFunctionElement.class);
+    }
+
+    @NotNull
+    @Override
+    public FileType getFileType() {
+        return SimpleFileType.INSTANCE;
+    }
+
+    @Override
+    public String toString() {
+        return "Camel Simple";
+    }
+}
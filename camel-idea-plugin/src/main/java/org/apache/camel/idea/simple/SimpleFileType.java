@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+import javax.swing.*;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.fileTypes.LanguageFileType;
+import org.apache.camel.idea.service.CamelPreferenceService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * File type of the injected Camel simple language, which is not associated with any file extension.
+ */
+public final class SimpleFileType extends LanguageFileType {
+
+    public static final SimpleFileType INSTANCE = new SimpleFileType();
+
+    private SimpleFileType() {
+        super(SimpleLanguage.INSTANCE);
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return "Camel Simple";
+    }
+
+    @NotNull
+    @Override
+    public String getDescription() {
+        return "Camel simple language";
+    }
+
+    @NotNull
+    @Override
+    public String getDefaultExtension() {
+        return "";
+    }
+
+    @Nullable
+    @Override
+    public Icon getIcon() {
+        return ServiceManager.getService(CamelPreferenceService.class).getCamelIcon();
+    }
+}
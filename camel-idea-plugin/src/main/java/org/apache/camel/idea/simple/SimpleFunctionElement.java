@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+import com.intellij.extapi.psi.ASTWrapperPsiElement;
+import com.intellij.lang.ASTNode;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A function in the Camel simple language such as <tt>${header.foo}</tt>
+ */
+public class SimpleFunctionElement extends ASTWrapperPsiElement {
+
+    SimpleFunctionElement(@NotNull ASTNode node) {
+        super(node);
+    }
+
+    /**
+     * Gets the text of the function without the start and end, such as <tt>header.foo</tt>
+     */
+    @NotNull
+    public String getFunctionText() {
+        ASTNode node = getNode();
+        ASTNode first = node.getFirstChildNode();
+        ASTNode last = node.getLastChildNode();
+        int start = first != null && first.getElementType() == SimpleElementTypes.FUNCTION_START ? first.getTextLength() : 0;
+        int end = node.getTextLength();
+        if (last != null && last != first && last.getElementType() == SimpleElementTypes.FUNCTION_END) {
+            end -= last.getTextLength();
+        }
+        return getText().substring(start, Math.max(start, end));
+    }
+
+    /**
+     * Whether the function has other functions nested inside, such as <tt>${header.${body}}</tt>
+     */
+    public boolean hasNestedFunctions() {
+        return getNode().findChildByType(SimpleElementTypes.FUNCTION) != null;
+    }
+
+    /**
+     * Whether the function is ended
+     */
+    public boolean isEnded() {
+        ASTNode last = getNode().getLastChildNode();
+        return last != null && last.getElementType() == SimpleElementTypes.FUNCTION_END;
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+import java.util.Arrays;
+import java.util.List;
+import com.intellij.lang.injection.MultiHostInjector;
+import com.intellij.lang.injection.MultiHostRegistrar;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.ElementManipulators;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiLanguageInjectionHost;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.xml.XmlAttributeValue;
+import com.intellij.psi.xml.XmlText;
+import org.apache.camel.idea.service.CamelService;
+import org.apache.camel.idea.util.CamelFileKind;
+import org.apache.camel.idea.util.CamelIdeaUtils;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Injects the Camel simple language into the simple expressions and predicates of the Camel routes,
+ * such as <tt>simple("${body}")</tt> or <tt>log("${body}")</tt> in Java, and <tt>&lt;simple&gt;</tt> and
+ * <tt>&lt;log message="${body}"/&gt;</tt> in XML.
+ */
+public class SimpleLanguageInjector implements MultiHostInjector {
+
+    @Override
+    public void getLanguagesToInject(@NotNull MultiHostRegistrar registrar, @NotNull PsiElement context) {
+        if (!(context instanceof PsiLanguageInjectionHost) || !((PsiLanguageInjectionHost) context).isValidHost()) {
+            return;
+        }
+        if (context instanceof PsiLiteralExpression && !(((PsiLiteralExpression) context).getValue() instanceof String)) {
+            return;
+        }
+
+        // plain text without functions is not worth injecting
+        String text = context.getText();
+        if (!text.contains("${") && !text.contains("$simple{")) {
+            return;
+        }
+        if (!ServiceManager.getService(context.getProject(), CamelService.class).isCamelPresent()
+            || !CamelFileKind.of(context.getContainingFile()).isCamel()
+            || !getCamelIdeaUtils().isCamelExpression(context, "simple")) {
+            return;
+        }
+
+        TextRange range = context instanceof XmlText ? TextRange.from(0, context.getTextLength()) : ElementManipulators.getValueTextRange(context);
+        if (!range.isEmpty()) {
+            registrar.startInjecting(SimpleLanguage.INSTANCE)
+                .addPlace(null, null, (PsiLanguageInjectionHost) context, range)
+                .doneInjecting();
+        }
+    }
+
+    @NotNull
+    @Override
+    public List<? extends Class<? extends PsiElement>> elementsToInjectIn() {
+        return Arrays.asList(PsiLiteralExpression.class, XmlText.class, XmlAttributeValue.class);
+    }
+
+    private CamelIdeaUtils getCamelIdeaUtils() {
+        return ServiceManager.getService(CamelIdeaUtils.class);
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+import java.util.EnumSet;
+import java.util.Set;
+import com.intellij.lexer.LexerBase;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Lexer for the Camel simple language which uses the {@link SimpleTokenizer} to find the functions.
+ * <p/>
+ * The state of the lexer is the depth of nested functions, so the lexer can be restarted anywhere for incremental highlighting.
+ */
+public class SimpleLexer extends LexerBase {
+
+    private static final Set<SimpleTokenType> ACCEPT = EnumSet.of(SimpleTokenType.FUNCTION_START, SimpleTokenType.FUNCTION_END, SimpleTokenType.ESCAPE);
+
+    private CharSequence buffer;
+    private String text;
+    private int endOffset;
+    private int depth;
+    private int tokenStart;
+    private int tokenEnd;
+    private int tokenDepth;
+    private IElementType tokenType;
+
+    @Override
+    public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
+        this.buffer = buffer;
+        this.text = buffer.subSequence(0, endOffset).toString();
+        this.endOffset = endOffset;
+        this.depth = initialState;
+        this.tokenEnd = startOffset;
+        locateToken();
+    }
+
+    @Override
+    public int getState() {
+        return tokenDepth;
+    }
+
+    @Nullable
+    @Override
+    public IElementType getTokenType() {
+        return tokenType;
+    }
+
+    @Override
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    @Override
+    public int getTokenEnd() {
+        return tokenEnd;
+    }
+
+    @Override
+    public void advance() {
+        locateToken();
+    }
+
+    @NotNull
+    @Override
+    public CharSequence getBufferSequence() {
+        return buffer;
+    }
+
+    @Override
+    public int getBufferEnd() {
+        return endOffset;
+    }
+
+    private void locateToken() {
+        tokenStart = tokenEnd;
+        tokenDepth = depth;
+        if (tokenStart >= endOffset) {
+            tokenType = null;
+            return;
+        }
+
+        SimpleToken token = SimpleTokenizer.nextToken(text, tokenStart, ACCEPT);
+        if (token.getType() == SimpleTokenType.FUNCTION_START) {
+            depth++;
+            tokenType = SimpleElementTypes.FUNCTION_START;
+            tokenEnd = tokenStart + token.getLength();
+            return;
+        }
+        if (token.getType() == SimpleTokenType.FUNCTION_END && depth > 0) {
+            depth--;
+            tokenType = SimpleElementTypes.FUNCTION_END;
+            tokenEnd = tokenStart + token.getLength();
+            return;
+        }
+
+        // all the text up till the next function start or end is a single token
+        int index = tokenStart + token.getLength();
+        while (index < endOffset) {
+            token = SimpleTokenizer.nextToken(text, index, ACCEPT);
+            if (token.getType() == SimpleTokenType.FUNCTION_START || (token.getType() == SimpleTokenType.FUNCTION_END && depth > 0)) {
+                break;
+            }
+            index += token.getLength();
+        }
+        tokenType = depth > 0 ? SimpleElementTypes.FUNCTION_NAME : SimpleElementTypes.TEXT;
+        tokenEnd = index;
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiParser;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Builds the PSI tree of the Camel simple language, which is the literal text and the (nested) functions.
+ * <p/>
+ * The parser does not report errors, as a function which is not ended is reported by the simple validation
+ * with the same message as Camel would report.
+ */
+public class SimplePsiParser implements PsiParser {
+
+    @NotNull
+    @Override
+    public ASTNode parse(@NotNull IElementType root, @NotNull PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+        while (!builder.eof()) {
+            if (builder.getTokenType() == SimpleElementTypes.FUNCTION_START) {
+                parseFunction(builder);
+            } else {
+                builder.advanceLexer();
+            }
+        }
+        marker.done(root);
+        return builder.getTreeBuilt();
+    }
+
+    private static void parseFunction(PsiBuilder builder) {
+        PsiBuilder.Marker marker = builder.mark();
+        builder.advanceLexer();
+        while (!builder.eof() && builder.getTokenType() != SimpleElementTypes.FUNCTION_END) {
+            if (builder.getTokenType() == SimpleElementTypes.FUNCTION_START) {
+                parseFunction(builder);
+            } else {
+                builder.advanceLexer();
+            }
+        }
+        if (!builder.eof()) {
+            builder.advanceLexer();
+        }
+        marker.done(SimpleElementTypes.FUNCTION);
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.simple;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.editor.DefaultLanguageHighlighterColors;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.openapi.fileTypes.SyntaxHighlighterBase;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import static com.intellij.openapi.editor.colors.TextAttributesKey.createTextAttributesKey;
+
+/**
+ * Highlights the functions of the Camel simple language, the literal text keeps the highlighting of the string it is in.
+ */
+public class SimpleSyntaxHighlighter extends SyntaxHighlighterBase {
+
+    public static final TextAttributesKey FUNCTION_BRACES = createTextAttributesKey("CAMEL_SIMPLE_FUNCTION_BRACES", DefaultLanguageHighlighterColors.KEYWORD);
+    public static final TextAttributesKey FUNCTION_NAME = createTextAttributesKey("CAMEL_SIMPLE_FUNCTION_NAME", DefaultLanguageHighlighterColors.INSTANCE_FIELD);
+
+    private static final TextAttributesKey[] BRACES_KEYS = new TextAttributesKey[]{FUNCTION_BRACES};
+    private static final TextAttributesKey[] NAME_KEYS = new TextAttributesKey[]{FUNCTION_NAME};
+    private static final TextAttributesKey[] EMPTY_KEYS = new TextAttributesKey[0];
+
+    @NotNull
+    @Override
+    public Lexer getHighlightingLexer() {
+        return new SimpleLexer();
+    }
+
+    @NotNull
+    @Override
+    public TextAttributesKey[] getTokenHighlights(IElementType tokenType) {
+        if (tokenType == SimpleElementTypes.FUNCTION_START || tokenType == SimpleElementTypes.FUNCTION_END) {
+            return BRACES_KEYS;
+        } else if (tokenType == SimpleElementTypes.FUNCTION_NAME) {
+            return NAME_KEYS;
+        }
+        return EMPTY_KEYS;
+    }
+}
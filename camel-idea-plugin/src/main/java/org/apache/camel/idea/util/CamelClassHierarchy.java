@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.ClassInheritorsSearch;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The sets of classes which inherit from Camel classes such as <tt>RouteBuilder</tt>, so checking if a class is a
+ * <tt>RouteBuilder</tt> is a set lookup instead of walking the super classes of the class for every element.
+ * <p/>
+ * The inheritors are found with the Java stub index of IDEA, once per base class, and are cached until the Java
+ * structure of the project or the libraries are changed. Only the classes of the project are cached, as the libraries
+ * can have many classes, and the classes of the libraries are checked by walking their super classes.
+ */
+public final class CamelClassHierarchy {
+
+    public static final String ROUTE_BUILDER = "org.apache.camel.builder.RouteBuilder";
+    public static final String ROUTES_BUILDER = "org.apache.camel.RoutesBuilder";
+    public static final String BUILDER_SUPPORT = "org.apache.camel.builder.BuilderSupport";
+
+    private CamelClassHierarchy() {
+    }
+
+    /**
+     * Is the class, or any of its super classes or interfaces, the given base class
+     *
+     * @param clazz         the class
+     * @param baseClassName the qualified name of the base class, such as <tt>org.apache.camel.builder.RouteBuilder</tt>
+     * @return <tt>true</tt> if the class is the base class or inherits from it
+     */
+    public static boolean isInheritor(@NotNull PsiClass clazz, @NotNull String baseClassName) {
+        Project project = clazz.getProject();
+        if (DumbService.isDumb(project)) {
+            // the inheritors cannot be searched while indexing
+            return baseClassName.equals(clazz.getQualifiedName()) || InheritanceUtil.isInheritor(clazz, baseClassName);
+        }
+        String name = clazz.getQualifiedName();
+        if (name == null) {
+            // anonymous and local classes are not in the index, but their super classes are
+            for (PsiClass superClass : clazz.getSupers()) {
+                if (isInheritor(superClass, baseClassName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (getInheritors(project, baseClassName).contains(name)) {
+            return true;
+        }
+        // the inheritors are only the classes of the project
+        return !isInProject(clazz) && InheritanceUtil.isInheritor(clazz, baseClassName);
+    }
+
+    private static boolean isInProject(@NotNull PsiClass clazz) {
+        PsiFile file = clazz.getContainingFile();
+        VirtualFile virtualFile = file != null ? file.getVirtualFile() : null;
+        return virtualFile != null && ProjectFileIndex.getInstance(clazz.getProject()).isInContent(virtualFile);
+    }
+
+    /**
+     * Gets the qualified names of the base class and all the classes of the project which inherit from it, including the
+     * classes inheriting through classes of the libraries
+     *
+     * @param project       the project
+     * @param baseClassName the qualified name of the base class
+     * @return the qualified names, or only the base class name if the base class is not on the classpath of the project
+     */
+    @NotNull
+    public static Set<String> getInheritors(@NotNull Project project, @NotNull String baseClassName) {
+        Map<String, Set<String>> inheritors = getInheritorsByBaseClass(project);
+        Set<String> answer = inheritors.get(baseClassName);
+        if (answer == null) {
+            // not computed inside the map, as the search can take a while and be cancelled
+            answer = findInheritors(project, baseClassName);
+            inheritors.put(baseClassName, answer);
+        }
+        return answer;
+    }
+
+    private static Map<String, Set<String>> getInheritorsByBaseClass(@NotNull Project project) {
+        return CachedValuesManager.getManager(project).getCachedValue(project, () -> CachedValueProvider.Result.create(
+            new ConcurrentHashMap<>(), PsiModificationTracker.JAVA_STRUCTURE_MODIFICATION_COUNT, ProjectRootManager.getInstance(project)));
+    }
+
+    private static Set<String> findInheritors(@NotNull Project project, @NotNull String baseClassName) {
+        Set<String> answer = new HashSet<>();
+        answer.add(baseClassName);
+        PsiClass base = JavaPsiFacade.getInstance(project).findClass(baseClassName, GlobalSearchScope.allScope(project));
+        if (base != null) {
+            ClassInheritorsSearch.search(base, GlobalSearchScope.projectScope(project), true).forEach(inheritor -> {
+                String name = inheritor.getQualifiedName();
+                if (name != null) {
+                    answer.add(name);
+                }
+                return true;
+            });
+        }
+        return answer;
+    }
+
+}
@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import org.apache.camel.idea.model.ComponentModel;
+import org.apache.camel.idea.model.EndpointOptionModel;
+import org.apache.camel.idea.model.ModelHelper;
+import org.apache.camel.idea.service.CamelCatalogService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Caches what the Camel catalog computes for the endpoint completion, so typing through a long endpoint uri does not
+ * parse the component model, or the options of the same uri, again for every keystroke.
+ * <p/>
+ * Only the models are cached and not the lookup elements, as the lookup elements depend on the text before the caret.
+ * The caches are per project and dropped when the Camel catalog is changed.
+ */
+public final class CamelCompletionCache {
+
+    private static final Key<CachedValue<CamelCompletionCache>> CACHE = Key.create("CAMEL_COMPLETION_CACHE");
+
+    /**
+     * The number of endpoint uris to keep the parsed options for, which only needs to cover the uris being edited
+     */
+    private static final int MAX_ENDPOINT_PROPERTIES = 64;
+
+    private final CamelCatalogService catalogService;
+    private final Set<String> componentNames;
+    private final Map<String, ComponentModel> componentModels = new ConcurrentHashMap<>();
+    private final Map<String, List<EndpointOptionModel>> endpointOptions = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> endpointProperties = Collections.synchronizedMap(
+        new LinkedHashMap<String, Map<String, String>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, String>> eldest) {
+                return size() > MAX_ENDPOINT_PROPERTIES;
+            }
+        });
+
+    private CamelCompletionCache(CamelCatalogService catalogService) {
+        this.catalogService = catalogService;
+        this.componentNames = Collections.unmodifiableSet(new HashSet<>(catalogService.get().findComponentNames()));
+    }
+
+    /**
+     * Gets the cache of the project, which is created again when the Camel catalog is changed.
+     */
+    @NotNull
+    public static CamelCompletionCache getInstance(@NotNull Project project) {
+        return CachedValuesManager.getManager(project).getCachedValue(project, CACHE, () -> {
+            CamelCatalogService catalogService = ServiceManager.getService(project, CamelCatalogService.class);
+            return CachedValueProvider.Result.create(new CamelCompletionCache(catalogService), catalogService);
+        }, false);
+    }
+
+    /**
+     * Whether the component is known by the Camel catalog
+     */
+    public boolean isComponent(@Nullable String componentName) {
+        return componentName != null && componentNames.contains(componentName);
+    }
+
+    /**
+     * Gets the model of the component with its options.
+     * <p/>
+     * The model is shared by all completions and must not be changed.
+     *
+     * @param componentName the component name
+     * @return the model, or <tt>null</tt> if the component is not known
+     */
+    @Nullable
+    public ComponentModel getComponentModel(@NotNull String componentName) {
+        ComponentModel answer = componentModels.get(componentName);
+        if (answer != null) {
+            CamelPerformanceCounter.COMPLETION_MODELS_REUSED.increment();
+            return answer;
+        }
+        String json = catalogService.get().componentJSonSchema(componentName);
+        if (json == null) {
+            return null;
+        }
+        CamelPerformanceCounter.COMPLETION_MODELS.increment();
+        answer = ModelHelper.generateComponentModel(json, true);
+        componentModels.put(componentName, answer);
+        return answer;
+    }
+
+    /**
+     * Gets the query parameter options of the component which can be suggested for a consumer or producer endpoint,
+     * sorted A..Z which is easier to users to understand.
+     *
+     * @param component    the component
+     * @param consumerOnly whether the endpoint is a consumer, which skips the options only for producers
+     * @param producerOnly whether the endpoint is a producer, which skips the options only for consumers
+     * @return the options
+     */
+    @NotNull
+    public List<EndpointOptionModel> getEndpointOptions(@NotNull ComponentModel component, boolean consumerOnly, boolean producerOnly) {
+        String key = component.getScheme() + ":" + consumerOnly + ":" + producerOnly;
+        return endpointOptions.computeIfAbsent(key, k -> component.getEndpointOptions().stream()
+            .filter(o -> "parameter".equals(o.getKind()))
+            // if we are consumer only, then any option that has producer in the label should be skipped (as its only for producer)
+            .filter(o -> !consumerOnly || !o.getLabel().contains("producer"))
+            // if we are producer only, then any option that has consume in the label should be skipped (as its only for consumer)
+            .filter(o -> !producerOnly || !o.getLabel().contains("consumer"))
+            .sorted((o1, o2) -> o1.getName().compareToIgnoreCase(o2.getName()))
+            .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList)));
+    }
+
+    /**
+     * Gets the options of the endpoint uri as parsed by the Camel catalog, which is cached for the most recent uris.
+     * <p/>
+     * The option being typed at the end of the uri, which has no value yet such as <tt>del</tt> in
+     * <tt>timer:foo?period=10&del</tt>, is not part of the cache key, so the uri is only parsed once while the option
+     * is typed. The option being typed is not in the answer, as it is not known yet.
+     *
+     * @param uri the endpoint uri
+     * @return the options by their name
+     * @throws IllegalArgumentException is thrown if the uri cannot be parsed
+     */
+    @NotNull
+    public Map<String, String> getEndpointProperties(@NotNull String uri) {
+        String completed = withoutOptionBeingTyped(uri);
+        Map<String, String> answer = endpointProperties.get(completed);
+        if (answer != null) {
+            CamelPerformanceCounter.COMPLETION_MODELS_REUSED.increment();
+            return answer;
+        }
+        CamelPerformanceCounter.COMPLETION_MODELS.increment();
+        try {
+            answer = Collections.unmodifiableMap(catalogService.get().endpointProperties(completed));
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
+        endpointProperties.put(completed, answer);
+        return answer;
+    }
+
+    /**
+     * Removes the last query option of the uri if it has no value, as the option is still being typed
+     */
+    @NotNull
+    static String withoutOptionBeingTyped(@NotNull String uri) {
+        int query = uri.indexOf('?');
+        if (query < 0) {
+            return uri;
+        }
+        int start = Math.max(query, uri.lastIndexOf('&'));
+        return uri.indexOf('=', start) < 0 ? uri.substring(0, start) : uri;
+    }
+
+}
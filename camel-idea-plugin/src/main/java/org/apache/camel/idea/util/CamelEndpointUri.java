@@ -0,0 +1,295 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The structure of a Camel endpoint uri, which is the scheme, the path parameters and the query options with their values.
+ * <p/>
+ * The uri is parsed from the {@link CamelUriNormalizer normalized} uri, and each part knows its range in the original text,
+ * so problems and completions can work on the exact position of the part in the source code even when the same option
+ * is repeated in the uri.
+ */
+public final class CamelEndpointUri {
+
+    private static final Key<CamelEndpointUri> ENDPOINT_URI = Key.create("CAMEL_ENDPOINT_URI");
+
+    private final CamelUriNormalizer uri;
+    private final boolean stringFormat;
+    private final Part scheme;
+    private final Part path;
+    private final List<Part> pathParameters;
+    private final List<Option> options;
+
+    private CamelEndpointUri(CamelUriNormalizer uri, boolean stringFormat, Part scheme, Part path, List<Part> pathParameters, List<Option> options) {
+        this.uri = uri;
+        this.stringFormat = stringFormat;
+        this.scheme = scheme;
+        this.path = path;
+        this.pathParameters = pathParameters;
+        this.options = options;
+    }
+
+    /**
+     * Gets the parsed uri of the element, which is kept with the element as long as its text is not changed.
+     *
+     * @param element      the element with the uri
+     * @param text         the uri as written in the source code
+     * @param stringFormat whether the uri is used with string format such as <tt>fromF</tt> and <tt>toF</tt>
+     */
+    @NotNull
+    public static CamelEndpointUri of(@NotNull PsiElement element, @NotNull String text, boolean stringFormat) {
+        CamelEndpointUri answer = element.getUserData(ENDPOINT_URI);
+        if (answer == null || answer.stringFormat != stringFormat || !answer.uri.getOriginal().equals(text)) {
+            answer = parse(text, stringFormat);
+            element.putUserData(ENDPOINT_URI, answer);
+        }
+        return answer;
+    }
+
+    /**
+     * Parses the uri
+     *
+     * @param text         the uri as written in the source code
+     * @param stringFormat whether the uri is used with string format such as <tt>fromF</tt> and <tt>toF</tt>
+     */
+    @NotNull
+    public static CamelEndpointUri parse(@NotNull String text, boolean stringFormat) {
+        CamelUriNormalizer uri = CamelUriNormalizer.normalize(text, stringFormat);
+        String normalized = uri.getText();
+        int query = normalized.indexOf('?');
+        int pathEnd = query < 0 ? normalized.length() : query;
+
+        Part scheme = null;
+        int colon = normalized.indexOf(':');
+        int pathStart = 0;
+        if (colon > 0 && colon < pathEnd) {
+            scheme = new Part(uri, 0, colon);
+            pathStart = colon + 1;
+        }
+        Part path = new Part(uri, pathStart, pathEnd);
+
+        // the path parameters are separated by colon or slash
+        List<Part> pathParameters = new ArrayList<>();
+        int start = pathStart;
+        for (int i = pathStart; i <= pathEnd; i++) {
+            if (i == pathEnd || normalized.charAt(i) == ':' || normalized.charAt(i) == '/') {
+                if (i > start) {
+                    pathParameters.add(new Part(uri, start, i));
+                }
+                start = i + 1;
+            }
+        }
+
+        List<Option> options = new ArrayList<>();
+        int index = query;
+        while (index >= 0 && index < normalized.length()) {
+            int end = normalized.indexOf('&', index + 1);
+            int eq = normalized.indexOf('=', index + 1);
+            if (eq >= 0 && (end < 0 || eq < end) && normalized.startsWith("RAW(", eq + 1)) {
+                // raw values can contain ampersands so the value ends after the parenthesis
+                int close = normalized.indexOf(')', eq + 5);
+                if (close > 0) {
+                    end = normalized.indexOf('&', close);
+                }
+            }
+            if (end < 0) {
+                end = normalized.length();
+            }
+            if (eq > end) {
+                eq = -1;
+            }
+            int nameEnd = eq < 0 ? end : eq;
+            if (nameEnd > index + 1 || eq >= 0) {
+                Part name = new Part(uri, index + 1, nameEnd);
+                Part value = eq < 0 ? null : new Part(uri, eq + 1, end);
+                options.add(new Option(normalized.charAt(index), name, value));
+            }
+            index = end < normalized.length() ? end : -1;
+        }
+
+        return new CamelEndpointUri(uri, stringFormat, scheme, path, Collections.unmodifiableList(pathParameters), Collections.unmodifiableList(options));
+    }
+
+    /**
+     * The normalized uri
+     */
+    @NotNull
+    public CamelUriNormalizer getNormalizer() {
+        return uri;
+    }
+
+    /**
+     * The scheme of the uri, or <tt>null</tt> if the uri has no scheme
+     */
+    @Nullable
+    public Part getScheme() {
+        return scheme;
+    }
+
+    /**
+     * The context path of the uri, which is all the text between the scheme and the query
+     */
+    @NotNull
+    public Part getPath() {
+        return path;
+    }
+
+    /**
+     * The path parameters, which are the parts of the context path separated by colon or slash
+     */
+    @NotNull
+    public List<Part> getPathParameters() {
+        return pathParameters;
+    }
+
+    /**
+     * The query options in the order they are in the uri
+     */
+    @NotNull
+    public List<Option> getOptions() {
+        return options;
+    }
+
+    /**
+     * All the occurrences of the given option
+     */
+    @NotNull
+    public List<Option> getOptions(@NotNull String name) {
+        List<Option> answer = new ArrayList<>();
+        for (Option option : options) {
+            if (option.getName().getText().equals(name)) {
+                answer.add(option);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * The query option at the given offset in the original text, or <tt>null</tt> if the offset is not in the query
+     */
+    @Nullable
+    public Option getOptionAt(int offset) {
+        for (Option option : options) {
+            int start = option.getName().getTextRange().getStartOffset() - 1;
+            int end = option.getValue() != null ? option.getValue().getTextRange().getEndOffset() : option.getName().getTextRange().getEndOffset();
+            if (offset >= start && offset <= end) {
+                return option;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A part of the uri
+     */
+    public static final class Part {
+
+        private final CamelUriNormalizer uri;
+        private final int start;
+        private final int end;
+
+        Part(CamelUriNormalizer uri, int start, int end) {
+            this.uri = uri;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * The normalized text of the part
+         */
+        @NotNull
+        public String getText() {
+            return uri.getText().substring(start, end);
+        }
+
+        /**
+         * The range of the part in the original text
+         */
+        @NotNull
+        public TextRange getTextRange() {
+            int originalStart = uri.getOriginalOffset(start);
+            if (end == start) {
+                return TextRange.from(originalStart, 0);
+            }
+            return new TextRange(originalStart, uri.getOriginalEndOffset(end));
+        }
+
+        /**
+         * Whether the part uses a property placeholder such as <tt>{{foo}}</tt>
+         */
+        public boolean isPlaceholder() {
+            String text = getText();
+            int idx = text.indexOf("{{");
+            return idx >= 0 && text.indexOf("}}", idx) > 0;
+        }
+
+        @Override
+        public String toString() {
+            return getText();
+        }
+    }
+
+    /**
+     * A query option of the uri
+     */
+    public static final class Option {
+
+        private final char separator;
+        private final Part name;
+        private final Part value;
+
+        Option(char separator, Part name, Part value) {
+            this.separator = separator;
+            this.name = name;
+            this.value = value;
+        }
+
+        /**
+         * The char before the option, which is <tt>?</tt> for the first option and <tt>&amp;</tt> for the others
+         */
+        public char getSeparator() {
+            return separator;
+        }
+
+        @NotNull
+        public Part getName() {
+            return name;
+        }
+
+        /**
+         * The value of the option, or <tt>null</tt> if the option has no <tt>=</tt>
+         */
+        @Nullable
+        public Part getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value != null ? name + "=" + value : name.toString();
+        }
+    }
+}
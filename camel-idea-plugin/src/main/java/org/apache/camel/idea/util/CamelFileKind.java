@@ -0,0 +1,280 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import org.apache.camel.idea.service.CamelCatalogService;
+import org.apache.camel.idea.service.CamelService;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The kind of Camel file, which is classified once per modification of the file so all the annotators, line markers
+ * and inspections can skip files without Camel in one check.
+ * <p/>
+ * The classification can give false positives, but never false negatives, as files which may have Camel endpoints or
+ * expressions (such as a constant with an endpoint uri) are classified as Camel as well. Only the code which can hold
+ * Camel is looked at: the references to <tt>org.apache.camel</tt> and the string literals in Java, and the lines of
+ * the properties and yaml files which are not comments, so comments such as a license header with <tt>http:</tt> are
+ * not matched.
+ */
+public enum CamelFileKind {
+
+    /**
+     * A Java file with a Camel <tt>RouteBuilder</tt>
+     */
+    JAVA_ROUTE_BUILDER,
+    /**
+     * A Java file using Camel, such as importing from <tt>org.apache.camel</tt> or having endpoint uris
+     */
+    JAVA_CAMEL,
+    /**
+     * An XML file with Camel routes, such as <tt>&lt;routes&gt;</tt> or a Camel XML namespace
+     */
+    CAMEL_XML,
+    /**
+     * A Spring or Blueprint XML file with a <tt>&lt;camelContext&gt;</tt>
+     */
+    SPRING_XML,
+    /**
+     * A properties or yaml file with Camel keys or endpoint uris
+     */
+    PROPERTIES,
+    /**
+     * Not a Camel file
+     */
+    NONE;
+
+    private static final String CAMEL_PACKAGE = "org.apache.camel";
+    private static final String CAMEL_NAMESPACE = "http://camel.apache.org/schema/";
+    private static final List<String> CAMEL_XML_TAGS = Arrays.asList("camelContext", "routeContext", "restContext", "routes", "route", "rests");
+    private static final List<String> SPRING_XML_ROOT_TAGS = Arrays.asList("beans", "blueprint");
+    private static final List<String> PROPERTIES_EXTENSIONS = Arrays.asList("properties", "yml", "yaml");
+    private static final List<String> YAML_EXTENSIONS = Arrays.asList("yml", "yaml");
+    private static final String PROPERTIES_COMMENT_CHARS = "#!";
+    private static final String YAML_COMMENT_CHARS = "#";
+
+    /**
+     * The start of a simple expression, which hints that a string literal is Camel without being an endpoint uri
+     */
+    private static final String SIMPLE_START = "${";
+
+    /**
+     * Whether this is a Java or XML file with Camel, which is where routes can be
+     */
+    public boolean isRoute() {
+        return this != PROPERTIES && this != NONE;
+    }
+
+    /**
+     * Whether the file has Camel at all
+     */
+    public boolean isCamel() {
+        return this != NONE;
+    }
+
+    /**
+     * Gets the kind of the file, which is cached until the file, the Java structure of the project, or the Camel catalog
+     * or libraries are changed.
+     *
+     * @param file the file
+     * @return the kind
+     */
+    @NotNull
+    public static CamelFileKind of(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> {
+            Project project = file.getProject();
+            List<Object> dependencies = new ArrayList<>(4);
+            dependencies.add(file);
+            dependencies.add(ServiceManager.getService(project, CamelCatalogService.class));
+            dependencies.add(ServiceManager.getService(project, CamelService.class));
+            if (file instanceof PsiJavaFile) {
+                // the super classes can change outside the file
+                dependencies.add(PsiModificationTracker.JAVA_STRUCTURE_MODIFICATION_COUNT);
+            }
+            return CachedValueProvider.Result.create(classify(file), dependencies.toArray());
+        });
+    }
+
+    private static CamelFileKind classify(@NotNull PsiFile file) {
+        CharSequence text = file.getViewProvider().getContents();
+        if (file instanceof PsiJavaFile) {
+            for (PsiClass clazz : ((PsiJavaFile) file).getClasses()) {
+                if (isRouteBuilder(clazz)) {
+                    return JAVA_ROUTE_BUILDER;
+                }
+            }
+            // such as importing from org.apache.camel, or a constant with an endpoint uri
+            return containsCamel((PsiJavaFile) file, text) ? JAVA_CAMEL : NONE;
+        }
+        if (file instanceof XmlFile) {
+            XmlTag root = ((XmlFile) file).getRootTag();
+            if (root == null || !hasCamelTag(root)) {
+                return NONE;
+            }
+            return SPRING_XML_ROOT_TAGS.contains(root.getLocalName()) ? SPRING_XML : CAMEL_XML;
+        }
+        String extension = FileUtilRt.getExtension(file.getName()).toLowerCase();
+        if (PROPERTIES_EXTENSIONS.contains(extension)) {
+            String commentChars = YAML_EXTENSIONS.contains(extension) ? YAML_COMMENT_CHARS : PROPERTIES_COMMENT_CHARS;
+            return containsCamel(text, commentChars, getComponentNames(file.getProject())) ? PROPERTIES : NONE;
+        }
+        return NONE;
+    }
+
+    private static boolean isRouteBuilder(@NotNull PsiClass clazz) {
+        ProgressManager.checkCanceled();
+        // check by name first as resolving the super classes is expensive
+        for (PsiClassType type : clazz.getExtendsListTypes()) {
+            String name = type.getClassName();
+            if (name != null && name.endsWith("RouteBuilder")) {
+                return true;
+            }
+        }
+        if (CamelClassHierarchy.isInheritor(clazz, CamelClassHierarchy.ROUTES_BUILDER)) {
+            return true;
+        }
+        for (PsiClass inner : clazz.getInnerClasses()) {
+            if (isRouteBuilder(inner)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasCamelTag(@NotNull XmlTag tag) {
+        ProgressManager.checkCanceled();
+        String namespace = tag.getNamespace();
+        if (namespace.startsWith(CAMEL_NAMESPACE) || CAMEL_XML_TAGS.contains(tag.getLocalName())) {
+            return true;
+        }
+        for (XmlTag child : tag.getSubTags()) {
+            if (hasCamelTag(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the file references <tt>org.apache.camel</tt>, such as in the imports, or has a string literal with an
+     * endpoint uri or a simple expression
+     */
+    private static boolean containsCamel(@NotNull PsiJavaFile file, @NotNull CharSequence text) {
+        if (StringUtil.contains(text, CAMEL_PACKAGE)) {
+            return true;
+        }
+        Set<String> componentNames = getComponentNames(file.getProject());
+        boolean[] found = {false};
+        file.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if (element instanceof PsiLiteralExpression) {
+                    Object value = ((PsiLiteralExpression) element).getValue();
+                    if (value instanceof String && isCamelText((String) value, componentNames)) {
+                        found[0] = true;
+                        stopWalking();
+                    }
+                } else {
+                    super.visitElement(element);
+                }
+            }
+        });
+        return found[0];
+    }
+
+    /**
+     * Whether any of the lines, which are not comments, mentions Camel, such as <tt>camel.springboot.name</tt>, or has
+     * an endpoint uri. The lines are scanned in the text of the file, so the file is not parsed on the highlighting path.
+     */
+    static boolean containsCamel(@NotNull CharSequence text, @NotNull String commentChars, @NotNull Set<String> componentNames) {
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            ProgressManager.checkCanceled();
+            int end = StringUtil.indexOf(text, '\n', start);
+            if (end < 0) {
+                end = length;
+            }
+            int first = start;
+            while (first < end && Character.isWhitespace(text.charAt(first))) {
+                first++;
+            }
+            if (first < end && commentChars.indexOf(text.charAt(first)) < 0) {
+                CharSequence line = text.subSequence(first, end);
+                if (StringUtil.indexOfIgnoreCase(line, "camel", 0) >= 0 || containsComponentScheme(line, componentNames)) {
+                    return true;
+                }
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    private static boolean isCamelText(@NotNull String text, @NotNull Set<String> componentNames) {
+        return text.contains(SIMPLE_START) || containsComponentScheme(text, componentNames);
+    }
+
+    private static Set<String> getComponentNames(Project project) {
+        return new HashSet<>(ServiceManager.getService(project, CamelCatalogService.class).get().findComponentNames());
+    }
+
+    /**
+     * Whether the text has a known component name followed by colon, such as <tt>timer:</tt>
+     */
+    static boolean containsComponentScheme(@NotNull CharSequence text, @NotNull Set<String> componentNames) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) != ':') {
+                continue;
+            }
+            int start = i;
+            while (start > 0 && isSchemeChar(text.charAt(start - 1))) {
+                start--;
+            }
+            if (start < i && componentNames.contains(text.subSequence(start, i).toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isSchemeChar(char ch) {
+        return Character.isLetterOrDigit(ch) || ch == '-' || ch == '+' || ch == '.';
+    }
+
+}
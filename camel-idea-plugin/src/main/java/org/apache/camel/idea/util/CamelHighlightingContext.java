@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.util.Map;
+import javax.swing.*;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.containers.ContainerUtil;
+import org.apache.camel.idea.service.CamelPreferenceService;
+import org.apache.camel.idea.service.CamelService;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A snapshot of the Camel services and preferences used while highlighting, which is taken once per highlighting pass
+ * instead of looking up the services and preferences for every PSI element.
+ * <p/>
+ * The context also knows if a file might contain Camel at all, as classified by {@link CamelFileKind}, so the annotators
+ * and line markers can reject the elements of other files right away.
+ */
+public final class CamelHighlightingContext {
+
+    /**
+     * The snapshots per highlighting pass, which is released together with the progress indicator of the pass
+     */
+    private static final Map<ProgressIndicator, CamelHighlightingContext> PASSES = ContainerUtil.createConcurrentWeakMap();
+
+    private final Project project;
+    private final boolean camelPresent;
+    private final boolean realTimeEndpointValidation;
+    private final boolean realTimeSimpleValidation;
+    private final boolean realTimeJSonPathValidation;
+    private final boolean realTimeBeanMethodValidation;
+    private final boolean highlightCustomOptions;
+    private final boolean showCamelIconInGutter;
+    private final CamelPreferenceService preferences;
+    private volatile Boolean jsonPathAvailable;
+
+    private CamelHighlightingContext(Project project) {
+        CamelPreferenceService preferences = ServiceManager.getService(CamelPreferenceService.class);
+        this.project = project;
+        this.camelPresent = ServiceManager.getService(project, CamelService.class).isCamelPresent();
+        this.realTimeEndpointValidation = preferences.isRealTimeEndpointValidation();
+        this.realTimeSimpleValidation = preferences.isRealTimeSimpleValidation();
+        this.realTimeJSonPathValidation = preferences.isRealTimeJSonPathValidation();
+        this.realTimeBeanMethodValidation = preferences.isRealTimeBeanMethodValidationCheckBox();
+        this.highlightCustomOptions = preferences.isHighlightCustomOptions();
+        this.showCamelIconInGutter = preferences.isShowCamelIconInGutter();
+        this.preferences = preferences;
+    }
+
+    /**
+     * Gets the context of the current highlighting pass of the project, which is created on first use in the pass.
+     * <p/>
+     * If there is no highlighting pass in progress a new context is created.
+     *
+     * @param element an element of the project
+     * @return the context
+     */
+    @NotNull
+    public static CamelHighlightingContext get(@NotNull PsiElement element) {
+        Project project = element.getProject();
+        ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
+        if (indicator == null) {
+            return new CamelHighlightingContext(project);
+        }
+        CamelHighlightingContext context = PASSES.get(indicator);
+        if (context == null || context.project != project) {
+            context = new CamelHighlightingContext(project);
+            PASSES.put(indicator, context);
+        }
+        return context;
+    }
+
+    public boolean isCamelPresent() {
+        return camelPresent;
+    }
+
+    public boolean isRealTimeEndpointValidation() {
+        return realTimeEndpointValidation;
+    }
+
+    public boolean isRealTimeSimpleValidation() {
+        return realTimeSimpleValidation;
+    }
+
+    public boolean isRealTimeJSonPathValidation() {
+        return realTimeJSonPathValidation;
+    }
+
+    public boolean isRealTimeBeanMethodValidation() {
+        return realTimeBeanMethodValidation;
+    }
+
+    public boolean isHighlightCustomOptions() {
+        return highlightCustomOptions;
+    }
+
+    public boolean isShowCamelIconInGutter() {
+        return showCamelIconInGutter;
+    }
+
+    /**
+     * Whether camel-jsonpath is on the project classpath, which is checked once per highlighting pass.
+     * <p/>
+     * If its not on the classpath the user is notified that jsonpath cannot be validated.
+     */
+    public boolean isJSonPathAvailable() {
+        Boolean answer = jsonPathAvailable;
+        if (answer == null) {
+            CamelService camelService = ServiceManager.getService(project, CamelService.class);
+            answer = camelService.containsLibrary("camel-jsonpath", false);
+            if (!answer) {
+                camelService.showMissingJSonPathJarNotification(project);
+            }
+            jsonPathAvailable = answer;
+        }
+        return answer;
+    }
+
+    public Icon getCamelIcon() {
+        // the icon is cached by the preferences, and only needed when there is a route
+        return preferences.getCamelIcon();
+    }
+
+    /**
+     * Whether the file of the element might contain Camel routes, endpoints or expressions.
+     * <p/>
+     * This is a cheap check which can give false positives, but never false negatives.
+     *
+     * @param element the element
+     * @return <tt>false</tt> if the file for sure does not contain any Camel
+     * @see CamelFileKind
+     */
+    public boolean mightContainCamel(@NotNull PsiElement element) {
+        PsiFile file = element.getContainingFile();
+        if (file == null) {
+            return true;
+        }
+        boolean answer = CamelFileKind.of(file).isCamel();
+        if (!answer) {
+            CamelPerformanceCounter.REJECTED_FILES.increment();
+        }
+        return answer;
+    }
+
+}
@@ -192,10 +192,12 @@ public final class CamelIdeaUtils implements Disposable {
         return  Arrays.stream(psiMethod.getAnnotations()).anyMatch(a -> "org.apache.camel.Handler".equals(a.getQualifiedName()));
     }
 
+    /**
+     * Whether the class is a Camel <tt>RoutesBuilder</tt>, such as extending <tt>RouteBuilder</tt> directly or through
+     * other classes
+     */
     public boolean isExtendingRouteBuild(PsiClass clazz) {
-        final PsiClass[] interfaces = clazz.getSupers();
-        return Arrays.stream(interfaces)
-            .anyMatch(c -> "org.apache.camel.RoutesBuilder".equals(c.getQualifiedName()));
+        return CamelClassHierarchy.isInheritor(clazz, CamelClassHierarchy.ROUTES_BUILDER);
     }
 
     @Override
@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import org.apache.camel.catalog.LanguageValidationResult;
+import org.apache.camel.idea.service.CamelCatalogService;
+import org.apache.camel.idea.service.CamelService;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Validates Camel language expressions and predicates, such as jsonpath, which needs the language from the project classpath.
+ * <p/>
+ * The validation results are cached per project by the language and the text of the expression, so the same expression
+ * is only validated once even if its used in many places or highlighted again. The results are dropped when the classpath
+ * of the project (as scanned by the {@link CamelService}) or the Camel catalog is changed, and only the most recently used
+ * results are kept.
+ */
+public final class CamelLanguageValidationCache {
+
+    private static final Key<CachedValue<Map<String, LanguageValidationResult>>> RESULTS = Key.create("CAMEL_LANGUAGE_VALIDATION_RESULTS");
+
+    /**
+     * The number of expressions to keep the validation results for, which covers the expressions of the files being edited
+     */
+    static final int MAX_RESULTS = 1024;
+
+    private CamelLanguageValidationCache() {
+    }
+
+    /**
+     * Validates the expression or predicate, or returns the cached result of an earlier validation of the same text.
+     *
+     * @param project   the project
+     * @param loader    the classloader with the language from the project classpath
+     * @param language  the language such as <tt>jsonpath</tt>
+     * @param text      the expression or predicate
+     * @param predicate whether the text is used as predicate
+     * @return the validation result
+     */
+    @NotNull
+    public static LanguageValidationResult validate(@NotNull Project project, @NotNull ClassLoader loader, @NotNull String language,
+                                                    @NotNull String text, boolean predicate) {
+        String key = language + (predicate ? ":predicate:" : ":expression:") + text;
+        Map<String, LanguageValidationResult> results = getResults(project);
+        LanguageValidationResult result = results.get(key);
+        if (result != null) {
+            CamelPerformanceCounter.LANGUAGE_VALIDATIONS_REUSED.increment();
+            return result;
+        }
+        ProgressManager.checkCanceled();
+        // validate outside the map as the validation can be slow, if the same expression is validated in parallel then
+        // the first result is kept
+        CamelPerformanceCounter.LANGUAGE_VALIDATIONS.increment();
+        CamelCatalogService catalogService = ServiceManager.getService(project, CamelCatalogService.class);
+        if (predicate) {
+            result = catalogService.get().validateLanguagePredicate(loader, language, text);
+        } else {
+            result = catalogService.get().validateLanguageExpression(loader, language, text);
+        }
+        LanguageValidationResult existing = results.putIfAbsent(key, result);
+        return existing != null ? existing : result;
+    }
+
+    private static Map<String, LanguageValidationResult> getResults(Project project) {
+        return CachedValuesManager.getManager(project).getCachedValue(project, RESULTS, () -> {
+            CamelService camelService = ServiceManager.getService(project, CamelService.class);
+            CamelCatalogService catalogService = ServiceManager.getService(project, CamelCatalogService.class);
+            Map<String, LanguageValidationResult> results = Collections.synchronizedMap(
+                new LinkedHashMap<String, LanguageValidationResult>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, LanguageValidationResult> eldest) {
+                        return size() > MAX_RESULTS;
+                    }
+                });
+            return CachedValueProvider.Result.create(results, camelService, catalogService);
+        }, false);
+    }
+}
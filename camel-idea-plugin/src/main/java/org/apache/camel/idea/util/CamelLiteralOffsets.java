@@ -0,0 +1,202 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.ArrayUtil;
+import com.intellij.util.containers.IntArrayList;
+import org.apache.camel.idea.service.CamelCatalogService;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The offsets in a file of text which looks like a Camel endpoint uri or expression, so the inspections only need to
+ * look at the elements at those offsets instead of extracting the text of every element in the file.
+ * <p/>
+ * The offsets are found by scanning the text of the file once per modification of the file, and are candidates only,
+ * which can give false positives, but never false negatives. The candidates are
+ * <ul>
+ *     <li>a known component name followed by colon, such as <tt>timer:</tt></li>
+ *     <li>a simple expression, such as <tt>${body}</tt> or <tt>$simple{body}</tt></li>
+ *     <li>the first value after <tt>simple(</tt> or <tt>&lt;simple&gt;</tt>, as a simple predicate such as
+ *     <tt>body == 'x'</tt> need not have a marker</li>
+ *     <li>the first value after a method or tag starting with <tt>jsonpath</tt>, such as <tt>jsonpath(</tt>,
+ *     <tt>jsonpathWriteAsString(</tt> or <tt>&lt;jsonpath&gt;</tt>, as jsonpath has no marker of its own</li>
+ * </ul>
+ */
+public final class CamelLiteralOffsets {
+
+    private static final CamelLiteralOffsets EMPTY = new CamelLiteralOffsets(ArrayUtil.EMPTY_INT_ARRAY);
+    private static final String[] SIMPLE_MARKERS = {"${", "$simple{"};
+    private static final String SIMPLE = "simple";
+    private static final String JSONPATH = "jsonpath";
+
+    // sorted in ascending order so a range can be looked up by binary search
+    private final int[] offsets;
+
+    private CamelLiteralOffsets(int[] offsets) {
+        this.offsets = offsets;
+    }
+
+    /**
+     * Gets the offsets of the file, which is cached until the file or the Camel catalog is changed.
+     *
+     * @param file the file
+     * @return the offsets
+     */
+    @NotNull
+    public static CamelLiteralOffsets of(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> {
+            CamelCatalogService catalogService = ServiceManager.getService(file.getProject(), CamelCatalogService.class);
+            Set<String> componentNames = new HashSet<>(catalogService.get().findComponentNames());
+            CamelLiteralOffsets offsets = scan(file.getViewProvider().getContents(), componentNames);
+            return CachedValueProvider.Result.create(offsets, file, catalogService);
+        });
+    }
+
+    /**
+     * Scans the text for the candidate offsets.
+     *
+     * @param text           the text of the file
+     * @param componentNames the known component names
+     * @return the offsets
+     */
+    @NotNull
+    static CamelLiteralOffsets scan(@NotNull CharSequence text, @NotNull Set<String> componentNames) {
+        IntArrayList offsets = new IntArrayList();
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char ch = text.charAt(i);
+            if (ch == ':') {
+                int start = i;
+                while (start > 0 && CamelFileKind.isSchemeChar(text.charAt(start - 1))) {
+                    start--;
+                }
+                if (start < i && componentNames.contains(text.subSequence(start, i).toString())) {
+                    offsets.add(start);
+                }
+            } else if (ch == '$') {
+                for (String marker : SIMPLE_MARKERS) {
+                    if (StringUtil.startsWith(text, i, marker)) {
+                        offsets.add(i);
+                        break;
+                    }
+                }
+            } else if ((ch == 's' || ch == 'j') && (i == 0 || !isWordChar(text.charAt(i - 1)))) {
+                int end = i + 1;
+                while (end < length && isWordChar(text.charAt(end))) {
+                    end++;
+                }
+                boolean language = ch == 's'
+                    ? end - i == SIMPLE.length() && StringUtil.startsWith(text, i, SIMPLE)
+                    : StringUtil.startsWith(text, i, JSONPATH);
+                if (language) {
+                    int value = languageValueOffset(text, i, end);
+                    if (value >= 0) {
+                        offsets.add(value);
+                    }
+                }
+                // the rest of the word can not start a candidate
+                i = end - 1;
+            }
+        }
+        if (offsets.isEmpty()) {
+            return EMPTY;
+        }
+        int[] answer = offsets.toArray();
+        // the language values are found ahead of the scan, and may also be the offset of a simple marker
+        Arrays.sort(answer);
+        int size = 0;
+        for (int offset : answer) {
+            if (size == 0 || answer[size - 1] != offset) {
+                answer[size++] = offset;
+            }
+        }
+        return new CamelLiteralOffsets(size == answer.length ? answer : Arrays.copyOf(answer, size));
+    }
+
+    private static boolean isWordChar(char ch) {
+        // not a java identifier part, as a dollar sign starts a simple marker
+        return Character.isLetterOrDigit(ch) || ch == '_';
+    }
+
+    /**
+     * The offset of the value after a language method call such as <tt>simple(</tt> or a language tag such as
+     * <tt>&lt;jsonpath&gt;</tt>, or <tt>-1</tt> if the word is not followed by a parenthesis or tag.
+     *
+     * @param text  the text of the file
+     * @param start the start of the language word
+     * @param end   the end of the language word
+     */
+    private static int languageValueOffset(@NotNull CharSequence text, int start, int end) {
+        int length = text.length();
+        int pos = end;
+        while (pos < length && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+        if (pos >= length) {
+            return -1;
+        }
+        if (text.charAt(pos) != '(') {
+            // the tag may have a namespace prefix, and attributes such as resultType before it ends
+            if (start == 0 || (text.charAt(start - 1) != '<' && text.charAt(start - 1) != ':')) {
+                return -1;
+            }
+            pos = StringUtil.indexOf(text, '>', end);
+            if (pos < 0) {
+                return -1;
+            }
+        }
+        pos++;
+        while (pos < length && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+        return pos < length ? pos : -1;
+    }
+
+    public boolean isEmpty() {
+        return offsets.length == 0;
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * Whether there is a candidate offset within the range.
+     *
+     * @param range the text range of an element in the file
+     * @return <tt>true</tt> if the element may be, or contain, an endpoint uri or expression
+     */
+    public boolean intersects(@NotNull TextRange range) {
+        int index = Arrays.binarySearch(offsets, range.getStartOffset());
+        if (index >= 0) {
+            return true;
+        }
+        // the first offset after the start of the range
+        int insertion = -index - 1;
+        return insertion < offsets.length && offsets[insertion] < range.getEndOffset();
+    }
+
+}
@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for how much work the plugin does, and how much of it was avoided by caching.
+ * <p/>
+ * The counters are only kept in memory, and can be used from tests or logged for troubleshooting.
+ */
+public enum CamelPerformanceCounter {
+
+    /**
+     * Number of elements which was validated
+     */
+    VALIDATIONS,
+    /**
+     * Number of elements where a cached validation outcome was reused
+     */
+    VALIDATIONS_REUSED,
+    /**
+     * Number of elements rejected by the cheap element type checks before any service lookup
+     */
+    REJECTED_ELEMENTS,
+    /**
+     * Number of elements rejected because their file does not contain any Camel
+     */
+    REJECTED_FILES,
+    /**
+     * Number of language expressions which was validated using the language from the project classpath
+     */
+    LANGUAGE_VALIDATIONS,
+    /**
+     * Number of language expressions where a cached validation result of the same text was reused
+     */
+    LANGUAGE_VALIDATIONS_REUSED,
+    /**
+     * Number of validations which exceeded their time budget and was deferred to the background
+     */
+    DEFERRED_VALIDATIONS,
+    /**
+     * Number of component models and endpoint options which was computed by the Camel catalog for code completion
+     */
+    COMPLETION_MODELS,
+    /**
+     * Number of component models and endpoint options where a cached result was reused for code completion
+     */
+    COMPLETION_MODELS_REUSED,
+    /**
+     * Number of property files which was read and parsed for code completion
+     */
+    PROPERTY_FILES_LOADED,
+    /**
+     * Number of property files where the cached properties was reused for code completion
+     */
+    PROPERTY_FILES_REUSED;
+
+    // an adder as the counters are updated from the highlighting threads for every element
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    public long get() {
+        return count.sum();
+    }
+
+    public void reset() {
+        count.reset();
+    }
+
+    /**
+     * Resets all the counters
+     */
+    public static void resetAll() {
+        for (CamelPerformanceCounter counter : values()) {
+            counter.reset();
+        }
+    }
+
+    /**
+     * A summary of all the counters, such as <tt>VALIDATIONS=12, VALIDATIONS_REUSED=140</tt>
+     */
+    public static String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (CamelPerformanceCounter counter : values()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(counter.name()).append('=').append(counter.get());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Caches the properties loaded from <tt>.properties</tt> and <tt>.yaml</tt> files, where nested YAML is flattened to
+ * dotted property names, so completing property placeholders again does not read and parse the same files.
+ * <p/>
+ * The properties are cached per file until the file is modified, as detected by its modification stamp. The cache is
+ * limited by the total size of the property names and values, where the least recently used files are evicted first.
+ */
+public final class CamelPropertyFileCache {
+
+    /**
+     * The maximum total length of the cached property names and values, which is about 8 MB of characters
+     */
+    private static final long MAX_WEIGHT = 4L * 1024 * 1024;
+
+    // ordered by access so the least recently used file is first
+    private static final Map<VirtualFile, Entry> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static long weight;
+
+    private CamelPropertyFileCache() {
+    }
+
+    /**
+     * Gets the properties of the file, which are loaded unless the file is cached and not modified since.
+     *
+     * @param file   the file
+     * @param loader loads the properties from the content of the file
+     * @return the properties by their name, which must not be changed
+     * @throws IOException is thrown if the file cannot be read
+     */
+    @NotNull
+    public static Map<String, String> getProperties(@NotNull VirtualFile file, @NotNull Function<byte[], Map<String, String>> loader) throws IOException {
+        long stamp = file.getModificationStamp();
+        synchronized (CACHE) {
+            Entry entry = CACHE.get(file);
+            if (entry != null && entry.stamp == stamp) {
+                CamelPerformanceCounter.PROPERTY_FILES_REUSED.increment();
+                return entry.properties;
+            }
+        }
+
+        // load outside the lock as its reading from disk
+        CamelPerformanceCounter.PROPERTY_FILES_LOADED.increment();
+        Map<String, String> properties = Collections.unmodifiableMap(loader.apply(file.contentsToByteArray()));
+        Entry entry = new Entry(stamp, properties);
+
+        synchronized (CACHE) {
+            Entry old = CACHE.remove(file);
+            if (old != null) {
+                weight -= old.weight;
+            }
+            // a file which is larger than the cache is not cached at all
+            if (entry.weight <= MAX_WEIGHT) {
+                CACHE.put(file, entry);
+                weight += entry.weight;
+                evict();
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Removes all the cached files
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+            weight = 0;
+        }
+    }
+
+    private static void evict() {
+        Iterator<Entry> it = CACHE.values().iterator();
+        while (weight > MAX_WEIGHT && it.hasNext()) {
+            weight -= it.next().weight;
+            it.remove();
+        }
+    }
+
+    private static final class Entry {
+
+        private final long stamp;
+        private final Map<String, String> properties;
+        private final long weight;
+
+        private Entry(long stamp, Map<String, String> properties) {
+            this.stamp = stamp;
+            this.properties = properties;
+            long answer = 0;
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                answer += property.getKey().length() + (property.getValue() != null ? property.getValue().length() : 0);
+            }
+            this.weight = answer;
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A circuit breaker which tracks the latency of a validator, such as the real time jsonpath validation, and turns the
+ * validator off for a while when it is repeatedly slow.
+ * <p/>
+ * The breaker is <tt>CLOSED</tt> while the validator is fast. When it has been slower than the threshold a number of
+ * times in a row, and the average latency is above the threshold as well, the breaker is <tt>OPEN</tt> and the
+ * validator should be skipped, leaving the validation to the batch inspections. After a cool down period the breaker
+ * is <tt>HALF_OPEN</tt>, and a single validation is let through as a probe: if it is fast the breaker closes again,
+ * otherwise it opens with a longer cool down.
+ */
+public final class CamelValidationCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * The weight of the latest latency in the moving average
+     */
+    private static final double SMOOTHING = 0.3;
+
+    private final String name;
+    private final long thresholdMillis;
+    private final int tripCount;
+    private final long initialCoolDownMillis;
+    private final long maxCoolDownMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private double averageMillis = -1;
+    private int slowInRow;
+    private long coolDownMillis;
+    private long openUntil;
+    private long probeStarted = -1;
+
+    /**
+     * Creates a breaker which opens after 5 validations in a row slower than 1 second, with a cool down from 30 seconds
+     * up to 10 minutes.
+     *
+     * @param name the name of the validator, such as <tt>jsonpath</tt>
+     */
+    public CamelValidationCircuitBreaker(String name) {
+        this(name, 1000, 5, 30 * 1000, 10 * 60 * 1000, System::currentTimeMillis);
+    }
+
+    CamelValidationCircuitBreaker(String name, long thresholdMillis, int tripCount, long initialCoolDownMillis, long maxCoolDownMillis, LongSupplier clock) {
+        this.name = name;
+        this.thresholdMillis = thresholdMillis;
+        this.tripCount = tripCount;
+        this.initialCoolDownMillis = initialCoolDownMillis;
+        this.maxCoolDownMillis = maxCoolDownMillis;
+        this.clock = clock;
+        this.coolDownMillis = initialCoolDownMillis;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * The moving average of the latency of the validator, or <tt>-1</tt> if nothing has been validated yet
+     */
+    public synchronized double getAverageMillis() {
+        return averageMillis;
+    }
+
+    /**
+     * Whether the validator may run now.
+     * <p/>
+     * When the cool down has passed a single validation is allowed as probe, which must be reported to
+     * {@link #record(long)} when done.
+     *
+     * @return <tt>true</tt> to validate, <tt>false</tt> to skip the validation
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        long now = clock.getAsLong();
+        // a probe which was never reported, such as when the highlighting was cancelled, is given up after the cool down
+        boolean probeLost = state == State.HALF_OPEN && now - probeStarted >= coolDownMillis;
+        if ((state == State.OPEN && now >= openUntil) || probeLost) {
+            state = State.HALF_OPEN;
+            probeStarted = now;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records the latency of a validation.
+     *
+     * @param millis how long the validation took
+     * @return <tt>true</tt> if the breaker was opened by this validation after being closed
+     */
+    public synchronized boolean record(long millis) {
+        averageMillis = averageMillis < 0 ? millis : SMOOTHING * millis + (1 - SMOOTHING) * averageMillis;
+        boolean slow = millis > thresholdMillis;
+
+        if (state == State.HALF_OPEN) {
+            probeStarted = -1;
+            if (slow) {
+                // still slow so wait longer before the next probe
+                coolDownMillis = Math.min(coolDownMillis * 2, maxCoolDownMillis);
+                open();
+            } else {
+                // start over with the latency of the probe as the average
+                state = State.CLOSED;
+                averageMillis = millis;
+                slowInRow = 0;
+                coolDownMillis = initialCoolDownMillis;
+            }
+            return false;
+        }
+        if (state == State.CLOSED) {
+            slowInRow = slow ? slowInRow + 1 : 0;
+            if (slowInRow >= tripCount && averageMillis > thresholdMillis) {
+                open();
+                return true;
+            }
+        }
+        // validations which was started before the breaker opened only update the average
+        return false;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntil = clock.getAsLong() + coolDownMillis;
+        slowInRow = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return name + "[" + state + ", average " + Math.round(averageMillis) + " millis]";
+    }
+}
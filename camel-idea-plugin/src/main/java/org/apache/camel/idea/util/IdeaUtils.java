@@ -63,7 +63,7 @@ import static com.intellij.xml.CommonXmlStrings.QUOT;
 public final class IdeaUtils implements Disposable {
 
     private static final List<String> ROUTE_BUILDER_OR_EXPRESSION_CLASS_QUALIFIED_NAME = Arrays.asList(
-        "org.apache.camel.builder.RouteBuilder", "org.apache.camel.builder.BuilderSupport",
+        CamelClassHierarchy.ROUTE_BUILDER, CamelClassHierarchy.BUILDER_SUPPORT,
         "org.apache.camel.model.ProcessorDefinition", "org.apache.camel.model.language.ExpressionDefinition");
 
     private final List<IdeaUtilsExtension> enabledExtensions;
@@ -214,24 +214,6 @@ public final class IdeaUtils implements Disposable {
         return new URLClassLoader(array);
     }
 
-    /**
-     * Is the given class or any of its super classes a class with the qualified name.
-     *
-     * @param target  the class
-     * @param fqnClassName the class name to match
-     * @return <tt>true</tt> if the class is a type or subtype of the class name
-     */
-    private static boolean isClassOrParentOf(@Nullable PsiClass target, @NotNull String fqnClassName) {
-        if (target == null) {
-            return false;
-        }
-        if (target.getQualifiedName().equals(fqnClassName)) {
-            return true;
-        } else {
-            return isClassOrParentOf(target.getSuperClass(), fqnClassName);
-        }
-    }
-
     /**
      * Is the element from a constructor call with the given constructor name (eg class name)
      *
@@ -276,7 +258,7 @@ public final class IdeaUtils implements Disposable {
                 // TODO: this code should likely be moved to something that requires it from being a Camel RouteBuilder
                 if (Arrays.stream(methods).anyMatch(name::equals)) {
                     if (fromRouteBuilder) {
-                        return ROUTE_BUILDER_OR_EXPRESSION_CLASS_QUALIFIED_NAME.stream().anyMatch(t -> isClassOrParentOf(containingClass, t));
+                        return ROUTE_BUILDER_OR_EXPRESSION_CLASS_QUALIFIED_NAME.stream().anyMatch(t -> CamelClassHierarchy.isInheritor(containingClass, t));
                     } else {
                         return true;
                     }
@@ -372,10 +354,22 @@ public final class IdeaUtils implements Disposable {
      */
     public String[] getQueryParameterAtCursorPosition(PsiElement element) {
         String positionText = extractTextFromElement(element);
-        positionText = positionText.replaceAll("&amp;", "&");
+        positionText = CamelUriNormalizer.decodeAmpersands(positionText);
 
         int hackIndex = getCaretPositionInsidePsiElement(positionText);
         positionText = positionText.substring(0, hackIndex);
+
+        // use the parsed uri when the cursor is at a query option
+        List<CamelEndpointUri.Option> options = CamelEndpointUri.parse(positionText, false).getOptions();
+        if (!options.isEmpty()) {
+            CamelEndpointUri.Option option = options.get(options.size() - 1);
+            CamelEndpointUri.Part last = option.getValue() != null ? option.getValue() : option.getName();
+            if (last.getTextRange().getEndOffset() == hackIndex) {
+                String parameter = option.getSeparator() + option.getName().getText();
+                return new String[]{parameter, option.getValue() != null ? option.getValue().getText() : null};
+            }
+        }
+
         //we need to know the start position of the unknown options
         int startIdx = Math.max(positionText.lastIndexOf('.'), positionText.lastIndexOf('='));
         startIdx = Math.max(startIdx, positionText.lastIndexOf('&'));
@@ -0,0 +1,185 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.intellij.psi.PsiMethod;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The methods of a bean class which can be referred from the Camel bean DSL, grouped by the method name.
+ * <p/>
+ * The table is built once per class and Java structure change by {@link JavaMethodUtils#getBeanMethodTable}, so the
+ * annotator, completion and references can look up the methods by name without walking all the methods of the class.
+ */
+public final class JavaBeanMethodTable {
+
+    private final List<BeanMethod> methods;
+    private final List<BeanMethod> accessibleMethods;
+    private final Map<String, MethodGroup> groups;
+
+    JavaBeanMethodTable(@NotNull List<BeanMethod> methods) {
+        Map<String, MethodGroup> groups = new HashMap<>();
+        List<BeanMethod> accessible = new ArrayList<>();
+        for (BeanMethod method : methods) {
+            groups.computeIfAbsent(method.getName(), k -> new MethodGroup()).add(method);
+            if (method.isAccessible()) {
+                accessible.add(method);
+            }
+        }
+        this.methods = Collections.unmodifiableList(methods);
+        this.accessibleMethods = Collections.unmodifiableList(accessible);
+        this.groups = groups;
+    }
+
+    /**
+     * All the methods of the class and its super classes, except constructors and the methods of Object and Class
+     */
+    @NotNull
+    public List<BeanMethod> getMethods() {
+        return methods;
+    }
+
+    /**
+     * The methods which are not private nor abstract, and hence can be called by Camel
+     */
+    @NotNull
+    public List<BeanMethod> getAccessibleMethods() {
+        return accessibleMethods;
+    }
+
+    /**
+     * All the methods with the given name including the private methods
+     */
+    @NotNull
+    public List<BeanMethod> getMethods(@NotNull String name) {
+        MethodGroup group = groups.get(name);
+        return group != null ? group.methods : Collections.emptyList();
+    }
+
+    /**
+     * Whether there is methods with the given name, and they are all private
+     */
+    public boolean isPrivate(@NotNull String name) {
+        MethodGroup group = groups.get(name);
+        return group != null && group.privateCount == group.methods.size();
+    }
+
+    /**
+     * Whether there is more than one non private method with the given name, and none of them are annotated with <tt>@Handler</tt>
+     * so Camel cannot tell which method to call
+     */
+    public boolean isAmbiguous(@NotNull String name) {
+        MethodGroup group = groups.get(name);
+        return group != null && group.methods.size() - group.privateCount > 1 && group.handler == null;
+    }
+
+    /**
+     * The method with the given name annotated with <tt>@Handler</tt>, or <tt>null</tt> if there is none
+     */
+    @Nullable
+    public BeanMethod getHandler(@NotNull String name) {
+        MethodGroup group = groups.get(name);
+        return group != null ? group.handler : null;
+    }
+
+    /**
+     * A method of the bean
+     */
+    public static final class BeanMethod {
+
+        private final PsiMethod method;
+        private final boolean privateMethod;
+        private final boolean accessible;
+        private final boolean handler;
+        private final String parameters;
+
+        BeanMethod(PsiMethod method, boolean privateMethod, boolean accessible, boolean handler, String parameters) {
+            this.method = method;
+            this.privateMethod = privateMethod;
+            this.accessible = accessible;
+            this.handler = handler;
+            this.parameters = parameters;
+        }
+
+        @NotNull
+        public PsiMethod getMethod() {
+            return method;
+        }
+
+        @NotNull
+        public String getName() {
+            return method.getName();
+        }
+
+        public boolean isPrivate() {
+            return privateMethod;
+        }
+
+        /**
+         * Whether the method is not private nor abstract
+         */
+        public boolean isAccessible() {
+            return accessible;
+        }
+
+        /**
+         * Whether the method is annotated with <tt>@Handler</tt>
+         */
+        public boolean isHandler() {
+            return handler;
+        }
+
+        /**
+         * The parameters as text separated with comma
+         */
+        @NotNull
+        public String getParameters() {
+            return parameters;
+        }
+
+        /**
+         * The method name with the parameters, such as <tt>doSomething(String body)</tt>
+         */
+        @NotNull
+        public String getPresentableText() {
+            return parameters.isEmpty() ? method.getName() : String.format("%s(%s)", method.getName(), parameters);
+        }
+    }
+
+    private static final class MethodGroup {
+
+        private final List<BeanMethod> methods = new ArrayList<>(1);
+        private int privateCount;
+        private BeanMethod handler;
+
+        void add(BeanMethod method) {
+            methods.add(method);
+            if (method.isPrivate()) {
+                privateCount++;
+            }
+            if (method.isHandler() && handler == null) {
+                handler = method;
+            }
+        }
+    }
+}
@@ -20,16 +20,22 @@ package org.apache.camel.idea.util;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.intellij.lang.jvm.JvmModifier;
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.ServiceManager;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiParameter;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.NotNull;
 
 public class JavaMethodUtils implements Disposable {
 
@@ -46,6 +52,25 @@ public class JavaMethodUtils implements Disposable {
             .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /**
+     * Return the table of the bean methods for the specific class and it's super classes, which is cached until
+     * the Java structure of the project is changed
+     */
+    @NotNull
+    public JavaBeanMethodTable getBeanMethodTable(@NotNull PsiClass psiClass) {
+        return CachedValuesManager.getCachedValue(psiClass, () -> {
+            List<JavaBeanMethodTable.BeanMethod> methods = new ArrayList<>();
+            for (PsiMethod method : getMethods(psiClass)) {
+                boolean privateMethod = isMatchOneOfModifierType(method, JvmModifier.PRIVATE);
+                boolean accessible = !privateMethod && !isMatchOneOfModifierType(method, JvmModifier.ABSTRACT);
+                boolean handler = getCamelIdeaUtils().isAnnotatedWithHandler(method);
+                methods.add(new JavaBeanMethodTable.BeanMethod(method, privateMethod, accessible, handler, getMethodParameters(method)));
+            }
+            JavaBeanMethodTable table = new JavaBeanMethodTable(methods);
+            return CachedValueProvider.Result.create(table, PsiModificationTracker.JAVA_STRUCTURE_MODIFICATION_COUNT);
+        });
+    }
+
     /**
      *
      * @param method - method to generate display text for
@@ -126,6 +151,10 @@ public class JavaMethodUtils implements Disposable {
         return completeMethodWithParmText;
     }
 
+    private CamelIdeaUtils getCamelIdeaUtils() {
+        return ServiceManager.getService(CamelIdeaUtils.class);
+    }
+
     @Override
     public void dispose() {
 
@@ -91,5 +91,24 @@ public class CamelBeanMethodAnnotatorTestIT extends CamelLightCodeInsightFixture
         assertEquals(1, list.stream().filter(i -> i.getSeverity().getName().equals("ERROR")).count());
     }
 
+    /**
+     * Test if the annotator mark the method of a bean which is referred to by its name, which is looked up in the bean index
+     */
+    public void testAnnotatorJavaBeanByName() {
+        myFixture.addFileToProject("OrderService.java", "@Component\n"
+            + "public class OrderService {\n"
+            + "    public void process() {}\n"
+            + "}");
+        myFixture.configureByText("OrderRoute.java", "import org.apache.camel.builder.RouteBuilder;\n"
+            + "public class OrderRoute extends RouteBuilder {\n"
+            + "    public void configure() {\n"
+            + "        from(\"direct:start\").bean(\"orderService\", \"process\").bean(\"orderService\", \"methodDoesNotExist\");\n"
+            + "    }\n"
+            + "}");
+
+        List<HighlightInfo> list = myFixture.doHighlighting();
+        assertTrue(list.stream().anyMatch(i -> "Can not resolve method 'methodDoesNotExist' in bean 'OrderService'".equals(i.getDescription())));
+        assertFalse(list.stream().anyMatch(i -> "Can not resolve method 'process' in bean 'OrderService'".equals(i.getDescription())));
+    }
 
 }
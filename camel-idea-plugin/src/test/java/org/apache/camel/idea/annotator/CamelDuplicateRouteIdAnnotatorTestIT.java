@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.annotator;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.lang.annotation.HighlightSeverity;
+import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+
+/**
+ * Test if the {@link CamelDuplicateRouteIdAnnotator} warns about the route ids used by more than one route
+ */
+public class CamelDuplicateRouteIdAnnotatorTestIT extends CamelLightCodeInsightFixtureTestCaseIT {
+
+    public void testDuplicateRouteIds() {
+        myFixture.addFileToProject("routes.xml", "<routes>\n"
+            + "  <route id=\"billing\">\n"
+            + "    <from uri=\"file:inbox\"/>\n"
+            + "  </route>\n"
+            + "</routes>");
+        myFixture.configureByText("BillingRoute.java", "import org.apache.camel.builder.RouteBuilder;\n"
+            + "public class BillingRoute extends RouteBuilder {\n"
+            + "    public void configure() throws Exception {\n"
+            + "        from(\"direct:billing\").routeId(\"billing\").to(\"log:billing\");\n"
+            + "        from(\"direct:invoice\").routeId(\"invoice\").to(\"log:invoice\");\n"
+            + "    }\n"
+            + "}");
+
+        List<String> warnings = myFixture.doHighlighting().stream()
+            .filter(info -> info.getSeverity() == HighlightSeverity.WARNING)
+            .map(HighlightInfo::getDescription)
+            .filter(description -> description != null && description.startsWith("Duplicate route id"))
+            .collect(Collectors.toList());
+        assertEquals(1, warnings.size());
+        assertEquals("Duplicate route id 'billing'", warnings.get(0));
+    }
+
+}
@@ -20,6 +20,7 @@ import java.util.List;
 import com.intellij.codeInsight.daemon.impl.HighlightInfo;
 import com.intellij.lang.annotation.HighlightSeverity;
 import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+import org.apache.camel.idea.util.CamelPerformanceCounter;
 
 /**
  * Test Camel URI validation and the expected value is highlighted
@@ -52,6 +53,34 @@ public class CamelEndpointAnnotatorTestIT extends CamelLightCodeInsightFixtureTe
         myFixture.checkHighlighting(false, false, true, true);
     }
 
+    public void testAnnotatorValidationOutcomeIsReused() {
+        myFixture.configureByText("AnnotatorTestData.java", getJavaInvalidBooleanPropertyTestData());
+        myFixture.checkHighlighting(false, false, true, true);
+
+        long validations = CamelPerformanceCounter.VALIDATIONS.get();
+        long reused = CamelPerformanceCounter.VALIDATIONS_REUSED.get();
+        myFixture.checkHighlighting(false, false, true, true);
+
+        // nothing was changed so the cached outcome should be used
+        assertEquals(validations, CamelPerformanceCounter.VALIDATIONS.get());
+        assertTrue(CamelPerformanceCounter.VALIDATIONS_REUSED.get() > reused);
+    }
+
+    public void testAnnotatorRejectsFileWithoutCamel() {
+        myFixture.configureByText("PlainTestData.java", "public class PlainTestData {\n"
+            + "    private String name = \"Hello World\";\n"
+            + "    private int count = 42;\n"
+            + "}");
+
+        long validations = CamelPerformanceCounter.VALIDATIONS.get();
+        long rejected = CamelPerformanceCounter.REJECTED_ELEMENTS.get() + CamelPerformanceCounter.REJECTED_FILES.get();
+        myFixture.checkHighlighting(false, false, true, true);
+
+        // the file has no Camel so nothing should be validated
+        assertEquals(validations, CamelPerformanceCounter.VALIDATIONS.get());
+        assertTrue(CamelPerformanceCounter.REJECTED_ELEMENTS.get() + CamelPerformanceCounter.REJECTED_FILES.get() > rejected);
+    }
+
     public void testAnnotatorInvalidBooleanPropertyProducerValidation() {
         myFixture.configureByText("AnnotatorTestData.java", getJavaInvalidBooleanPropertyInProducerTestData());
         myFixture.checkHighlighting(false, false, true, true);
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.annotator;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+
+/**
+ * Test the time budget of the {@link CamelExternalAnnotator} and the validations deferred to the background
+ */
+public class CamelExternalAnnotatorTestIT extends CamelLightCodeInsightFixtureTestCaseIT {
+
+    private static final String ROUTE = "import org.apache.camel.builder.RouteBuilder;\n"
+        + "public class MyRouteBuilder extends RouteBuilder {\n"
+        + "    public void configure() throws Exception {\n"
+        + "        from(\"timer:foo?period=abc\")\n"
+        + "            .to(\"log:bar?showAll=abc\");\n"
+        + "    }\n"
+        + "}";
+
+    private final List<AbstractCamelAnnotator> annotators = Collections.singletonList(new CamelEndpointAnnotator());
+
+    public void testValidateWithinBudget() {
+        PsiFile file = myFixture.configureByText("MyRouteBuilder.java", ROUTE);
+        List<CamelExternalAnnotator.Item> pending = CamelExternalAnnotator.collect(file, annotators, true).getPending();
+        assertEquals(2, pending.size());
+
+        List<CamelExternalAnnotator.Item> deferred = CamelExternalAnnotator.validate(pending, TimeUnit.MINUTES.toMillis(1));
+        assertTrue(deferred.isEmpty());
+        for (CamelExternalAnnotator.Item item : pending) {
+            assertNotNull(item.getOutcome());
+            assertFalse(item.getOutcome().isEmpty());
+        }
+    }
+
+    public void testDeferWhenBudgetIsUsedUp() {
+        PsiFile file = myFixture.configureByText("MyRouteBuilder.java", ROUTE);
+        List<CamelExternalAnnotator.Item> pending = CamelExternalAnnotator.collect(file, annotators, true).getPending();
+
+        List<CamelExternalAnnotator.Item> deferred = CamelExternalAnnotator.validate(pending, 0);
+        assertEquals(pending.size(), deferred.size());
+        for (CamelExternalAnnotator.Item item : deferred) {
+            assertNull(item.getOutcome());
+        }
+
+        CamelExternalAnnotator.DeferredValidation job = CamelExternalAnnotator.DeferredValidation.create(file, deferred);
+        // the literals being validated in the background are not validated again by the next highlighting pass
+        assertTrue(CamelExternalAnnotator.collect(file, annotators, true).getPending().isEmpty());
+
+        assertEquals(2, job.run());
+
+        // the outcomes are cached on the literals by the background job
+        CamelExternalAnnotator.Batch batch = CamelExternalAnnotator.collect(file, annotators, true);
+        assertTrue(batch.getPending().isEmpty());
+        for (CamelExternalAnnotator.Item item : batch.getItems()) {
+            assertNotNull(item.getOutcome());
+            assertFalse(item.getOutcome().isEmpty());
+        }
+    }
+
+    public void testDeferredValidationIsDroppedWhenChanged() {
+        PsiFile file = myFixture.configureByText("MyRouteBuilder.java", ROUTE);
+        List<CamelExternalAnnotator.Item> pending = CamelExternalAnnotator.collect(file, annotators, true).getPending();
+        CamelExternalAnnotator.DeferredValidation job = CamelExternalAnnotator.DeferredValidation.create(file, CamelExternalAnnotator.validate(pending, 0));
+
+        Document document = myFixture.getEditor().getDocument();
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            document.replaceString(0, document.getTextLength(), ROUTE.replace("abc", "123"));
+            PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+        });
+
+        // the changed literals are not validated by the background job
+        assertEquals(0, job.run());
+        // but by the next highlighting pass
+        assertEquals(2, CamelExternalAnnotator.collect(myFixture.getFile(), annotators, true).getPending().size());
+    }
+
+    public void testDeferredValidationIsCancelledByNextJob() {
+        PsiFile file = myFixture.configureByText("MyRouteBuilder.java", ROUTE);
+        List<CamelExternalAnnotator.Item> pending = CamelExternalAnnotator.collect(file, annotators, true).getPending();
+        CamelExternalAnnotator.DeferredValidation first = CamelExternalAnnotator.DeferredValidation.create(file, CamelExternalAnnotator.validate(pending, 0));
+
+        pending = CamelExternalAnnotator.collect(file, annotators, false).getPending();
+        CamelExternalAnnotator.DeferredValidation second = CamelExternalAnnotator.DeferredValidation.create(file, CamelExternalAnnotator.validate(pending, 0));
+
+        assertEquals(0, first.run());
+        assertEquals(2, second.run());
+    }
+
+    public void testFailingValidationOnlyFailsItsLiteral() {
+        PsiFile file = myFixture.configureByText("MyRouteBuilder.java", ROUTE);
+        List<CamelExternalAnnotator.Item> pending = CamelExternalAnnotator.collect(file, annotators, false).getPending();
+        CamelExternalAnnotator.Item first = pending.get(0);
+        CamelExternalAnnotator.Item failing = new CamelExternalAnnotator.Item(annotators.get(0), first.getElement(), null, outcome -> {
+            throw new IllegalStateException("Simulated failure");
+        }, null);
+
+        failing.validateNow();
+        first.validateNow();
+
+        // the failure is logged and the literal has no problems, and the other literals are still validated
+        assertNotNull(failing.getOutcome());
+        assertTrue(failing.getOutcome().isEmpty());
+        assertFalse(first.getOutcome().isEmpty());
+    }
+
+}
@@ -19,6 +19,7 @@ package org.apache.camel.idea.completion;
 import java.util.List;
 import com.intellij.codeInsight.completion.CompletionType;
 import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+import org.apache.camel.idea.util.CamelPerformanceCounter;
 import org.hamcrest.Matchers;
 import static org.junit.Assert.assertThat;
 
@@ -45,6 +46,20 @@ public class JavaEndpointSmartCompletionTestIT extends CamelLightCodeInsightFixt
         assertTrue("There is less options", strings.size() < 30);
     }
 
+    public void testCompletionReusesCachedModels() {
+        myFixture.configureByFiles("CompleteJavaEndpointConsumerTestData.java");
+        myFixture.complete(CompletionType.BASIC, 1);
+        List<String> first = myFixture.getLookupElementStrings();
+
+        // completing the same uri again should not compute the component model and options again
+        long computed = CamelPerformanceCounter.COMPLETION_MODELS.get();
+        long reused = CamelPerformanceCounter.COMPLETION_MODELS_REUSED.get();
+        myFixture.complete(CompletionType.BASIC, 1);
+        assertEquals(first, myFixture.getLookupElementStrings());
+        assertEquals(computed, CamelPerformanceCounter.COMPLETION_MODELS.get());
+        assertTrue(CamelPerformanceCounter.COMPLETION_MODELS_REUSED.get() > reused);
+    }
+
     private String getJavaInTheMiddleUnresolvedOptionsTestData() {
         return "import org.apache.camel.builder.RouteBuilder;\n"
             + "public class MyRouteBuilder extends RouteBuilder {\n"
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.completion;
+
+import java.util.List;
+
+import com.intellij.codeInsight.completion.CompletionType;
+import com.intellij.lang.injection.InjectedLanguageManager;
+import com.intellij.psi.PsiElement;
+import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+import org.apache.camel.idea.simple.SimpleLanguage;
+import org.hamcrest.Matchers;
+
+import static org.junit.Assert.assertThat;
+
+/**
+ * Testing the injected simple language and the completion of its functions in Java DSL
+ */
+public class JavaSimpleFunctionCompletionTestIT extends CamelLightCodeInsightFixtureTestCaseIT {
+
+    private static final String CAMEL_ROUTE_WITH_SIMPLE =
+        "import org.apache.camel.builder.RouteBuilder;\n"
+            + "\n"
+            + "public final class CompleteSimpleTestData extends RouteBuilder {\n"
+            + "\n"
+            + "    @Override\n"
+            + "    public void configure() {\n"
+            + "        from(\"file:inbox\")\n"
+            + "            .log(\"Hello ${he<caret>}\")\n"
+            + "            .to(\"log:out\");\n"
+            + "    }\n"
+            + "}";
+
+    private static final String CAMEL_ROUTE_WITHOUT_SIMPLE =
+        "import org.apache.camel.builder.RouteBuilder;\n"
+            + "\n"
+            + "public final class CompleteSimpleTestData extends RouteBuilder {\n"
+            + "\n"
+            + "    @Override\n"
+            + "    public void configure() {\n"
+            + "        from(\"file:in<caret>box\")\n"
+            + "            .log(\"Hello ${body}\")\n"
+            + "            .to(\"log:out\");\n"
+            + "    }\n"
+            + "}";
+
+    public void testSimpleIsInjected() {
+        myFixture.configureByText("CompleteSimpleTestData.java", CAMEL_ROUTE_WITH_SIMPLE);
+        PsiElement injected = InjectedLanguageManager.getInstance(getProject()).findInjectedElementAt(myFixture.getFile(), myFixture.getCaretOffset());
+        assertNotNull(injected);
+        assertEquals(SimpleLanguage.INSTANCE, injected.getLanguage());
+    }
+
+    public void testSimpleIsNotInjectedInEndpoint() {
+        myFixture.configureByText("CompleteSimpleTestData.java", CAMEL_ROUTE_WITHOUT_SIMPLE);
+        PsiElement injected = InjectedLanguageManager.getInstance(getProject()).findInjectedElementAt(myFixture.getFile(), myFixture.getCaretOffset());
+        assertNull(injected);
+    }
+
+    public void testSimpleFunctionCompletion() {
+        myFixture.configureByText("CompleteSimpleTestData.java", CAMEL_ROUTE_WITH_SIMPLE);
+        myFixture.complete(CompletionType.BASIC, 1);
+        List<String> strings = myFixture.getLookupElementStrings();
+        assertThat(strings, Matchers.hasItems("header.", "headers.", "headerAs()"));
+        assertThat(strings, Matchers.not(Matchers.hasItem("body")));
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.index;
+
+import java.util.List;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.xml.XmlAttributeValue;
+import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+
+public class CamelBeanIndexTestIT extends CamelLightCodeInsightFixtureTestCaseIT {
+
+    public void testJavaAndXmlBeans() {
+        myFixture.addFileToProject("OrderService.java", "@Component\n"
+            + "public class OrderService {\n"
+            + "    public void process() {}\n"
+            + "}");
+        myFixture.addFileToProject("InvoiceService.java", "@Named(\"invoices\")\n"
+            + "public class InvoiceService {\n"
+            + "}");
+        myFixture.addFileToProject("BeanConfig.java", "public class BeanConfig {\n"
+            + "    @Bean\n"
+            + "    public OrderService orders() { return new OrderService(); }\n"
+            + "    @Bean(name = {\"billing\", \"payments\"})\n"
+            + "    public InvoiceService invoiceService() { return new InvoiceService(); }\n"
+            + "}");
+        myFixture.addFileToProject("MyRoute.java", "import org.apache.camel.builder.RouteBuilder;\n"
+            + "public class MyRoute extends RouteBuilder {\n"
+            + "    public void configure() throws Exception {\n"
+            + "        bindToRegistry(\"registered\", new OrderService());\n"
+            + "        from(\"direct:start\").bean(\"orderService\", \"process\");\n"
+            + "    }\n"
+            + "}");
+        myFixture.addFileToProject("beans.xml", "<beans>\n"
+            + "  <bean id=\"xmlOrders\" class=\"OrderService\"/>\n"
+            + "  <camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+            + "    <route>\n"
+            + "      <from uri=\"direct:xml\"/>\n"
+            + "      <bean id=\"step\" ref=\"xmlOrders\" method=\"process\"/>\n"
+            + "    </route>\n"
+            + "  </camelContext>\n"
+            + "</beans>");
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(getProject());
+
+        assertEquals("[billing, invoices, orderService, orders, registered, xmlOrders]",
+            CamelBeanIndex.getBeanNames(getProject(), scope).toString());
+
+        List<PsiElement> orderService = CamelBeanIndex.findBeanElements(getProject(), "orderService", scope);
+        assertEquals(1, orderService.size());
+        assertTrue(orderService.get(0) instanceof PsiClass);
+        assertTrue(CamelBeanIndex.findBeanElements(getProject(), "orders", scope).get(0) instanceof PsiMethod);
+        assertTrue(CamelBeanIndex.findBeanElements(getProject(), "xmlOrders", scope).get(0) instanceof XmlAttributeValue);
+        assertTrue(CamelBeanIndex.findBeanElements(getProject(), "step", scope).isEmpty());
+
+        assertEquals("OrderService", CamelBeanIndex.findBeanClass(getProject(), "orders", scope).getQualifiedName());
+        assertEquals("OrderService", CamelBeanIndex.findBeanClass(getProject(), "registered", scope).getQualifiedName());
+        assertEquals("OrderService", CamelBeanIndex.findBeanClass(getProject(), "xmlOrders", scope).getQualifiedName());
+        assertEquals("InvoiceService", CamelBeanIndex.findBeanClass(getProject(), "billing", scope).getQualifiedName());
+        assertNull(CamelBeanIndex.findBeanClass(getProject(), "unknown", scope));
+    }
+
+    public void testGetBeanName() {
+        assertEquals("orderService", CamelBeanIndex.getBeanName("bean:orderService?method=process"));
+        assertEquals("orderService", CamelBeanIndex.getBeanName("ref:orderService"));
+        assertNull(CamelBeanIndex.getBeanName("bean:"));
+        assertNull(CamelBeanIndex.getBeanName("direct:orderService"));
+    }
+
+}
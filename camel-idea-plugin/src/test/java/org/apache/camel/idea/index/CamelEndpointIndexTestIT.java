@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.index;
+
+import java.util.List;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.FileBasedIndex;
+import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+
+public class CamelEndpointIndexTestIT extends CamelLightCodeInsightFixtureTestCaseIT {
+
+    public void testJavaEndpoints() {
+        PsiFile file = myFixture.configureByText("MyRouteBuilder.java", "import org.apache.camel.builder.RouteBuilder;\n"
+            + "public class MyRouteBuilder extends RouteBuilder {\n"
+            + "    private static final String OUTBOX = \"file:outbox\";\n"
+            + "    public void configure() throws Exception {\n"
+            + "        from(\"file:inbox\").to(\"log:foo\").to(\"file:\" + OUTBOX);\n"
+            + "    }\n"
+            + "}");
+
+        List<List<CamelEndpointIndex.Endpoint>> inbox = getValues("file:inbox", file);
+        assertEquals(1, inbox.size());
+        CamelEndpointIndex.Endpoint endpoint = inbox.get(0).get(0);
+        assertEquals(CamelEndpointIndex.Role.CONSUMER, endpoint.getRole());
+        assertEquals("from", endpoint.getDsl());
+        assertEquals("\"file:inbox\"", file.findElementAt(endpoint.getOffset()).getText());
+        assertTrue(endpoint.isRouteStart());
+
+        // the constant is not given to a DSL method, and the first part of the concatenated uri is not the uri
+        assertTrue(getValues("file:outbox", file).isEmpty());
+        assertEquals(1, getValues("file", file).get(0).size());
+        CamelEndpointIndex.Endpoint log = getValues("log:foo", file).get(0).get(0);
+        assertEquals(CamelEndpointIndex.Role.PRODUCER, log.getRole());
+        assertEquals("file:inbox", log.getRoute());
+        assertEquals(endpoint.getOffset(), log.getRouteOffset());
+        assertTrue(getValues("file:", file).isEmpty());
+    }
+
+    public void testOnlyDslMethods() {
+        PsiFile file = myFixture.configureByText("MyRouteBuilder.java", "import org.apache.camel.builder.RouteBuilder;\n"
+            + "public class MyRouteBuilder extends RouteBuilder {\n"
+            + "    public void configure() throws Exception {\n"
+            + "        onException(Exception.class).to(\"log:error\");\n"
+            + "        from(\"direct:start\").log(\"Error: failed\").setHeader(\"foo:bar\", constant(\"x\"));\n"
+            + "    }\n"
+            + "}");
+
+        CamelEndpointIndex.Endpoint error = getValues("log:error", file).get(0).get(0);
+        assertEquals("to", error.getDsl());
+        assertEquals(-1, error.getRouteOffset());
+        assertTrue(getValues("Error: failed", file).isEmpty());
+        assertTrue(getValues("foo", file).isEmpty());
+    }
+
+    public void testXmlEndpoints() {
+        PsiFile file = myFixture.configureByText("routes.xml", "<routes>\n"
+            + "  <route>\n"
+            + "    <from uri=\"timer:trigger?period=1000&amp;delay=500\"/>\n"
+            + "    <to uri=\"log:foo\"/>\n"
+            + "  </route>\n"
+            + "</routes>");
+
+        CamelEndpointIndex.Endpoint endpoint = getValues("timer:trigger?period=1000&delay=500", file).get(0).get(0);
+        assertEquals(CamelEndpointIndex.Role.CONSUMER, endpoint.getRole());
+        assertEquals("from", endpoint.getDsl());
+        assertEquals("timer:trigger?period=1000&amp;delay=500", file.findElementAt(endpoint.getOffset()).getText());
+
+        List<PsiElement> elements = CamelEndpointIndex.findEndpointElements(getProject(), "log:foo", GlobalSearchScope.allScope(getProject()),
+            e -> e.getRole() == CamelEndpointIndex.Role.PRODUCER);
+        assertEquals(1, elements.size());
+        assertEquals("log:foo", elements.get(0).getText());
+    }
+
+    public void testNormalize() {
+        assertEquals("file:inbox?delete=true&noop=true", CamelEndpointIndex.normalize("file:inbox?delete=true\n      &noop=true\n"));
+        assertEquals("file", CamelEndpointIndex.getScheme("file:inbox"));
+        assertNull(CamelEndpointIndex.getScheme("Hello World: foo"));
+        assertNull(CamelEndpointIndex.getScheme("{{scheme}}:inbox"));
+    }
+
+    private List<List<CamelEndpointIndex.Endpoint>> getValues(String key, PsiFile file) {
+        return FileBasedIndex.getInstance().getValues(CamelEndpointIndex.NAME, key, GlobalSearchScope.fileScope(file));
+    }
+
+}
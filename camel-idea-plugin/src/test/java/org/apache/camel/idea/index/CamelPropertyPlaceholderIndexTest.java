@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.index;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CamelPropertyPlaceholderIndexTest {
+
+    @Test
+    public void loadProperties() {
+        Map<String, String> properties = CamelPropertyPlaceholderIndex.loadProperties(("# comment\n"
+            + "mysql.host = localhost\n"
+            + "mysql.port=3306\n"
+            + "greeting=Hello \\\n"
+            + "  World\n").getBytes(StandardCharsets.ISO_8859_1));
+        assertEquals(3, properties.size());
+        assertEquals("localhost", properties.get("mysql.host"));
+        assertEquals("3306", properties.get("mysql.port"));
+    }
+
+    @Test
+    public void loadYaml() {
+        Map<String, String> properties = CamelPropertyPlaceholderIndex.loadYaml(("mysql:\n"
+            + "  service:\n"
+            + "    host: localhost\n"
+            + "    port: 3306\n"
+            + "servers:\n"
+            + "  - one\n"
+            + "  - two\n").getBytes(StandardCharsets.UTF_8));
+        assertEquals(4, properties.size());
+        assertEquals("localhost", properties.get("mysql.service.host"));
+        assertEquals("3306", properties.get("mysql.service.port"));
+        assertEquals("one", properties.get("servers[0]"));
+        assertEquals("two", properties.get("servers[1]"));
+    }
+
+    @Test
+    public void invalidYaml() {
+        assertTrue(CamelPropertyPlaceholderIndex.loadYaml("foo: [bar".getBytes(StandardCharsets.UTF_8)).isEmpty());
+        assertTrue(CamelPropertyPlaceholderIndex.loadYaml(new byte[0]).isEmpty());
+    }
+
+    @Test
+    public void yamlWithJavaTypes() {
+        // only plain maps, lists and values are created from the file
+        assertTrue(CamelPropertyPlaceholderIndex.loadYaml("foo: !!java.io.File [bar]".getBytes(StandardCharsets.UTF_8)).isEmpty());
+    }
+
+}
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.index;
+
+import java.util.List;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.psi.PsiDocumentManager;
+import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+
+public class CamelRouteGraphTestIT extends CamelLightCodeInsightFixtureTestCaseIT {
+
+    private static final String JAVA_ROUTES = "import org.apache.camel.builder.RouteBuilder;\n"
+        + "public class BillingRoute extends RouteBuilder {\n"
+        + "    public void configure() throws Exception {\n"
+        + "        from(\"timer:trigger\").to(\"direct:billing\").wireTap(\"log:tap\");\n"
+        + "        from(\"direct:billing\").to(\"log:billing\");\n"
+        + "        onException(Exception.class).to(\"direct:billing\");\n"
+        + "    }\n"
+        + "}";
+
+    private static final String XML_ROUTES = "<routes>\n"
+        + "  <route>\n"
+        + "    <from uri=\"file:inbox\"/>\n"
+        + "    <to uri=\"direct:billing\"/>\n"
+        + "  </route>\n"
+        + "</routes>";
+
+    public void testCallsAndRoutes() {
+        myFixture.addFileToProject("BillingRoute.java", JAVA_ROUTES);
+        myFixture.addFileToProject("routes.xml", XML_ROUTES);
+        CamelRouteGraph graph = getGraph();
+
+        assertEquals(3, graph.getRoutes().size());
+        List<CamelRouteGraph.Route> billing = graph.getRoutesFrom("direct:billing");
+        assertEquals(1, billing.size());
+        assertEquals("BillingRoute.java", billing.get(0).getFile().getName());
+
+        // two routes and the error handler calls the billing route
+        List<CamelRouteGraph.Call> calls = graph.getCallsTo("direct:billing");
+        assertEquals(3, calls.size());
+        List<CamelRouteGraph.Route> callers = graph.getCallers(billing.get(0));
+        assertEquals(2, callers.size());
+        assertTrue(callers.stream().anyMatch(route -> route.getUri().equals("timer:trigger")));
+        assertTrue(callers.stream().anyMatch(route -> route.getUri().equals("file:inbox")));
+
+        CamelRouteGraph.Route timer = graph.getRoutesFrom("timer:trigger").get(0);
+        assertEquals(2, timer.getCalls().size());
+        assertEquals("wireTap", timer.getCalls().get(1).getEndpoint().getDsl());
+        assertEquals(billing, graph.getCallees(timer));
+        assertEquals("\"timer:trigger\"", timer.getElement(getPsiManager()).getText());
+    }
+
+    public void testUpdateChangedFile() {
+        myFixture.configureByText("BillingRoute.java", JAVA_ROUTES);
+        CamelRouteGraph graph = getGraph();
+        assertEquals(1, graph.getRoutesFrom("direct:billing").size());
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            String text = myFixture.getEditor().getDocument().getText().replace("from(\"direct:billing\")", "from(\"direct:invoice\")");
+            myFixture.getEditor().getDocument().setText(text);
+        });
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+        assertTrue(graph.getRoutesFrom("direct:billing").isEmpty());
+        assertEquals(1, graph.getRoutesFrom("direct:invoice").size());
+        assertEquals(2, graph.getRoutes().size());
+    }
+
+    private CamelRouteGraph getGraph() {
+        return ServiceManager.getService(getProject(), CamelRouteGraph.class);
+    }
+
+}
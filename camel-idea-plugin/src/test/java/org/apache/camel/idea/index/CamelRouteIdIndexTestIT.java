@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.index;
+
+import java.util.List;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+
+public class CamelRouteIdIndexTestIT extends CamelLightCodeInsightFixtureTestCaseIT {
+
+    public void testJavaAndXmlRouteIds() {
+        myFixture.addFileToProject("BillingRoute.java", "import org.apache.camel.builder.RouteBuilder;\n"
+            + "public class BillingRoute extends RouteBuilder {\n"
+            + "    public void configure() throws Exception {\n"
+            + "        from(\"direct:billing\").routeId(\"billing\").to(\"log:billing\");\n"
+            + "        from(\"direct:invoice\").routeId(\"invoice\").to(\"log:invoice\");\n"
+            + "    }\n"
+            + "}");
+        myFixture.addFileToProject("routes.xml", "<routes>\n"
+            + "  <route id=\"billing\">\n"
+            + "    <from uri=\"file:inbox\"/>\n"
+            + "  </route>\n"
+            + "</routes>");
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(getProject());
+
+        List<PsiElement> billing = CamelRouteIdIndex.findRouteIdElements(getProject(), "billing", scope);
+        assertEquals(2, billing.size());
+        assertTrue(billing.stream().anyMatch(e -> e.getText().equals("\"billing\"")));
+        assertTrue(billing.stream().anyMatch(e -> e.getText().equals("billing")));
+
+        assertTrue(CamelRouteIdIndex.isDuplicate(getProject(), "billing", scope));
+        assertFalse(CamelRouteIdIndex.isDuplicate(getProject(), "invoice", scope));
+        assertFalse(CamelRouteIdIndex.isDuplicate(getProject(), "unknown", scope));
+    }
+
+}
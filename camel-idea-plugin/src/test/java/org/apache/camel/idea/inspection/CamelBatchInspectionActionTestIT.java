@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.inspection;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.intellij.psi.PsiFile;
+import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+import org.apache.camel.idea.annotator.CamelBatchValidator;
+
+/**
+ * Test the {@link CamelBatchInspectionAction} finds the Camel files of a small project, and they are validated in a batch
+ */
+public class CamelBatchInspectionActionTestIT extends CamelLightCodeInsightFixtureTestCaseIT {
+
+    private static final String ROUTE = "import org.apache.camel.builder.RouteBuilder;\n"
+        + "public class MyRouteBuilder extends RouteBuilder {\n"
+        + "    public void configure() throws Exception {\n"
+        + "        from(\"timer:foo?period=abc\")\n"
+        + "            .filter().simple(\"${body} == 'foo'\")\n"
+        + "            .to(\"log:bar?showAll=abc\");\n"
+        + "    }\n"
+        + "}";
+
+    private static final String PROPERTIES = "my.endpoint=timer:bar?period=abc\n";
+
+    private static final String PLAIN = "public class Plain {\n"
+        + "    private String name = \"foo\";\n"
+        + "}";
+
+    private void addProject() {
+        myFixture.addFileToProject("MyRouteBuilder.java", ROUTE);
+        myFixture.addFileToProject("application.properties", PROPERTIES);
+        myFixture.addFileToProject("Plain.java", PLAIN);
+    }
+
+    public void testFindCandidateFiles() {
+        addProject();
+
+        List<PsiFile> files = CamelBatchInspectionAction.findCandidateFiles(getProject());
+        Map<String, PsiFile> names = new HashMap<>();
+        files.forEach(file -> names.put(file.getName(), file));
+        assertTrue(names.containsKey("MyRouteBuilder.java"));
+        assertTrue(names.containsKey("application.properties"));
+        assertFalse(names.containsKey("Plain.java"));
+    }
+
+    public void testValidateFiles() {
+        addProject();
+
+        CamelBatchValidator validator = new CamelBatchValidator();
+        Map<String, CamelBatchValidator.Result> results = new HashMap<>();
+        for (PsiFile file : CamelBatchInspectionAction.findCandidateFiles(getProject())) {
+            results.put(file.getName(), validator.validate(file));
+        }
+
+        CamelBatchValidator.Result route = results.get("MyRouteBuilder.java");
+        assertEquals(3, route.getLiterals());
+        assertEquals(2, route.getProblems().size());
+        CamelBatchValidator.Result properties = results.get("application.properties");
+        assertEquals(1, properties.getLiterals());
+        assertEquals(1, properties.getProblems().size());
+        assertEquals(0, properties.getProblems().get(0).getLine());
+
+        // the outcomes are cached so validating again does not run the validations
+        PsiFile routeFile = CamelBatchInspectionAction.findCandidateFiles(getProject()).stream()
+            .filter(file -> file.getName().equals("MyRouteBuilder.java")).findFirst().orElse(null);
+        assertNotNull(routeFile);
+        CamelBatchValidator.Result again = validator.validate(routeFile);
+        assertEquals(0, again.getValidated());
+        assertEquals(2, again.getProblems().size());
+    }
+
+    public void testValidateFileWithoutCamel() {
+        PsiFile file = myFixture.addFileToProject("Plain.java", PLAIN);
+
+        CamelBatchValidator.Result result = new CamelBatchValidator().validate(file);
+        assertEquals(0, result.getLiterals());
+        assertTrue(result.getProblems().isEmpty());
+    }
+
+}
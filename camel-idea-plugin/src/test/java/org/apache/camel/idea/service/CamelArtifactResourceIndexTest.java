@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.service;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.apache.camel.catalog.CatalogHelper.loadText;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CamelArtifactResourceIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void lookupByEntryName() throws Exception {
+        File jar = createJar("camel-catalog-2.22.0.jar", "org/apache/camel/catalog/components/timer.json", "{\"component\":\"timer\"}");
+        URLClassLoader loader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null);
+
+        CamelArtifactResourceIndex index = CamelArtifactResourceIndex.forArtifact(loader, "camel-catalog", "2.22.0");
+        assertNotNull(index);
+        assertEquals(1, index.size());
+
+        try (InputStream is = index.getResourceAsStream("org/apache/camel/catalog/components/timer.json")) {
+            assertEquals("{\"component\":\"timer\"}", loadText(is).trim());
+        }
+        assertNull(index.getResourceAsStream("org/apache/camel/catalog/components/file.json"));
+    }
+
+    @Test
+    public void unknownVersion() throws Exception {
+        File jar = createJar("camel-catalog-2.22.0.jar", "foo.txt", "foo");
+        URLClassLoader loader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null);
+
+        assertNull(CamelArtifactResourceIndex.forArtifact(loader, "camel-catalog", "2.21.0"));
+    }
+
+    @Test
+    public void jarIsNotKeptOpen() throws Exception {
+        File jar = createJar("camel-catalog-2.21.0.jar", "org/apache/camel/catalog/components/timer.json", "{\"component\":\"timer\"}");
+        URLClassLoader loader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null);
+
+        CamelArtifactResourceIndex index = CamelArtifactResourceIndex.forArtifact(loader, "camel-catalog", "2.21.0");
+        assertNotNull(index);
+        try (InputStream is = index.getResourceAsStream("org/apache/camel/catalog/components/timer.json")) {
+            assertNotNull(is);
+        }
+
+        // the jar can be removed, such as when the grape cache is cleaned, as the index only has the names of the entries
+        assertTrue(jar.delete());
+        assertEquals(1, index.size());
+        assertNull(index.getResourceAsStream("org/apache/camel/catalog/components/timer.json"));
+    }
+
+    private File createJar(String name, String entry, String content) throws Exception {
+        File file = folder.newFile(name);
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file))) {
+            out.putNextEntry(new JarEntry(entry));
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.service;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+public class CamelMavenVersionManagerTest {
+
+    @Test
+    public void asArtifactUrl() {
+        assertEquals("https://repo1.maven.org/maven2/org/apache/camel/camel-catalog/2.22.0/camel-catalog-2.22.0.pom",
+            CamelMavenVersionManager.asArtifactUrl("https://repo1.maven.org/maven2", "org.apache.camel", "camel-catalog", "2.22.0"));
+        assertEquals("https://repo1.maven.org/maven2/org/apache/camel/camel-catalog/2.22.0/camel-catalog-2.22.0.pom",
+            CamelMavenVersionManager.asArtifactUrl("https://repo1.maven.org/maven2/", "org.apache.camel", "camel-catalog", "2.22.0"));
+    }
+
+    @Test
+    public void asArtifactUrlSnapshot() {
+        assertEquals("https://repository.apache.org/snapshots/org/apache/camel/camel-catalog/2.23.0-SNAPSHOT/maven-metadata.xml",
+            CamelMavenVersionManager.asArtifactUrl("https://repository.apache.org/snapshots", "org.apache.camel", "camel-catalog", "2.23.0-SNAPSHOT"));
+    }
+}
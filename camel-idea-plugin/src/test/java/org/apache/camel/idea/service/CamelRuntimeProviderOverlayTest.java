@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class CamelRuntimeProviderOverlayTest {
+
+    private final CamelRuntimeProviderOverlay overlay = new CamelRuntimeProviderOverlay(CamelRuntimeProviderOverlay.SPRING_BOOT, "2.22.0",
+        Arrays.asList("direct", "timer"), Collections.singletonList("json-jackson"), Arrays.asList("simple", "jsonpath"));
+
+    @Test
+    public void detectRuntimeProvider() {
+        assertEquals(CamelRuntimeProviderOverlay.SPRING_BOOT, CamelService.detectRuntimeProvider("org.apache.camel", "camel-spring-boot"));
+        assertEquals(CamelRuntimeProviderOverlay.SPRING_BOOT, CamelService.detectRuntimeProvider("org.apache.camel", "camel-spring-boot-starter"));
+        assertEquals(CamelRuntimeProviderOverlay.KARAF, CamelService.detectRuntimeProvider("org.apache.camel.karaf", "apache-camel"));
+        // karaf itself is also used outside karaf
+        assertNull(CamelService.detectRuntimeProvider("org.apache.karaf.shell", "org.apache.karaf.shell.core"));
+        assertNull(CamelService.detectRuntimeProvider("org.apache.karaf", "karaf"));
+        assertNull(CamelService.detectRuntimeProvider("org.apache.camel", "camel-core"));
+    }
+
+    @Test
+    public void overlayNames() {
+        CamelCatalog catalog = new DefaultCamelCatalog();
+        catalog.setRuntimeProvider(overlay);
+
+        assertEquals(Arrays.asList("direct", "timer"), catalog.findComponentNames());
+        assertEquals(Collections.singletonList("json-jackson"), catalog.findDataFormatNames());
+        assertEquals(Arrays.asList("jsonpath", "simple"), catalog.findLanguageNames());
+        // the json schemas are still read from the standard catalog
+        assertNotNull(catalog.componentJSonSchema("timer"));
+    }
+
+    @Test
+    public void overlayIsSharedByCatalogs() {
+        CamelCatalog first = new DefaultCamelCatalog();
+        CamelCatalog second = new DefaultCamelCatalog();
+        first.setRuntimeProvider(overlay);
+        second.setRuntimeProvider(overlay);
+
+        assertNull(overlay.getCamelCatalog());
+        assertEquals(first.findComponentNames(), second.findComponentNames());
+    }
+
+}
@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaFile;
+import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+
+public class CamelClassHierarchyTestIT extends CamelLightCodeInsightFixtureTestCaseIT {
+
+    public void testIndirectRouteBuilder() {
+        myFixture.addFileToProject("BaseRouteBuilder.java", "import org.apache.camel.builder.RouteBuilder;\n"
+            + "public abstract class BaseRouteBuilder extends RouteBuilder {\n"
+            + "}");
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyRoute.java", "public class MyRoute extends BaseRouteBuilder {\n"
+            + "    public void configure() throws Exception {\n"
+            + "        from(\"timer:trigger\").to(\"log:foo\");\n"
+            + "    }\n"
+            + "}");
+        PsiClass clazz = file.getClasses()[0];
+
+        assertTrue(CamelClassHierarchy.isInheritor(clazz, CamelClassHierarchy.ROUTE_BUILDER));
+        assertTrue(CamelClassHierarchy.isInheritor(clazz, CamelClassHierarchy.ROUTES_BUILDER));
+        assertTrue(CamelClassHierarchy.getInheritors(getProject(), CamelClassHierarchy.ROUTE_BUILDER).contains("BaseRouteBuilder"));
+        assertEquals(CamelFileKind.JAVA_ROUTE_BUILDER, CamelFileKind.of(file));
+    }
+
+    public void testNotRouteBuilder() {
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("Plain.java", "public class Plain {\n"
+            + "}");
+        assertFalse(CamelClassHierarchy.isInheritor(file.getClasses()[0], CamelClassHierarchy.ROUTE_BUILDER));
+    }
+
+}
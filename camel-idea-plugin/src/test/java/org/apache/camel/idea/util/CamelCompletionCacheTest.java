@@ -0,0 +1,38 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+public class CamelCompletionCacheTest {
+
+    @Test
+    public void optionBeingTypedIsNotPartOfTheKey() {
+        assertEquals("timer:foo?period=10", CamelCompletionCache.withoutOptionBeingTyped("timer:foo?period=10&d"));
+        assertEquals("timer:foo?period=10", CamelCompletionCache.withoutOptionBeingTyped("timer:foo?period=10&del"));
+        assertEquals("timer:foo", CamelCompletionCache.withoutOptionBeingTyped("timer:foo?per"));
+    }
+
+    @Test
+    public void completedOptionsArePartOfTheKey() {
+        assertEquals("timer:foo", CamelCompletionCache.withoutOptionBeingTyped("timer:foo"));
+        assertEquals("timer:foo?period=10", CamelCompletionCache.withoutOptionBeingTyped("timer:foo?period=10"));
+        assertEquals("timer:foo?period=10&delay=", CamelCompletionCache.withoutOptionBeingTyped("timer:foo?period=10&delay="));
+    }
+
+}
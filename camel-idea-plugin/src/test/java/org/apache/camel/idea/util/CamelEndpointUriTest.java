@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.util.List;
+import com.intellij.openapi.util.TextRange;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CamelEndpointUriTest {
+
+    @Test
+    public void parse() {
+        CamelEndpointUri uri = CamelEndpointUri.parse("jms:queue:foo?concurrentConsumers=5&transacted", false);
+        assertEquals("jms", uri.getScheme().getText());
+        assertEquals("queue:foo", uri.getPath().getText());
+        assertEquals(2, uri.getPathParameters().size());
+        assertEquals("foo", uri.getPathParameters().get(1).getText());
+        assertEquals(new TextRange(10, 13), uri.getPathParameters().get(1).getTextRange());
+
+        List<CamelEndpointUri.Option> options = uri.getOptions();
+        assertEquals(2, options.size());
+        assertEquals('?', options.get(0).getSeparator());
+        assertEquals("concurrentConsumers", options.get(0).getName().getText());
+        assertEquals(new TextRange(34, 35), options.get(0).getValue().getTextRange());
+        assertEquals('&', options.get(1).getSeparator());
+        assertEquals("transacted", options.get(1).getName().getText());
+        assertNull(options.get(1).getValue());
+    }
+
+    @Test
+    public void repeatedOption() {
+        String text = "timer:trigger?delay=1000&period=2000&delay=abc";
+        CamelEndpointUri uri = CamelEndpointUri.parse(text, false);
+        List<CamelEndpointUri.Option> delays = uri.getOptions("delay");
+        assertEquals(2, delays.size());
+        assertEquals(text.lastIndexOf("abc"), delays.get(1).getValue().getTextRange().getStartOffset());
+        assertEquals(delays.get(1), uri.getOptionAt(text.length()));
+        assertNull(uri.getOptionAt(3));
+    }
+
+    @Test
+    public void originalOffsets() {
+        String text = "timer:trigger?delay=1000&amp;period=&quot;2000&quot;";
+        CamelEndpointUri uri = CamelEndpointUri.parse(text, false);
+        CamelEndpointUri.Option period = uri.getOptions("period").get(0);
+        assertEquals(new TextRange(text.indexOf("period"), text.indexOf("period") + 6), period.getName().getTextRange());
+        assertEquals("\"2000\"", period.getValue().getText());
+        assertEquals(new TextRange(text.indexOf("&quot;"), text.length()), period.getValue().getTextRange());
+    }
+
+    @Test
+    public void rawValue() {
+        CamelEndpointUri uri = CamelEndpointUri.parse("ftp:host?password=RAW(se&cret)&binary=true", false);
+        assertEquals(2, uri.getOptions().size());
+        assertEquals("RAW(se&cret)", uri.getOptions("password").get(0).getValue().getText());
+    }
+
+    @Test
+    public void placeholder() {
+        CamelEndpointUri uri = CamelEndpointUri.parse("%s:%d?delay=%b", true);
+        assertEquals(true, uri.getScheme().isPlaceholder());
+        assertEquals(true, uri.getOptions("delay").get(0).getValue().isPlaceholder());
+        assertEquals(new TextRange(12, 14), uri.getOptions("delay").get(0).getValue().getTextRange());
+    }
+}
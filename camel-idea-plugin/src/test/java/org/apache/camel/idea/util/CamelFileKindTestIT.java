@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import com.intellij.psi.PsiFile;
+import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+
+public class CamelFileKindTestIT extends CamelLightCodeInsightFixtureTestCaseIT {
+
+    public void testJavaRouteBuilder() {
+        PsiFile file = myFixture.configureByText("MyRouteBuilder.java", "import org.apache.camel.builder.RouteBuilder;\n"
+            + "public class MyRouteBuilder extends RouteBuilder {\n"
+            + "    public void configure() throws Exception {\n"
+            + "        from(\"timer:trigger\").to(\"log:foo\");\n"
+            + "    }\n"
+            + "}");
+        assertEquals(CamelFileKind.JAVA_ROUTE_BUILDER, CamelFileKind.of(file));
+    }
+
+    public void testJavaInnerRouteBuilder() {
+        PsiFile file = myFixture.configureByText("MyApplication.java", "import org.apache.camel.builder.RouteBuilder;\n"
+            + "public class MyApplication {\n"
+            + "    public static class MyRouteBuilder extends RouteBuilder {\n"
+            + "        public void configure() throws Exception {\n"
+            + "            from(\"timer:trigger\").to(\"log:foo\");\n"
+            + "        }\n"
+            + "    }\n"
+            + "}");
+        assertEquals(CamelFileKind.JAVA_ROUTE_BUILDER, CamelFileKind.of(file));
+    }
+
+    public void testJavaEndpointConstant() {
+        PsiFile file = myFixture.configureByText("Endpoints.java", "public class Endpoints {\n"
+            + "    public static final String INBOX = \"file:inbox?delete=true\";\n"
+            + "}");
+        assertEquals(CamelFileKind.JAVA_CAMEL, CamelFileKind.of(file));
+    }
+
+    public void testJavaWithoutCamel() {
+        PsiFile file = myFixture.configureByText("Plain.java", "public class Plain {\n"
+            + "    private String name = \"Hello World\";\n"
+            + "}");
+        assertEquals(CamelFileKind.NONE, CamelFileKind.of(file));
+    }
+
+    public void testJavaLicenseHeader() {
+        PsiFile file = myFixture.configureByText("Plain.java", "/*\n"
+            + " * Licensed under the Apache License, see http://www.apache.org/licenses/LICENSE-2.0\n"
+            + " */\n"
+            + "public class Plain {\n"
+            + "    // the camel case name of the bean method\n"
+            + "    private String method = \"Hello World\";\n"
+            + "}");
+        assertEquals(CamelFileKind.NONE, CamelFileKind.of(file));
+    }
+
+    public void testJavaCamelImport() {
+        PsiFile file = myFixture.configureByText("MyProcessor.java", "import org.apache.camel.Exchange;\n"
+            + "public class MyProcessor {\n"
+            + "    public void process(Exchange exchange) {\n"
+            + "    }\n"
+            + "}");
+        assertEquals(CamelFileKind.JAVA_CAMEL, CamelFileKind.of(file));
+    }
+
+    public void testCamelXml() {
+        PsiFile file = myFixture.configureByText("routes.xml", "<routes>\n"
+            + "  <route>\n"
+            + "    <from uri=\"timer:trigger\"/>\n"
+            + "  </route>\n"
+            + "</routes>");
+        assertEquals(CamelFileKind.CAMEL_XML, CamelFileKind.of(file));
+    }
+
+    public void testSpringXml() {
+        PsiFile file = myFixture.configureByText("spring.xml", "<beans xmlns=\"http://www.springframework.org/schema/beans\">\n"
+            + "  <camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+            + "    <route>\n"
+            + "      <from uri=\"timer:trigger\"/>\n"
+            + "    </route>\n"
+            + "  </camelContext>\n"
+            + "</beans>");
+        assertEquals(CamelFileKind.SPRING_XML, CamelFileKind.of(file));
+    }
+
+    public void testPomXml() {
+        PsiFile file = myFixture.configureByText("pom.xml", "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n"
+            + "  <dependencies>\n"
+            + "    <dependency>\n"
+            + "      <groupId>org.apache.camel</groupId>\n"
+            + "      <artifactId>camel-core</artifactId>\n"
+            + "    </dependency>\n"
+            + "  </dependencies>\n"
+            + "</project>");
+        assertEquals(CamelFileKind.NONE, CamelFileKind.of(file));
+    }
+
+    public void testProperties() {
+        PsiFile file = myFixture.configureByText("application.properties", "my.jms = jms:queue:myqueue\n");
+        assertEquals(CamelFileKind.PROPERTIES, CamelFileKind.of(file));
+
+        file = myFixture.configureByText("other.properties", "greeting = Hello World\n");
+        assertEquals(CamelFileKind.NONE, CamelFileKind.of(file));
+
+        file = myFixture.configureByText("license.properties", "# see http://www.apache.org/licenses/LICENSE-2.0\ngreeting = Hello World\n");
+        assertEquals(CamelFileKind.NONE, CamelFileKind.of(file));
+
+        file = myFixture.configureByText("bang.properties", "  ! see http://www.apache.org/licenses/LICENSE-2.0\ngreeting = Hello World\n");
+        assertEquals(CamelFileKind.NONE, CamelFileKind.of(file));
+    }
+
+    public void testYaml() {
+        PsiFile file = myFixture.configureByText("application.yml", "camel:\n  springboot:\n    name: MyCamel\n");
+        assertEquals(CamelFileKind.PROPERTIES, CamelFileKind.of(file));
+
+        file = myFixture.configureByText("endpoint.yml", "my:\n  endpoint: jms:queue:myqueue\n");
+        assertEquals(CamelFileKind.PROPERTIES, CamelFileKind.of(file));
+
+        file = myFixture.configureByText("license.yml", "# see http://www.apache.org/licenses/LICENSE-2.0\ngreeting: Hello World\n");
+        assertEquals(CamelFileKind.NONE, CamelFileKind.of(file));
+    }
+
+}
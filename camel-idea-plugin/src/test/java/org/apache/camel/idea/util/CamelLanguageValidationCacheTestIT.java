@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import com.intellij.openapi.components.ServiceManager;
+import org.apache.camel.catalog.LanguageValidationResult;
+import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+import org.apache.camel.idea.service.CamelCatalogService;
+import org.apache.camel.idea.service.CamelService;
+
+/**
+ * Test the results of the {@link CamelLanguageValidationCache} are reused, evicted and dropped when the catalog or the
+ * classpath is changed
+ */
+public class CamelLanguageValidationCacheTestIT extends CamelLightCodeInsightFixtureTestCaseIT {
+
+    private static final String EXPRESSION = "$.store.book[?(@.price < 10)]";
+
+    private LanguageValidationResult validate(String text) {
+        return CamelLanguageValidationCache.validate(getProject(), getClass().getClassLoader(), "jsonpath", text, false);
+    }
+
+    public void testResultIsReused() {
+        long validations = CamelPerformanceCounter.LANGUAGE_VALIDATIONS.get();
+        long reused = CamelPerformanceCounter.LANGUAGE_VALIDATIONS_REUSED.get();
+
+        LanguageValidationResult result = validate(EXPRESSION);
+        assertSame(result, validate(EXPRESSION));
+        assertEquals(validations + 1, CamelPerformanceCounter.LANGUAGE_VALIDATIONS.get());
+        assertEquals(reused + 1, CamelPerformanceCounter.LANGUAGE_VALIDATIONS_REUSED.get());
+
+        // the same text as a predicate is another validation
+        CamelLanguageValidationCache.validate(getProject(), getClass().getClassLoader(), "jsonpath", EXPRESSION, true);
+        assertEquals(validations + 2, CamelPerformanceCounter.LANGUAGE_VALIDATIONS.get());
+    }
+
+    public void testLeastRecentlyUsedIsEvicted() {
+        LanguageValidationResult first = validate("$.first");
+        LanguageValidationResult recent = validate("$.recent");
+        for (int i = 0; i < CamelLanguageValidationCache.MAX_RESULTS - 1; i++) {
+            // keep the recent result in use while the cache fills up
+            if (i % 100 == 0) {
+                assertSame(recent, validate("$.recent"));
+            }
+            validate("$.book[" + i + "]");
+        }
+
+        assertSame(recent, validate("$.recent"));
+        long validations = CamelPerformanceCounter.LANGUAGE_VALIDATIONS.get();
+        assertNotSame(first, validate("$.first"));
+        assertEquals(validations + 1, CamelPerformanceCounter.LANGUAGE_VALIDATIONS.get());
+    }
+
+    public void testCatalogChangeDropsResults() {
+        LanguageValidationResult result = validate(EXPRESSION);
+        ServiceManager.getService(getProject(), CamelCatalogService.class).clearLoadedVersion();
+        assertNotSame(result, validate(EXPRESSION));
+    }
+
+    public void testClasspathChangeDropsResults() {
+        LanguageValidationResult result = validate(EXPRESSION);
+        ServiceManager.getService(getProject(), CamelService.class).clearLibraries();
+        assertNotSame(result, validate(EXPRESSION));
+    }
+
+}
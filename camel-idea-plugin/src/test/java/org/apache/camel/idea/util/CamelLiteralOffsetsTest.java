@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import com.intellij.openapi.util.TextRange;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CamelLiteralOffsetsTest {
+
+    private final Set<String> componentNames = new HashSet<>(Arrays.asList("timer", "log", "file"));
+
+    @Test
+    public void endpoints() {
+        String text = "from(\"timer:foo?period=1000\").to(\"log:bar\").to(\"myfile:baz\");";
+        CamelLiteralOffsets offsets = CamelLiteralOffsets.scan(text, componentNames);
+        assertEquals(2, offsets.size());
+        assertTrue(offsets.intersects(literalRange(text, "\"timer:")));
+        assertTrue(offsets.intersects(literalRange(text, "\"log:")));
+        assertFalse(offsets.intersects(literalRange(text, "\"myfile:")));
+        assertFalse(offsets.intersects(TextRange.from(0, 4)));
+    }
+
+    @Test
+    public void simple() {
+        String text = "<simple>${body} and $simple{header.foo}</simple><constant>abc</constant>";
+        CamelLiteralOffsets offsets = CamelLiteralOffsets.scan(text, componentNames);
+        assertEquals(2, offsets.size());
+        assertTrue(offsets.intersects(new TextRange(8, text.indexOf("</simple>"))));
+        assertFalse(offsets.intersects(new TextRange(text.indexOf("abc"), text.indexOf("abc") + 3)));
+    }
+
+    @Test
+    public void jsonPath() {
+        String text = ".transform().jsonpath( \"$.store.book\")\n<jsonpath resultType=\"String\">$.foo</jsonpath>";
+        CamelLiteralOffsets offsets = CamelLiteralOffsets.scan(text, componentNames);
+        assertEquals(2, offsets.size());
+        assertTrue(offsets.intersects(literalRange(text, "\"$.store")));
+        int value = text.indexOf("$.foo");
+        assertTrue(offsets.intersects(new TextRange(value, value + 5)));
+        assertFalse(offsets.intersects(literalRange(text, "\"String")));
+    }
+
+    @Test
+    public void simpleWithoutMarker() {
+        String text = ".filter().simple(\"body == 'x'\")\n<simple>body</simple>\n.to(\"$simple:foo\")";
+        CamelLiteralOffsets offsets = CamelLiteralOffsets.scan(text, componentNames);
+        assertEquals(2, offsets.size());
+        assertTrue(offsets.intersects(literalRange(text, "\"body")));
+        int value = text.indexOf("body</simple>");
+        assertTrue(offsets.intersects(new TextRange(value, value + 4)));
+        assertFalse(offsets.intersects(literalRange(text, "\"$simple")));
+    }
+
+    @Test
+    public void jsonPathMethods() {
+        String text = ".setBody().jsonpathWriteAsString(\"$.foo\")";
+        CamelLiteralOffsets offsets = CamelLiteralOffsets.scan(text, componentNames);
+        assertEquals(1, offsets.size());
+        assertTrue(offsets.intersects(literalRange(text, "\"$.foo")));
+    }
+
+    @Test
+    public void empty() {
+        CamelLiteralOffsets offsets = CamelLiteralOffsets.scan("public class Foo { String jsonpath; }", componentNames);
+        assertTrue(offsets.isEmpty());
+        assertFalse(offsets.intersects(new TextRange(0, 10)));
+    }
+
+    private static TextRange literalRange(String text, String prefix) {
+        int start = text.indexOf(prefix);
+        return new TextRange(start, text.indexOf('"', start + 1) + 1);
+    }
+
+}
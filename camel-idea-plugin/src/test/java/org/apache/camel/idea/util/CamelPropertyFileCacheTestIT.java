@@ -0,0 +1,45 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.io.IOException;
+import java.util.Map;
+import com.intellij.testFramework.LightVirtualFile;
+import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+import org.apache.camel.idea.index.CamelPropertyPlaceholderIndex;
+
+public class CamelPropertyFileCacheTestIT extends CamelLightCodeInsightFixtureTestCaseIT {
+
+    public void testPropertiesAreCachedUntilModified() throws IOException {
+        CamelPropertyFileCache.clear();
+        LightVirtualFile file = new LightVirtualFile("application.yaml", "camel:\n  component:\n    timer: 5\n");
+        long loaded = CamelPerformanceCounter.PROPERTY_FILES_LOADED.get();
+        long reused = CamelPerformanceCounter.PROPERTY_FILES_REUSED.get();
+
+        Map<String, String> first = CamelPropertyFileCache.getProperties(file, CamelPropertyPlaceholderIndex::loadYaml);
+        assertEquals("5", first.get("camel.component.timer"));
+        assertSame(first, CamelPropertyFileCache.getProperties(file, CamelPropertyPlaceholderIndex::loadYaml));
+        assertEquals(loaded + 1, CamelPerformanceCounter.PROPERTY_FILES_LOADED.get());
+        assertEquals(reused + 1, CamelPerformanceCounter.PROPERTY_FILES_REUSED.get());
+
+        // a modified file is loaded again
+        file.setContent(null, "camel:\n  component:\n    timer: 10\n", false);
+        assertEquals("10", CamelPropertyFileCache.getProperties(file, CamelPropertyPlaceholderIndex::loadYaml).get("camel.component.timer"));
+        assertEquals(loaded + 2, CamelPerformanceCounter.PROPERTY_FILES_LOADED.get());
+    }
+
+}
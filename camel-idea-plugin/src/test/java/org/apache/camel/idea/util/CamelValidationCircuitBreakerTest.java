@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import static org.apache.camel.idea.util.CamelValidationCircuitBreaker.State.CLOSED;
+import static org.apache.camel.idea.util.CamelValidationCircuitBreaker.State.HALF_OPEN;
+import static org.apache.camel.idea.util.CamelValidationCircuitBreaker.State.OPEN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CamelValidationCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CamelValidationCircuitBreaker breaker = new CamelValidationCircuitBreaker("jsonpath", 100, 3, 1000, 4000, now::get);
+
+    @Test
+    public void fastValidationsKeepClosed() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(breaker.allowRequest());
+            assertFalse(breaker.record(10));
+        }
+        assertEquals(CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void occasionalSlowValidationKeepsClosed() {
+        breaker.record(500);
+        breaker.record(500);
+        breaker.record(10);
+        breaker.record(500);
+        assertEquals(CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void opensWhenRepeatedlySlow() {
+        assertFalse(breaker.record(500));
+        assertFalse(breaker.record(500));
+        assertTrue(breaker.record(500));
+        assertEquals(OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+
+        // late validations does not open it again
+        assertFalse(breaker.record(500));
+    }
+
+    @Test
+    public void recoversWhenProbeIsFast() {
+        tripOpen();
+        now.addAndGet(1000);
+        assertTrue(breaker.allowRequest());
+        assertEquals(HALF_OPEN, breaker.getState());
+        // only one probe at a time
+        assertFalse(breaker.allowRequest());
+        breaker.record(20);
+        assertEquals(CLOSED, breaker.getState());
+        assertEquals(20, breaker.getAverageMillis(), 0.001);
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void slowProbeDoublesCoolDown() {
+        tripOpen();
+        now.addAndGet(1000);
+        assertTrue(breaker.allowRequest());
+        breaker.record(500);
+        assertEquals(OPEN, breaker.getState());
+
+        now.addAndGet(1000);
+        assertFalse(breaker.allowRequest());
+        now.addAndGet(1000);
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void lostProbeIsRetried() {
+        tripOpen();
+        now.addAndGet(1000);
+        assertTrue(breaker.allowRequest());
+        // the probe is never recorded, such as when the highlighting was cancelled
+        now.addAndGet(1000);
+        assertTrue(breaker.allowRequest());
+    }
+
+    private void tripOpen() {
+        breaker.record(500);
+        breaker.record(500);
+        breaker.record(500);
+        assertEquals(OPEN, breaker.getState());
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.idea.util;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiJavaFile;
+import org.apache.camel.idea.CamelLightCodeInsightFixtureTestCaseIT;
+
+/**
+ * Test the {@link JavaBeanMethodTable} built by {@link JavaMethodUtils#getBeanMethodTable} with private, overloaded,
+ * abstract and <tt>@Handler</tt> methods, and that the table is built again when the class is changed
+ */
+public class JavaBeanMethodTableTestIT extends CamelLightCodeInsightFixtureTestCaseIT {
+
+    private static final String BASE_BEAN = "public class MyBaseBean {\n"
+        + "    public void inherited() {}\n"
+        + "}";
+
+    private static final String BEAN = "import org.apache.camel.Handler;\n"
+        + "public abstract class MyBean extends MyBaseBean {\n"
+        + "    public MyBean() {}\n"
+        + "    public void process(String body) {}\n"
+        + "    private void secret() {}\n"
+        + "    private void mixed(String body) {}\n"
+        + "    public void mixed(int count) {}\n"
+        + "    public void overloaded(String body) {}\n"
+        + "    public void overloaded(int count) {}\n"
+        + "    @Handler\n"
+        + "    public void handled(String body) {}\n"
+        + "    public void handled(int count) {}\n"
+        + "    public abstract void template();\n"
+        + "}";
+
+    private PsiClass createBean() {
+        myFixture.addFileToProject("MyBaseBean.java", BASE_BEAN);
+        PsiJavaFile file = (PsiJavaFile) myFixture.configureByText("MyBean.java", BEAN);
+        return file.getClasses()[0];
+    }
+
+    private static JavaBeanMethodTable getTable(PsiClass clazz) {
+        return ServiceManager.getService(JavaMethodUtils.class).getBeanMethodTable(clazz);
+    }
+
+    public void testMethods() {
+        JavaBeanMethodTable table = getTable(createBean());
+
+        assertEquals(1, table.getMethods("process").size());
+        assertEquals(1, table.getMethods("inherited").size());
+        // no constructors or methods of Object
+        assertEquals(0, table.getMethods("MyBean").size());
+        assertEquals(0, table.getMethods("toString").size());
+        assertEquals(0, table.getMethods("unknown").size());
+    }
+
+    public void testPrivateMethods() {
+        JavaBeanMethodTable table = getTable(createBean());
+
+        assertTrue(table.isPrivate("secret"));
+        assertFalse(table.isPrivate("mixed"));
+        assertFalse(table.isPrivate("process"));
+        assertFalse(table.isPrivate("unknown"));
+        assertTrue(table.getAccessibleMethods().stream().noneMatch(m -> m.getName().equals("secret")));
+    }
+
+    public void testAbstractMethodIsNotAccessible() {
+        JavaBeanMethodTable table = getTable(createBean());
+
+        assertFalse(table.getMethods("template").get(0).isAccessible());
+        assertTrue(table.getMethods("process").get(0).isAccessible());
+    }
+
+    public void testAmbiguousMethods() {
+        JavaBeanMethodTable table = getTable(createBean());
+
+        assertTrue(table.isAmbiguous("overloaded"));
+        // only one of them can be called by Camel
+        assertFalse(table.isAmbiguous("mixed"));
+        assertFalse(table.isAmbiguous("process"));
+        assertNull(table.getHandler("overloaded"));
+    }
+
+    public void testHandlerMethod() {
+        JavaBeanMethodTable table = getTable(createBean());
+
+        assertFalse(table.isAmbiguous("handled"));
+        JavaBeanMethodTable.BeanMethod handler = table.getHandler("handled");
+        assertNotNull(handler);
+        assertTrue(handler.isHandler());
+        assertTrue(handler.getParameters().contains("String"));
+    }
+
+    public void testTableIsBuiltAgainWhenClassIsChanged() {
+        PsiClass clazz = createBean();
+        JavaBeanMethodTable table = getTable(clazz);
+        assertSame(table, getTable(clazz));
+
+        Document document = myFixture.getEditor().getDocument();
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            document.insertString(document.getText().lastIndexOf('}'), "    public void added() {}\n");
+            PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+        });
+
+        JavaBeanMethodTable changed = getTable(clazz);
+        assertNotSame(table, changed);
+        assertEquals(1, changed.getMethods("added").size());
+        assertEquals(0, table.getMethods("added").size());
+    }
+
+}
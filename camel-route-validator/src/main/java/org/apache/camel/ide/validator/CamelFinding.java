@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.ide.validator;
+
+/**
+ * A problem found by validating a {@link CamelLiteral}.
+ */
+public final class CamelFinding implements Comparable<CamelFinding> {
+
+    public enum Severity {
+        ERROR, WARNING
+    }
+
+    private final String file;
+    private final CamelLiteral literal;
+    private final Severity severity;
+    private final String message;
+
+    CamelFinding(String file, CamelLiteral literal, Severity severity, String message) {
+        this.file = file;
+        this.literal = literal;
+        this.severity = severity;
+        this.message = message;
+    }
+
+    /**
+     * The path of the file, relative to the directory the validation was started from, with forward slashes
+     */
+    public String getFile() {
+        return file;
+    }
+
+    public CamelLiteral getLiteral() {
+        return literal;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * The id of the rule for reports, such as <tt>camel-endpoint</tt>
+     */
+    public String getRuleId() {
+        return "camel-" + literal.getKind().name().toLowerCase();
+    }
+
+    @Override
+    public int compareTo(CamelFinding other) {
+        int answer = file.compareTo(other.file);
+        if (answer == 0) {
+            answer = Integer.compare(literal.getLine(), other.literal.getLine());
+        }
+        if (answer == 0) {
+            answer = Integer.compare(literal.getColumn(), other.literal.getColumn());
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        return file + ":" + literal.getLine() + ":" + literal.getColumn() + ": " + severity + ": " + message;
+    }
+}
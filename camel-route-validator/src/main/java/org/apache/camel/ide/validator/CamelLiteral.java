@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.ide.validator;
+
+/**
+ * A Camel endpoint uri or expression found in a source file.
+ */
+public final class CamelLiteral {
+
+    public enum Kind {
+        ENDPOINT, SIMPLE, JSONPATH
+    }
+
+    private final Kind kind;
+    private final String text;
+    private final int line;
+    private final int column;
+    private final boolean predicate;
+    private final boolean consumerOnly;
+    private final boolean producerOnly;
+    private final boolean stringFormat;
+
+    CamelLiteral(Kind kind, String text, int line, int column, boolean predicate, boolean consumerOnly, boolean producerOnly, boolean stringFormat) {
+        this.kind = kind;
+        this.text = text;
+        this.line = line;
+        this.column = column;
+        this.predicate = predicate;
+        this.consumerOnly = consumerOnly;
+        this.producerOnly = producerOnly;
+        this.stringFormat = stringFormat;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * The text of the literal, with the Java escapes or XML entities decoded
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * The one based line where the literal starts
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * The one based column where the literal starts
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Whether the expression is used as predicate, such as in a <tt>when</tt>
+     */
+    public boolean isPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Whether the endpoint is used as consumer, such as in a <tt>from</tt>
+     */
+    public boolean isConsumerOnly() {
+        return consumerOnly;
+    }
+
+    /**
+     * Whether the endpoint is used as producer, such as in a <tt>to</tt>
+     */
+    public boolean isProducerOnly() {
+        return producerOnly;
+    }
+
+    /**
+     * Whether the endpoint uses <tt>String.format</tt> patterns, such as in a <tt>fromF</tt>
+     */
+    public boolean isStringFormat() {
+        return stringFormat;
+    }
+
+    @Override
+    public String toString() {
+        return kind + "@" + line + ":" + column + " " + text;
+    }
+}
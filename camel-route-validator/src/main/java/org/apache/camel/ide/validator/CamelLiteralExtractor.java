@@ -0,0 +1,521 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.ide.validator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lightweight parsers which finds the Camel endpoint uris, simple and jsonpath expressions in Java, XML, properties and
+ * yaml source files, without building a syntax tree.
+ * <p/>
+ * The same literals are validated as in the IDEA plugin: Java string literals and XML attribute values or text which
+ * starts with a known Camel component name, and the expressions of the <tt>simple</tt> and <tt>jsonpath</tt> languages.
+ * Literals which are concatenated with other values are skipped as their complete value is unknown.
+ */
+public final class CamelLiteralExtractor {
+
+    // the method and tag names are the same as the IDEA plugin uses
+    private static final List<String> PREDICATE_EIPS = Arrays.asList("completion", "completionPredicate", "when", "onWhen", "handled", "continued",
+        "retryWhile", "filter", "validate", "loopDoWhile");
+    private static final List<String> CONSUMER_ENDPOINT = Arrays.asList("from", "fromF", "interceptFrom", "pollEnrich");
+    private static final List<String> PRODUCER_ENDPOINT = Arrays.asList("to", "toF", "toD", "enrich", "interceptSendToEndpoint", "wireTap", "deadLetterChannel");
+    private static final List<String> STRING_FORMAT_ENDPOINT = Arrays.asList("fromF", "toF", "format");
+    private static final List<String> SIMPLE_METHODS = Arrays.asList("simple", "log");
+
+    private final Set<String> componentNames;
+
+    /**
+     * @param componentNames the names of the known Camel components, such as <tt>timer</tt>
+     */
+    public CamelLiteralExtractor(Set<String> componentNames) {
+        this.componentNames = componentNames;
+    }
+
+    /**
+     * Finds the Camel literals in the source file
+     *
+     * @param fileName the name of the file, which decides how the text is parsed
+     * @param text     the text of the file
+     * @return the literals, or an empty list if the file is not a Java, XML, properties or yaml file
+     */
+    public List<CamelLiteral> extract(String fileName, CharSequence text) {
+        Lines lines = new Lines(text);
+        if (fileName.endsWith(".java")) {
+            return extractJava(text, lines);
+        } else if (fileName.endsWith(".xml")) {
+            return extractXml(text, lines);
+        } else if (fileName.endsWith(".properties")) {
+            return extractProperties(text, lines, false);
+        } else if (fileName.endsWith(".yml") || fileName.endsWith(".yaml")) {
+            return extractProperties(text, lines, true);
+        }
+        return new ArrayList<>();
+    }
+
+    private List<CamelLiteral> extractJava(CharSequence text, Lines lines) {
+        List<CamelLiteral> answer = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char ch = text.charAt(i);
+            char next = i + 1 < length ? text.charAt(i + 1) : 0;
+            if (ch == '/' && next == '/') {
+                i = indexOf(text, "\n", i, length);
+            } else if (ch == '/' && next == '*') {
+                i = indexOf(text, "*/", i + 2, length) + 2;
+            } else if (ch == '\'') {
+                // skip char literals such as '"'
+                i = next == '\\' ? indexOf(text, "'", i + 3, length) + 1 : i + 3;
+            } else if (ch == '"') {
+                StringBuilder value = new StringBuilder();
+                int end = readJavaString(text, i + 1, value);
+                if (!isConcatenated(text, i, end)) {
+                    addJavaLiteral(answer, text, lines, i, value.toString());
+                }
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Reads the Java string literal starting after the quote, and decodes the escapes
+     *
+     * @return the index after the closing quote
+     */
+    private static int readJavaString(CharSequence text, int start, StringBuilder value) {
+        int length = text.length();
+        int i = start;
+        while (i < length) {
+            char ch = text.charAt(i);
+            if (ch == '"') {
+                return i + 1;
+            } else if (ch == '\n') {
+                // unterminated literal
+                return i;
+            } else if (ch == '\\' && i + 1 < length) {
+                char escaped = text.charAt(i + 1);
+                i += 2;
+                switch (escaped) {
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'u':
+                    while (i < length && text.charAt(i) == 'u') {
+                        i++;
+                    }
+                    if (i + 4 <= length) {
+                        try {
+                            value.append((char) Integer.parseInt(text.subSequence(i, i + 4).toString(), 16));
+                        } catch (NumberFormatException e) {
+                            // not a valid escape so keep it as-is
+                        }
+                        i += 4;
+                    }
+                    break;
+                default:
+                    if (escaped >= '0' && escaped <= '7') {
+                        int code = escaped - '0';
+                        while (i < length && code < 32 && text.charAt(i) >= '0' && text.charAt(i) <= '7') {
+                            code = code * 8 + text.charAt(i++) - '0';
+                        }
+                        value.append((char) code);
+                    } else {
+                        value.append(escaped);
+                    }
+                    break;
+                }
+            } else {
+                value.append(ch);
+                i++;
+            }
+        }
+        return length;
+    }
+
+    private static boolean isConcatenated(CharSequence text, int start, int end) {
+        int before = skipWhitespaceBackward(text, start - 1);
+        int after = skipWhitespaceForward(text, end);
+        return (before >= 0 && text.charAt(before) == '+') || (after < text.length() && text.charAt(after) == '+');
+    }
+
+    private void addJavaLiteral(List<CamelLiteral> answer, CharSequence text, Lines lines, int quote, String value) {
+        int method = methodBefore(text, quote);
+        String name = method >= 0 ? identifierAt(text, method) : null;
+        int line = lines.getLine(quote + 1);
+        int column = lines.getColumn(quote + 1);
+
+        if (name != null && SIMPLE_METHODS.contains(name) && (value.contains("${") || value.contains("$simple{"))) {
+            boolean predicate = name.equals("simple") && isInPredicate(text, method);
+            answer.add(new CamelLiteral(CamelLiteral.Kind.SIMPLE, value, line, column, predicate, false, false, false));
+        } else if ("jsonpath".equals(name)) {
+            answer.add(new CamelLiteral(CamelLiteral.Kind.JSONPATH, value, line, column, isInPredicate(text, method), false, false, false));
+        } else if (isEndpoint(value)) {
+            boolean consumer = name != null && CONSUMER_ENDPOINT.contains(name);
+            boolean producer = name != null && PRODUCER_ENDPOINT.contains(name);
+            boolean stringFormat = name != null && STRING_FORMAT_ENDPOINT.contains(name);
+            answer.add(new CamelLiteral(CamelLiteral.Kind.ENDPOINT, value, line, column, false, consumer, producer, stringFormat));
+        }
+    }
+
+    /**
+     * Whether the method call at the index is the argument of a predicate, such as <tt>when(simple("..."))</tt>
+     */
+    private static boolean isInPredicate(CharSequence text, int method) {
+        int outer = methodBefore(text, method);
+        return outer >= 0 && PREDICATE_EIPS.contains(identifierAt(text, outer));
+    }
+
+    /**
+     * Finds the method which is called with the argument at the index, such as <tt>to</tt> for <tt>to("seda:foo")</tt>
+     *
+     * @return the start of the method name, or <tt>-1</tt> if the argument is not the first argument of a method call
+     */
+    private static int methodBefore(CharSequence text, int index) {
+        int i = skipWhitespaceBackward(text, index - 1);
+        if (i < 0 || text.charAt(i) != '(') {
+            return -1;
+        }
+        int end = skipWhitespaceBackward(text, i - 1) + 1;
+        int start = end;
+        while (start > 0 && Character.isJavaIdentifierPart(text.charAt(start - 1))) {
+            start--;
+        }
+        return start < end ? start : -1;
+    }
+
+    private static String identifierAt(CharSequence text, int start) {
+        int end = start;
+        while (end < text.length() && Character.isJavaIdentifierPart(text.charAt(end))) {
+            end++;
+        }
+        return text.subSequence(start, end).toString();
+    }
+
+    private List<CamelLiteral> extractXml(CharSequence text, Lines lines) {
+        List<CamelLiteral> answer = new ArrayList<>();
+        Deque<String> tags = new ArrayDeque<>();
+        StringBuilder content = new StringBuilder();
+        int contentStart = -1;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char ch = text.charAt(i);
+            if (ch != '<') {
+                if (contentStart < 0 && !Character.isWhitespace(ch)) {
+                    contentStart = i;
+                }
+                if (contentStart >= 0) {
+                    content.append(ch);
+                }
+                i++;
+            } else if (startsWith(text, i, "<![CDATA[")) {
+                int end = indexOf(text, "]]>", i + 9, length);
+                if (contentStart < 0) {
+                    contentStart = i + 9;
+                }
+                // escape the markup so the content is decoded the same way as regular text
+                content.append(text.subSequence(i + 9, end).toString().replace("&", "&amp;"));
+                i = end + 3;
+            } else if (startsWith(text, i, "<!--")) {
+                i = indexOf(text, "-->", i + 4, length) + 3;
+            } else if (startsWith(text, i, "<?") || startsWith(text, i, "<!")) {
+                i = indexOf(text, ">", i + 2, length) + 1;
+            } else {
+                if (contentStart >= 0) {
+                    addXmlText(answer, lines, tags, content.toString().trim(), contentStart);
+                    content.setLength(0);
+                    contentStart = -1;
+                }
+                i = readXmlTag(answer, text, lines, tags, i);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Reads the start or end tag at the index, and adds the Camel literals of its attributes
+     *
+     * @return the index after the tag
+     */
+    private int readXmlTag(List<CamelLiteral> answer, CharSequence text, Lines lines, Deque<String> tags, int start) {
+        int length = text.length();
+        boolean end = start + 1 < length && text.charAt(start + 1) == '/';
+        int i = end ? start + 2 : start + 1;
+        int nameStart = i;
+        while (i < length && !Character.isWhitespace(text.charAt(i)) && text.charAt(i) != '>' && text.charAt(i) != '/') {
+            i++;
+        }
+        String name = localName(text.subSequence(nameStart, i).toString());
+        if (end) {
+            // pop up to the matching tag, so unbalanced tags do not confuse the rest of the file
+            if (tags.contains(name)) {
+                String popped;
+                do {
+                    popped = tags.pop();
+                } while (!name.equals(popped));
+            }
+            return indexOf(text, ">", i, length) + 1;
+        }
+
+        while (i < length) {
+            i = skipWhitespaceForward(text, i);
+            if (i >= length) {
+                break;
+            }
+            char ch = text.charAt(i);
+            if (ch == '>') {
+                tags.push(name);
+                return i + 1;
+            } else if (ch == '/') {
+                // empty tag
+                return indexOf(text, ">", i, length) + 1;
+            }
+            // attribute name="value"
+            int equals = indexOf(text, "=", i, length);
+            int quote = skipWhitespaceForward(text, equals + 1);
+            if (quote >= length || (text.charAt(quote) != '"' && text.charAt(quote) != '\'')) {
+                i = equals + 1;
+                continue;
+            }
+            int valueEnd = indexOf(text, String.valueOf(text.charAt(quote)), quote + 1, length);
+            String value = decodeXml(text.subSequence(quote + 1, valueEnd).toString());
+            if (isEndpoint(value)) {
+                answer.add(new CamelLiteral(CamelLiteral.Kind.ENDPOINT, value, lines.getLine(quote + 1), lines.getColumn(quote + 1), false,
+                    CONSUMER_ENDPOINT.contains(name), PRODUCER_ENDPOINT.contains(name), false));
+            }
+            i = valueEnd + 1;
+        }
+        return length;
+    }
+
+    private void addXmlText(List<CamelLiteral> answer, Lines lines, Deque<String> tags, String content, int start) {
+        String tag = tags.peek();
+        if (tag == null || content.isEmpty()) {
+            return;
+        }
+        String value = decodeXml(content);
+        int line = lines.getLine(start);
+        int column = lines.getColumn(start);
+        boolean predicate = isInXmlPredicate(tags);
+        if (tag.equals("simple")) {
+            answer.add(new CamelLiteral(CamelLiteral.Kind.SIMPLE, value, line, column, predicate, false, false, false));
+        } else if (tag.equals("jsonpath")) {
+            answer.add(new CamelLiteral(CamelLiteral.Kind.JSONPATH, value, line, column, predicate, false, false, false));
+        } else if (isEndpoint(value)) {
+            answer.add(new CamelLiteral(CamelLiteral.Kind.ENDPOINT, value, line, column, false, false, false, false));
+        }
+    }
+
+    private static boolean isInXmlPredicate(Deque<String> tags) {
+        for (String tag : tags) {
+            if (PREDICATE_EIPS.contains(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<CamelLiteral> extractProperties(CharSequence text, Lines lines, boolean yaml) {
+        List<CamelLiteral> answer = new ArrayList<>();
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            int end = indexOf(text, "\n", start, length);
+            int i = skipBlanks(text, start);
+            if (i < end && text.charAt(i) != '#' && text.charAt(i) != '!') {
+                if (yaml && text.charAt(i) == '-') {
+                    // list item
+                    i = skipBlanks(text, i + 1);
+                }
+                int valueStart = yaml ? yamlValueStart(text, i, end) : propertiesValueStart(text, i, end);
+                if (valueStart >= 0) {
+                    addPropertyValue(answer, text, lines, valueStart, end, yaml);
+                }
+            }
+            start = end + 1;
+        }
+        return answer;
+    }
+
+    private static int propertiesValueStart(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char ch = text.charAt(i);
+            if (ch == '\\') {
+                i++;
+            } else if (ch == '=' || ch == ':') {
+                return skipBlanks(text, i + 1);
+            }
+        }
+        return -1;
+    }
+
+    private static int yamlValueStart(CharSequence text, int start, int end) {
+        // a value without a key, such as a list item
+        int answer = start;
+        for (int i = start; i < end; i++) {
+            char ch = text.charAt(i);
+            if (ch == ':' && (i + 1 == end || Character.isWhitespace(text.charAt(i + 1)))) {
+                answer = skipBlanks(text, i + 1);
+                break;
+            } else if (ch == '"' || ch == '\'') {
+                break;
+            }
+        }
+        return answer;
+    }
+
+    private void addPropertyValue(List<CamelLiteral> answer, CharSequence text, Lines lines, int start, int end, boolean yaml) {
+        String value = text.subSequence(start, end).toString().trim();
+        int offset = start;
+        if (yaml && value.length() >= 2 && (value.charAt(0) == '"' || value.charAt(0) == '\'') && value.charAt(value.length() - 1) == value.charAt(0)) {
+            value = value.substring(1, value.length() - 1);
+            offset++;
+        } else if (yaml) {
+            int comment = value.indexOf(" #");
+            if (comment > 0) {
+                value = value.substring(0, comment).trim();
+            }
+        }
+        if (isEndpoint(value)) {
+            answer.add(new CamelLiteral(CamelLiteral.Kind.ENDPOINT, value, lines.getLine(offset), lines.getColumn(offset), false, false, false, false));
+        }
+    }
+
+    /**
+     * Whether the value starts with a known Camel component name followed by colon
+     */
+    private boolean isEndpoint(String value) {
+        int colon = value.indexOf(':');
+        return colon > 0 && componentNames.contains(value.substring(0, colon));
+    }
+
+    private static String localName(String name) {
+        int colon = name.indexOf(':');
+        return colon >= 0 ? name.substring(colon + 1) : name;
+    }
+
+    /**
+     * Decodes the predefined XML entities, and leaves unknown entities as-is
+     */
+    static String decodeXml(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    private static boolean startsWith(CharSequence text, int index, String prefix) {
+        if (index + prefix.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(index + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the string from the index, or returns the end if not found
+     */
+    private static int indexOf(CharSequence text, String str, int from, int end) {
+        for (int i = Math.max(from, 0); i + str.length() <= end; i++) {
+            if (startsWith(text, i, str)) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static int skipWhitespaceForward(CharSequence text, int index) {
+        int i = index;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Skips spaces and tabs, but not line breaks
+     */
+    private static int skipBlanks(CharSequence text, int index) {
+        int i = index;
+        while (i < text.length() && (text.charAt(i) == ' ' || text.charAt(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWhitespaceBackward(CharSequence text, int index) {
+        int i = index;
+        while (i >= 0 && Character.isWhitespace(text.charAt(i))) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * The start offsets of the lines of a file, to find the line and column of an offset
+     */
+    private static final class Lines {
+
+        private int[] starts = new int[64];
+        private int count;
+
+        Lines(CharSequence text) {
+            starts[count++] = 0;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == '\n') {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                    }
+                    starts[count++] = i + 1;
+                }
+            }
+        }
+
+        int getLine(int offset) {
+            int index = Arrays.binarySearch(starts, 0, count, offset);
+            return (index >= 0 ? index : -index - 2) + 1;
+        }
+
+        int getColumn(int offset) {
+            return offset - starts[getLine(offset) - 1] + 1;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.ide.validator;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.EndpointValidationResult;
+import org.apache.camel.catalog.LanguageValidationResult;
+import org.apache.camel.idea.simple.SimpleParser;
+import org.apache.camel.idea.simple.SimpleSyntaxError;
+import org.apache.camel.idea.util.CamelUriNormalizer;
+
+/**
+ * Validates Camel literals the same way as the IDEA plugin: endpoints with the Camel catalog, simple expressions with the
+ * simple parser of the plugin, and jsonpath expressions with camel-jsonpath if its on the classpath.
+ * <p/>
+ * A validator is not thread safe, as the Camel catalog caches the component schemas without synchronization, so each
+ * thread should use its own validator.
+ */
+public final class CamelLiteralValidator {
+
+    private static final String JSONPATH_LANGUAGE = "org.apache.camel.jsonpath.JsonPathLanguage";
+
+    private final CamelCatalog catalog;
+    private final SimpleParser simpleParser;
+    private final boolean jsonPathAvailable;
+
+    public CamelLiteralValidator(CamelCatalog catalog) {
+        this.catalog = catalog;
+        this.simpleParser = SimpleParser.forCatalog(catalog);
+        this.jsonPathAvailable = isJsonPathAvailable();
+    }
+
+    /**
+     * Whether camel-jsonpath is on the classpath, as jsonpath expressions are skipped if not
+     */
+    public static boolean isJsonPathAvailable() {
+        try {
+            Class.forName(JSONPATH_LANGUAGE, false, CamelLiteralValidator.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Validates the literal
+     *
+     * @param file    the path of the file to report
+     * @param literal the literal
+     * @return the finding, or <tt>null</tt> if the literal is valid
+     */
+    public CamelFinding validate(String file, CamelLiteral literal) {
+        String error;
+        switch (literal.getKind()) {
+        case ENDPOINT:
+            error = validateEndpoint(literal);
+            break;
+        case SIMPLE:
+            error = validateSimple(literal);
+            break;
+        case JSONPATH:
+            error = validateJsonPath(literal);
+            break;
+        default:
+            error = null;
+            break;
+        }
+        return error != null ? new CamelFinding(file, literal, CamelFinding.Severity.ERROR, error) : null;
+    }
+
+    private String validateEndpoint(CamelLiteral literal) {
+        // the catalog expects &amp; as & and String.format patterns as placeholders, the same as in the plugin
+        String uri = CamelUriNormalizer.normalize(literal.getText(), literal.isStringFormat()).getText();
+        EndpointValidationResult result = catalog.validateEndpointProperties(uri, false, literal.isConsumerOnly(), literal.isProducerOnly());
+        if (result.isSuccess()) {
+            return null;
+        }
+        String summary = result.summaryErrorMessage(false);
+        return summary != null ? summary.trim() : "Invalid endpoint uri";
+    }
+
+    private String validateSimple(CamelLiteral literal) {
+        SimpleSyntaxError error = literal.isPredicate() ? simpleParser.validatePredicate(literal.getText()) : simpleParser.validateExpression(literal.getText());
+        return error != null ? error.getMessage() + " at index " + error.getIndex() : null;
+    }
+
+    private String validateJsonPath(CamelLiteral literal) {
+        if (!jsonPathAvailable) {
+            return null;
+        }
+        ClassLoader loader = CamelLiteralValidator.class.getClassLoader();
+        LanguageValidationResult result = literal.isPredicate()
+            ? catalog.validateLanguagePredicate(loader, "jsonpath", literal.getText())
+            : catalog.validateLanguageExpression(loader, "jsonpath", literal.getText());
+        if (result.isSuccess()) {
+            return null;
+        }
+        return result.getShortError() != null ? result.getShortError() : result.getError();
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.ide.validator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.camel.catalog.CamelCatalog;
+
+/**
+ * Validates all the Camel literals in source trees, where the files are read, parsed and validated in parallel.
+ */
+public final class CamelRouteValidator {
+
+    private final Supplier<CamelCatalog> catalogFactory;
+    private final int threads;
+    private final LongAdder files = new LongAdder();
+    private final LongAdder literals = new LongAdder();
+    private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * @param catalogFactory creates a catalog for each thread, as the catalog is not thread safe
+     * @param threads        the number of threads to use
+     */
+    public CamelRouteValidator(Supplier<CamelCatalog> catalogFactory, int threads) {
+        this.catalogFactory = catalogFactory;
+        this.threads = threads;
+    }
+
+    /**
+     * Validates the source files in the directories
+     *
+     * @param base  the directory to report the paths of the files relative to
+     * @param roots the directories or files to validate
+     * @return the findings, sorted by file and position
+     */
+    public List<CamelFinding> validate(Path base, List<Path> roots) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<Path> sources = SourceFileWalker.find(pool, roots);
+            files.add(sources.size());
+
+            Set<String> componentNames = new HashSet<>(catalogFactory.get().findComponentNames());
+            CamelLiteralExtractor extractor = new CamelLiteralExtractor(componentNames);
+            ThreadLocal<CamelLiteralValidator> validators = ThreadLocal.withInitial(() -> new CamelLiteralValidator(catalogFactory.get()));
+
+            // a parallel stream started from inside the pool runs in the pool
+            List<CamelFinding> answer = pool.submit(() -> sources.parallelStream()
+                .flatMap(file -> validateFile(base, file, extractor, validators).stream())
+                .sorted()
+                .collect(Collectors.toList())).get();
+            return answer;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while validating", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error validating", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<CamelFinding> validateFile(Path base, Path file, CamelLiteralExtractor extractor, ThreadLocal<CamelLiteralValidator> validators) {
+        String name = base.toAbsolutePath().relativize(file.toAbsolutePath()).toString().replace('\\', '/');
+        List<CamelFinding> answer = new ArrayList<>();
+        try {
+            List<CamelLiteral> found = extractor.extract(file.getFileName().toString(), SourceFileReader.read(file));
+            literals.add(found.size());
+            // the validator of the thread is created by the first file it validates, so a failure is reported for the file
+            CamelLiteralValidator validator = validators.get();
+            for (CamelLiteral literal : found) {
+                CamelFinding finding = validator.validate(name, literal);
+                if (finding != null) {
+                    answer.add(finding);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            failures.add(name + ": " + e);
+        }
+        return answer;
+    }
+
+    /**
+     * The number of source files which was found
+     */
+    public long getFiles() {
+        return files.sum();
+    }
+
+    /**
+     * The number of Camel literals which was validated
+     */
+    public long getLiterals() {
+        return literals.sum();
+    }
+
+    /**
+     * The files which could not be read or validated
+     */
+    public List<String> getFailures() {
+        return failures;
+    }
+}
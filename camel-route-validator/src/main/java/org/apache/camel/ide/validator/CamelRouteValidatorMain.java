@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.ide.validator;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.apache.camel.catalog.VersionManager;
+import org.apache.camel.catalog.maven.MavenVersionManager;
+
+/**
+ * Command line to validate the Camel endpoints, simple and jsonpath expressions in source trees, such as in a CI build.
+ * <p/>
+ * Usage: <tt>java -jar camel-route-validator.jar [options] &lt;directory or file&gt;...</tt>
+ * <ul>
+ *     <li><tt>--format json|sarif</tt> the format of the report, default is json</li>
+ *     <li><tt>--output &lt;file&gt;</tt> write the report to the file instead of the console</li>
+ *     <li><tt>--threads &lt;n&gt;</tt> the number of threads, default is the number of processors</li>
+ *     <li><tt>--camel-version &lt;version&gt;</tt> validate against the catalog of this Camel version, which is downloaded from Maven Central</li>
+ *     <li><tt>--fail-on-error</tt> exit with 1 if any errors are found</li>
+ * </ul>
+ */
+public final class CamelRouteValidatorMain {
+
+    private CamelRouteValidatorMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        ReportFormat format = ReportFormat.JSON;
+        Path output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String camelVersion = null;
+        boolean failOnError = false;
+        List<Path> roots = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            boolean hasValue = i + 1 < args.length;
+            if (arg.equals("--format") && hasValue) {
+                format = ReportFormat.valueOf(args[++i].toUpperCase());
+            } else if (arg.equals("--output") && hasValue) {
+                output = Paths.get(args[++i]);
+            } else if (arg.equals("--threads") && hasValue) {
+                threads = Math.max(1, Integer.parseInt(args[++i]));
+            } else if (arg.equals("--camel-version") && hasValue) {
+                camelVersion = args[++i];
+            } else if (arg.equals("--fail-on-error")) {
+                failOnError = true;
+            } else if (arg.startsWith("--")) {
+                usage("Unknown option: " + arg);
+                return;
+            } else {
+                roots.add(Paths.get(arg));
+            }
+        }
+        if (roots.isEmpty()) {
+            usage("No directories to validate");
+            return;
+        }
+
+        PrintStream log = System.err;
+        if (!CamelLiteralValidator.isJsonPathAvailable()) {
+            log.println("camel-jsonpath is not on the classpath, jsonpath expressions are not validated");
+        }
+
+        VersionManager versionManager = null;
+        if (camelVersion != null) {
+            // download the version once, as the threads share the loaded version instead of each loading their own
+            versionManager = new MavenVersionManager();
+            if (!versionManager.loadVersion(camelVersion)) {
+                log.println("Cannot load camel-catalog version " + camelVersion);
+                System.exit(2);
+                return;
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        CamelRouteValidator validator = new CamelRouteValidator(catalogFactory(versionManager), threads);
+        List<CamelFinding> findings = validator.validate(Paths.get("."), roots);
+        long millis = Math.max(1, System.currentTimeMillis() - start);
+
+        if (output != null) {
+            try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                format.write(findings, writer);
+            }
+        } else {
+            Writer writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+            format.write(findings, writer);
+            writer.flush();
+        }
+
+        for (String failure : validator.getFailures()) {
+            log.println("Could not validate " + failure);
+        }
+        log.println(String.format("Validated %d Camel literals in %d files in %d millis (%.0f files/sec), found %d problems",
+            validator.getLiterals(), validator.getFiles(), millis, validator.getFiles() * 1000.0 / millis, findings.size()));
+
+        boolean errors = findings.stream().anyMatch(f -> f.getSeverity() == CamelFinding.Severity.ERROR);
+        if (failOnError && errors) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Creates a catalog for each thread, which reads from the already loaded version, if any
+     */
+    private static Supplier<CamelCatalog> catalogFactory(VersionManager versionManager) {
+        return () -> {
+            CamelCatalog catalog = new DefaultCamelCatalog(true);
+            if (versionManager != null) {
+                // the version manager is only read from once the version is loaded, so it can be shared
+                catalog.setVersionManager(versionManager);
+            }
+            return catalog;
+        };
+    }
+
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println("Usage: camel-route-validator [--format json|sarif] [--output <file>] [--threads <n>] [--camel-version <version>] [--fail-on-error] <directory or file>...");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.ide.validator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The formats of the validation report.
+ */
+public enum ReportFormat {
+
+    /**
+     * A JSON array with one object per finding
+     */
+    JSON {
+        @Override
+        public void write(List<CamelFinding> findings, Writer writer) throws IOException {
+            writer.write("[");
+            for (int i = 0; i < findings.size(); i++) {
+                CamelFinding finding = findings.get(i);
+                writer.write(i == 0 ? "\n" : ",\n");
+                writer.write("  {\"file\": " + quote(finding.getFile())
+                    + ", \"line\": " + finding.getLiteral().getLine()
+                    + ", \"column\": " + finding.getLiteral().getColumn()
+                    + ", \"severity\": " + quote(finding.getSeverity().name().toLowerCase())
+                    + ", \"rule\": " + quote(finding.getRuleId())
+                    + ", \"text\": " + quote(finding.getLiteral().getText())
+                    + ", \"message\": " + quote(finding.getMessage()) + "}");
+            }
+            writer.write(findings.isEmpty() ? "]\n" : "\n]\n");
+        }
+    },
+
+    /**
+     * SARIF 2.1.0, which code scanning tools in CI can show as annotations on the source
+     */
+    SARIF {
+        @Override
+        public void write(List<CamelFinding> findings, Writer writer) throws IOException {
+            Set<String> rules = new LinkedHashSet<>();
+            for (CamelLiteral.Kind kind : CamelLiteral.Kind.values()) {
+                rules.add("camel-" + kind.name().toLowerCase());
+            }
+            writer.write("{\n");
+            writer.write("  \"$schema\": \"https://json.schemastore.org/sarif-2.1.0.json\",\n");
+            writer.write("  \"version\": \"2.1.0\",\n");
+            writer.write("  \"runs\": [{\n");
+            writer.write("    \"tool\": {\"driver\": {\"name\": \"camel-route-validator\", \"informationUri\": \"https://github.com/camel-idea-plugin/camel-idea-plugin\", \"rules\": [");
+            boolean first = true;
+            for (String rule : rules) {
+                writer.write((first ? "" : ", ") + "{\"id\": " + quote(rule) + "}");
+                first = false;
+            }
+            writer.write("]}},\n");
+            writer.write("    \"results\": [");
+            for (int i = 0; i < findings.size(); i++) {
+                CamelFinding finding = findings.get(i);
+                writer.write(i == 0 ? "\n" : ",\n");
+                writer.write("      {\"ruleId\": " + quote(finding.getRuleId())
+                    + ", \"level\": " + quote(finding.getSeverity() == CamelFinding.Severity.ERROR ? "error" : "warning")
+                    + ", \"message\": {\"text\": " + quote(finding.getMessage()) + "}"
+                    + ", \"locations\": [{\"physicalLocation\": {\"artifactLocation\": {\"uri\": " + quote(finding.getFile()) + "}"
+                    + ", \"region\": {\"startLine\": " + finding.getLiteral().getLine()
+                    + ", \"startColumn\": " + finding.getLiteral().getColumn() + "}}}]}");
+            }
+            writer.write(findings.isEmpty() ? "]\n" : "\n    ]\n");
+            writer.write("  }]\n");
+            writer.write("}\n");
+        }
+    };
+
+    /**
+     * Writes the report of the findings
+     */
+    public abstract void write(List<CamelFinding> findings, Writer writer) throws IOException;
+
+    /**
+     * Quotes the text as a JSON string
+     */
+    static String quote(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            switch (ch) {
+            case '"':
+                sb.append("\\\"");
+                break;
+            case '\\':
+                sb.append("\\\\");
+                break;
+            case '\n':
+                sb.append("\\n");
+                break;
+            case '\r':
+                sb.append("\\r");
+                break;
+            case '\t':
+                sb.append("\\t");
+                break;
+            default:
+                if (ch < 0x20) {
+                    sb.append(String.format("\\u%04x", (int) ch));
+                } else {
+                    sb.append(ch);
+                }
+                break;
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
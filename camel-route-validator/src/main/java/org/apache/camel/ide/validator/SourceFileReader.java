@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.ide.validator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads source files as UTF-8 text.
+ * <p/>
+ * Large files are memory mapped and decoded straight from the mapping, without copying the bytes to the heap first.
+ * Small files, which are most source files, are read into a heap buffer instead, as mapping a file has a fixed cost
+ * which is higher than reading a few kilobytes.
+ */
+public final class SourceFileReader {
+
+    /**
+     * Files of this size or larger are memory mapped
+     */
+    static final long MAP_THRESHOLD = 64 * 1024;
+
+    private SourceFileReader() {
+    }
+
+    /**
+     * Reads the file, where malformed UTF-8 is replaced rather than failing, as only the Camel literals are of interest
+     *
+     * @param file the file
+     * @return the text of the file
+     */
+    public static CharSequence read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer bytes;
+            if (size >= MAP_THRESHOLD) {
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                bytes = ByteBuffer.allocate((int) size);
+                while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+                    // read until the buffer is full or end of file
+                }
+                bytes.flip();
+            }
+            CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            return decoder.decode(bytes);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.ide.validator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds the Java, XML, properties and yaml files in directory trees, where the sub directories are listed in parallel
+ * as fork join tasks, as listing directories on large trees is mostly waiting for the file system.
+ * <p/>
+ * Build output, version control and IDE directories are skipped.
+ */
+public final class SourceFileWalker {
+
+    private static final List<String> EXTENSIONS = Arrays.asList(".java", ".xml", ".properties", ".yml", ".yaml");
+    private static final List<String> SKIPPED_DIRECTORIES = Arrays.asList("target", "build", "out", "node_modules", ".git", ".svn", ".idea", ".gradle");
+
+    private SourceFileWalker() {
+    }
+
+    /**
+     * Finds the source files in the directories, or the given files themselves
+     *
+     * @param pool  the pool to list the directories in
+     * @param roots the directories or files
+     * @return the source files, in no particular order
+     */
+    public static List<Path> find(ForkJoinPool pool, List<Path> roots) throws IOException {
+        try {
+            return pool.invoke(new WalkTask(roots));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static boolean isSourceFile(Path file) {
+        String name = file.getFileName().toString();
+        if (name.equals("pom.xml")) {
+            return false;
+        }
+        for (String extension : EXTENSIONS) {
+            if (name.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class WalkTask extends RecursiveTask<List<Path>> {
+
+        private final List<Path> paths;
+
+        WalkTask(List<Path> paths) {
+            this.paths = paths;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            List<Path> answer = new ArrayList<>();
+            List<WalkTask> subTasks = new ArrayList<>();
+            for (Path path : paths) {
+                if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                    List<Path> children = new ArrayList<>();
+                    try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+                        for (Path child : stream) {
+                            if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                                if (!SKIPPED_DIRECTORIES.contains(child.getFileName().toString())) {
+                                    children.add(child);
+                                }
+                            } else if (isSourceFile(child)) {
+                                answer.add(child);
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (!children.isEmpty()) {
+                        subTasks.add(new WalkTask(children));
+                    }
+                } else if (Files.isRegularFile(path) && isSourceFile(path)) {
+                    answer.add(path);
+                }
+            }
+            for (WalkTask task : ForkJoinTask.invokeAll(subTasks)) {
+                answer.addAll(task.join());
+            }
+            return answer;
+        }
+    }
+}
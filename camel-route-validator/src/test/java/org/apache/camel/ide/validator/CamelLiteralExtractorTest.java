@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.ide.validator;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CamelLiteralExtractorTest {
+
+    private final CamelLiteralExtractor extractor = new CamelLiteralExtractor(new HashSet<>(Arrays.asList("timer", "seda", "file", "log")));
+
+    @Test
+    public void javaEndpoints() {
+        String java = "public class MyRoute extends RouteBuilder {\n"
+            + "    // from(\"timer:commented\")\n"
+            + "    public void configure() {\n"
+            + "        from(\"timer:foo?period=1000\")\n"
+            + "            .to( \"seda:bar\" )\n"
+            + "            .to(\"seda:\" + name)\n"
+            + "            .toF(\"file:%s\", dir);\n"
+            + "        char quote = '\"';\n"
+            + "        String text = \"not an endpoint\";\n"
+            + "    }\n"
+            + "}\n";
+        List<CamelLiteral> literals = extractor.extract("MyRoute.java", java);
+        assertEquals(3, literals.size());
+
+        CamelLiteral from = literals.get(0);
+        assertEquals(CamelLiteral.Kind.ENDPOINT, from.getKind());
+        assertEquals("timer:foo?period=1000", from.getText());
+        assertEquals(4, from.getLine());
+        assertEquals(15, from.getColumn());
+        assertTrue(from.isConsumerOnly());
+
+        CamelLiteral to = literals.get(1);
+        assertEquals("seda:bar", to.getText());
+        assertTrue(to.isProducerOnly());
+        assertFalse(to.isConsumerOnly());
+
+        CamelLiteral toF = literals.get(2);
+        assertEquals("file:%s", toF.getText());
+        assertTrue(toF.isStringFormat());
+    }
+
+    @Test
+    public void javaExpressions() {
+        String java = "from(\"timer:foo\")\n"
+            + "    .choice().when(simple(\"${header.foo} == 'bar'\"))\n"
+            + "    .log(\"Got ${body}\")\n"
+            + "    .transform(jsonpath(\"$.store.book\"))\n"
+            + "    .setBody(simple(\"${body}\\n\"));\n";
+        List<CamelLiteral> literals = extractor.extract("MyRoute.java", java);
+        assertEquals(5, literals.size());
+
+        assertEquals(CamelLiteral.Kind.SIMPLE, literals.get(1).getKind());
+        assertEquals("${header.foo} == 'bar'", literals.get(1).getText());
+        assertTrue(literals.get(1).isPredicate());
+
+        assertEquals(CamelLiteral.Kind.SIMPLE, literals.get(2).getKind());
+        assertFalse(literals.get(2).isPredicate());
+
+        assertEquals(CamelLiteral.Kind.JSONPATH, literals.get(3).getKind());
+        assertFalse(literals.get(3).isPredicate());
+
+        // escapes are decoded
+        assertEquals("${body}\n", literals.get(4).getText());
+    }
+
+    @Test
+    public void xml() {
+        String xml = "<?xml version=\"1.0\"?>\n"
+            + "<!-- <from uri=\"timer:commented\"/> -->\n"
+            + "<routes xmlns=\"http://camel.apache.org/schema/spring\">\n"
+            + "  <route id=\"foo\">\n"
+            + "    <from uri=\"timer:foo?period=1000&amp;delay=5\"/>\n"
+            + "    <filter>\n"
+            + "      <simple>${header.foo} &gt; 10</simple>\n"
+            + "      <to\n"
+            + "          uri='seda:bar'/>\n"
+            + "    </filter>\n"
+            + "    <transform><camel:simple><![CDATA[${body} & more]]></camel:simple></transform>\n"
+            + "  </route>\n"
+            + "</routes>\n";
+        List<CamelLiteral> literals = extractor.extract("camel.xml", xml);
+        assertEquals(4, literals.size());
+
+        CamelLiteral from = literals.get(0);
+        assertEquals("timer:foo?period=1000&delay=5", from.getText());
+        assertEquals(5, from.getLine());
+        assertEquals(16, from.getColumn());
+        assertTrue(from.isConsumerOnly());
+
+        CamelLiteral simple = literals.get(1);
+        assertEquals(CamelLiteral.Kind.SIMPLE, simple.getKind());
+        assertEquals("${header.foo} > 10", simple.getText());
+        assertTrue(simple.isPredicate());
+
+        CamelLiteral to = literals.get(2);
+        assertEquals("seda:bar", to.getText());
+        assertEquals(9, to.getLine());
+        assertTrue(to.isProducerOnly());
+
+        CamelLiteral cdata = literals.get(3);
+        assertEquals("${body} & more", cdata.getText());
+        assertFalse(cdata.isPredicate());
+    }
+
+    @Test
+    public void propertiesAndYaml() {
+        String properties = "# comment with timer:foo\n"
+            + "my.uri = timer:foo?period=1000\n"
+            + "other=http://example.com\n";
+        List<CamelLiteral> literals = extractor.extract("application.properties", properties);
+        assertEquals(1, literals.size());
+        assertEquals("timer:foo?period=1000", literals.get(0).getText());
+        assertEquals(2, literals.get(0).getLine());
+        assertEquals(10, literals.get(0).getColumn());
+
+        String yaml = "camel:\n"
+            + "  uri: \"seda:bar?size=10\"\n"
+            + "  uris:\n"
+            + "    - log:foo # comment\n";
+        literals = extractor.extract("application.yml", yaml);
+        assertEquals(2, literals.size());
+        assertEquals("seda:bar?size=10", literals.get(0).getText());
+        // after the quote
+        assertEquals(9, literals.get(0).getColumn());
+        assertEquals("log:foo", literals.get(1).getText());
+    }
+
+    @Test
+    public void otherFiles() {
+        assertTrue(extractor.extract("readme.md", "from(\"timer:foo\")").isEmpty());
+    }
+}
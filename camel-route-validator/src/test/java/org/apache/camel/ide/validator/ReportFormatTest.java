@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.ide.validator;
+
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReportFormatTest {
+
+    private final List<CamelFinding> findings = Collections.singletonList(new CamelFinding("src/main/java/MyRoute.java",
+        new CamelLiteral(CamelLiteral.Kind.ENDPOINT, "timer:foo?perid=\"1\"", 4, 15, false, true, false, false),
+        CamelFinding.Severity.ERROR, "Unknown option perid\n"));
+
+    @Test
+    public void quote() {
+        assertEquals("\"a\\\"b\\\\c\\n\\u0001\"", ReportFormat.quote("a\"b\\c\n\u0001"));
+    }
+
+    @Test
+    public void json() throws Exception {
+        StringWriter writer = new StringWriter();
+        ReportFormat.JSON.write(findings, writer);
+        assertEquals("[\n  {\"file\": \"src/main/java/MyRoute.java\", \"line\": 4, \"column\": 15, \"severity\": \"error\", \"rule\": \"camel-endpoint\", "
+            + "\"text\": \"timer:foo?perid=\\\"1\\\"\", \"message\": \"Unknown option perid\\n\"}\n]\n", writer.toString());
+
+        writer = new StringWriter();
+        ReportFormat.JSON.write(Collections.emptyList(), writer);
+        assertEquals("[]\n", writer.toString());
+    }
+
+    @Test
+    public void sarif() throws Exception {
+        StringWriter writer = new StringWriter();
+        ReportFormat.SARIF.write(findings, writer);
+        String sarif = writer.toString();
+        assertTrue(sarif.contains("\"version\": \"2.1.0\""));
+        assertTrue(sarif.contains("{\"id\": \"camel-simple\"}"));
+        assertTrue(sarif.contains("{\"ruleId\": \"camel-endpoint\", \"level\": \"error\", \"message\": {\"text\": \"Unknown option perid\\n\"}"));
+        assertTrue(sarif.contains("\"artifactLocation\": {\"uri\": \"src/main/java/MyRoute.java\"}, \"region\": {\"startLine\": 4, \"startColumn\": 15}"));
+    }
+}